@@ -0,0 +1,29 @@
+package benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * This class runs the benchmarks with the GC profiler attached, so every result reports the allocation rate and the bytes allocated per operation next to the throughput. It accepts the same command line options as the JMH main class, such as a regular expression that selects the benchmarks to run or -p to restrict a parameter.
+ * 
+ * @author Jaskaran Singh
+ */
+public class BenchmarkRunner {
+    /**
+     * Main method of this class.
+     * 
+     * @param args The JMH command line options.
+     * @throws CommandLineOptionException If the command line options are invalid.
+     * @throws RunnerException If a benchmark fails.
+     */
+    public static void main(String[] args) throws CommandLineOptionException, RunnerException {
+        Options options = new OptionsBuilder().parent(new CommandLineOptions(args)).addProfiler(GCProfiler.class)
+                .build();
+        new Runner(options).run();
+    }
+}
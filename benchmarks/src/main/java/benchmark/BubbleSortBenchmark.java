@@ -0,0 +1,82 @@
+package benchmark;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import sort.Sort;
+
+/**
+ * This class benchmarks the bubble sorts in {@link Sort} on lists of boxed numbers and students. Bubble sort takes O(n^2) time, so it is measured on smaller inputs than the other sorts. Every invocation sorts a fresh copy of the same unsorted input, which is restored outside of the measured time.
+ * 
+ * @author Jaskaran Singh
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = { "-Xms2g", "-Xmx2g" })
+@State(Scope.Thread)
+public class BubbleSortBenchmark {
+    // The seed of the unsorted input, so that every fork sorts the same input.
+    private static final long SEED = 2250L;
+
+    @Param
+    public ElementType elementType;
+
+    @Param({ "100", "1000", "10000" })
+    public int numberOfElements;
+
+    @Param
+    public InputShape inputShape;
+
+    // The unsorted elements, and the list that is refilled with them before every invocation.
+    private Object[] unsortedElements;
+    private ArrayList<Object> list;
+
+    // The natural order of the elements. Every element type is comparable with itself.
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private final Comparator<Object> naturalOrder = (Comparator) Comparator.naturalOrder();
+
+    /**
+     * Creates the unsorted input.
+     */
+    @Setup(Level.Trial)
+    public void createInput() {
+        unsortedElements = elementType.createElements(inputShape.createKeys(numberOfElements, SEED));
+        list = new ArrayList<>(numberOfElements);
+    }
+
+    /**
+     * Refills the list with the unsorted input before each invocation.
+     */
+    @Setup(Level.Invocation)
+    public void resetList() {
+        list.clear();
+        Collections.addAll(list, unsortedElements);
+    }
+
+    /**
+     * Sorts the list with bubble sort.
+     * 
+     * @return Returns the sorted list.
+     */
+    @Benchmark
+    public List<Object> bubbleSort() {
+        Sort.bubbleSort(list, naturalOrder);
+        return list;
+    }
+}
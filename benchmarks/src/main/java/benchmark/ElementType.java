@@ -0,0 +1,75 @@
+package benchmark;
+
+import person.Student;
+
+/**
+ * This enum lists the element types of the lists that the benchmarks sort: the four boxed number types that the demonstrations use and students with a grade of each of those types.
+ * 
+ * @author Jaskaran Singh
+ */
+public enum ElementType {
+    INTEGER,
+    LONG,
+    DOUBLE,
+    FLOAT,
+    STUDENT_INTEGER,
+    STUDENT_LONG,
+    STUDENT_DOUBLE,
+    STUDENT_FLOAT;
+
+    /**
+     * Creates one element of this type for each of the specified keys.
+     * 
+     * @param keys The keys of the elements.
+     * @return Returns the elements, in the same order as the keys.
+     */
+    public Object[] createElements(long[] keys) {
+        Object[] elements = new Object[keys.length];
+        for (int i = 0; i < keys.length; i++) {
+            elements[i] = createElement(keys[i]);
+        }
+        return elements;
+    }
+
+    /**
+     * Creates an element of this type from the specified key.
+     * 
+     * @param key The key of the element.
+     * @return Returns the element.
+     */
+    private Object createElement(long key) {
+        switch (this) {
+            case INTEGER:
+                return Integer.valueOf((int) key);
+            case LONG:
+                return Long.valueOf(key);
+            case DOUBLE:
+                return Double.valueOf(key);
+            case FLOAT:
+                return Float.valueOf(key);
+            case STUDENT_INTEGER:
+                return new Student<Integer>((int) key);
+            case STUDENT_LONG:
+                return new Student<Long>(key);
+            case STUDENT_DOUBLE:
+                return new Student<Double>((double) key);
+            case STUDENT_FLOAT:
+                return new Student<Float>((float) key);
+            default:
+                throw new AssertionError(this);
+        }
+    }
+
+    /**
+     * Returns the sort key of the specified element of this type as a double. Numbers are their own key and students are keyed by their grade.
+     * 
+     * @param element The element.
+     * @return Returns the sort key of the element.
+     */
+    public static double getKey(Object element) {
+        if (element instanceof Student) {
+            return ((Number) ((Student<?>) element).getGrade()).doubleValue();
+        }
+        return ((Number) element).doubleValue();
+    }
+}
@@ -0,0 +1,56 @@
+package benchmark;
+
+import java.util.SplittableRandom;
+
+/**
+ * This enum lists the shapes of input that the benchmarks sort. Each shape creates the keys of the input as longs, which the benchmarks then convert into the element type being measured.
+ * 
+ * @author Jaskaran Singh
+ */
+public enum InputShape {
+    // Keys drawn uniformly from a range as large as the number of keys, so most keys are different.
+    RANDOM,
+    // Keys that are already in ascending order.
+    SORTED,
+    // Keys in descending order.
+    REVERSED,
+    // Keys drawn from only ten different values, so nearly every key is a duplicate.
+    FEW_UNIQUE,
+    // Keys that ascend to the middle of the input and descend after it.
+    ORGAN_PIPE;
+
+    // The number of different keys in the few unique shape.
+    private static final int NUMBER_OF_FEW_UNIQUE_KEYS = 10;
+
+    /**
+     * Creates the keys of an input of this shape.
+     * 
+     * @param numberOfKeys The number of keys to create.
+     * @param seed The seed of the random number generator, so that every fork of a benchmark sorts the same input.
+     * @return Returns the keys.
+     */
+    public long[] createKeys(int numberOfKeys, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        long[] keys = new long[numberOfKeys];
+        for (int i = 0; i < numberOfKeys; i++) {
+            switch (this) {
+                case RANDOM:
+                    keys[i] = random.nextInt(numberOfKeys);
+                    break;
+                case SORTED:
+                    keys[i] = i;
+                    break;
+                case REVERSED:
+                    keys[i] = numberOfKeys - i;
+                    break;
+                case FEW_UNIQUE:
+                    keys[i] = random.nextInt(NUMBER_OF_FEW_UNIQUE_KEYS);
+                    break;
+                case ORGAN_PIPE:
+                    keys[i] = (i < (numberOfKeys / 2)) ? i : (numberOfKeys - i);
+                    break;
+            }
+        }
+        return keys;
+    }
+}
@@ -0,0 +1,173 @@
+package benchmark;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import sort.RadixSort;
+import sort.Sort;
+
+/**
+ * This class benchmarks the O(n log n) list sorts in {@link Sort} and {@link RadixSort} on array lists of boxed numbers and students. Every invocation sorts a fresh copy of the same unsorted input, which is restored outside of the measured time.
+ * 
+ * @author Jaskaran Singh
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = { "-Xms2g", "-Xmx2g" })
+@State(Scope.Thread)
+public class ListSortBenchmark {
+    // The seed of the unsorted input, so that every fork sorts the same input.
+    private static final long SEED = 2250L;
+
+    @Param
+    public ElementType elementType;
+
+    @Param({ "1000", "100000", "1000000" })
+    public int numberOfElements;
+
+    @Param
+    public InputShape inputShape;
+
+    // The unsorted elements, and the list that is refilled with them before every invocation.
+    private Object[] unsortedElements;
+    private ArrayList<Object> list;
+
+    // The natural order of the elements. Every element type is comparable with itself.
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private final Comparator<Object> naturalOrder = (Comparator) Comparator.naturalOrder();
+
+    /**
+     * Creates the unsorted input.
+     */
+    @Setup(Level.Trial)
+    public void createInput() {
+        unsortedElements = elementType.createElements(inputShape.createKeys(numberOfElements, SEED));
+        list = new ArrayList<>(numberOfElements);
+    }
+
+    /**
+     * Refills the list with the unsorted input before each invocation.
+     */
+    @Setup(Level.Invocation)
+    public void resetList() {
+        list.clear();
+        Collections.addAll(list, unsortedElements);
+    }
+
+    /**
+     * Sorts the list with the stable merge sort.
+     * 
+     * @return Returns the sorted list.
+     */
+    @Benchmark
+    public List<Object> mergeSort() {
+        Sort.mergeSort(list, naturalOrder);
+        return list;
+    }
+
+    /**
+     * Sorts the list with the stable sort that {@link Sort#sort(List, Comparator)} chooses for it. Its rules must never make it slower than {@link #mergeSort()}.
+     * 
+     * @return Returns the sorted list.
+     */
+    @Benchmark
+    public List<Object> sort() {
+        Sort.sort(list, naturalOrder);
+        return list;
+    }
+
+    /**
+     * Sorts the list with the adaptive natural merge sort.
+     * 
+     * @return Returns the sorted list.
+     */
+    @Benchmark
+    public List<Object> adaptiveMergeSort() {
+        Sort.adaptiveMergeSort(list, naturalOrder);
+        return list;
+    }
+
+    /**
+     * Sorts the list with the dual-pivot introsort.
+     * 
+     * @return Returns the sorted list.
+     */
+    @Benchmark
+    public List<Object> introSort() {
+        Sort.introSort(list, naturalOrder);
+        return list;
+    }
+
+    /**
+     * Sorts the list with the parallel merge sort on the common fork/join pool.
+     * 
+     * @return Returns the sorted list.
+     */
+    @Benchmark
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    public List<Object> parallelMergeSort() {
+        Sort.parallelMergeSort((List) list);
+        return list;
+    }
+
+    /**
+     * Sorts the list with the parallel sample sort on the common fork/join pool.
+     * 
+     * @return Returns the sorted list.
+     */
+    @Benchmark
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    public List<Object> parallelSampleSort() {
+        Sort.parallelSampleSort((List) list);
+        return list;
+    }
+
+    /**
+     * Sorts the list by the primitive key of each element with the key-extracting merge sort.
+     * 
+     * @return Returns the sorted list.
+     */
+    @Benchmark
+    public List<Object> mergeSortByDoubleKey() {
+        Sort.mergeSortByDoubleKey(list, ElementType::getKey);
+        return list;
+    }
+
+    /**
+     * Sorts the list by the primitive key of each element with the key-extracting radix sort.
+     * 
+     * @return Returns the sorted list.
+     */
+    @Benchmark
+    public List<Object> radixSortByDoubleKey() {
+        RadixSort.radixSortByDoubleKey(list, ElementType::getKey);
+        return list;
+    }
+
+    /**
+     * Sorts the list with the JDK's list sort, as a baseline for the other benchmarks.
+     * 
+     * @return Returns the sorted list.
+     */
+    @Benchmark
+    public List<Object> jdkListSort() {
+        list.sort(naturalOrder);
+        return list;
+    }
+}
@@ -0,0 +1,208 @@
+package benchmark;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import sort.RadixSort;
+import sort.Sort;
+
+/**
+ * This class benchmarks the O(n log n) and linear time primitive array sorts in {@link Sort} and {@link RadixSort}. Every invocation sorts a fresh copy of the same unsorted input, which is restored outside of the measured time.
+ * 
+ * @author Jaskaran Singh
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = { "-Xms2g", "-Xmx2g" })
+@State(Scope.Thread)
+public class PrimitiveArraySortBenchmark {
+    // The seed of the unsorted input, so that every fork sorts the same input.
+    private static final long SEED = 2250L;
+
+    @Param
+    public PrimitiveType primitiveType;
+
+    @Param({ "1000", "100000", "1000000" })
+    public int numberOfElements;
+
+    @Param
+    public InputShape inputShape;
+
+    // The unsorted array, and the array that is refilled with it before every invocation.
+    private Object unsortedArray;
+    private Object array;
+
+    /**
+     * Creates the unsorted input.
+     */
+    @Setup(Level.Trial)
+    public void createInput() {
+        unsortedArray = primitiveType.createArray(inputShape.createKeys(numberOfElements, SEED));
+        array = primitiveType.createArray(new long[numberOfElements]);
+    }
+
+    /**
+     * Refills the array with the unsorted input before each invocation.
+     */
+    @Setup(Level.Invocation)
+    public void resetArray() {
+        System.arraycopy(unsortedArray, 0, array, 0, numberOfElements);
+    }
+
+    /**
+     * Sorts the array with the primitive merge sort, which switches to counting sort for small int and long key ranges.
+     * 
+     * @return Returns the sorted array.
+     */
+    @Benchmark
+    public Object mergeSort() {
+        switch (primitiveType) {
+            case INT:
+                Sort.mergeSort((int[]) array);
+                break;
+            case LONG:
+                Sort.mergeSort((long[]) array);
+                break;
+            case DOUBLE:
+                Sort.mergeSort((double[]) array);
+                break;
+            case FLOAT:
+                Sort.mergeSort((float[]) array);
+                break;
+        }
+        return array;
+    }
+
+    /**
+     * Sorts the array with the parallel merge sort on the common fork/join pool.
+     * 
+     * @return Returns the sorted array.
+     */
+    @Benchmark
+    public Object parallelMergeSort() {
+        switch (primitiveType) {
+            case INT:
+                Sort.parallelMergeSort((int[]) array);
+                break;
+            case LONG:
+                Sort.parallelMergeSort((long[]) array);
+                break;
+            case DOUBLE:
+                Sort.parallelMergeSort((double[]) array);
+                break;
+            case FLOAT:
+                Sort.parallelMergeSort((float[]) array);
+                break;
+        }
+        return array;
+    }
+
+    /**
+     * Sorts the array with the parallel sample sort on the common fork/join pool.
+     * 
+     * @return Returns the sorted array.
+     */
+    @Benchmark
+    public Object parallelSampleSort() {
+        switch (primitiveType) {
+            case INT:
+                Sort.parallelSampleSort((int[]) array);
+                break;
+            case LONG:
+                Sort.parallelSampleSort((long[]) array);
+                break;
+            case DOUBLE:
+                Sort.parallelSampleSort((double[]) array);
+                break;
+            case FLOAT:
+                Sort.parallelSampleSort((float[]) array);
+                break;
+        }
+        return array;
+    }
+
+    /**
+     * Sorts the array with the dual-pivot introsort.
+     * 
+     * @return Returns the sorted array.
+     */
+    @Benchmark
+    public Object introSort() {
+        switch (primitiveType) {
+            case INT:
+                Sort.introSort((int[]) array);
+                break;
+            case LONG:
+                Sort.introSort((long[]) array);
+                break;
+            case DOUBLE:
+                Sort.introSort((double[]) array);
+                break;
+            case FLOAT:
+                Sort.introSort((float[]) array);
+                break;
+        }
+        return array;
+    }
+
+    /**
+     * Sorts the array with the LSD radix sort.
+     * 
+     * @return Returns the sorted array.
+     */
+    @Benchmark
+    public Object radixSort() {
+        switch (primitiveType) {
+            case INT:
+                RadixSort.radixSort((int[]) array);
+                break;
+            case LONG:
+                RadixSort.radixSort((long[]) array);
+                break;
+            case DOUBLE:
+                RadixSort.radixSort((double[]) array);
+                break;
+            case FLOAT:
+                RadixSort.radixSort((float[]) array);
+                break;
+        }
+        return array;
+    }
+
+    /**
+     * Sorts the array with the JDK's array sort, as a baseline for the other benchmarks.
+     * 
+     * @return Returns the sorted array.
+     */
+    @Benchmark
+    public Object jdkArraysSort() {
+        switch (primitiveType) {
+            case INT:
+                Arrays.sort((int[]) array);
+                break;
+            case LONG:
+                Arrays.sort((long[]) array);
+                break;
+            case DOUBLE:
+                Arrays.sort((double[]) array);
+                break;
+            case FLOAT:
+                Arrays.sort((float[]) array);
+                break;
+        }
+        return array;
+    }
+}
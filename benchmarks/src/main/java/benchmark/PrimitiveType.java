@@ -0,0 +1,49 @@
+package benchmark;
+
+/**
+ * This enum lists the primitive array types that the benchmarks sort.
+ * 
+ * @author Jaskaran Singh
+ */
+public enum PrimitiveType {
+    INT,
+    LONG,
+    DOUBLE,
+    FLOAT;
+
+    /**
+     * Creates a primitive array of this type that holds the specified keys.
+     * 
+     * @param keys The keys to store in the array.
+     * @return Returns an int[], long[], double[] or float[] array, depending on this type.
+     */
+    public Object createArray(long[] keys) {
+        switch (this) {
+            case INT: {
+                int[] array = new int[keys.length];
+                for (int i = 0; i < keys.length; i++) {
+                    array[i] = (int) keys[i];
+                }
+                return array;
+            }
+            case LONG:
+                return keys.clone();
+            case DOUBLE: {
+                double[] array = new double[keys.length];
+                for (int i = 0; i < keys.length; i++) {
+                    array[i] = keys[i];
+                }
+                return array;
+            }
+            case FLOAT: {
+                float[] array = new float[keys.length];
+                for (int i = 0; i < keys.length; i++) {
+                    array[i] = keys[i];
+                }
+                return array;
+            }
+            default:
+                throw new AssertionError(this);
+        }
+    }
+}
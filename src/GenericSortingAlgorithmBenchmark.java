@@ -0,0 +1,532 @@
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import data.DataGenerator;
+import data.Distribution;
+import person.Student;
+import sort.Sort;
+import sort.SortAlgorithm;
+import sort.SortAlgorithmRegistry;
+
+/** This class benchmarks my generic sorting algorithms without asking the user for input, so sweeps across sizes can be scripted. Every configuration is warmed up before it is measured, every sort is checked, and the median, 90th and 99th percentile times of each configuration are written as CSV or JSON.
+ * 
+ * Run it with --help to see the command line options.
+ * 
+ * @author Jaskaran Singh
+ */
+public class GenericSortingAlgorithmBenchmark {
+    // Stores the name that selects Sort.sort(), which chooses the sorting algorithm automatically.
+    private static final String AUTOMATIC_ALGORITHM_NAME = "auto";
+
+    // Stores the default value of each command line option.
+    private static final String DEFAULT_ALGORITHMS = "auto,merge,adaptive-merge,intro";
+    private static final String DEFAULT_TYPES = "integer";
+    private static final String DEFAULT_SIZES = "1000,10000,100000";
+    private static final String DEFAULT_DISTRIBUTIONS = "uniform";
+    private static final String DEFAULT_SEEDS = "1";
+    private static final String DEFAULT_REPETITIONS = "10";
+    private static final String DEFAULT_WARMUP = "5";
+    private static final String DEFAULT_FORMAT = "csv";
+
+    // Stores the exit status of the program when the command line options are invalid.
+    private static final int INVALID_OPTIONS_EXIT_STATUS = 2;
+
+    // Stores the usage message of the program.
+    private static final String USAGE = "Usage: java GenericSortingAlgorithmBenchmark [options]\n"
+            + "  --algorithms=NAMES     Comma-separated algorithms: \"" + AUTOMATIC_ALGORITHM_NAME
+            + "\" or registered names (default " + DEFAULT_ALGORITHMS + ").\n"
+            + "  --types=TYPES          Comma-separated element types: integer, long, double, float, student (default "
+            + DEFAULT_TYPES + ").\n"
+            + "  --sizes=SIZES          Comma-separated list lengths (default " + DEFAULT_SIZES + ").\n"
+            + "  --distributions=NAMES  Comma-separated distributions: uniform, gaussian, zipf, nearly-sorted,\n"
+            + "                         few-unique (default " + DEFAULT_DISTRIBUTIONS + ").\n"
+            + "  --seeds=SEEDS          Comma-separated random seeds (default " + DEFAULT_SEEDS + ").\n"
+            + "  --repetitions=COUNT    Measured sorts per configuration (default " + DEFAULT_REPETITIONS + ").\n"
+            + "  --warmup=COUNT         Unmeasured sorts per configuration (default " + DEFAULT_WARMUP + ").\n"
+            + "  --format=FORMAT        Output format: csv or json (default " + DEFAULT_FORMAT + ").\n"
+            + "  --output=FILE          File to write the results to (default standard output).\n"
+            + "  --help                 Print this message.";
+
+    /**
+     * This enum lists the types of elements that the benchmark can sort.
+     * 
+     * @author Jaskaran Singh
+     */
+    private enum ElementType {
+        INTEGER("integer"), LONG("long"), DOUBLE("double"), FLOAT("float"), STUDENT("student");
+
+        // Stores the name of the element type on the command line.
+        private final String name;
+
+        /**
+         * ElementType constructor.
+         * 
+         * @param name The name of the element type on the command line.
+         */
+        ElementType(String name) {
+            this.name = name;
+        }
+
+        /**
+         * Creates a list of elements of this type from the specified data generator. Students are given the generated integers as their grades.
+         * 
+         * @param dataGenerator The data generator that creates the values.
+         * @param numberOfElements The number of elements to create.
+         * @return Returns the list of elements.
+         */
+        @SuppressWarnings("unchecked")
+        List<Comparable<Object>> createList(DataGenerator dataGenerator, int numberOfElements) {
+            List<?> list;
+            switch (this) {
+            case INTEGER:
+                list = dataGenerator.createIntegerList(numberOfElements);
+                break;
+            case LONG:
+                list = dataGenerator.createLongList(numberOfElements);
+                break;
+            case DOUBLE:
+                list = dataGenerator.createDoubleList(numberOfElements);
+                break;
+            case FLOAT:
+                list = dataGenerator.createFloatList(numberOfElements);
+                break;
+            default:
+                ArrayList<Student<Integer>> studentList = new ArrayList<>(numberOfElements);
+                for (Integer grade : dataGenerator.createIntegerList(numberOfElements)) {
+                    studentList.add(new Student<>(grade));
+                }
+                list = studentList;
+                break;
+            }
+            return (List<Comparable<Object>>) list;
+        }
+
+        /**
+         * Returns the element type with the specified name.
+         * 
+         * @param name The name of the element type on the command line.
+         * @return Returns the element type.
+         * @throws IllegalArgumentException If no element type has the name.
+         */
+        static ElementType forName(String name) throws IllegalArgumentException {
+            for (ElementType elementType : values()) {
+                if (elementType.name.equals(name)) {
+                    return elementType;
+                }
+            }
+            throw new IllegalArgumentException("Unknown element type \"" + name + "\".");
+        }
+
+        /**
+         * Returns a string that describes this element type.
+         * 
+         * @return Returns the name of this element type.
+         */
+        @Override
+        public String toString() {
+            return name;
+        }
+    }
+
+    /**
+     * This class holds the times of one configuration of the benchmark.
+     * 
+     * @author Jaskaran Singh
+     */
+    private static final class Result {
+        private final String algorithmName;
+        private final ElementType elementType;
+        private final int numberOfElements;
+        private final String distributionName;
+        private final long seed;
+        private final int numberOfWarmupIterations;
+        private final long[] sortedTimesInNanoseconds;
+
+        /**
+         * Result constructor.
+         * 
+         * @param algorithmName The name of the sorting algorithm.
+         * @param elementType The type of the sorted elements.
+         * @param numberOfElements The number of sorted elements.
+         * @param distributionName The name of the distribution of the elements.
+         * @param seed The seed that the elements were generated with.
+         * @param numberOfWarmupIterations The number of unmeasured sorts before the measured ones.
+         * @param timesInNanoseconds The time of every measured sort. The array is sorted in-place.
+         */
+        Result(String algorithmName, ElementType elementType, int numberOfElements, String distributionName,
+                long seed, int numberOfWarmupIterations, long[] timesInNanoseconds) {
+            this.algorithmName = algorithmName;
+            this.elementType = elementType;
+            this.numberOfElements = numberOfElements;
+            this.distributionName = distributionName;
+            this.seed = seed;
+            this.numberOfWarmupIterations = numberOfWarmupIterations;
+            Sort.mergeSort(timesInNanoseconds);
+            this.sortedTimesInNanoseconds = timesInNanoseconds;
+        }
+
+        /**
+         * Returns the time below which the specified percentage of the measured sorts finished, using the nearest-rank method.
+         * 
+         * @param percentage The percentage, greater than 0 and at most 100.
+         * @return Returns the percentile time in nanoseconds.
+         */
+        long getPercentileInNanoseconds(double percentage) {
+            final int RANK = (int) Math.ceil((percentage / 100.0) * sortedTimesInNanoseconds.length);
+            return sortedTimesInNanoseconds[Math.max(0, RANK - 1)];
+        }
+
+        /**
+         * Returns the fields of this result, in the order of the CSV header.
+         * 
+         * @return Returns the field names mapped to their values.
+         */
+        Map<String, Object> getFields() {
+            long sumOfTimesInNanoseconds = 0;
+            for (long timeInNanoseconds : sortedTimesInNanoseconds) {
+                sumOfTimesInNanoseconds += timeInNanoseconds;
+            }
+
+            Map<String, Object> fields = new LinkedHashMap<>();
+            fields.put("algorithm", algorithmName);
+            fields.put("type", elementType.toString());
+            fields.put("size", numberOfElements);
+            fields.put("distribution", distributionName);
+            fields.put("seed", seed);
+            fields.put("warmup", numberOfWarmupIterations);
+            fields.put("repetitions", sortedTimesInNanoseconds.length);
+            fields.put("minNanoseconds", sortedTimesInNanoseconds[0]);
+            fields.put("meanNanoseconds", sumOfTimesInNanoseconds / sortedTimesInNanoseconds.length);
+            fields.put("medianNanoseconds", getPercentileInNanoseconds(50));
+            fields.put("p90Nanoseconds", getPercentileInNanoseconds(90));
+            fields.put("p99Nanoseconds", getPercentileInNanoseconds(99));
+            fields.put("maxNanoseconds", sortedTimesInNanoseconds[sortedTimesInNanoseconds.length - 1]);
+            return fields;
+        }
+    }
+
+    /**
+     * Parses the command line options into a map from option name to value. Options that are not specified are given their default values.
+     * 
+     * @param args The command line options, each of the form --name=value.
+     * @return Returns the option names mapped to their values, or null if --help was specified.
+     * @throws IllegalArgumentException If an option is malformed or unknown.
+     */
+    private static Map<String, String> parseOptions(String[] args) throws IllegalArgumentException {
+        Map<String, String> options = new LinkedHashMap<>();
+        options.put("algorithms", DEFAULT_ALGORITHMS);
+        options.put("types", DEFAULT_TYPES);
+        options.put("sizes", DEFAULT_SIZES);
+        options.put("distributions", DEFAULT_DISTRIBUTIONS);
+        options.put("seeds", DEFAULT_SEEDS);
+        options.put("repetitions", DEFAULT_REPETITIONS);
+        options.put("warmup", DEFAULT_WARMUP);
+        options.put("format", DEFAULT_FORMAT);
+        options.put("output", null);
+
+        for (String arg : args) {
+            if (arg.equals("--help")) {
+                return null;
+            }
+
+            // Split the option into its name and value, and reject names that do not have a default.
+            final int EQUALS_INDEX = arg.indexOf('=');
+            if (!arg.startsWith("--") || (EQUALS_INDEX < 0)) {
+                throw new IllegalArgumentException("Options must be of the form --name=value, but got \"" + arg
+                        + "\".");
+            }
+            final String NAME = arg.substring(2, EQUALS_INDEX);
+            if (!options.containsKey(NAME)) {
+                throw new IllegalArgumentException("Unknown option \"--" + NAME + "\".");
+            }
+            options.put(NAME, arg.substring(EQUALS_INDEX + 1));
+        }
+        return options;
+    }
+
+    /**
+     * Splits a comma-separated option value into its trimmed, non-empty items.
+     * 
+     * @param value The option value.
+     * @return Returns the items.
+     * @throws IllegalArgumentException If the value has no items.
+     */
+    private static List<String> splitList(String value) throws IllegalArgumentException {
+        List<String> items = new ArrayList<>();
+        for (String item : value.split(",")) {
+            if (!item.isBlank()) {
+                items.add(item.trim());
+            }
+        }
+        if (items.isEmpty()) {
+            throw new IllegalArgumentException("Expected a comma-separated list, but got \"" + value + "\".");
+        }
+        return items;
+    }
+
+    /**
+     * Parses an integer option value that must be at least the specified minimum.
+     * 
+     * @param name The name of the option, for the error message.
+     * @param value The option value.
+     * @param minimum The smallest valid value.
+     * @return Returns the integer.
+     * @throws IllegalArgumentException If the value is not an integer of at least the minimum.
+     */
+    private static int parseInteger(String name, String value, int minimum) throws IllegalArgumentException {
+        try {
+            final int INTEGER = Integer.parseInt(value.trim());
+            if (INTEGER >= minimum) {
+                return INTEGER;
+            }
+        } catch (NumberFormatException exception) {
+            // Fall through to the exception below, which names the option.
+        }
+        throw new IllegalArgumentException("--" + name + " must be an integer of at least " + minimum + ", but got \""
+                + value + "\".");
+    }
+
+    /**
+     * Creates the distribution with the specified name, scaled to the specified number of elements.
+     * 
+     * @param name The name of the distribution on the command line.
+     * @param numberOfElements The number of elements that will be drawn from it.
+     * @return Returns the distribution.
+     * @throws IllegalArgumentException If no distribution has the name.
+     */
+    private static Distribution createDistribution(String name, int numberOfElements)
+            throws IllegalArgumentException {
+        switch (name) {
+        case "uniform":
+            return Distribution.uniform(0L, Math.max(1L, numberOfElements));
+        case "gaussian":
+            return Distribution.gaussian(0.0, Math.max(1.0, numberOfElements / 6.0));
+        case "zipf":
+            return Distribution.zipf(Math.max(1, Math.min(numberOfElements,
+                    Distribution.MAXIMUM_NUMBER_OF_ZIPF_VALUES)),
+                    1.0);
+        case "nearly-sorted":
+            return Distribution.sortedWithPerturbations(numberOfElements / 100);
+        case "few-unique":
+            return Distribution.fewUnique(16);
+        default:
+            throw new IllegalArgumentException("Unknown distribution \"" + name + "\".");
+        }
+    }
+
+    /**
+     * Sorts copies of the specified list with the specified sorting algorithm, first for the warm-up iterations and then for the measured repetitions. Every sorted copy is checked. Returns the time of every measured sort.
+     * 
+     * @param list The list to sort copies of. It is not modified.
+     * @param sortAlgorithm The sorting algorithm, or null to let Sort.sort() choose one.
+     * @param numberOfWarmupIterations The number of unmeasured sorts.
+     * @param numberOfRepetitions The number of measured sorts.
+     * @return Returns the time of every measured sort in nanoseconds.
+     * @throws IllegalStateException If a sort does not sort its copy.
+     */
+    private static long[] measure(List<Comparable<Object>> list, SortAlgorithm sortAlgorithm,
+            int numberOfWarmupIterations, int numberOfRepetitions) throws IllegalStateException {
+        final Comparator<Comparable<Object>> COMPARATOR = Comparator.naturalOrder();
+        long[] timesInNanoseconds = new long[numberOfRepetitions];
+        for (int i = -numberOfWarmupIterations; i < numberOfRepetitions; i++) {
+            // Copy the list outside of the measured time, so every sort starts from the same order.
+            ArrayList<Comparable<Object>> copy = new ArrayList<>(list);
+
+            final long START_TIME_IN_NANOSECONDS = System.nanoTime();
+            if (sortAlgorithm == null) {
+                Sort.sort(copy, COMPARATOR);
+            } else {
+                Sort.sort(copy, COMPARATOR, sortAlgorithm);
+            }
+            final long END_TIME_IN_NANOSECONDS = System.nanoTime();
+
+            // Check the sort outside of the measured time as well.
+            if (!Sort.isArrayListSorted(copy, COMPARATOR)) {
+                throw new IllegalStateException("The " + ((sortAlgorithm == null) ? AUTOMATIC_ALGORITHM_NAME
+                        : sortAlgorithm.getName()) + " sort did not sort the list.");
+            }
+
+            // Only keep the times after the warm-up iterations.
+            if (i >= 0) {
+                timesInNanoseconds[i] = END_TIME_IN_NANOSECONDS - START_TIME_IN_NANOSECONDS;
+            }
+        }
+        return timesInNanoseconds;
+    }
+
+    /**
+     * Writes the results as CSV, with a header line naming the fields.
+     * 
+     * @param results The results to write.
+     * @param writer The writer to write the results to.
+     */
+    private static void writeCsv(List<Result> results, PrintWriter writer) {
+        boolean isHeaderWritten = false;
+        for (Result result : results) {
+            Map<String, Object> fields = result.getFields();
+            if (!isHeaderWritten) {
+                writer.println(String.join(",", fields.keySet()));
+                isHeaderWritten = true;
+            }
+            StringBuilder line = new StringBuilder();
+            for (Object value : fields.values()) {
+                if (line.length() > 0) {
+                    line.append(',');
+                }
+                line.append(value);
+            }
+            writer.println(line);
+        }
+    }
+
+    /**
+     * Writes the results as a JSON array with one object per result.
+     * 
+     * @param results The results to write.
+     * @param writer The writer to write the results to.
+     */
+    private static void writeJson(List<Result> results, PrintWriter writer) {
+        writer.println("[");
+        for (int i = 0; i < results.size(); i++) {
+            StringBuilder object = new StringBuilder("  {");
+            for (Map.Entry<String, Object> field : results.get(i).getFields().entrySet()) {
+                if (object.length() > 3) {
+                    object.append(", ");
+                }
+                object.append('"').append(field.getKey()).append("\": ");
+                if (field.getValue() instanceof String) {
+                    // The names only need their quotes and backslashes escaped.
+                    object.append('"').append(((String) field.getValue()).replace("\\", "\\\\").replace("\"", "\\\""))
+                            .append('"');
+                } else {
+                    object.append(field.getValue());
+                }
+            }
+            object.append((i < (results.size() - 1)) ? "}," : "}");
+            writer.println(object);
+        }
+        writer.println("]");
+    }
+
+    /**
+     * Main method of this class.
+     * 
+     * @param args The command line options. Run with --help to see them.
+     * @throws IOException If the results cannot be written.
+     */
+    public static void main(String[] args) throws IOException {
+        // Parse and check every option before running anything, so a typo does not waste a long sweep.
+        final List<String> ALGORITHM_NAMES;
+        final List<ElementType> ELEMENT_TYPES = new ArrayList<>();
+        final List<Integer> SIZES = new ArrayList<>();
+        final List<String> DISTRIBUTION_NAMES;
+        final List<Long> SEEDS = new ArrayList<>();
+        final int NUMBER_OF_REPETITIONS;
+        final int NUMBER_OF_WARMUP_ITERATIONS;
+        final String FORMAT;
+        final String OUTPUT_FILE;
+        final Map<String, SortAlgorithm> SORT_ALGORITHMS = new LinkedHashMap<>();
+        try {
+            Map<String, String> options = parseOptions(args);
+            if (options == null) {
+                System.out.println(USAGE);
+                return;
+            }
+
+            ALGORITHM_NAMES = splitList(options.get("algorithms"));
+            for (String algorithmName : ALGORITHM_NAMES) {
+                SORT_ALGORITHMS.put(algorithmName, algorithmName.equals(AUTOMATIC_ALGORITHM_NAME) ? null
+                        : SortAlgorithmRegistry.get(algorithmName));
+            }
+            for (String typeName : splitList(options.get("types"))) {
+                ELEMENT_TYPES.add(ElementType.forName(typeName));
+            }
+            for (String size : splitList(options.get("sizes"))) {
+                SIZES.add(parseInteger("sizes", size, 0));
+            }
+            DISTRIBUTION_NAMES = splitList(options.get("distributions"));
+            for (String distributionName : DISTRIBUTION_NAMES) {
+                createDistribution(distributionName, 1);
+            }
+            for (String seed : splitList(options.get("seeds"))) {
+                try {
+                    SEEDS.add(Long.parseLong(seed));
+                } catch (NumberFormatException exception) {
+                    throw new IllegalArgumentException("--seeds must be integers, but got \"" + seed + "\".");
+                }
+            }
+            NUMBER_OF_REPETITIONS = parseInteger("repetitions", options.get("repetitions"), 1);
+            NUMBER_OF_WARMUP_ITERATIONS = parseInteger("warmup", options.get("warmup"), 0);
+            FORMAT = options.get("format");
+            if (!FORMAT.equals("csv") && !FORMAT.equals("json")) {
+                throw new IllegalArgumentException("--format must be csv or json, but got \"" + FORMAT + "\".");
+            }
+            OUTPUT_FILE = options.get("output");
+        } catch (IllegalArgumentException exception) {
+            System.err.println(exception.getMessage());
+            System.err.println(USAGE);
+            System.exit(INVALID_OPTIONS_EXIT_STATUS);
+            return;
+        }
+
+        // Measure every configuration. Progress goes to standard error, so standard output only holds the results.
+        List<Result> results = new ArrayList<>();
+        for (ElementType elementType : ELEMENT_TYPES) {
+            for (int size : SIZES) {
+                for (String distributionName : DISTRIBUTION_NAMES) {
+                    for (long seed : SEEDS) {
+                        // Generate the list once, so every algorithm sorts the same elements.
+                        DataGenerator dataGenerator = new DataGenerator(createDistribution(distributionName, size),
+                                seed);
+                        List<Comparable<Object>> list = elementType.createList(dataGenerator, size);
+
+                        for (Map.Entry<String, SortAlgorithm> sortAlgorithm : SORT_ALGORITHMS.entrySet()) {
+                            final String CONFIGURATION = sortAlgorithm.getKey() + " " + elementType + " " + size + " "
+                                    + distributionName + " " + seed;
+
+                            // Skip algorithms that cannot sort this list, such as radix sort on students.
+                            if ((sortAlgorithm.getValue() != null)
+                                    && !sortAlgorithm.getValue().canSort(list, Comparator.naturalOrder())) {
+                                System.err.println("Skipped " + CONFIGURATION + ": the algorithm cannot sort it.");
+                                continue;
+                            }
+
+                            System.err.println("Measuring " + CONFIGURATION + ".");
+                            long[] timesInNanoseconds = measure(list, sortAlgorithm.getValue(),
+                                    NUMBER_OF_WARMUP_ITERATIONS, NUMBER_OF_REPETITIONS);
+                            results.add(new Result(sortAlgorithm.getKey(), elementType, size, distributionName, seed,
+                                    NUMBER_OF_WARMUP_ITERATIONS, timesInNanoseconds));
+                        }
+                    }
+                }
+            }
+        }
+
+        // Write the results to the output file, or to standard output.
+        Writer output = (OUTPUT_FILE == null) ? new OutputStreamWriter(System.out, StandardCharsets.UTF_8)
+                : Files.newBufferedWriter(Paths.get(OUTPUT_FILE), StandardCharsets.UTF_8);
+        PrintWriter writer = new PrintWriter(output);
+        if (FORMAT.equals("csv")) {
+            writeCsv(results, writer);
+        } else {
+            writeJson(results, writer);
+        }
+        writer.flush();
+        if (OUTPUT_FILE != null) {
+            writer.close();
+        }
+        if (writer.checkError()) {
+            throw new IOException("Could not write the results.");
+        }
+    }
+}
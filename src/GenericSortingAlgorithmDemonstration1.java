@@ -1,7 +1,12 @@
 import java.util.ArrayList;
-import java.util.Random;
+import java.util.Comparator;
 import java.util.Scanner;
+import java.util.SplittableRandom;
+import data.DataGenerator;
+import data.Distribution;
+import sort.KeyDistribution;
 import sort.Sort;
+import sort.SortAlgorithm;
 
 /** This class demonstrates my generic sorting algorithms.
  * 
@@ -100,33 +105,29 @@ public class GenericSortingAlgorithmDemonstration1 {
     @SuppressWarnings("unchecked")
     public static <E extends Number & Comparable<E>> ArrayList<E> createArrayListOfRandomNumbers(int arrayListLength,
             E lowerBound, E upperBound) throws IllegalArgumentException {
-        // Create the array list.
-        ArrayList<E> arrayList = new ArrayList<E>(arrayListLength);
+        // Pick a new seed, so every array list holds different random numbers.
+        final long SEED = new SplittableRandom().nextLong();
 
-        // Create a random object.
-        Random random = new Random();
-
-        // Fill the array list with random numbers of the correct type.
+        // Create the array list with random numbers of the correct type. The numbers are drawn in parallel, one chunk per thread.
+        ArrayList<?> arrayList;
         if (lowerBound instanceof Integer) {
-            for (int i = 0; i < arrayListLength; i++) {
-                arrayList.add((E) (Integer) random.nextInt((Integer) lowerBound, (Integer) upperBound));
-            }
+            arrayList = new DataGenerator(Distribution.uniform((Integer) lowerBound, (Integer) upperBound), SEED)
+                    .createIntegerList(arrayListLength);
         } else if (lowerBound instanceof Long) {
-            for (int i = 0; i < arrayListLength; i++) {
-                arrayList.add((E) (Long) random.nextLong((Long) lowerBound, (Long) upperBound));
-            }
+            arrayList = new DataGenerator(Distribution.uniform((Long) lowerBound, (Long) upperBound), SEED)
+                    .createLongList(arrayListLength);
         } else if (lowerBound instanceof Double) {
-            for (int i = 0; i < arrayListLength; i++) {
-                arrayList.add((E) (Double) random.nextDouble((Double) lowerBound, (Double) upperBound));
-            }
+            arrayList = new DataGenerator(Distribution.uniform((Double) lowerBound, (Double) upperBound), SEED)
+                    .createDoubleList(arrayListLength);
         } else if (lowerBound instanceof Float) {
-            for (int i = 0; i < arrayListLength; i++) {
-                arrayList.add((E) (Float) random.nextFloat((Float) lowerBound, (Float) upperBound));
-            }
+            arrayList = new DataGenerator(Distribution.uniform((Float) lowerBound, (Float) upperBound), SEED)
+                    .createFloatList(arrayListLength);
+        } else {
+            arrayList = new ArrayList<E>(arrayListLength);
         }
 
         // Return the array list.
-        return arrayList;
+        return (ArrayList<E>) arrayList;
     }
 
     /**
@@ -270,6 +271,61 @@ public class GenericSortingAlgorithmDemonstration1 {
             // Check whether the array list is sorted and print a message to indicate whether the array list is sorted.
             printIsArrayListSorted(arrayListSortedWithMergeSort);
 
+            // Create a copy of the unsorted array list to sort in-place with the sorting algorithm that suits it best.
+            ArrayList<Integer> arrayListSortedWithAutomaticSort = new ArrayList<>(arrayList);
+            // ArrayList<Long> arrayListSortedWithAutomaticSort = new ArrayList<>(arrayList);
+            // ArrayList<Double> arrayListSortedWithAutomaticSort = new ArrayList<>(arrayList);
+            // ArrayList<Float> arrayListSortedWithAutomaticSort = new ArrayList<>(arrayList);
+            // Choose the sorting algorithm. Sort.sort() makes the same choice.
+            SortAlgorithm automaticSortAlgorithm = Sort.selectSortAlgorithm(arrayListSortedWithAutomaticSort,
+                    Comparator.naturalOrder(), true);
+            // Store the current time in milliseconds.
+            startTimeInMilliseconds = System.currentTimeMillis();
+            // Sort the copied array list.
+            Sort.sort(arrayListSortedWithAutomaticSort);
+            // Store the current time in milliseconds.
+            endTimeInMilliseconds = System.currentTimeMillis();
+            // Calculate how much time has passed in seconds.
+            double timePassedInSecondsDuringAutomaticSort = calculateTimePassedInSeconds(startTimeInMilliseconds,
+                    endTimeInMilliseconds);
+            // Tell the user which sorting algorithm was chosen to sort a copy of the array list. Also tell the user how long it took to do that.
+            System.out.println();
+            System.out.printf("Used %s sort, chosen automatically, to sort a copy of the array list in %f seconds.",
+                    automaticSortAlgorithm.getName(), timePassedInSecondsDuringAutomaticSort);
+            System.out.println();
+            // Check whether the array list is sorted and print a message to indicate whether the array list is sorted.
+            printIsArrayListSorted(arrayListSortedWithAutomaticSort);
+
+            // Create a primitive array copy of the unsorted array list to sort in-place with the primitive merge sort.
+            int[] arraySortedWithPrimitiveMergeSort = new int[arrayList.size()];
+            // long[] arraySortedWithPrimitiveMergeSort = new long[arrayList.size()];
+            // double[] arraySortedWithPrimitiveMergeSort = new double[arrayList.size()];
+            // float[] arraySortedWithPrimitiveMergeSort = new float[arrayList.size()];
+            for (int i = 0; i < arrayList.size(); i++) {
+                arraySortedWithPrimitiveMergeSort[i] = arrayList.get(i);
+            }
+            // Print the distribution of the keys, which decides whether the primitive merge sort switches to counting sort. Only int and long arrays have a key distribution.
+            KeyDistribution keyDistribution = KeyDistribution.of(arraySortedWithPrimitiveMergeSort);
+            printLnTextLn("The distribution of the keys is: " + keyDistribution);
+            // Name the sorting algorithm that the primitive merge sort actually runs.
+            String primitiveSortAlgorithmName = keyDistribution.isCountingSortFavorable() ? "counting" : "merge";
+            // Store the current time in milliseconds.
+            startTimeInMilliseconds = System.currentTimeMillis();
+            // Sort the primitive array.
+            Sort.mergeSort(arraySortedWithPrimitiveMergeSort);
+            // Store the current time in milliseconds.
+            endTimeInMilliseconds = System.currentTimeMillis();
+            // Calculate how much time has passed in seconds.
+            double timePassedInSecondsDuringPrimitiveMergeSort = calculateTimePassedInSeconds(
+                    startTimeInMilliseconds, endTimeInMilliseconds);
+            // Tell the user which sorting algorithm sorted a primitive copy of the array list. Also tell the user how long it took to do that.
+            System.out.println();
+            System.out.printf("Used %s sort to sort a primitive array copy of the array list in %f seconds.",
+                    primitiveSortAlgorithmName, timePassedInSecondsDuringPrimitiveMergeSort);
+            System.out.println();
+            // Check whether the primitive array is sorted and print a message to indicate whether the primitive array is sorted.
+            printLnTextLn("The primitive array is sorted: " + Sort.isArraySorted(arraySortedWithPrimitiveMergeSort));
+
             // Ask the user if they want to use the program again.
             printLnTextLn("Would you like to use the program again?\n" + "Enter \"" + RESTART_COMMAND
                     + "\" to use the program again. Enter anything else to quit.");
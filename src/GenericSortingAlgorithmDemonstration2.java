@@ -1,9 +1,12 @@
 import java.util.ArrayList;
-import java.util.Random;
 import java.util.Scanner;
+import java.util.SplittableRandom;
 
+import data.DataGenerator;
+import data.Distribution;
 import person.Student;
 import sort.Sort;
+import sort.SortKey;
 
 /** This class demonstrates my generic sorting algorithms.
  * 
@@ -102,33 +105,29 @@ public class GenericSortingAlgorithmDemonstration2 {
     @SuppressWarnings("unchecked")
     public static <E extends Number & Comparable<E>> ArrayList<E> createArrayListOfRandomNumbers(int arrayListLength,
             E lowerBound, E upperBound) throws IllegalArgumentException {
-        // Create the array list.
-        ArrayList<E> arrayList = new ArrayList<E>(arrayListLength);
+        // Pick a new seed, so every array list holds different random numbers.
+        final long SEED = new SplittableRandom().nextLong();
 
-        // Create a random object.
-        Random random = new Random();
-
-        // Fill the array list with random numbers of the correct type.
+        // Create the array list with random numbers of the correct type. The numbers are drawn in parallel, one chunk per thread.
+        ArrayList<?> arrayList;
         if (lowerBound instanceof Integer) {
-            for (int i = 0; i < arrayListLength; i++) {
-                arrayList.add((E) (Integer) random.nextInt((Integer) lowerBound, (Integer) upperBound));
-            }
+            arrayList = new DataGenerator(Distribution.uniform((Integer) lowerBound, (Integer) upperBound), SEED)
+                    .createIntegerList(arrayListLength);
         } else if (lowerBound instanceof Long) {
-            for (int i = 0; i < arrayListLength; i++) {
-                arrayList.add((E) (Long) random.nextLong((Long) lowerBound, (Long) upperBound));
-            }
+            arrayList = new DataGenerator(Distribution.uniform((Long) lowerBound, (Long) upperBound), SEED)
+                    .createLongList(arrayListLength);
         } else if (lowerBound instanceof Double) {
-            for (int i = 0; i < arrayListLength; i++) {
-                arrayList.add((E) (Double) random.nextDouble((Double) lowerBound, (Double) upperBound));
-            }
+            arrayList = new DataGenerator(Distribution.uniform((Double) lowerBound, (Double) upperBound), SEED)
+                    .createDoubleList(arrayListLength);
         } else if (lowerBound instanceof Float) {
-            for (int i = 0; i < arrayListLength; i++) {
-                arrayList.add((E) (Float) random.nextFloat((Float) lowerBound, (Float) upperBound));
-            }
+            arrayList = new DataGenerator(Distribution.uniform((Float) lowerBound, (Float) upperBound), SEED)
+                    .createFloatList(arrayListLength);
+        } else {
+            arrayList = new ArrayList<E>(arrayListLength);
         }
 
         // Return the array list.
-        return arrayList;
+        return (ArrayList<E>) arrayList;
     }
 
     /**
@@ -444,6 +443,54 @@ public class GenericSortingAlgorithmDemonstration2 {
                 printIsArrayListSorted(studentFloatArrayListSortedWithMergeSort);
             }
 
+            // Create a copy of the unsorted array list to sort in-place by descending grade and then by ascending ID number, in a single pass.
+            // Only the sort itself is timed.
+            boolean isStudentArrayListSortedByKeys = false;
+            if (studentIntegerArrayList != null) {
+                ArrayList<Student<Integer>> studentArrayList = new ArrayList<>(studentIntegerArrayList);
+                SortKey<Student<Integer>> sortKey = SortKey.<Student<Integer>>byInt(Student::getGrade).descending()
+                        .thenByLong(Student::getIDNumber);
+                startTimeInMilliseconds = System.currentTimeMillis();
+                Sort.sortBy(studentArrayList, sortKey);
+                endTimeInMilliseconds = System.currentTimeMillis();
+                isStudentArrayListSortedByKeys = Sort.isArrayListSorted(studentArrayList, sortKey);
+            } else if (studentLongArrayList != null) {
+                ArrayList<Student<Long>> studentArrayList = new ArrayList<>(studentLongArrayList);
+                SortKey<Student<Long>> sortKey = SortKey.<Student<Long>>byLong(Student::getGrade).descending()
+                        .thenByLong(Student::getIDNumber);
+                startTimeInMilliseconds = System.currentTimeMillis();
+                Sort.sortBy(studentArrayList, sortKey);
+                endTimeInMilliseconds = System.currentTimeMillis();
+                isStudentArrayListSortedByKeys = Sort.isArrayListSorted(studentArrayList, sortKey);
+            } else if (studentDoubleArrayList != null) {
+                ArrayList<Student<Double>> studentArrayList = new ArrayList<>(studentDoubleArrayList);
+                SortKey<Student<Double>> sortKey = SortKey.<Student<Double>>byDouble(Student::getGrade).descending()
+                        .thenByLong(Student::getIDNumber);
+                startTimeInMilliseconds = System.currentTimeMillis();
+                Sort.sortBy(studentArrayList, sortKey);
+                endTimeInMilliseconds = System.currentTimeMillis();
+                isStudentArrayListSortedByKeys = Sort.isArrayListSorted(studentArrayList, sortKey);
+            } else if (studentFloatArrayList != null) {
+                ArrayList<Student<Float>> studentArrayList = new ArrayList<>(studentFloatArrayList);
+                SortKey<Student<Float>> sortKey = SortKey.<Student<Float>>byDouble(Student::getGrade).descending()
+                        .thenByLong(Student::getIDNumber);
+                startTimeInMilliseconds = System.currentTimeMillis();
+                Sort.sortBy(studentArrayList, sortKey);
+                endTimeInMilliseconds = System.currentTimeMillis();
+                isStudentArrayListSortedByKeys = Sort.isArrayListSorted(studentArrayList, sortKey);
+            }
+            // Calculate how much time has passed in seconds.
+            double timePassedInSecondsDuringSortByKeys = calculateTimePassedInSeconds(startTimeInMilliseconds,
+                    endTimeInMilliseconds);
+            // Tell the user that a copy of the array list was sorted. Also tell the user how long it took to do that.
+            System.out.println();
+            System.out.printf("Sorted a copy of the array list by descending grade and then by ascending ID number in %f seconds.",
+                    timePassedInSecondsDuringSortByKeys);
+            System.out.println();
+            // Print a message to indicate whether the array list is sorted by its keys.
+            printLnTextLn("The array list is sorted by descending grade and then by ascending ID number: "
+                    + isStudentArrayListSortedByKeys);
+
             // Ask the user if they want to use the program again.
             printLnTextLn("Would you like to use the program again?\n" + "Enter \"" + RESTART_COMMAND
                     + "\" to use the program again. Enter anything else to quit.");
@@ -0,0 +1,280 @@
+package data;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+import sort.MappedFileSort.KeyType;
+
+/**
+ * This class creates large inputs for the sorts from a {@link Distribution} and a seed. The values are split into fixed-size chunks, and each chunk draws its values from its own {@link SplittableRandom}, split off the seed's generator in chunk order. Chunks are therefore filled in parallel without sharing a generator, the values do not depend on the number of threads, and a primitive array, a list or a file that is created with the same seed and distribution holds the same values. Primitive arrays are filled without boxing, and files are written chunk by chunk, so inputs for the out-of-core sorts never have to fit into the heap.
+ * 
+ * @author Jaskaran Singh
+ */
+public final class DataGenerator {
+    // The number of values that each chunk holds.
+    private static final int CHUNK_SIZE = 1 << 16;
+
+    /**
+     * This interface fills a chunk of values, from the start index (inclusive) to the end index (exclusive), with values drawn from the chunk's random number generator.
+     * 
+     * @author Jaskaran Singh
+     */
+    @FunctionalInterface
+    private interface ChunkFiller {
+        /**
+         * Fills a chunk of values.
+         * 
+         * @param distribution The distribution to draw the values from.
+         * @param random The chunk's random number generator.
+         * @param startIndex The index of the chunk's first value. This index is inclusive.
+         * @param endIndex The index of the end of the chunk. This index is exclusive.
+         */
+        void fill(Distribution distribution, SplittableRandom random, int startIndex, int endIndex);
+    }
+
+    private final Distribution distribution;
+    private final long seed;
+
+    /**
+     * DataGenerator constructor.
+     * 
+     * @param distribution The distribution of the values.
+     * @param seed The seed that the values are drawn with.
+     * @throws NullPointerException
+     */
+    public DataGenerator(Distribution distribution, long seed) throws NullPointerException {
+        this.distribution = Objects.requireNonNull(distribution);
+        this.seed = seed;
+    }
+
+    /**
+     * Creates an int array of the specified length and fills it with values from the distribution in parallel. Integer values outside of the int range are narrowed with a cast.
+     * 
+     * @param numberOfValues The length of the array.
+     * @return Returns the filled array.
+     * @throws IllegalArgumentException If the number of values is negative.
+     */
+    public int[] createIntArray(int numberOfValues) throws IllegalArgumentException {
+        int[] values = new int[checkNumberOfValues(numberOfValues)];
+        fillChunksInParallel(numberOfValues, (chunkDistribution, random, startIndex, endIndex) -> {
+            for (int i = startIndex; i < endIndex; i++) {
+                values[i] = (int) chunkDistribution.nextLong(random, i);
+            }
+        });
+        return values;
+    }
+
+    /**
+     * Creates a long array of the specified length and fills it with values from the distribution in parallel.
+     * 
+     * @param numberOfValues The length of the array.
+     * @return Returns the filled array.
+     * @throws IllegalArgumentException If the number of values is negative.
+     */
+    public long[] createLongArray(int numberOfValues) throws IllegalArgumentException {
+        long[] values = new long[checkNumberOfValues(numberOfValues)];
+        fillChunksInParallel(numberOfValues, (chunkDistribution, random, startIndex, endIndex) -> {
+            for (int i = startIndex; i < endIndex; i++) {
+                values[i] = chunkDistribution.nextLong(random, i);
+            }
+        });
+        return values;
+    }
+
+    /**
+     * Creates a double array of the specified length and fills it with values from the distribution in parallel.
+     * 
+     * @param numberOfValues The length of the array.
+     * @return Returns the filled array.
+     * @throws IllegalArgumentException If the number of values is negative.
+     */
+    public double[] createDoubleArray(int numberOfValues) throws IllegalArgumentException {
+        double[] values = new double[checkNumberOfValues(numberOfValues)];
+        fillChunksInParallel(numberOfValues, (chunkDistribution, random, startIndex, endIndex) -> {
+            for (int i = startIndex; i < endIndex; i++) {
+                values[i] = chunkDistribution.nextDouble(random, i);
+            }
+        });
+        return values;
+    }
+
+    /**
+     * Creates a float array of the specified length and fills it with values from the distribution in parallel.
+     * 
+     * @param numberOfValues The length of the array.
+     * @return Returns the filled array.
+     * @throws IllegalArgumentException If the number of values is negative.
+     */
+    public float[] createFloatArray(int numberOfValues) throws IllegalArgumentException {
+        float[] values = new float[checkNumberOfValues(numberOfValues)];
+        fillChunksInParallel(numberOfValues, (chunkDistribution, random, startIndex, endIndex) -> {
+            for (int i = startIndex; i < endIndex; i++) {
+                values[i] = chunkDistribution.nextFloat(random, i);
+            }
+        });
+        return values;
+    }
+
+    /**
+     * Creates an array list of the specified length and fills it with Integer values from the distribution. The values are drawn and boxed in parallel into an array, which the list is then created from. Integer values outside of the int range are narrowed with a cast.
+     * 
+     * @param numberOfValues The length of the array list.
+     * @return Returns the filled array list.
+     * @throws IllegalArgumentException If the number of values is negative.
+     */
+    public ArrayList<Integer> createIntegerList(int numberOfValues) throws IllegalArgumentException {
+        Integer[] values = new Integer[checkNumberOfValues(numberOfValues)];
+        fillChunksInParallel(numberOfValues, (chunkDistribution, random, startIndex, endIndex) -> {
+            for (int i = startIndex; i < endIndex; i++) {
+                values[i] = (int) chunkDistribution.nextLong(random, i);
+            }
+        });
+        return new ArrayList<>(Arrays.asList(values));
+    }
+
+    /**
+     * Creates an array list of the specified length and fills it with Long values from the distribution. The values are drawn and boxed in parallel into an array, which the list is then created from.
+     * 
+     * @param numberOfValues The length of the array list.
+     * @return Returns the filled array list.
+     * @throws IllegalArgumentException If the number of values is negative.
+     */
+    public ArrayList<Long> createLongList(int numberOfValues) throws IllegalArgumentException {
+        Long[] values = new Long[checkNumberOfValues(numberOfValues)];
+        fillChunksInParallel(numberOfValues, (chunkDistribution, random, startIndex, endIndex) -> {
+            for (int i = startIndex; i < endIndex; i++) {
+                values[i] = chunkDistribution.nextLong(random, i);
+            }
+        });
+        return new ArrayList<>(Arrays.asList(values));
+    }
+
+    /**
+     * Creates an array list of the specified length and fills it with Double values from the distribution. The values are drawn and boxed in parallel into an array, which the list is then created from.
+     * 
+     * @param numberOfValues The length of the array list.
+     * @return Returns the filled array list.
+     * @throws IllegalArgumentException If the number of values is negative.
+     */
+    public ArrayList<Double> createDoubleList(int numberOfValues) throws IllegalArgumentException {
+        Double[] values = new Double[checkNumberOfValues(numberOfValues)];
+        fillChunksInParallel(numberOfValues, (chunkDistribution, random, startIndex, endIndex) -> {
+            for (int i = startIndex; i < endIndex; i++) {
+                values[i] = chunkDistribution.nextDouble(random, i);
+            }
+        });
+        return new ArrayList<>(Arrays.asList(values));
+    }
+
+    /**
+     * Creates an array list of the specified length and fills it with Float values from the distribution. The values are drawn and boxed in parallel into an array, which the list is then created from.
+     * 
+     * @param numberOfValues The length of the array list.
+     * @return Returns the filled array list.
+     * @throws IllegalArgumentException If the number of values is negative.
+     */
+    public ArrayList<Float> createFloatList(int numberOfValues) throws IllegalArgumentException {
+        Float[] values = new Float[checkNumberOfValues(numberOfValues)];
+        fillChunksInParallel(numberOfValues, (chunkDistribution, random, startIndex, endIndex) -> {
+            for (int i = startIndex; i < endIndex; i++) {
+                values[i] = chunkDistribution.nextFloat(random, i);
+            }
+        });
+        return new ArrayList<>(Arrays.asList(values));
+    }
+
+    /**
+     * Writes the specified number of values from the distribution into a file as fixed-width binary values, which {@link sort.MappedFileSort} can sort. The values are drawn one chunk at a time into a direct buffer and written straight to the file, so the heap only ever holds one chunk and the file can hold more values than an array. The file holds the same values as the array of the same type that this generator creates.
+     * 
+     * @param file The file to write. It is created or replaced.
+     * @param numberOfValues The number of values to write.
+     * @param valueType The type of the values.
+     * @param byteOrder The byte order of the values.
+     * @throws IOException If the file cannot be written.
+     * @throws IllegalArgumentException If the number of values is negative.
+     * @throws NullPointerException
+     */
+    public void writeFile(Path file, long numberOfValues, KeyType valueType, ByteOrder byteOrder)
+            throws IOException, IllegalArgumentException, NullPointerException {
+        if (numberOfValues < 0) {
+            throw new IllegalArgumentException("The number of values must not be negative.");
+        }
+        Distribution preparedDistribution = distribution.forNumberOfValues(numberOfValues, seed);
+        SplittableRandom seedRandom = new SplittableRandom(seed);
+        ByteBuffer buffer = ByteBuffer.allocateDirect(CHUNK_SIZE * valueType.getSizeInBytes()).order(byteOrder);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            for (long chunkStart = 0; chunkStart < numberOfValues; chunkStart += CHUNK_SIZE) {
+                // Draw the chunk's values into the buffer.
+                SplittableRandom random = seedRandom.split();
+                final long CHUNK_END = Math.min(numberOfValues, (chunkStart + CHUNK_SIZE));
+                buffer.clear();
+                for (long i = chunkStart; i < CHUNK_END; i++) {
+                    switch (valueType) {
+                        case INT:
+                            buffer.putInt((int) preparedDistribution.nextLong(random, i));
+                            break;
+                        case LONG:
+                            buffer.putLong(preparedDistribution.nextLong(random, i));
+                            break;
+                        case FLOAT:
+                            buffer.putFloat(preparedDistribution.nextFloat(random, i));
+                            break;
+                        case DOUBLE:
+                            buffer.putDouble(preparedDistribution.nextDouble(random, i));
+                            break;
+                    }
+                }
+
+                // Write the chunk to the file.
+                buffer.flip();
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+            }
+        }
+    }
+
+    /**
+     * Fills every chunk of a sequence of values in parallel. The random number generators of the chunks are split off the seed's generator in chunk order before any chunk is filled, so each chunk draws the same values no matter which thread fills it.
+     * 
+     * @param numberOfValues The number of values in the sequence.
+     * @param chunkFiller The function that fills a chunk.
+     */
+    private void fillChunksInParallel(int numberOfValues, ChunkFiller chunkFiller) {
+        Distribution preparedDistribution = distribution.forNumberOfValues(numberOfValues, seed);
+        SplittableRandom seedRandom = new SplittableRandom(seed);
+        SplittableRandom[] chunkRandoms = new SplittableRandom[(int) ((numberOfValues
+                + (CHUNK_SIZE - 1L)) / CHUNK_SIZE)];
+        for (int chunk = 0; chunk < chunkRandoms.length; chunk++) {
+            chunkRandoms[chunk] = seedRandom.split();
+        }
+        IntStream.range(0, chunkRandoms.length).parallel().forEach(chunk -> {
+            final int START_INDEX = chunk * CHUNK_SIZE;
+            chunkFiller.fill(preparedDistribution, chunkRandoms[chunk], START_INDEX,
+                    Math.min(numberOfValues, (START_INDEX + CHUNK_SIZE)));
+        });
+    }
+
+    /**
+     * Checks that the specified number of values is not negative.
+     * 
+     * @param numberOfValues The number of values to check.
+     * @return Returns the number of values.
+     * @throws IllegalArgumentException If the number of values is negative.
+     */
+    private static int checkNumberOfValues(int numberOfValues) throws IllegalArgumentException {
+        if (numberOfValues < 0) {
+            throw new IllegalArgumentException("The number of values must not be negative.");
+        }
+        return numberOfValues;
+    }
+}
@@ -0,0 +1,263 @@
+package data;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.SplittableRandom;
+
+/**
+ * This class describes how the values that a {@link DataGenerator} creates are distributed. Each distribution draws a value from a random number generator and the value's index, so the values can be drawn in any order and on any thread, and a generator with the same seed always creates the same values. Distributions are created with the static factory methods of this class.
+ * 
+ * @author Jaskaran Singh
+ */
+public abstract class Distribution {
+    // The largest number of values that a Zipf distribution can draw from, since it keeps a table of their cumulative probabilities.
+    public static final int MAXIMUM_NUMBER_OF_ZIPF_VALUES = 1 << 24;
+
+    /**
+     * Distribution constructor. Only the distributions in this package can extend this class.
+     */
+    Distribution() {
+    }
+
+    /**
+     * Creates a distribution of integers drawn uniformly between the lower bound (inclusive) and upper bound (exclusive). Floating-point values are drawn uniformly from the same interval of real numbers.
+     * 
+     * @param lowerBound The inclusive lower bound of the values.
+     * @param upperBound The exclusive upper bound of the values.
+     * @return Returns the uniform distribution.
+     * @throws IllegalArgumentException If the lower bound is not less than the upper bound.
+     */
+    public static Distribution uniform(long lowerBound, long upperBound) throws IllegalArgumentException {
+        if (lowerBound >= upperBound) {
+            throw new IllegalArgumentException("The lower bound must be less than the upper bound.");
+        }
+        return new Distribution() {
+            @Override
+            long nextLong(SplittableRandom random, long index) {
+                return random.nextLong(lowerBound, upperBound);
+            }
+
+            @Override
+            double nextDouble(SplittableRandom random, long index) {
+                return random.nextDouble(lowerBound, upperBound);
+            }
+        };
+    }
+
+    /**
+     * Creates a distribution of real numbers drawn uniformly between the lower bound (inclusive) and upper bound (exclusive). Integer values are the drawn real numbers rounded down.
+     * 
+     * @param lowerBound The inclusive lower bound of the values.
+     * @param upperBound The exclusive upper bound of the values.
+     * @return Returns the uniform distribution.
+     * @throws IllegalArgumentException If the lower bound is not less than the upper bound, or a bound is not finite.
+     */
+    public static Distribution uniform(double lowerBound, double upperBound) throws IllegalArgumentException {
+        if (!(lowerBound < upperBound) || Double.isInfinite(lowerBound) || Double.isInfinite(upperBound)) {
+            throw new IllegalArgumentException("The lower bound must be less than the upper bound, and both must be finite.");
+        }
+        return new Distribution() {
+            @Override
+            long nextLong(SplittableRandom random, long index) {
+                return (long) Math.floor(nextDouble(random, index));
+            }
+
+            @Override
+            double nextDouble(SplittableRandom random, long index) {
+                return random.nextDouble(lowerBound, upperBound);
+            }
+
+            @Override
+            float nextFloat(SplittableRandom random, long index) {
+                // Draw floats directly, since a double just below the upper bound can round up to it as a float.
+                return random.nextFloat((float) lowerBound, (float) upperBound);
+            }
+        };
+    }
+
+    /**
+     * Creates a distribution of the integers from 1 to the specified number of values, where the probability of drawing k is proportional to 1 / k^exponent. Small values are drawn far more often than large ones, which models skewed keys such as word frequencies. The cumulative probabilities of the values are computed once, and each value is drawn with a binary search.
+     * 
+     * @param numberOfValues The number of different values.
+     * @param exponent The exponent of the distribution. Larger exponents make it more skewed.
+     * @return Returns the Zipf distribution.
+     * @throws IllegalArgumentException If the number of values is not between 1 and {@link #MAXIMUM_NUMBER_OF_ZIPF_VALUES}, or the exponent is negative or not finite.
+     */
+    public static Distribution zipf(int numberOfValues, double exponent) throws IllegalArgumentException {
+        if ((numberOfValues < 1) || (numberOfValues > MAXIMUM_NUMBER_OF_ZIPF_VALUES)) {
+            throw new IllegalArgumentException("The number of values must be between 1 and "
+                    + MAXIMUM_NUMBER_OF_ZIPF_VALUES + ".");
+        }
+        if (!(exponent >= 0) || Double.isInfinite(exponent)) {
+            throw new IllegalArgumentException("The exponent must be a non-negative finite number.");
+        }
+
+        // Add up the weight of every value and scale the running sums into cumulative probabilities.
+        double[] cumulativeProbabilities = new double[numberOfValues];
+        double totalWeight = 0;
+        for (int i = 0; i < numberOfValues; i++) {
+            totalWeight += Math.pow((i + 1), -exponent);
+            cumulativeProbabilities[i] = totalWeight;
+        }
+        for (int i = 0; i < numberOfValues; i++) {
+            cumulativeProbabilities[i] /= totalWeight;
+        }
+        cumulativeProbabilities[numberOfValues - 1] = 1;
+
+        return new Distribution() {
+            @Override
+            long nextLong(SplittableRandom random, long index) {
+                // Find the first value whose cumulative probability is above a uniform random number.
+                int searchResult = Arrays.binarySearch(cumulativeProbabilities, random.nextDouble());
+                return (searchResult >= 0) ? (searchResult + 2) : (-searchResult);
+            }
+
+            @Override
+            double nextDouble(SplittableRandom random, long index) {
+                return nextLong(random, index);
+            }
+        };
+    }
+
+    /**
+     * Creates a normal distribution with the specified mean and standard deviation. Integer values are the drawn real numbers rounded to the nearest integer.
+     * 
+     * @param mean The mean of the values.
+     * @param standardDeviation The standard deviation of the values.
+     * @return Returns the Gaussian distribution.
+     * @throws IllegalArgumentException If the standard deviation is negative, or a parameter is not finite.
+     */
+    public static Distribution gaussian(double mean, double standardDeviation) throws IllegalArgumentException {
+        if (!Double.isFinite(mean) || !(standardDeviation >= 0) || Double.isInfinite(standardDeviation)) {
+            throw new IllegalArgumentException("The mean must be finite and the standard deviation must be a non-negative finite number.");
+        }
+        return new Distribution() {
+            @Override
+            long nextLong(SplittableRandom random, long index) {
+                return Math.round(nextDouble(random, index));
+            }
+
+            @Override
+            double nextDouble(SplittableRandom random, long index) {
+                return mean + (standardDeviation * random.nextGaussian());
+            }
+        };
+    }
+
+    /**
+     * Creates a distribution whose values are their own indices, in ascending order, except that the specified number of random pairs of positions have been swapped. It models input that is almost sorted, which adaptive sorts should finish quickly. The swaps are chosen from the generator's seed and the number of values, and only the swapped positions are remembered, so the values can still be drawn in any order.
+     * 
+     * @param numberOfPerturbations The number of random swaps.
+     * @return Returns the nearly sorted distribution.
+     * @throws IllegalArgumentException If the number of perturbations is negative.
+     */
+    public static Distribution sortedWithPerturbations(int numberOfPerturbations) throws IllegalArgumentException {
+        if (numberOfPerturbations < 0) {
+            throw new IllegalArgumentException("The number of perturbations must not be negative.");
+        }
+        return new Distribution() {
+            @Override
+            Distribution forNumberOfValues(long numberOfValues, long seed) {
+                // Swap random pairs of positions, remembering the value at every position that moved.
+                HashMap<Long, Long> perturbedValues = new HashMap<>();
+                if (numberOfValues > 1) {
+                    SplittableRandom random = new SplittableRandom(seed);
+                    for (int i = 0; i < numberOfPerturbations; i++) {
+                        long position1 = random.nextLong(numberOfValues);
+                        long position2 = random.nextLong(numberOfValues);
+                        long value1 = perturbedValues.getOrDefault(position1, position1);
+                        long value2 = perturbedValues.getOrDefault(position2, position2);
+                        perturbedValues.put(position1, value2);
+                        perturbedValues.put(position2, value1);
+                    }
+                }
+
+                return new Distribution() {
+                    @Override
+                    long nextLong(SplittableRandom random, long index) {
+                        return perturbedValues.getOrDefault(index, index);
+                    }
+
+                    @Override
+                    double nextDouble(SplittableRandom random, long index) {
+                        return nextLong(random, index);
+                    }
+                };
+            }
+
+            @Override
+            long nextLong(SplittableRandom random, long index) {
+                throw new IllegalStateException("The number of values must be known first.");
+            }
+
+            @Override
+            double nextDouble(SplittableRandom random, long index) {
+                throw new IllegalStateException("The number of values must be known first.");
+            }
+        };
+    }
+
+    /**
+     * Creates a distribution of integers drawn uniformly from zero to the specified number of values (exclusive), so most values are duplicates when the number of values is small.
+     * 
+     * @param numberOfValues The number of different values.
+     * @return Returns the few unique distribution.
+     * @throws IllegalArgumentException If the number of values is not positive.
+     */
+    public static Distribution fewUnique(int numberOfValues) throws IllegalArgumentException {
+        if (numberOfValues < 1) {
+            throw new IllegalArgumentException("The number of values must be positive.");
+        }
+        return new Distribution() {
+            @Override
+            long nextLong(SplittableRandom random, long index) {
+                return random.nextInt(numberOfValues);
+            }
+
+            @Override
+            double nextDouble(SplittableRandom random, long index) {
+                return random.nextInt(numberOfValues);
+            }
+        };
+    }
+
+    /**
+     * Returns the distribution to draw a specific number of values from with a specific seed. Most distributions do not depend on either and return themselves. Distributions that shape the whole sequence of values, like the nearly sorted distribution, use them to prepare the sequence.
+     * 
+     * @param numberOfValues The number of values that will be drawn.
+     * @param seed The seed of the generator that draws the values.
+     * @return Returns the distribution to draw the values from.
+     */
+    Distribution forNumberOfValues(long numberOfValues, long seed) {
+        return this;
+    }
+
+    /**
+     * Draws an integer value from this distribution.
+     * 
+     * @param random The random number generator of the chunk that the value belongs to.
+     * @param index The index of the value.
+     * @return Returns the value.
+     */
+    abstract long nextLong(SplittableRandom random, long index);
+
+    /**
+     * Draws a floating-point value from this distribution.
+     * 
+     * @param random The random number generator of the chunk that the value belongs to.
+     * @param index The index of the value.
+     * @return Returns the value.
+     */
+    abstract double nextDouble(SplittableRandom random, long index);
+
+    /**
+     * Draws a float value from this distribution. By default, it is a double value narrowed with a cast.
+     * 
+     * @param random The random number generator of the chunk that the value belongs to.
+     * @param index The index of the value.
+     * @return Returns the value.
+     */
+    float nextFloat(SplittableRandom random, long index) {
+        return (float) nextDouble(random, index);
+    }
+}
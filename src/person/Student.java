@@ -1,34 +1,73 @@
 package person;
 
+import java.util.concurrent.atomic.AtomicLong;
+
 /**
- * This class models a student with an ID number and a grade.
+ * This class models a student with an ID number and a grade. Students can be instantiated from many threads at once, and every student still gets a different ID number.
  * 
  * @author Jaskaran Singh
  */
 public class Student<T extends Comparable<T>> implements Comparable<Student<T>> {
-    // Static field for keeping track of the number of instantiated students.
-    private static int numberOfStudents = 0;
+    // The number of ID numbers that a thread reserves at a time, so a thread only touches the shared counter once per block.
+    private static final int ID_NUMBER_BLOCK_SIZE = 1024;
+
+    // The first ID number of the next block that no thread has reserved yet.
+    private static final AtomicLong NEXT_ID_NUMBER_BLOCK_START = new AtomicLong();
+
+    // The block of ID numbers that each thread is currently handing out.
+    private static final ThreadLocal<IDNumberBlock> ID_NUMBER_BLOCKS = ThreadLocal.withInitial(IDNumberBlock::new);
 
     // Student properties.
-    private int idNumber;
+    private long idNumber;
     private T grade;
 
     /**
-     * Student constructor. Stores the specified grade and an ID number that's based on how many students were instantiated prior to instantiating this one.
+     * Student constructor. Stores the specified grade and the next unused ID number. A single thread gets consecutive ID numbers, while students instantiated on different threads get ID numbers from different blocks.
      * 
      * @param grade The student's grade that will be stored.
      */
     public Student(T grade) {
-        this.idNumber = numberOfStudents++;
+        this(allocateIDNumber(), grade);
+    }
+
+    /**
+     * Student constructor. Stores the specified ID number and grade. The student stores use it to recreate students whose ID numbers were allocated earlier.
+     * 
+     * @param idNumber The student's ID number that will be stored.
+     * @param grade The student's grade that will be stored.
+     */
+    Student(long idNumber, T grade) {
+        this.idNumber = idNumber;
         this.grade = grade;
     }
 
+    /**
+     * Returns the next unused ID number. Students and student stores share the same ID numbers, so every student gets a different one. Each thread hands out ID numbers from its own block without any synchronization, and only reserves a new block from the shared atomic counter once every {@value #ID_NUMBER_BLOCK_SIZE} ID numbers, so threads that create students at the same time do not contend with each other.
+     * 
+     * @return Returns the next unused ID number.
+     * @throws IllegalStateException If every long ID number has been reserved.
+     */
+    static long allocateIDNumber() throws IllegalStateException {
+        IDNumberBlock block = ID_NUMBER_BLOCKS.get();
+        if (block.nextIDNumber == block.endIDNumber) {
+            // Reserve a new block for this thread.
+            final long BLOCK_START = NEXT_ID_NUMBER_BLOCK_START.getAndAdd(ID_NUMBER_BLOCK_SIZE);
+            if (BLOCK_START < 0) {
+                NEXT_ID_NUMBER_BLOCK_START.set(Long.MIN_VALUE);
+                throw new IllegalStateException("Every ID number has been allocated.");
+            }
+            block.nextIDNumber = BLOCK_START;
+            block.endIDNumber = BLOCK_START + ID_NUMBER_BLOCK_SIZE;
+        }
+        return block.nextIDNumber++;
+    }
+
     /**
      * Returns the student's stored ID number.
      * 
      * @return Returns the student's stored ID number.
      */
-    public int getIDNumber() {
+    public long getIDNumber() {
         return idNumber;
     }
 
@@ -59,4 +98,17 @@ public class Student<T extends Comparable<T>> implements Comparable<Student<T>>
     public String toString() {
         return "[" + idNumber + ", " + grade + "]";
     }
+
+    /**
+     * This class holds the range of ID numbers that a thread has reserved and not handed out yet. Only its own thread reads and writes it.
+     * 
+     * @author Jaskaran Singh
+     */
+    private static final class IDNumberBlock {
+        // The next ID number to hand out. This ID number is inclusive.
+        private long nextIDNumber;
+
+        // The end of the reserved range. This ID number is exclusive.
+        private long endIDNumber;
+    }
 }
@@ -0,0 +1,395 @@
+package person;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Objects;
+import sort.Sort;
+
+/**
+ * This class stores students column by column outside of the heap. The ID numbers are kept in one direct buffer and the grades in another, as primitive ints, longs, floats or doubles, so a student takes 12 to 16 bytes instead of a student object, a boxed grade and a list reference. Sorting by grade sorts a permutation of row indices by primitive keys and then gathers the rows into their sorted positions, without calling {@link Student#compareTo(Student)}. {@link Student} objects are only created when a student is read back with {@link #get(int)} or {@link #toList()}.
+ * 
+ * @author Jaskaran Singh
+ * @param <T> The type of the grades.
+ */
+public final class StudentStore<T extends Comparable<T>> {
+    // The smallest capacity that full columns grow to.
+    private static final int MINIMUM_GROWN_CAPACITY = 16;
+
+    // The largest number of students a store can hold, so that an 8-byte column still fits into one buffer.
+    public static final int MAXIMUM_CAPACITY = Integer.MAX_VALUE / Long.BYTES;
+
+    /**
+     * This enum lists the primitive types that the grade column can hold. Each type converts its grades to and from the column, and into longs whose signed order matches the order that {@link Comparable#compareTo(Object)} gives the grades.
+     * 
+     * @author Jaskaran Singh
+     */
+    private enum GradeType {
+        INTEGER(Integer.BYTES),
+        LONG(Long.BYTES),
+        FLOAT(Float.BYTES),
+        DOUBLE(Double.BYTES);
+
+        // The number of bytes of a grade of this type.
+        private final int sizeInBytes;
+
+        /**
+         * GradeType constructor.
+         * 
+         * @param sizeInBytes The number of bytes of a grade of this type.
+         */
+        private GradeType(int sizeInBytes) {
+            this.sizeInBytes = sizeInBytes;
+        }
+
+        /**
+         * Reads the grade at the specified position of the column.
+         * 
+         * @param column The grade column.
+         * @param position The position of the grade in the column.
+         * @return Returns the boxed grade.
+         */
+        private Object read(ByteBuffer column, int position) {
+            switch (this) {
+                case INTEGER:
+                    return column.getInt(position);
+                case LONG:
+                    return column.getLong(position);
+                case FLOAT:
+                    return column.getFloat(position);
+                case DOUBLE:
+                    return column.getDouble(position);
+                default:
+                    throw new AssertionError(this);
+            }
+        }
+
+        /**
+         * Writes the specified grade at the specified position of the column.
+         * 
+         * @param column The grade column.
+         * @param position The position of the grade in the column.
+         * @param grade The grade to write. It must be of the type that this grade type holds.
+         * @throws NullPointerException If the grade is null.
+         */
+        private void write(ByteBuffer column, int position, Object grade) throws NullPointerException {
+            switch (this) {
+                case INTEGER:
+                    column.putInt(position, (Integer) grade);
+                    break;
+                case LONG:
+                    column.putLong(position, (Long) grade);
+                    break;
+                case FLOAT:
+                    column.putFloat(position, (Float) grade);
+                    break;
+                case DOUBLE:
+                    column.putDouble(position, (Double) grade);
+                    break;
+            }
+        }
+
+        /**
+         * Reads the grade at the specified position of the column as a long whose signed order matches the order of the grades. Floats and doubles are converted with {@link Sort#toSortableInt(float)} and {@link Sort#toSortableLong(double)}, so the grades are in the same order that the sorts in {@link Sort} give them.
+         * 
+         * @param column The grade column.
+         * @param position The position of the grade in the column.
+         * @return Returns the grade as a sortable long.
+         */
+        private long readSortableKey(ByteBuffer column, int position) {
+            switch (this) {
+                case INTEGER:
+                    return column.getInt(position);
+                case LONG:
+                    return column.getLong(position);
+                case FLOAT:
+                    return Sort.toSortableInt(column.getFloat(position));
+                case DOUBLE:
+                    return Sort.toSortableLong(column.getDouble(position));
+                default:
+                    throw new AssertionError(this);
+            }
+        }
+    }
+
+    // The primitive type of the grade column.
+    private final GradeType gradeType;
+
+    // The ID number column, with 8 bytes per student.
+    private ByteBuffer idNumbers;
+
+    // The grade column, with 4 or 8 bytes per student.
+    private ByteBuffer grades;
+
+    // The number of students in the store.
+    private int size;
+
+    /**
+     * StudentStore constructor.
+     * 
+     * @param gradeType The primitive type of the grade column.
+     * @param initialCapacity The number of students that the columns hold before they have to grow.
+     * @throws IllegalArgumentException If the initial capacity is negative or larger than {@link #MAXIMUM_CAPACITY}.
+     */
+    private StudentStore(GradeType gradeType, int initialCapacity) throws IllegalArgumentException {
+        if ((initialCapacity < 0) || (initialCapacity > MAXIMUM_CAPACITY)) {
+            throw new IllegalArgumentException("The initial capacity must be between 0 and " + MAXIMUM_CAPACITY + ".");
+        }
+        this.gradeType = gradeType;
+        this.idNumbers = allocateColumn(initialCapacity, Long.BYTES);
+        this.grades = allocateColumn(initialCapacity, gradeType.sizeInBytes);
+    }
+
+    /**
+     * Creates an empty store for students with Integer grades.
+     * 
+     * @param initialCapacity The number of students that the store holds before its columns have to grow.
+     * @return Returns the empty store.
+     * @throws IllegalArgumentException If the initial capacity is negative or larger than {@link #MAXIMUM_CAPACITY}.
+     */
+    public static StudentStore<Integer> withIntegerGrades(int initialCapacity) throws IllegalArgumentException {
+        return new StudentStore<>(GradeType.INTEGER, initialCapacity);
+    }
+
+    /**
+     * Creates an empty store for students with Long grades.
+     * 
+     * @param initialCapacity The number of students that the store holds before its columns have to grow.
+     * @return Returns the empty store.
+     * @throws IllegalArgumentException If the initial capacity is negative or larger than {@link #MAXIMUM_CAPACITY}.
+     */
+    public static StudentStore<Long> withLongGrades(int initialCapacity) throws IllegalArgumentException {
+        return new StudentStore<>(GradeType.LONG, initialCapacity);
+    }
+
+    /**
+     * Creates an empty store for students with Float grades.
+     * 
+     * @param initialCapacity The number of students that the store holds before its columns have to grow.
+     * @return Returns the empty store.
+     * @throws IllegalArgumentException If the initial capacity is negative or larger than {@link #MAXIMUM_CAPACITY}.
+     */
+    public static StudentStore<Float> withFloatGrades(int initialCapacity) throws IllegalArgumentException {
+        return new StudentStore<>(GradeType.FLOAT, initialCapacity);
+    }
+
+    /**
+     * Creates an empty store for students with Double grades.
+     * 
+     * @param initialCapacity The number of students that the store holds before its columns have to grow.
+     * @return Returns the empty store.
+     * @throws IllegalArgumentException If the initial capacity is negative or larger than {@link #MAXIMUM_CAPACITY}.
+     */
+    public static StudentStore<Double> withDoubleGrades(int initialCapacity) throws IllegalArgumentException {
+        return new StudentStore<>(GradeType.DOUBLE, initialCapacity);
+    }
+
+    /**
+     * Returns the number of students in the store.
+     * 
+     * @return Returns the number of students in the store.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the number of bytes outside of the heap that the store's columns take, including their unused capacity.
+     * 
+     * @return Returns the off-heap size of the store in bytes.
+     */
+    public long getOffHeapSizeInBytes() {
+        return (long) idNumbers.capacity() + grades.capacity();
+    }
+
+    /**
+     * Adds a new student with the specified grade to the end of the store. The student gets the next unused ID number, the same way as a new {@link Student} would.
+     * 
+     * @param grade The student's grade.
+     * @throws IllegalStateException If the store already holds {@link #MAXIMUM_CAPACITY} students.
+     * @throws NullPointerException If the grade is null.
+     */
+    public void add(T grade) throws IllegalStateException, NullPointerException {
+        Objects.requireNonNull(grade);
+        addRow(Student.allocateIDNumber(), grade);
+    }
+
+    /**
+     * Adds a copy of the specified student to the end of the store. The student keeps its ID number.
+     * 
+     * @param student The student to add.
+     * @throws IllegalStateException If the store already holds {@link #MAXIMUM_CAPACITY} students.
+     * @throws NullPointerException If the student or its grade is null.
+     */
+    public void add(Student<T> student) throws IllegalStateException, NullPointerException {
+        addRow(student.getIDNumber(), Objects.requireNonNull(student.getGrade()));
+    }
+
+    /**
+     * Adds copies of the specified students to the end of the store, in the order that the collection returns them. The students keep their ID numbers.
+     * 
+     * @param students The students to add.
+     * @throws IllegalStateException If the store would hold more than {@link #MAXIMUM_CAPACITY} students.
+     * @throws NullPointerException If a student or its grade is null.
+     */
+    public void addAll(Collection<? extends Student<T>> students) throws IllegalStateException, NullPointerException {
+        ensureCapacity((long) size + students.size());
+        for (Student<T> student : students) {
+            add(student);
+        }
+    }
+
+    /**
+     * Returns the ID number of the student at the specified row.
+     * 
+     * @param index The row of the student.
+     * @return Returns the student's ID number.
+     * @throws IndexOutOfBoundsException If the row is not in the store.
+     */
+    public long getIDNumber(int index) throws IndexOutOfBoundsException {
+        Objects.checkIndex(index, size);
+        return idNumbers.getLong(index * Long.BYTES);
+    }
+
+    /**
+     * Returns the grade of the student at the specified row.
+     * 
+     * @param index The row of the student.
+     * @return Returns the student's grade.
+     * @throws IndexOutOfBoundsException If the row is not in the store.
+     */
+    @SuppressWarnings("unchecked")
+    public T getGrade(int index) throws IndexOutOfBoundsException {
+        Objects.checkIndex(index, size);
+        return (T) gradeType.read(grades, (index * gradeType.sizeInBytes));
+    }
+
+    /**
+     * Creates a student object for the student at the specified row, with the row's ID number and grade.
+     * 
+     * @param index The row of the student.
+     * @return Returns the student.
+     * @throws IndexOutOfBoundsException If the row is not in the store.
+     */
+    public Student<T> get(int index) throws IndexOutOfBoundsException {
+        return new Student<>(getIDNumber(index), getGrade(index));
+    }
+
+    /**
+     * Returns the rows of the students in ascending order of their grades, without moving the rows. The grades are read once as primitive keys and only the permutation is sorted. The sort is stable, so students with equal grades keep their relative order.
+     * 
+     * @return Returns the permutation of rows that sorts the students by grade.
+     */
+    public int[] sortIndicesByGrade() {
+        long[] keys = new long[size];
+        for (int i = 0; i < size; i++) {
+            keys[i] = gradeType.readSortableKey(grades, (i * gradeType.sizeInBytes));
+        }
+        return Sort.sortIndicesByKeys(keys);
+    }
+
+    /**
+     * Sorts the students in the store by grade, in-place and in ascending order. The permutation of rows is sorted first, and then the rows are gathered into their sorted positions by following the cycles of the permutation, so every row is moved once and only one row is held outside of the columns at a time. The sort is stable, so students with equal grades keep their relative order.
+     */
+    public void sortByGrade() {
+        int[] sortedIndices = sortIndicesByGrade();
+        final int GRADE_SIZE = gradeType.sizeInBytes;
+        byte[] cycleStartGrade = new byte[GRADE_SIZE];
+        for (int cycleStart = 0; cycleStart < size; cycleStart++) {
+            if (sortedIndices[cycleStart] == cycleStart) {
+                continue;
+            }
+
+            // Hold the first row of the cycle and pull every other row of the cycle one step forward.
+            final long CYCLE_START_ID_NUMBER = idNumbers.getLong(cycleStart * Long.BYTES);
+            grades.get((cycleStart * GRADE_SIZE), cycleStartGrade);
+            int position = cycleStart;
+            while (true) {
+                int sourcePosition = sortedIndices[position];
+                sortedIndices[position] = position;
+                if (sourcePosition == cycleStart) {
+                    idNumbers.putLong((position * Long.BYTES), CYCLE_START_ID_NUMBER);
+                    grades.put((position * GRADE_SIZE), cycleStartGrade);
+                    break;
+                }
+                idNumbers.putLong((position * Long.BYTES), idNumbers.getLong(sourcePosition * Long.BYTES));
+                grades.put((position * GRADE_SIZE), grades, (sourcePosition * GRADE_SIZE), GRADE_SIZE);
+                position = sourcePosition;
+            }
+        }
+    }
+
+    /**
+     * Creates a list of student objects for every student in the store, in the order of the rows. The list is a copy, so changing it does not change the store.
+     * 
+     * @return Returns an array list of the students.
+     */
+    public ArrayList<Student<T>> toList() {
+        ArrayList<Student<T>> students = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            students.add(get(i));
+        }
+        return students;
+    }
+
+    /**
+     * Converts the store into a string.
+     */
+    @Override
+    public String toString() {
+        return "StudentStore[gradeType=" + gradeType + ", size=" + size + ", offHeapSizeInBytes="
+                + getOffHeapSizeInBytes() + "]";
+    }
+
+    /**
+     * Appends a row with the specified ID number and grade to the columns, growing them first if they are full.
+     * 
+     * @param idNumber The student's ID number.
+     * @param grade The student's grade.
+     * @throws IllegalStateException If the store already holds {@link #MAXIMUM_CAPACITY} students.
+     */
+    private void addRow(long idNumber, T grade) throws IllegalStateException {
+        ensureCapacity(size + 1L);
+        idNumbers.putLong((size * Long.BYTES), idNumber);
+        gradeType.write(grades, (size * gradeType.sizeInBytes), grade);
+        size++;
+    }
+
+    /**
+     * Grows the columns so that they hold at least the specified number of students. The capacity is at least doubled each time, so adding a student takes amortized constant time.
+     * 
+     * @param minimumCapacity The number of students that the columns have to hold.
+     * @throws IllegalStateException If the minimum capacity is larger than {@link #MAXIMUM_CAPACITY}.
+     */
+    private void ensureCapacity(long minimumCapacity) throws IllegalStateException {
+        final int CAPACITY = idNumbers.capacity() / Long.BYTES;
+        if (minimumCapacity <= CAPACITY) {
+            return;
+        }
+        if (minimumCapacity > MAXIMUM_CAPACITY) {
+            throw new IllegalStateException("A store cannot hold more than " + MAXIMUM_CAPACITY + " students.");
+        }
+
+        // Copy the rows into columns that are at least twice as large.
+        final int NEW_CAPACITY = (int) Math.max(minimumCapacity,
+                Math.min(MAXIMUM_CAPACITY, Math.max(MINIMUM_GROWN_CAPACITY, (2L * CAPACITY))));
+        ByteBuffer newIDNumbers = allocateColumn(NEW_CAPACITY, Long.BYTES);
+        ByteBuffer newGrades = allocateColumn(NEW_CAPACITY, gradeType.sizeInBytes);
+        newIDNumbers.put(0, idNumbers, 0, (size * Long.BYTES));
+        newGrades.put(0, grades, 0, (size * gradeType.sizeInBytes));
+        idNumbers = newIDNumbers;
+        grades = newGrades;
+    }
+
+    /**
+     * Allocates a direct buffer in the platform's native byte order for a column with the specified capacity.
+     * 
+     * @param capacity The number of students that the column holds.
+     * @param valueSizeInBytes The number of bytes of each value in the column.
+     * @return Returns the column's buffer.
+     */
+    private static ByteBuffer allocateColumn(int capacity, int valueSizeInBytes) {
+        return ByteBuffer.allocateDirect(capacity * valueSizeInBytes).order(ByteOrder.nativeOrder());
+    }
+}
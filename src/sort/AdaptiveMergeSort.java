@@ -0,0 +1,619 @@
+package sort;
+
+import java.util.Comparator;
+
+/**
+ * This class implements the adaptive natural merge sort behind {@link Sort#adaptiveMergeSort(java.util.List)}. The array is scanned for runs of elements that are already in ascending order or in strictly descending order. Descending runs are reversed, short runs are extended to a minimum length with binary insertion sort, and the runs are merged with galloping merges that copy whole blocks of elements when one run keeps winning. Input that is already sorted is a single run, so it is sorted with n - 1 comparisons and no merges.
+ * 
+ * @author Jaskaran Singh
+ */
+final class AdaptiveMergeSort<E> {
+    // Arrays that are shorter than this length are sorted with binary insertion sort instead of being split into runs.
+    private static final int MINIMUM_MERGE_LENGTH = 32;
+
+    // The number of consecutive times one run has to win before a merge switches into galloping mode.
+    private static final int MINIMUM_GALLOP = 7;
+
+    // The most runs that can be waiting to be merged. The run lengths on the stack grow at least as fast as the Fibonacci numbers, so this is enough for any array.
+    private static final int MAXIMUM_NUMBER_OF_RUNS = 49;
+
+    // The array being sorted and the comparator that defines the order of its elements.
+    private final E[] array;
+    private final Comparator<? super E> comparator;
+
+    // The current galloping threshold. It drops when galloping pays off and rises when it does not.
+    private int minimumGallop = MINIMUM_GALLOP;
+
+    // The temporary array that holds the smaller run of a merge.
+    private E[] temporaryArray;
+
+    // The stack of runs that are waiting to be merged.
+    private final int[] runStartIndices = new int[MAXIMUM_NUMBER_OF_RUNS];
+    private final int[] runLengths = new int[MAXIMUM_NUMBER_OF_RUNS];
+    private int numberOfRuns = 0;
+
+    /**
+     * AdaptiveMergeSort constructor.
+     * 
+     * @param array The array being sorted.
+     * @param comparator The comparator that defines the order of the elements.
+     * @param numberOfElements The number of elements that will be sorted.
+     */
+    @SuppressWarnings("unchecked")
+    private AdaptiveMergeSort(E[] array, Comparator<? super E> comparator, int numberOfElements) {
+        this.array = array;
+        this.comparator = comparator;
+        this.temporaryArray = (E[]) new Object[Math.min(256, (numberOfElements >>> 1) + 1)];
+    }
+
+    /**
+     * Sorts the elements in the specified array between the start index (inclusive) and the end index (exclusive) with the adaptive natural merge sort. The sort is stable.
+     * 
+     * @param array The array to sort.
+     * @param startIndex The index specifying the start of the range of elements to sort. This index is inclusive.
+     * @param endIndex The index specifying the end of the range of elements to sort. This index is exclusive.
+     * @param comparator The comparator that defines the order of the elements.
+     */
+    static <E> void sort(E[] array, int startIndex, int endIndex, Comparator<? super E> comparator) {
+        int numberOfRemainingElements = endIndex - startIndex;
+        if (numberOfRemainingElements < 2) {
+            return;
+        }
+
+        // Sort short arrays by extending the first run with binary insertion sort.
+        if (numberOfRemainingElements < MINIMUM_MERGE_LENGTH) {
+            int runLength = countRunAndMakeAscending(array, startIndex, endIndex, comparator);
+            binaryInsertionSort(array, startIndex, endIndex, (startIndex + runLength), comparator);
+            return;
+        }
+
+        // Split the array into runs, pushing each run onto the stack and merging runs whenever the stack gets out of balance.
+        AdaptiveMergeSort<E> adaptiveMergeSort = new AdaptiveMergeSort<>(array, comparator, numberOfRemainingElements);
+        final int MINIMUM_RUN_LENGTH = calculateMinimumRunLength(numberOfRemainingElements);
+        int runStartIndex = startIndex;
+        do {
+            // Find the next run and extend it with binary insertion sort if it is too short.
+            int runLength = countRunAndMakeAscending(array, runStartIndex, endIndex, comparator);
+            if (runLength < MINIMUM_RUN_LENGTH) {
+                int extendedRunLength = Math.min(numberOfRemainingElements, MINIMUM_RUN_LENGTH);
+                binaryInsertionSort(array, runStartIndex, (runStartIndex + extendedRunLength),
+                        (runStartIndex + runLength), comparator);
+                runLength = extendedRunLength;
+            }
+
+            // Push the run onto the stack and merge runs until the stack is balanced again.
+            adaptiveMergeSort.pushRun(runStartIndex, runLength);
+            adaptiveMergeSort.mergeCollapse();
+
+            // Move on to the next run.
+            runStartIndex += runLength;
+            numberOfRemainingElements -= runLength;
+        } while (numberOfRemainingElements != 0);
+
+        // Merge every run that is left on the stack.
+        adaptiveMergeSort.mergeForceCollapse();
+    }
+
+    /**
+     * Calculates the minimum run length for an array of the specified length. Short runs are extended to this length so that the number of runs is a power of two or slightly less than one, which keeps the merges balanced.
+     * 
+     * @param numberOfElements The number of elements being sorted.
+     * @return Returns the minimum run length.
+     */
+    private static int calculateMinimumRunLength(int numberOfElements) {
+        int remainder = 0;
+        while (numberOfElements >= MINIMUM_MERGE_LENGTH) {
+            remainder |= (numberOfElements & 1);
+            numberOfElements >>= 1;
+        }
+        return numberOfElements + remainder;
+    }
+
+    /**
+     * Returns the length of the run that begins at the specified start index. A run is either ascending (each element is greater than or equal to the one before it) or strictly descending. Descending runs are reversed so that every run is ascending when this method returns. Strictly descending runs never contain equal elements, so reversing them keeps the sort stable.
+     * 
+     * @param array The array that contains the run.
+     * @param startIndex The index of the first element of the run.
+     * @param endIndex The index after the last element that the run may contain.
+     * @param comparator The comparator that defines the order of the elements.
+     * @return Returns the length of the run.
+     */
+    private static <E> int countRunAndMakeAscending(E[] array, int startIndex, int endIndex,
+            Comparator<? super E> comparator) {
+        int runEndIndex = startIndex + 1;
+        if (runEndIndex == endIndex) {
+            return 1;
+        }
+
+        if (comparator.compare(array[runEndIndex++], array[startIndex]) < 0) {
+            // Find the end of the strictly descending run and reverse it.
+            while ((runEndIndex < endIndex) && (comparator.compare(array[runEndIndex], array[runEndIndex - 1]) < 0)) {
+                runEndIndex++;
+            }
+            for (int lowIndex = startIndex, highIndex = runEndIndex - 1; lowIndex < highIndex; lowIndex++,
+                    highIndex--) {
+                E elementToSwap = array[lowIndex];
+                array[lowIndex] = array[highIndex];
+                array[highIndex] = elementToSwap;
+            }
+        } else {
+            // Find the end of the ascending run.
+            while ((runEndIndex < endIndex) && (comparator.compare(array[runEndIndex], array[runEndIndex - 1]) >= 0)) {
+                runEndIndex++;
+            }
+        }
+
+        return runEndIndex - startIndex;
+    }
+
+    /**
+     * Sorts the range of elements between the start index (inclusive) and the end index (exclusive) with binary insertion sort. The elements before the sorted end index are already sorted. Each remaining element is inserted after every element that is less than or equal to it, which keeps the sort stable.
+     * 
+     * @param array The array to sort.
+     * @param startIndex The index specifying the start of the range of elements to sort. This index is inclusive.
+     * @param endIndex The index specifying the end of the range of elements to sort. This index is exclusive.
+     * @param sortedEndIndex The index after the last element that is already sorted.
+     * @param comparator The comparator that defines the order of the elements.
+     */
+    private static <E> void binaryInsertionSort(E[] array, int startIndex, int endIndex, int sortedEndIndex,
+            Comparator<? super E> comparator) {
+        if (sortedEndIndex == startIndex) {
+            sortedEndIndex++;
+        }
+        for (int i = sortedEndIndex; i < endIndex; i++) {
+            E elementToInsert = array[i];
+
+            // Find the position of the element to insert with a binary search.
+            int lowIndex = startIndex;
+            int highIndex = i;
+            while (lowIndex < highIndex) {
+                int middleIndex = (lowIndex + highIndex) >>> 1;
+                if (comparator.compare(elementToInsert, array[middleIndex]) < 0) {
+                    highIndex = middleIndex;
+                } else {
+                    lowIndex = middleIndex + 1;
+                }
+            }
+
+            // Shift the greater elements one position to the right and insert the element.
+            System.arraycopy(array, lowIndex, array, (lowIndex + 1), (i - lowIndex));
+            array[lowIndex] = elementToInsert;
+        }
+    }
+
+    /**
+     * Pushes a run onto the stack of runs that are waiting to be merged.
+     * 
+     * @param runStartIndex The index of the first element of the run.
+     * @param runLength The length of the run.
+     */
+    private void pushRun(int runStartIndex, int runLength) {
+        runStartIndices[numberOfRuns] = runStartIndex;
+        runLengths[numberOfRuns] = runLength;
+        numberOfRuns++;
+    }
+
+    /**
+     * Merges runs on the top of the stack until every run is longer than the two runs above it combined and longer than the run directly above it. This keeps the merges balanced and the stack short.
+     */
+    private void mergeCollapse() {
+        while (numberOfRuns > 1) {
+            int runIndex = numberOfRuns - 2;
+            if (((runIndex > 0) && (runLengths[runIndex - 1] <= (runLengths[runIndex] + runLengths[runIndex + 1])))
+                    || ((runIndex > 1) && (runLengths[runIndex - 2] <= (runLengths[runIndex]
+                            + runLengths[runIndex - 1])))) {
+                if (runLengths[runIndex - 1] < runLengths[runIndex + 1]) {
+                    runIndex--;
+                }
+            } else if (runLengths[runIndex] > runLengths[runIndex + 1]) {
+                break;
+            }
+            mergeAt(runIndex);
+        }
+    }
+
+    /**
+     * Merges every run on the stack until only one run is left.
+     */
+    private void mergeForceCollapse() {
+        while (numberOfRuns > 1) {
+            int runIndex = numberOfRuns - 2;
+            if ((runIndex > 0) && (runLengths[runIndex - 1] < runLengths[runIndex + 1])) {
+                runIndex--;
+            }
+            mergeAt(runIndex);
+        }
+    }
+
+    /**
+     * Merges the run at the specified stack index with the run above it. Elements at the start of the first run that are not greater than the first element of the second run, and elements at the end of the second run that are not less than the last element of the first run, are already in place and are skipped.
+     * 
+     * @param runIndex The stack index of the first run to merge.
+     */
+    private void mergeAt(int runIndex) {
+        int startIndexForFirstRun = runStartIndices[runIndex];
+        int lengthOfFirstRun = runLengths[runIndex];
+        int startIndexForSecondRun = runStartIndices[runIndex + 1];
+        int lengthOfSecondRun = runLengths[runIndex + 1];
+
+        // Record the merged run on the stack and remove the second run from it.
+        runLengths[runIndex] = lengthOfFirstRun + lengthOfSecondRun;
+        if (runIndex == (numberOfRuns - 3)) {
+            runStartIndices[runIndex + 1] = runStartIndices[runIndex + 2];
+            runLengths[runIndex + 1] = runLengths[runIndex + 2];
+        }
+        numberOfRuns--;
+
+        // Skip the elements at the start of the first run that are already in place.
+        int numberOfElementsInPlace = gallopRight(array[startIndexForSecondRun], array, startIndexForFirstRun,
+                lengthOfFirstRun, 0);
+        startIndexForFirstRun += numberOfElementsInPlace;
+        lengthOfFirstRun -= numberOfElementsInPlace;
+        if (lengthOfFirstRun == 0) {
+            return;
+        }
+
+        // Skip the elements at the end of the second run that are already in place.
+        lengthOfSecondRun = gallopLeft(array[startIndexForFirstRun + lengthOfFirstRun - 1], array,
+                startIndexForSecondRun, lengthOfSecondRun, (lengthOfSecondRun - 1));
+        if (lengthOfSecondRun == 0) {
+            return;
+        }
+
+        // Merge the remaining elements, copying the shorter run into the temporary array.
+        if (lengthOfFirstRun <= lengthOfSecondRun) {
+            mergeLow(startIndexForFirstRun, lengthOfFirstRun, startIndexForSecondRun, lengthOfSecondRun);
+        } else {
+            mergeHigh(startIndexForFirstRun, lengthOfFirstRun, startIndexForSecondRun, lengthOfSecondRun);
+        }
+    }
+
+    /**
+     * Finds the position where the key belongs in the specified sorted range, placing it before every element that is equal to it. The search gallops outwards from the hint in steps of 1, 3, 7, 15 and so on and then finishes with a binary search, so it costs O(log d) comparisons where d is the distance from the hint to the answer.
+     * 
+     * @param key The element whose position is searched for.
+     * @param searchedArray The array that contains the sorted range.
+     * @param rangeStartIndex The index of the first element of the sorted range.
+     * @param rangeLength The length of the sorted range.
+     * @param hint The offset from the start of the range where the search begins.
+     * @return Returns the offset k such that every element before offset k is less than the key and every element at or after offset k is greater than or equal to the key.
+     */
+    private int gallopLeft(E key, E[] searchedArray, int rangeStartIndex, int rangeLength, int hint) {
+        int lastOffset = 0;
+        int offset = 1;
+        if (comparator.compare(key, searchedArray[rangeStartIndex + hint]) > 0) {
+            // Gallop to the right until the element at the offset is greater than or equal to the key.
+            final int MAXIMUM_OFFSET = rangeLength - hint;
+            while ((offset < MAXIMUM_OFFSET)
+                    && (comparator.compare(key, searchedArray[rangeStartIndex + hint + offset]) > 0)) {
+                lastOffset = offset;
+                offset = (offset << 1) + 1;
+                if (offset <= 0) {
+                    offset = MAXIMUM_OFFSET;
+                }
+            }
+            offset = Math.min(offset, MAXIMUM_OFFSET);
+            lastOffset += hint;
+            offset += hint;
+        } else {
+            // Gallop to the left until the element at the offset is less than the key.
+            final int MAXIMUM_OFFSET = hint + 1;
+            while ((offset < MAXIMUM_OFFSET)
+                    && (comparator.compare(key, searchedArray[rangeStartIndex + hint - offset]) <= 0)) {
+                lastOffset = offset;
+                offset = (offset << 1) + 1;
+                if (offset <= 0) {
+                    offset = MAXIMUM_OFFSET;
+                }
+            }
+            offset = Math.min(offset, MAXIMUM_OFFSET);
+            int previousLastOffset = lastOffset;
+            lastOffset = hint - offset;
+            offset = hint - previousLastOffset;
+        }
+
+        // Binary search between the last two offsets.
+        lastOffset++;
+        while (lastOffset < offset) {
+            int middleOffset = lastOffset + ((offset - lastOffset) >>> 1);
+            if (comparator.compare(key, searchedArray[rangeStartIndex + middleOffset]) > 0) {
+                lastOffset = middleOffset + 1;
+            } else {
+                offset = middleOffset;
+            }
+        }
+        return offset;
+    }
+
+    /**
+     * Finds the position where the key belongs in the specified sorted range, placing it after every element that is equal to it. The search gallops outwards from the hint like {@link #gallopLeft(Object, Object[], int, int, int)}.
+     * 
+     * @param key The element whose position is searched for.
+     * @param searchedArray The array that contains the sorted range.
+     * @param rangeStartIndex The index of the first element of the sorted range.
+     * @param rangeLength The length of the sorted range.
+     * @param hint The offset from the start of the range where the search begins.
+     * @return Returns the offset k such that every element before offset k is less than or equal to the key and every element at or after offset k is greater than the key.
+     */
+    private int gallopRight(E key, E[] searchedArray, int rangeStartIndex, int rangeLength, int hint) {
+        int lastOffset = 0;
+        int offset = 1;
+        if (comparator.compare(key, searchedArray[rangeStartIndex + hint]) < 0) {
+            // Gallop to the left until the element at the offset is less than or equal to the key.
+            final int MAXIMUM_OFFSET = hint + 1;
+            while ((offset < MAXIMUM_OFFSET)
+                    && (comparator.compare(key, searchedArray[rangeStartIndex + hint - offset]) < 0)) {
+                lastOffset = offset;
+                offset = (offset << 1) + 1;
+                if (offset <= 0) {
+                    offset = MAXIMUM_OFFSET;
+                }
+            }
+            offset = Math.min(offset, MAXIMUM_OFFSET);
+            int previousLastOffset = lastOffset;
+            lastOffset = hint - offset;
+            offset = hint - previousLastOffset;
+        } else {
+            // Gallop to the right until the element at the offset is greater than the key.
+            final int MAXIMUM_OFFSET = rangeLength - hint;
+            while ((offset < MAXIMUM_OFFSET)
+                    && (comparator.compare(key, searchedArray[rangeStartIndex + hint + offset]) >= 0)) {
+                lastOffset = offset;
+                offset = (offset << 1) + 1;
+                if (offset <= 0) {
+                    offset = MAXIMUM_OFFSET;
+                }
+            }
+            offset = Math.min(offset, MAXIMUM_OFFSET);
+            lastOffset += hint;
+            offset += hint;
+        }
+
+        // Binary search between the last two offsets.
+        lastOffset++;
+        while (lastOffset < offset) {
+            int middleOffset = lastOffset + ((offset - lastOffset) >>> 1);
+            if (comparator.compare(key, searchedArray[rangeStartIndex + middleOffset]) < 0) {
+                offset = middleOffset;
+            } else {
+                lastOffset = middleOffset + 1;
+            }
+        }
+        return offset;
+    }
+
+    /**
+     * Merges two adjacent runs from left to right. The first run must be no longer than the second run, the first element of the second run must be less than the first element of the first run, and the last element of the first run must be greater than every element of the second run. The first run is copied into the temporary array and merged back into the array.
+     * 
+     * @param startIndexForFirstRun The index of the first element of the first run.
+     * @param lengthOfFirstRun The length of the first run.
+     * @param startIndexForSecondRun The index of the first element of the second run.
+     * @param lengthOfSecondRun The length of the second run.
+     */
+    private void mergeLow(int startIndexForFirstRun, int lengthOfFirstRun, int startIndexForSecondRun,
+            int lengthOfSecondRun) {
+        // Copy the first run into the temporary array.
+        E[] temporaryArray = ensureTemporaryArrayCapacity(lengthOfFirstRun);
+        System.arraycopy(array, startIndexForFirstRun, temporaryArray, 0, lengthOfFirstRun);
+        int indexForFirstRun = 0;
+        int indexForSecondRun = startIndexForSecondRun;
+        int destinationIndex = startIndexForFirstRun;
+
+        // The first element of the second run is known to come first.
+        array[destinationIndex++] = array[indexForSecondRun++];
+        if (--lengthOfSecondRun == 0) {
+            System.arraycopy(temporaryArray, indexForFirstRun, array, destinationIndex, lengthOfFirstRun);
+            return;
+        }
+        if (lengthOfFirstRun == 1) {
+            System.arraycopy(array, indexForSecondRun, array, destinationIndex, lengthOfSecondRun);
+            array[destinationIndex + lengthOfSecondRun] = temporaryArray[indexForFirstRun];
+            return;
+        }
+
+        int minimumGallop = this.minimumGallop;
+        merge: while (true) {
+            // Merge one element at a time until one run wins the minimum gallop number of times in a row.
+            int numberOfWinsForFirstRun = 0;
+            int numberOfWinsForSecondRun = 0;
+            do {
+                if (comparator.compare(array[indexForSecondRun], temporaryArray[indexForFirstRun]) < 0) {
+                    array[destinationIndex++] = array[indexForSecondRun++];
+                    numberOfWinsForSecondRun++;
+                    numberOfWinsForFirstRun = 0;
+                    if (--lengthOfSecondRun == 0) {
+                        break merge;
+                    }
+                } else {
+                    array[destinationIndex++] = temporaryArray[indexForFirstRun++];
+                    numberOfWinsForFirstRun++;
+                    numberOfWinsForSecondRun = 0;
+                    if (--lengthOfFirstRun == 1) {
+                        break merge;
+                    }
+                }
+            } while ((numberOfWinsForFirstRun | numberOfWinsForSecondRun) < minimumGallop);
+
+            // Gallop: copy whole blocks of elements from whichever run is winning until galloping stops paying off.
+            do {
+                numberOfWinsForFirstRun = gallopRight(array[indexForSecondRun], temporaryArray, indexForFirstRun,
+                        lengthOfFirstRun, 0);
+                if (numberOfWinsForFirstRun != 0) {
+                    System.arraycopy(temporaryArray, indexForFirstRun, array, destinationIndex,
+                            numberOfWinsForFirstRun);
+                    destinationIndex += numberOfWinsForFirstRun;
+                    indexForFirstRun += numberOfWinsForFirstRun;
+                    lengthOfFirstRun -= numberOfWinsForFirstRun;
+                    if (lengthOfFirstRun <= 1) {
+                        break merge;
+                    }
+                }
+                array[destinationIndex++] = array[indexForSecondRun++];
+                if (--lengthOfSecondRun == 0) {
+                    break merge;
+                }
+
+                numberOfWinsForSecondRun = gallopLeft(temporaryArray[indexForFirstRun], array, indexForSecondRun,
+                        lengthOfSecondRun, 0);
+                if (numberOfWinsForSecondRun != 0) {
+                    System.arraycopy(array, indexForSecondRun, array, destinationIndex, numberOfWinsForSecondRun);
+                    destinationIndex += numberOfWinsForSecondRun;
+                    indexForSecondRun += numberOfWinsForSecondRun;
+                    lengthOfSecondRun -= numberOfWinsForSecondRun;
+                    if (lengthOfSecondRun == 0) {
+                        break merge;
+                    }
+                }
+                array[destinationIndex++] = temporaryArray[indexForFirstRun++];
+                if (--lengthOfFirstRun == 1) {
+                    break merge;
+                }
+                minimumGallop--;
+            } while ((numberOfWinsForFirstRun >= MINIMUM_GALLOP) | (numberOfWinsForSecondRun >= MINIMUM_GALLOP));
+
+            // Make galloping harder to enter again now that it stopped paying off.
+            minimumGallop = Math.max(minimumGallop, 0) + 2;
+        }
+        this.minimumGallop = Math.max(minimumGallop, 1);
+
+        // Copy the elements that are left in whichever run is not empty.
+        if (lengthOfFirstRun == 1) {
+            System.arraycopy(array, indexForSecondRun, array, destinationIndex, lengthOfSecondRun);
+            array[destinationIndex + lengthOfSecondRun] = temporaryArray[indexForFirstRun];
+        } else if (lengthOfFirstRun == 0) {
+            throw new IllegalArgumentException("The comparator violates its general contract.");
+        } else {
+            System.arraycopy(temporaryArray, indexForFirstRun, array, destinationIndex, lengthOfFirstRun);
+        }
+    }
+
+    /**
+     * Merges two adjacent runs from right to left. The second run must be no longer than the first run, and the runs must meet the same conditions as in {@link #mergeLow(int, int, int, int)}. The second run is copied into the temporary array and merged back into the array.
+     * 
+     * @param startIndexForFirstRun The index of the first element of the first run.
+     * @param lengthOfFirstRun The length of the first run.
+     * @param startIndexForSecondRun The index of the first element of the second run.
+     * @param lengthOfSecondRun The length of the second run.
+     */
+    private void mergeHigh(int startIndexForFirstRun, int lengthOfFirstRun, int startIndexForSecondRun,
+            int lengthOfSecondRun) {
+        // Copy the second run into the temporary array.
+        E[] temporaryArray = ensureTemporaryArrayCapacity(lengthOfSecondRun);
+        System.arraycopy(array, startIndexForSecondRun, temporaryArray, 0, lengthOfSecondRun);
+        int indexForFirstRun = startIndexForFirstRun + lengthOfFirstRun - 1;
+        int indexForSecondRun = lengthOfSecondRun - 1;
+        int destinationIndex = startIndexForSecondRun + lengthOfSecondRun - 1;
+
+        // The last element of the first run is known to come last.
+        array[destinationIndex--] = array[indexForFirstRun--];
+        if (--lengthOfFirstRun == 0) {
+            System.arraycopy(temporaryArray, 0, array, (destinationIndex - (lengthOfSecondRun - 1)), lengthOfSecondRun);
+            return;
+        }
+        if (lengthOfSecondRun == 1) {
+            destinationIndex -= lengthOfFirstRun;
+            indexForFirstRun -= lengthOfFirstRun;
+            System.arraycopy(array, (indexForFirstRun + 1), array, (destinationIndex + 1), lengthOfFirstRun);
+            array[destinationIndex] = temporaryArray[indexForSecondRun];
+            return;
+        }
+
+        int minimumGallop = this.minimumGallop;
+        merge: while (true) {
+            // Merge one element at a time until one run wins the minimum gallop number of times in a row.
+            int numberOfWinsForFirstRun = 0;
+            int numberOfWinsForSecondRun = 0;
+            do {
+                if (comparator.compare(temporaryArray[indexForSecondRun], array[indexForFirstRun]) < 0) {
+                    array[destinationIndex--] = array[indexForFirstRun--];
+                    numberOfWinsForFirstRun++;
+                    numberOfWinsForSecondRun = 0;
+                    if (--lengthOfFirstRun == 0) {
+                        break merge;
+                    }
+                } else {
+                    array[destinationIndex--] = temporaryArray[indexForSecondRun--];
+                    numberOfWinsForSecondRun++;
+                    numberOfWinsForFirstRun = 0;
+                    if (--lengthOfSecondRun == 1) {
+                        break merge;
+                    }
+                }
+            } while ((numberOfWinsForFirstRun | numberOfWinsForSecondRun) < minimumGallop);
+
+            // Gallop: copy whole blocks of elements from whichever run is winning until galloping stops paying off.
+            do {
+                numberOfWinsForFirstRun = lengthOfFirstRun - gallopRight(temporaryArray[indexForSecondRun], array,
+                        startIndexForFirstRun, lengthOfFirstRun, (lengthOfFirstRun - 1));
+                if (numberOfWinsForFirstRun != 0) {
+                    destinationIndex -= numberOfWinsForFirstRun;
+                    indexForFirstRun -= numberOfWinsForFirstRun;
+                    lengthOfFirstRun -= numberOfWinsForFirstRun;
+                    System.arraycopy(array, (indexForFirstRun + 1), array, (destinationIndex + 1),
+                            numberOfWinsForFirstRun);
+                    if (lengthOfFirstRun == 0) {
+                        break merge;
+                    }
+                }
+                array[destinationIndex--] = temporaryArray[indexForSecondRun--];
+                if (--lengthOfSecondRun == 1) {
+                    break merge;
+                }
+
+                numberOfWinsForSecondRun = lengthOfSecondRun - gallopLeft(array[indexForFirstRun], temporaryArray, 0,
+                        lengthOfSecondRun, (lengthOfSecondRun - 1));
+                if (numberOfWinsForSecondRun != 0) {
+                    destinationIndex -= numberOfWinsForSecondRun;
+                    indexForSecondRun -= numberOfWinsForSecondRun;
+                    lengthOfSecondRun -= numberOfWinsForSecondRun;
+                    System.arraycopy(temporaryArray, (indexForSecondRun + 1), array, (destinationIndex + 1),
+                            numberOfWinsForSecondRun);
+                    if (lengthOfSecondRun <= 1) {
+                        break merge;
+                    }
+                }
+                array[destinationIndex--] = array[indexForFirstRun--];
+                if (--lengthOfFirstRun == 0) {
+                    break merge;
+                }
+                minimumGallop--;
+            } while ((numberOfWinsForFirstRun >= MINIMUM_GALLOP) | (numberOfWinsForSecondRun >= MINIMUM_GALLOP));
+
+            // Make galloping harder to enter again now that it stopped paying off.
+            minimumGallop = Math.max(minimumGallop, 0) + 2;
+        }
+        this.minimumGallop = Math.max(minimumGallop, 1);
+
+        // Copy the elements that are left in whichever run is not empty.
+        if (lengthOfSecondRun == 1) {
+            destinationIndex -= lengthOfFirstRun;
+            indexForFirstRun -= lengthOfFirstRun;
+            System.arraycopy(array, (indexForFirstRun + 1), array, (destinationIndex + 1), lengthOfFirstRun);
+            array[destinationIndex] = temporaryArray[indexForSecondRun];
+        } else if (lengthOfSecondRun == 0) {
+            throw new IllegalArgumentException("The comparator violates its general contract.");
+        } else {
+            System.arraycopy(temporaryArray, 0, array, (destinationIndex - (lengthOfSecondRun - 1)), lengthOfSecondRun);
+        }
+    }
+
+    /**
+     * Returns a temporary array that can hold at least the specified number of elements, growing the current one to the next power of two if it is too small.
+     * 
+     * @param minimumCapacity The number of elements the temporary array must hold.
+     * @return Returns a temporary array that can hold at least the specified number of elements.
+     */
+    @SuppressWarnings("unchecked")
+    private E[] ensureTemporaryArrayCapacity(int minimumCapacity) {
+        if (temporaryArray.length < minimumCapacity) {
+            int newCapacity = Integer.highestOneBit(minimumCapacity) << 1;
+            if (newCapacity < 0) {
+                newCapacity = minimumCapacity;
+            } else {
+                newCapacity = Math.min(newCapacity, (array.length >>> 1));
+            }
+            temporaryArray = (E[]) new Object[Math.max(newCapacity, minimumCapacity)];
+        }
+        return temporaryArray;
+    }
+}
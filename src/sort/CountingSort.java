@@ -0,0 +1,134 @@
+package sort;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * This class contains the counting sorts that {@link Sort} uses for keys from a small range. Every key is counted in an array of counts indexed by the key minus the smallest key. Primitive keys are then written back as runs of equal keys, and elements are scattered into their sorted positions in the order they were counted, which keeps the sort stable.
+ * 
+ * @author Jaskaran Singh
+ */
+final class CountingSort {
+    /**
+     * This class only has static methods, so it cannot be instantiated.
+     */
+    private CountingSort() {
+    }
+
+    /**
+     * Sorts the int keys between the start index (inclusive) and the end index (inclusive) with counting sort.
+     * 
+     * @param array The array that contains the keys.
+     * @param startIndex The index specifying the start of the range of keys to sort. This index is inclusive.
+     * @param endIndex The index specifying the end of the range of keys to sort. This index is inclusive.
+     * @param keyDistribution The distribution of the keys in the range.
+     */
+    static void sort(int[] array, int startIndex, int endIndex, KeyDistribution keyDistribution) {
+        // Count how many times each key occurs.
+        final int MINIMUM_KEY = (int) keyDistribution.getMinimumKey();
+        int[] counts = new int[(int) keyDistribution.getKeyRange()];
+        for (int i = startIndex; i <= endIndex; i++) {
+            counts[array[i] - MINIMUM_KEY]++;
+        }
+
+        // Write each key back as many times as it was counted.
+        int arrayIndex = startIndex;
+        for (int keyOffset = 0; keyOffset < counts.length; keyOffset++) {
+            final int COUNT = counts[keyOffset];
+            if (COUNT != 0) {
+                Arrays.fill(array, arrayIndex, (arrayIndex + COUNT), (MINIMUM_KEY + keyOffset));
+                arrayIndex += COUNT;
+            }
+        }
+    }
+
+    /**
+     * Sorts the long keys between the start index (inclusive) and the end index (inclusive) with counting sort.
+     * 
+     * @param array The array that contains the keys.
+     * @param startIndex The index specifying the start of the range of keys to sort. This index is inclusive.
+     * @param endIndex The index specifying the end of the range of keys to sort. This index is inclusive.
+     * @param keyDistribution The distribution of the keys in the range.
+     */
+    static void sort(long[] array, int startIndex, int endIndex, KeyDistribution keyDistribution) {
+        // Count how many times each key occurs.
+        final long MINIMUM_KEY = keyDistribution.getMinimumKey();
+        int[] counts = new int[(int) keyDistribution.getKeyRange()];
+        for (int i = startIndex; i <= endIndex; i++) {
+            counts[(int) (array[i] - MINIMUM_KEY)]++;
+        }
+
+        // Write each key back as many times as it was counted.
+        int arrayIndex = startIndex;
+        for (int keyOffset = 0; keyOffset < counts.length; keyOffset++) {
+            final int COUNT = counts[keyOffset];
+            if (COUNT != 0) {
+                Arrays.fill(array, arrayIndex, (arrayIndex + COUNT), (MINIMUM_KEY + keyOffset));
+                arrayIndex += COUNT;
+            }
+        }
+    }
+
+    /**
+     * Sorts the elements in the specified list by the specified keys with a stable counting sort. The key at each index of the keys array belongs to the element at the same index of the list.
+     * 
+     * @param list The list to sort.
+     * @param keys The keys of the elements in the list.
+     * @param keyDistribution The distribution of the keys.
+     */
+    static <E> void sortByKeys(List<E> list, long[] keys, KeyDistribution keyDistribution) {
+        // Count how many times each key occurs.
+        final long MINIMUM_KEY = keyDistribution.getMinimumKey();
+        int[] nextIndices = new int[(int) keyDistribution.getKeyRange()];
+        for (long key : keys) {
+            nextIndices[(int) (key - MINIMUM_KEY)]++;
+        }
+
+        // Turn the counts into the first sorted position of each key.
+        int nextIndex = 0;
+        for (int keyOffset = 0; keyOffset < nextIndices.length; keyOffset++) {
+            final int COUNT = nextIndices[keyOffset];
+            nextIndices[keyOffset] = nextIndex;
+            nextIndex += COUNT;
+        }
+
+        // Scatter the elements into their sorted positions. Elements with equal keys are placed in the order they are met, so they keep their relative order.
+        Object[] sortedElements = new Object[keys.length];
+        int keyIndex = 0;
+        for (E element : list) {
+            sortedElements[nextIndices[(int) (keys[keyIndex++] - MINIMUM_KEY)]++] = element;
+        }
+        Sort.writeArrayToList(sortedElements, 0, list, 0, sortedElements.length);
+    }
+
+    /**
+     * Returns the indices of the specified keys in ascending order of the keys, counting each index straight into its sorted position. Indices of equal keys are placed in the order they are met, so the permutation is stable.
+     * 
+     * @param keys The keys to sort the indices of.
+     * @param keyDistribution The distribution of the keys.
+     * @return Returns the permutation of indices that sorts the keys.
+     */
+    static int[] sortIndicesByKeys(long[] keys, KeyDistribution keyDistribution) {
+        // Count how many times each key occurs.
+        final long MINIMUM_KEY = keyDistribution.getMinimumKey();
+        int[] nextIndices = new int[(int) keyDistribution.getKeyRange()];
+        for (long key : keys) {
+            nextIndices[(int) (key - MINIMUM_KEY)]++;
+        }
+
+        // Turn the counts into the first sorted position of each key.
+        int nextIndex = 0;
+        for (int keyOffset = 0; keyOffset < nextIndices.length; keyOffset++) {
+            final int COUNT = nextIndices[keyOffset];
+            nextIndices[keyOffset] = nextIndex;
+            nextIndex += COUNT;
+        }
+
+        // Scatter the indices into their sorted positions.
+        int[] sortedIndices = new int[keys.length];
+        for (int i = 0; i < keys.length; i++) {
+            sortedIndices[nextIndices[(int) (keys[i] - MINIMUM_KEY)]++] = i;
+        }
+        return sortedIndices;
+    }
+}
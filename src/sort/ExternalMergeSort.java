@@ -0,0 +1,583 @@
+package sort;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+/**
+ * This class sorts more records than fit into memory. The records are read in chunks that fit into the memory budget, each chunk is merge sorted in memory and spilled to a temporary file as a sorted run in the records' fixed-width binary form, and the runs are then merged with a k-way merge driven by a loser tree. When there are more runs than the fan-in, groups of runs are merged into longer runs first, and the first group is kept just large enough that the final merge uses the full fan-in. Input that fits into a single chunk is sorted in memory and written straight to the output.
+ * 
+ * With a fan-in at least as large as the number of runs, every record is read twice and written twice: once while spilling the runs and once while merging them. All reads and writes go through buffers that are carved out of the memory budget. The sort is stable.
+ * 
+ * @author Jaskaran Singh
+ * @param <E> The type of the records.
+ */
+public class ExternalMergeSort<E> {
+    // The default fan-in, which is the number of runs that are merged at once.
+    public static final int DEFAULT_FAN_IN = 64;
+
+    // The estimated number of bytes of a reference. Each record in a chunk is referenced from the chunk and from the merge sort's scratch buffer.
+    private static final int REFERENCE_SIZE_IN_BYTES = 8;
+
+    // The largest I/O buffer that is used for a single run, even if the memory budget would allow a larger one.
+    private static final int MAXIMUM_BUFFER_SIZE_IN_BYTES = 4 << 20;
+
+    private final RecordCodec<E> recordCodec;
+    private final Comparator<? super E> comparator;
+    private final long memoryBudgetInBytes;
+    private final int fanIn;
+    private final Path temporaryDirectory;
+
+    /**
+     * ExternalMergeSort constructor.
+     * 
+     * @param recordCodec The codec that converts records to and from their binary form.
+     * @param comparator The comparator that defines the order of the records.
+     * @param memoryBudgetInBytes The number of bytes of memory that the chunks and I/O buffers may use.
+     * @param fanIn The largest number of runs that are merged at once. It must be at least 2.
+     * @param temporaryDirectory The directory that the sorted runs are spilled into.
+     * @throws IllegalArgumentException If the fan-in is less than 2 or if the memory budget cannot hold two records next to the buffers that spill them, or one buffer per run being merged.
+     * @throws NullPointerException
+     */
+    public ExternalMergeSort(RecordCodec<E> recordCodec, Comparator<? super E> comparator, long memoryBudgetInBytes,
+            int fanIn, Path temporaryDirectory) throws IllegalArgumentException, NullPointerException {
+        if (fanIn < 2) {
+            throw new IllegalArgumentException("The fan-in must be at least 2.");
+        }
+        if ((memoryBudgetInBytes / (fanIn + 1)) < recordCodec.getRecordSizeInBytes()) {
+            throw new IllegalArgumentException("The memory budget must hold one record for each of the " + (fanIn + 1)
+                    + " buffers of a merge.");
+        }
+        this.recordCodec = recordCodec;
+        this.comparator = Objects.requireNonNull(comparator);
+        this.memoryBudgetInBytes = memoryBudgetInBytes;
+        this.fanIn = fanIn;
+        this.temporaryDirectory = Objects.requireNonNull(temporaryDirectory);
+        if (calculateChunkCapacity() < 2) {
+            throw new IllegalArgumentException("The memory budget must hold at least two records.");
+        }
+    }
+
+    /**
+     * ExternalMergeSort constructor. Uses a quarter of the maximum heap size as the memory budget, the default fan-in and the system's temporary directory.
+     * 
+     * @param recordCodec The codec that converts records to and from their binary form.
+     * @param comparator The comparator that defines the order of the records.
+     * @throws NullPointerException
+     */
+    public ExternalMergeSort(RecordCodec<E> recordCodec, Comparator<? super E> comparator)
+            throws NullPointerException {
+        this(recordCodec, comparator, (Runtime.getRuntime().maxMemory() / 4), DEFAULT_FAN_IN,
+                Paths.get(System.getProperty("java.io.tmpdir")));
+    }
+
+    /**
+     * Sorts the records in the input file and writes them into the output file. Both files hold records in the codec's binary form, one after another. The output file is created or replaced. The input file is read once and left unchanged, so it must not be the same file as the output file.
+     * 
+     * @param inputFile The file that holds the records to sort.
+     * @param outputFile The file that the sorted records are written into.
+     * @return Returns statistics about the sort.
+     * @throws IOException If a file cannot be read or written, or if the input file does not hold a whole number of records.
+     */
+    public Statistics sort(Path inputFile, Path outputFile) throws IOException {
+        IoCounter ioCounter = new IoCounter();
+        try (RunReader<E> inputReader = new RunReader<>(inputFile, recordCodec, calculateSpillBufferSize(),
+                ioCounter)) {
+            return sort(new RunIterator<>(inputReader), outputFile, ioCounter);
+        } catch (UncheckedIOException exception) {
+            throw exception.getCause();
+        }
+    }
+
+    /**
+     * Sorts the specified records and writes them into the output file in the codec's binary form. The output file is created or replaced.
+     * 
+     * @param records The records to sort. None of them may be null.
+     * @param outputFile The file that the sorted records are written into.
+     * @return Returns statistics about the sort.
+     * @throws IOException If a temporary file or the output file cannot be written.
+     */
+    public Statistics sort(Iterator<? extends E> records, Path outputFile) throws IOException {
+        return sort(records, outputFile, new IoCounter());
+    }
+
+    /**
+     * Sorts the specified records and writes them into the output file, counting the bytes that are read and written with the specified counter.
+     * 
+     * @param records The records to sort.
+     * @param outputFile The file that the sorted records are written into.
+     * @param ioCounter The counter of the bytes that are read and written.
+     * @return Returns statistics about the sort.
+     * @throws IOException If a temporary file or the output file cannot be written.
+     */
+    private Statistics sort(Iterator<? extends E> records, Path outputFile, IoCounter ioCounter) throws IOException {
+        List<Path> runs = new ArrayList<>();
+        try {
+            // Spill the records as sorted runs of one chunk each.
+            final int CHUNK_CAPACITY = calculateChunkCapacity();
+            Object[] chunk = new Object[Math.min(CHUNK_CAPACITY, 1024)];
+            Object[] scratchBuffer = new Object[chunk.length];
+            long numberOfRecords = 0;
+            int numberOfRunsCreated = 0;
+            do {
+                // Fill the chunk, growing it until it reaches its capacity.
+                int chunkLength = 0;
+                while ((chunkLength < CHUNK_CAPACITY) && records.hasNext()) {
+                    if (chunkLength == chunk.length) {
+                        chunk = Arrays.copyOf(chunk, (int) Math.min(CHUNK_CAPACITY, (2L * chunk.length)));
+                        scratchBuffer = new Object[chunk.length];
+                    }
+                    chunk[chunkLength++] = records.next();
+                }
+                numberOfRecords += chunkLength;
+
+                // Sort the chunk with merge sort, reusing the scratch buffer for every chunk.
+                if (chunkLength > 1) {
+                    System.arraycopy(chunk, 0, scratchBuffer, 0, chunkLength);
+                    Sort.mergeSort(scratchBuffer, 0, chunk, 0, 0, (chunkLength - 1), comparator);
+                }
+
+                // Input that fits into a single chunk is written straight to the output.
+                if (runs.isEmpty() && !records.hasNext()) {
+                    writeRecords(chunk, chunkLength, outputFile, ioCounter);
+                    return new Statistics(numberOfRecords, 0, 0, ioCounter);
+                }
+                Path run = Files.createTempFile(temporaryDirectory, "run", ".bin");
+                runs.add(run);
+                numberOfRunsCreated++;
+                writeRecords(chunk, chunkLength, run, ioCounter);
+            } while (records.hasNext());
+
+            // Release the chunk before merging, so that its memory can be used for the merge buffers.
+            chunk = null;
+            scratchBuffer = null;
+
+            // Merge groups of neighbouring runs into longer runs until the rest can be merged in a single pass. Each merged run takes the place of its group, so the runs stay in input order and the merges stay stable. The groups move through the runs from front to back, and no group merges more runs than needed for the final merge to use the full fan-in.
+            int numberOfMergePasses = 0;
+            int groupStartIndex = 0;
+            while (runs.size() > fanIn) {
+                final int NUMBER_OF_RUNS_TO_MERGE = Math.min(fanIn, (runs.size() - fanIn + 1));
+                if ((groupStartIndex + NUMBER_OF_RUNS_TO_MERGE) > runs.size()) {
+                    groupStartIndex = 0;
+                }
+                List<Path> group = runs.subList(groupStartIndex, (groupStartIndex + NUMBER_OF_RUNS_TO_MERGE));
+                List<Path> runsToMerge = new ArrayList<>(group);
+                Path mergedRun = Files.createTempFile(temporaryDirectory, "run", ".bin");
+                group.clear();
+                runs.add(groupStartIndex, mergedRun);
+                try {
+                    mergeRuns(runsToMerge, mergedRun, ioCounter);
+                } finally {
+                    deleteFiles(runsToMerge);
+                }
+                groupStartIndex++;
+                numberOfRunsCreated++;
+                numberOfMergePasses++;
+            }
+
+            // Merge the remaining runs into the output.
+            mergeRuns(runs, outputFile, ioCounter);
+            numberOfMergePasses++;
+            return new Statistics(numberOfRecords, numberOfRunsCreated, numberOfMergePasses, ioCounter);
+        } finally {
+            deleteFiles(runs);
+        }
+    }
+
+    /**
+     * Writes the first records of the specified array into the specified file in the codec's binary form.
+     * 
+     * @param records The array that holds the records.
+     * @param numberOfRecords The number of records to write.
+     * @param file The file to write the records into. It is created or replaced.
+     * @param ioCounter The counter of the bytes that are written.
+     * @throws IOException If the file cannot be written.
+     */
+    @SuppressWarnings("unchecked")
+    private void writeRecords(Object[] records, int numberOfRecords, Path file, IoCounter ioCounter)
+            throws IOException {
+        try (RunWriter<E> writer = new RunWriter<>(file, recordCodec, calculateSpillBufferSize(), ioCounter)) {
+            for (int i = 0; i < numberOfRecords; i++) {
+                writer.write((E) records[i]);
+            }
+        }
+    }
+
+    /**
+     * Merges the specified sorted runs into the specified file with a loser tree.
+     * 
+     * @param runs The runs to merge, in the order they were created.
+     * @param file The file that the merged records are written into. It is created or replaced.
+     * @param ioCounter The counter of the bytes that are read and written.
+     * @throws IOException If a run cannot be read or the file cannot be written.
+     */
+    private void mergeRuns(List<Path> runs, Path file, IoCounter ioCounter) throws IOException {
+        final int BUFFER_SIZE = calculateBufferSize(runs.size() + 1);
+        List<RunReader<E>> readers = new ArrayList<>(runs.size());
+        try (RunWriter<E> writer = new RunWriter<>(file, recordCodec, BUFFER_SIZE, ioCounter)) {
+            // Open every run and read its first record.
+            @SuppressWarnings("unchecked")
+            E[] firstRecords = (E[]) new Object[runs.size()];
+            for (int i = 0; i < runs.size(); i++) {
+                readers.add(new RunReader<>(runs.get(i), recordCodec, BUFFER_SIZE, ioCounter));
+                firstRecords[i] = readers.get(i).read();
+            }
+
+            // Repeatedly write the smallest current record and replace it with the next record of its run.
+            LoserTree<E> loserTree = new LoserTree<>(firstRecords, comparator);
+            while (!loserTree.isEmpty()) {
+                writer.write(loserTree.getWinningRecord());
+                loserTree.replaceWinningRecord(readers.get(loserTree.getWinningSource()).read());
+            }
+        } finally {
+            for (RunReader<E> reader : readers) {
+                reader.close();
+            }
+        }
+    }
+
+    /**
+     * Returns the size of each I/O buffer when the memory budget is shared by the specified number of buffers. The size is a whole number of records.
+     * 
+     * @param numberOfBuffers The number of buffers that share the memory budget.
+     * @return Returns the size of each buffer in bytes.
+     */
+    private int calculateBufferSize(int numberOfBuffers) {
+        final int RECORD_SIZE = recordCodec.getRecordSizeInBytes();
+        long bufferSize = Math.min(MAXIMUM_BUFFER_SIZE_IN_BYTES, (memoryBudgetInBytes / numberOfBuffers));
+        return (int) Math.max(RECORD_SIZE, (bufferSize - (bufferSize % RECORD_SIZE)));
+    }
+
+    /**
+     * Returns the size of the buffers that read the input and write the runs while the chunks are being sorted. The size is the same as that of a merge buffer, so that the chunks keep most of the memory budget.
+     * 
+     * @return Returns the size of each spill buffer in bytes.
+     */
+    private int calculateSpillBufferSize() {
+        return calculateBufferSize(fanIn + 1);
+    }
+
+    /**
+     * Returns the number of records that fit into a chunk. The memory budget that is left next to the input and run buffers is divided by the estimated size of each record, including its references from the chunk and the scratch buffer.
+     * 
+     * @return Returns the number of records per chunk.
+     */
+    private int calculateChunkCapacity() {
+        final long CHUNK_BUDGET_IN_BYTES = memoryBudgetInBytes - (2L * calculateSpillBufferSize());
+        final long BYTES_PER_RECORD = recordCodec.estimateHeapSizeInBytes() + (2 * REFERENCE_SIZE_IN_BYTES);
+        return (int) Math.min((Integer.MAX_VALUE - 8), (CHUNK_BUDGET_IN_BYTES / BYTES_PER_RECORD));
+    }
+
+    /**
+     * Deletes the specified files, ignoring files that no longer exist.
+     * 
+     * @param files The files to delete.
+     * @throws IOException If a file cannot be deleted.
+     */
+    private static void deleteFiles(List<Path> files) throws IOException {
+        for (Path file : files) {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    /**
+     * This class holds statistics about one external sort.
+     * 
+     * @author Jaskaran Singh
+     */
+    public static final class Statistics {
+        private final long numberOfRecords;
+        private final int numberOfRuns;
+        private final int numberOfMergePasses;
+        private final long bytesRead;
+        private final long bytesWritten;
+
+        /**
+         * Statistics constructor.
+         * 
+         * @param numberOfRecords The number of records sorted.
+         * @param numberOfRuns The number of sorted runs spilled to temporary files, including runs created by merging other runs.
+         * @param numberOfMergePasses The number of merges.
+         * @param ioCounter The counter of the bytes that were read and written.
+         */
+        private Statistics(long numberOfRecords, int numberOfRuns, int numberOfMergePasses, IoCounter ioCounter) {
+            this.numberOfRecords = numberOfRecords;
+            this.numberOfRuns = numberOfRuns;
+            this.numberOfMergePasses = numberOfMergePasses;
+            this.bytesRead = ioCounter.bytesRead;
+            this.bytesWritten = ioCounter.bytesWritten;
+        }
+
+        /**
+         * Returns the number of records sorted.
+         * 
+         * @return Returns the number of records sorted.
+         */
+        public long getNumberOfRecords() {
+            return numberOfRecords;
+        }
+
+        /**
+         * Returns the number of sorted runs that were spilled to temporary files, including runs created by merging other runs. Returns zero if the input fit into a single chunk.
+         * 
+         * @return Returns the number of runs.
+         */
+        public int getNumberOfRuns() {
+            return numberOfRuns;
+        }
+
+        /**
+         * Returns the number of merges, including the final merge into the output.
+         * 
+         * @return Returns the number of merges.
+         */
+        public int getNumberOfMergePasses() {
+            return numberOfMergePasses;
+        }
+
+        /**
+         * Returns the number of bytes read from the input file and the temporary files.
+         * 
+         * @return Returns the number of bytes read.
+         */
+        public long getBytesRead() {
+            return bytesRead;
+        }
+
+        /**
+         * Returns the number of bytes written to the temporary files and the output file.
+         * 
+         * @return Returns the number of bytes written.
+         */
+        public long getBytesWritten() {
+            return bytesWritten;
+        }
+
+        /**
+         * Returns a string that describes the statistics.
+         * 
+         * @return Returns a string that describes the statistics.
+         */
+        @Override
+        public String toString() {
+            return "[records: " + numberOfRecords + ", runs: " + numberOfRuns + ", merge passes: "
+                    + numberOfMergePasses + ", bytes read: " + bytesRead + ", bytes written: " + bytesWritten + "]";
+        }
+    }
+
+    /**
+     * This class counts the bytes that the readers and writers of one sort transfer.
+     */
+    private static final class IoCounter {
+        private long bytesRead = 0;
+        private long bytesWritten = 0;
+    }
+
+    /**
+     * This class writes records in their binary form to a file through a buffer.
+     * 
+     * @param <E> The type of the records.
+     */
+    private static final class RunWriter<E> implements Closeable {
+        private final FileChannel channel;
+        private final RecordCodec<E> recordCodec;
+        private final ByteBuffer buffer;
+        private final IoCounter ioCounter;
+
+        /**
+         * RunWriter constructor. Creates or replaces the file.
+         * 
+         * @param file The file to write.
+         * @param recordCodec The codec of the records.
+         * @param bufferSize The size of the buffer in bytes. It is a whole number of records.
+         * @param ioCounter The counter of the bytes that are written.
+         * @throws IOException If the file cannot be opened.
+         */
+        private RunWriter(Path file, RecordCodec<E> recordCodec, int bufferSize, IoCounter ioCounter)
+                throws IOException {
+            this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING);
+            this.recordCodec = recordCodec;
+            this.buffer = ByteBuffer.allocate(bufferSize);
+            this.ioCounter = ioCounter;
+        }
+
+        /**
+         * Writes a record.
+         * 
+         * @param record The record to write.
+         * @throws IOException If the file cannot be written.
+         * @throws IllegalStateException If the codec does not write exactly one record's worth of bytes.
+         */
+        private void write(E record) throws IOException, IllegalStateException {
+            if (!buffer.hasRemaining()) {
+                flush();
+            }
+            final int START_POSITION = buffer.position();
+            recordCodec.write(record, buffer);
+            if ((buffer.position() - START_POSITION) != recordCodec.getRecordSizeInBytes()) {
+                throw new IllegalStateException("The record codec wrote " + (buffer.position() - START_POSITION)
+                        + " bytes instead of " + recordCodec.getRecordSizeInBytes() + ".");
+            }
+        }
+
+        /**
+         * Writes the buffered bytes to the file.
+         * 
+         * @throws IOException If the file cannot be written.
+         */
+        private void flush() throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                ioCounter.bytesWritten += channel.write(buffer);
+            }
+            buffer.clear();
+        }
+
+        /**
+         * Writes the buffered bytes to the file and closes it.
+         * 
+         * @throws IOException If the file cannot be written.
+         */
+        @Override
+        public void close() throws IOException {
+            try {
+                flush();
+            } finally {
+                channel.close();
+            }
+        }
+    }
+
+    /**
+     * This class reads records in their binary form from a file through a buffer.
+     * 
+     * @param <E> The type of the records.
+     */
+    private static final class RunReader<E> implements Closeable {
+        private final FileChannel channel;
+        private final RecordCodec<E> recordCodec;
+        private final ByteBuffer buffer;
+        private final IoCounter ioCounter;
+        private boolean isEndOfFileReached = false;
+
+        /**
+         * RunReader constructor.
+         * 
+         * @param file The file to read.
+         * @param recordCodec The codec of the records.
+         * @param bufferSize The size of the buffer in bytes. It is a whole number of records.
+         * @param ioCounter The counter of the bytes that are read.
+         * @throws IOException If the file cannot be opened.
+         */
+        private RunReader(Path file, RecordCodec<E> recordCodec, int bufferSize, IoCounter ioCounter)
+                throws IOException {
+            this.channel = FileChannel.open(file, StandardOpenOption.READ);
+            this.recordCodec = recordCodec;
+            this.buffer = ByteBuffer.allocate(bufferSize);
+            this.buffer.flip();
+            this.ioCounter = ioCounter;
+        }
+
+        /**
+         * Reads the next record. Returns null if the end of the file has been reached.
+         * 
+         * @return Returns the next record, or null if there are no records left.
+         * @throws IOException If the file cannot be read or ends in the middle of a record.
+         */
+        private E read() throws IOException {
+            final int RECORD_SIZE = recordCodec.getRecordSizeInBytes();
+            if (buffer.remaining() < RECORD_SIZE) {
+                fillBuffer();
+                if (!buffer.hasRemaining()) {
+                    return null;
+                }
+                if (buffer.remaining() < RECORD_SIZE) {
+                    throw new IOException("The file ends in the middle of a record.");
+                }
+            }
+            return recordCodec.read(buffer);
+        }
+
+        /**
+         * Moves the unread bytes to the start of the buffer and fills the rest of the buffer from the file.
+         * 
+         * @throws IOException If the file cannot be read.
+         */
+        private void fillBuffer() throws IOException {
+            buffer.compact();
+            while (buffer.hasRemaining() && !isEndOfFileReached) {
+                int numberOfBytesRead = channel.read(buffer);
+                if (numberOfBytesRead < 0) {
+                    isEndOfFileReached = true;
+                } else {
+                    ioCounter.bytesRead += numberOfBytesRead;
+                }
+            }
+            buffer.flip();
+        }
+
+        /**
+         * Closes the file.
+         * 
+         * @throws IOException If the file cannot be closed.
+         */
+        @Override
+        public void close() throws IOException {
+            channel.close();
+        }
+    }
+
+    /**
+     * This class iterates over the records of a run reader. Read errors are thrown as unchecked exceptions, which the sort turns back into the original IOException.
+     * 
+     * @param <E> The type of the records.
+     */
+    private static final class RunIterator<E> implements Iterator<E> {
+        private final RunReader<E> reader;
+        private E nextRecord;
+
+        /**
+         * RunIterator constructor. Reads the first record.
+         * 
+         * @param reader The reader to iterate over.
+         * @throws IOException If the first record cannot be read.
+         */
+        private RunIterator(RunReader<E> reader) throws IOException {
+            this.reader = reader;
+            this.nextRecord = reader.read();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return nextRecord != null;
+        }
+
+        @Override
+        public E next() {
+            if (nextRecord == null) {
+                throw new NoSuchElementException();
+            }
+            E record = nextRecord;
+            try {
+                nextRecord = reader.read();
+            } catch (IOException exception) {
+                throw new UncheckedIOException(exception);
+            }
+            return record;
+        }
+    }
+}
@@ -0,0 +1,371 @@
+package sort;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+/**
+ * This class keeps elements that arrive in batches in sorted order without re-sorting everything for every batch. Each batch is merge sorted on its own and becomes a new sorted run. The runs form levels like a log-structured merge tree: every run must be at least twice as long as the next newer run, and a new run that breaks this rule is merged into the older runs until it holds again. There are therefore at most about log2(n) runs, and each element takes part in O(log n) merges over its lifetime, so adding a batch of b elements costs O(b log b) plus an amortized O(b log n) for the merges instead of a full sort.
+ * 
+ * The elements can be read at any time: iteration merges the runs on the fly with a loser tree, range queries merge only the slices of the runs that fall into the range, and rank queries binary search every run. Elements that compare as equal are kept in the order they were added, so the container is stable. Null elements are not supported.
+ * 
+ * @author Jaskaran Singh
+ * @param <E> The type of the elements.
+ */
+public class IncrementalSorter<E> implements Iterable<E> {
+    // The comparator that defines the order of the elements.
+    private final Comparator<? super E> comparator;
+
+    // The sorted runs, from the oldest and longest to the newest and shortest.
+    private final ArrayList<Object[]> runs = new ArrayList<>();
+
+    // The number of elements in every run combined.
+    private int size;
+
+    // The number of batches added so far, so iterators can detect that the runs changed underneath them.
+    private int modificationCount;
+
+    /**
+     * IncrementalSorter constructor.
+     * 
+     * @param comparator The comparator that defines the order of the elements.
+     * @throws NullPointerException
+     */
+    public IncrementalSorter(Comparator<? super E> comparator) throws NullPointerException {
+        this.comparator = Objects.requireNonNull(comparator);
+    }
+
+    /**
+     * Adds a batch of elements. The batch is merge sorted on its own and then merged into the existing runs as far as the run length rule requires.
+     * 
+     * @param batch The elements to add.
+     * @throws IllegalStateException If the sorter would hold more than Integer.MAX_VALUE elements.
+     * @throws NullPointerException If the batch or one of its elements is null.
+     * @throws ClassCastException
+     */
+    public void addAll(Collection<? extends E> batch)
+            throws IllegalStateException, NullPointerException, ClassCastException {
+        // Copy the batch and check that it does not hold null elements, which the merges use to mark exhausted runs.
+        Object[] batchElements = batch.toArray();
+        final int BATCH_SIZE = batchElements.length;
+        if (BATCH_SIZE == 0) {
+            return;
+        }
+        if (((long) size + BATCH_SIZE) > Integer.MAX_VALUE) {
+            throw new IllegalStateException("An incremental sorter cannot hold more than " + Integer.MAX_VALUE
+                    + " elements.");
+        }
+        for (Object element : batchElements) {
+            Objects.requireNonNull(element);
+        }
+
+        // Sort the batch into a new run.
+        Object[] run = batchElements;
+        if (BATCH_SIZE > 1) {
+            run = batchElements.clone();
+            Sort.mergeSort(batchElements, 0, run, 0, 0, (BATCH_SIZE - 1), comparator);
+        }
+        runs.add(run);
+        size += BATCH_SIZE;
+        modificationCount++;
+
+        // Merge the newest run into older runs until every run is at least twice as long as the next newer run.
+        while ((runs.size() > 1) && (runs.get(runs.size() - 2).length < (2L * runs.get(runs.size() - 1).length))) {
+            Object[] newerRun = runs.remove(runs.size() - 1);
+            Object[] olderRun = runs.remove(runs.size() - 1);
+            runs.add(mergeRuns(olderRun, newerRun));
+        }
+    }
+
+    /**
+     * Adds a single element. This is a batch of one element.
+     * 
+     * @param element The element to add.
+     * @throws IllegalStateException If the sorter already holds Integer.MAX_VALUE elements.
+     * @throws NullPointerException If the element is null.
+     * @throws ClassCastException
+     */
+    public void add(E element) throws IllegalStateException, NullPointerException, ClassCastException {
+        addAll(List.of(element));
+    }
+
+    /**
+     * Returns the number of elements in the sorter.
+     * 
+     * @return Returns the number of elements.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the number of sorted runs that the elements are currently kept in.
+     * 
+     * @return Returns the number of runs.
+     */
+    public int getNumberOfRuns() {
+        return runs.size();
+    }
+
+    /**
+     * Returns an iterator over every element in ascending order. The runs are merged lazily as the iterator advances. The iterator fails with a {@link ConcurrentModificationException} if elements are added while it is in use.
+     * 
+     * @return Returns an iterator over the sorted elements.
+     */
+    @Override
+    public Iterator<E> iterator() {
+        // An empty sorter has no runs to merge.
+        if (runs.isEmpty()) {
+            return Collections.emptyIterator();
+        }
+
+        int[] startIndices = new int[runs.size()];
+        int[] endIndices = new int[runs.size()];
+        for (int i = 0; i < runs.size(); i++) {
+            endIndices[i] = runs.get(i).length;
+        }
+        return new MergingIterator(startIndices, endIndices);
+    }
+
+    /**
+     * Creates a list of every element in ascending order.
+     * 
+     * @return Returns a new array list that holds the sorted elements.
+     */
+    public ArrayList<E> toList() {
+        ArrayList<E> elements = new ArrayList<>(size);
+        for (E element : this) {
+            elements.add(element);
+        }
+        return elements;
+    }
+
+    /**
+     * Returns the elements that are greater than or equal to the lower bound and less than the upper bound, in ascending order. Each run is binary searched for the range, and only the elements inside the range are merged, so the query takes O(r log n + m log r) time for r runs and m elements in the range.
+     * 
+     * @param lowerBound The inclusive lower bound of the range.
+     * @param upperBound The exclusive upper bound of the range.
+     * @return Returns a new array list that holds the elements in the range in ascending order.
+     * @throws NullPointerException
+     * @throws ClassCastException
+     */
+    public ArrayList<E> range(E lowerBound, E upperBound) throws NullPointerException, ClassCastException {
+        int[] startIndices = new int[runs.size()];
+        int[] endIndices = new int[runs.size()];
+        for (int i = 0; i < runs.size(); i++) {
+            startIndices[i] = findFirstIndexNotBelow(runs.get(i), lowerBound, false);
+            endIndices[i] = Math.max(startIndices[i], findFirstIndexNotBelow(runs.get(i), upperBound, false));
+        }
+        ArrayList<E> elements = new ArrayList<>();
+        for (Iterator<E> iterator = new MergingIterator(startIndices, endIndices); iterator.hasNext();) {
+            elements.add(iterator.next());
+        }
+        return elements;
+    }
+
+    /**
+     * Returns the rank of the specified element, which is the number of elements in the sorter that are less than it. Each run is binary searched, so the query takes O(r log n) time.
+     * 
+     * @param element The element to find the rank of. It does not have to be in the sorter.
+     * @return Returns the number of elements that are less than the element.
+     * @throws NullPointerException
+     * @throws ClassCastException
+     */
+    public int rank(E element) throws NullPointerException, ClassCastException {
+        int rank = 0;
+        for (Object[] run : runs) {
+            rank += findFirstIndexNotBelow(run, element, false);
+        }
+        return rank;
+    }
+
+    /**
+     * Returns the element with the specified rank, which is the element at that index of the sorted elements. The element is found without merging the runs: an element from the middle of the largest remaining window of a run is used as a pivot, every run is binary searched for the number of elements that come before the pivot, and the windows are narrowed to the side of the pivot that holds the rank. Each step halves at least the largest window, so the query takes O(r^2 log^2 n) time for r runs, which is small since r is at most about log2(n).
+     * 
+     * @param rank The rank of the element. It must be between zero (inclusive) and the size (exclusive).
+     * @return Returns the element with the specified rank.
+     * @throws IndexOutOfBoundsException If the rank is not inside the sorter.
+     */
+    @SuppressWarnings("unchecked")
+    public E get(int rank) throws IndexOutOfBoundsException {
+        Objects.checkIndex(rank, size);
+
+        // Every run starts with a window that covers the whole run.
+        final int NUMBER_OF_RUNS = runs.size();
+        int[] startIndices = new int[NUMBER_OF_RUNS];
+        int[] endIndices = new int[NUMBER_OF_RUNS];
+        for (int i = 0; i < NUMBER_OF_RUNS; i++) {
+            endIndices[i] = runs.get(i).length;
+        }
+
+        while (true) {
+            // Use the middle element of the largest window as the pivot.
+            int pivotRun = 0;
+            for (int i = 1; i < NUMBER_OF_RUNS; i++) {
+                if ((endIndices[i] - startIndices[i]) > (endIndices[pivotRun] - startIndices[pivotRun])) {
+                    pivotRun = i;
+                }
+            }
+            final int PIVOT_INDEX = (startIndices[pivotRun] + endIndices[pivotRun]) >>> 1;
+            final E PIVOT = (E) runs.get(pivotRun)[PIVOT_INDEX];
+
+            // Count the elements that come before the pivot in the stable order. Equal elements in older runs come before it, and equal elements in newer runs come after it.
+            int[] pivotPositions = new int[NUMBER_OF_RUNS];
+            long pivotRank = 0;
+            for (int i = 0; i < NUMBER_OF_RUNS; i++) {
+                if (i == pivotRun) {
+                    pivotPositions[i] = PIVOT_INDEX;
+                } else {
+                    pivotPositions[i] = findFirstIndexNotBelow(runs.get(i), PIVOT, (i < pivotRun));
+                }
+                pivotRank += pivotPositions[i];
+            }
+
+            // Keep the side of the pivot that holds the rank.
+            if (pivotRank == rank) {
+                return PIVOT;
+            } else if (pivotRank > rank) {
+                for (int i = 0; i < NUMBER_OF_RUNS; i++) {
+                    endIndices[i] = Math.min(endIndices[i], pivotPositions[i]);
+                }
+            } else {
+                for (int i = 0; i < NUMBER_OF_RUNS; i++) {
+                    startIndices[i] = Math.max(startIndices[i], pivotPositions[i]);
+                }
+                startIndices[pivotRun] = PIVOT_INDEX + 1;
+            }
+        }
+    }
+
+    /**
+     * Converts the sorter into a string.
+     */
+    @Override
+    public String toString() {
+        return toList().toString();
+    }
+
+    /**
+     * Merges two sorted runs into a new sorted run. Elements of the older run come first when elements compare as equal, so the merge keeps the order the elements were added in.
+     * 
+     * @param olderRun The run that was created first.
+     * @param newerRun The run that was created last.
+     * @return Returns the merged run.
+     */
+    @SuppressWarnings("unchecked")
+    private Object[] mergeRuns(Object[] olderRun, Object[] newerRun) {
+        Object[] mergedRun = new Object[olderRun.length + newerRun.length];
+
+        // If the runs are already in order, copy them instead of merging them.
+        if (comparator.compare((E) olderRun[olderRun.length - 1], (E) newerRun[0]) <= 0) {
+            System.arraycopy(olderRun, 0, mergedRun, 0, olderRun.length);
+            System.arraycopy(newerRun, 0, mergedRun, olderRun.length, newerRun.length);
+            return mergedRun;
+        }
+
+        int olderIndex = 0;
+        int newerIndex = 0;
+        for (int i = 0; i < mergedRun.length; i++) {
+            if ((newerIndex == newerRun.length) || ((olderIndex < olderRun.length)
+                    && (comparator.compare((E) olderRun[olderIndex], (E) newerRun[newerIndex]) <= 0))) {
+                mergedRun[i] = olderRun[olderIndex++];
+            } else {
+                mergedRun[i] = newerRun[newerIndex++];
+            }
+        }
+        return mergedRun;
+    }
+
+    /**
+     * Returns the index of the first element in the specified run that is not below the specified element, with a binary search.
+     * 
+     * @param run The sorted run to search.
+     * @param element The element to search for.
+     * @param includeEqualElements Whether elements equal to the searched element count as below it.
+     * @return Returns the number of elements in the run that are below the element.
+     */
+    @SuppressWarnings("unchecked")
+    private int findFirstIndexNotBelow(Object[] run, E element, boolean includeEqualElements) {
+        int lowIndex = 0;
+        int highIndex = run.length;
+        while (lowIndex < highIndex) {
+            final int MIDDLE_INDEX = (lowIndex + highIndex) >>> 1;
+            final int COMPARISON = comparator.compare((E) run[MIDDLE_INDEX], element);
+            if ((COMPARISON < 0) || (includeEqualElements && (COMPARISON == 0))) {
+                lowIndex = MIDDLE_INDEX + 1;
+            } else {
+                highIndex = MIDDLE_INDEX;
+            }
+        }
+        return lowIndex;
+    }
+
+    /**
+     * This class iterates over a window of every run in ascending order, merging the windows with a loser tree. Ties go to the older run, which keeps the merge stable.
+     * 
+     * @author Jaskaran Singh
+     */
+    private final class MergingIterator implements Iterator<E> {
+        private final Object[][] iteratedRuns;
+        private final int[] nextIndices;
+        private final int[] endIndices;
+        private final LoserTree<E> loserTree;
+        private final int expectedModificationCount;
+
+        /**
+         * MergingIterator constructor.
+         * 
+         * @param startIndices The index of the first element of each run's window. These indices are inclusive.
+         * @param endIndices The index of the end of each run's window. These indices are exclusive.
+         */
+        @SuppressWarnings("unchecked")
+        private MergingIterator(int[] startIndices, int[] endIndices) {
+            this.iteratedRuns = runs.toArray(new Object[0][]);
+            this.nextIndices = startIndices;
+            this.endIndices = endIndices;
+            this.expectedModificationCount = modificationCount;
+
+            // Take the first element of every window, or null for an empty window.
+            E[] firstElements = (E[]) new Object[iteratedRuns.length];
+            for (int i = 0; i < iteratedRuns.length; i++) {
+                firstElements[i] = nextElement(i);
+            }
+            this.loserTree = new LoserTree<>(firstElements, comparator);
+        }
+
+        @Override
+        public boolean hasNext() {
+            return !loserTree.isEmpty();
+        }
+
+        @Override
+        public E next() {
+            if (modificationCount != expectedModificationCount) {
+                throw new ConcurrentModificationException();
+            }
+            if (loserTree.isEmpty()) {
+                throw new NoSuchElementException();
+            }
+            E element = loserTree.getWinningRecord();
+            loserTree.replaceWinningRecord(nextElement(loserTree.getWinningSource()));
+            return element;
+        }
+
+        /**
+         * Takes the next element of the specified run's window.
+         * 
+         * @param run The index of the run.
+         * @return Returns the next element, or null if the window is exhausted.
+         */
+        @SuppressWarnings("unchecked")
+        private E nextElement(int run) {
+            return (nextIndices[run] < endIndices[run]) ? (E) iteratedRuns[run][nextIndices[run]++] : null;
+        }
+    }
+}
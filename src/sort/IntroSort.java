@@ -0,0 +1,1522 @@
+package sort;
+
+import java.util.Comparator;
+
+/**
+ * This class implements the introsort behind {@link Sort#introSort(java.util.List)} and the primitive introsort overloads. Each range is partitioned with two pivots, taken from five sorted samples, into elements below the first pivot, between the pivots and above the second pivot. When the samples contain duplicates, the range is partitioned around a single pivot into elements below, equal to and above it instead, so runs of equal keys are finished after one pass. Small partitions are sorted with insertion sort. The two smaller parts of each partition are sorted recursively and the largest one iteratively, so the sort uses O(log n) stack space, and a range that has been partitioned 2 log n levels deep is finished with heapsort, so the sort always takes O(n log n) time. The sort is not stable.
+ * 
+ * @author Jaskaran Singh
+ */
+final class IntroSort {
+    // Partitions that are shorter than this threshold are sorted with insertion sort.
+    private static final int INSERTION_SORT_THRESHOLD = 32;
+
+    /**
+     * Private constructor. This class only contains static sorting methods.
+     */
+    private IntroSort() {
+    }
+
+    /**
+     * Returns the number of partitioning levels after which a range of the specified length is sorted with heapsort, which is twice the base 2 logarithm of the length.
+     * 
+     * @param numberOfElements The number of elements in the range.
+     * @return Returns the number of partitioning levels allowed.
+     */
+    private static int calculateDepthLimit(int numberOfElements) {
+        return 2 * (31 - Integer.numberOfLeadingZeros(Math.max(1, numberOfElements)));
+    }
+
+    /**
+     * Sorts the elements in the specified array between the start index (inclusive) and the end index (exclusive) with introsort.
+     * 
+     * @param array The array to sort.
+     * @param startIndex The index specifying the start of the range of elements to sort. This index is inclusive.
+     * @param endIndex The index specifying the end of the range of elements to sort. This index is exclusive.
+     * @param comparator The comparator that defines the order of the elements.
+     */
+    static <E> void sort(E[] array, int startIndex, int endIndex, Comparator<? super E> comparator) {
+        sort(array, startIndex, endIndex, calculateDepthLimit(endIndex - startIndex), comparator);
+    }
+
+    /**
+     * Sorts the elements in the specified array between the start index (inclusive) and the end index (exclusive) with introsort, switching to heapsort once the specified number of partitioning levels has been used up.
+     * 
+     * @param array The array to sort.
+     * @param startIndex The index specifying the start of the range of elements to sort. This index is inclusive.
+     * @param endIndex The index specifying the end of the range of elements to sort. This index is exclusive.
+     * @param depthLimit The number of partitioning levels left before the range is sorted with heapsort.
+     * @param comparator The comparator that defines the order of the elements.
+     */
+    private static <E> void sort(E[] array, int startIndex, int endIndex, int depthLimit,
+            Comparator<? super E> comparator) {
+        while (true) {
+            final int NUMBER_OF_ELEMENTS = endIndex - startIndex;
+
+            // Sort small partitions with insertion sort.
+            if (NUMBER_OF_ELEMENTS < INSERTION_SORT_THRESHOLD) {
+                insertionSort(array, startIndex, endIndex, comparator);
+                return;
+            }
+
+            // Sort the range with heapsort if partitioning has gone too deep, which only happens when the pivots keep splitting the range badly.
+            if (depthLimit == 0) {
+                heapSort(array, startIndex, endIndex, comparator);
+                return;
+            }
+            depthLimit--;
+
+            // Sort five evenly spaced samples around the middle of the range in-place.
+            final int SAMPLE_SPACING = (NUMBER_OF_ELEMENTS >>> 3) + (NUMBER_OF_ELEMENTS >>> 6) + 1;
+            final int SAMPLE_INDEX_3 = (startIndex + endIndex) >>> 1;
+            final int SAMPLE_INDEX_2 = SAMPLE_INDEX_3 - SAMPLE_SPACING;
+            final int SAMPLE_INDEX_1 = SAMPLE_INDEX_2 - SAMPLE_SPACING;
+            final int SAMPLE_INDEX_4 = SAMPLE_INDEX_3 + SAMPLE_SPACING;
+            final int SAMPLE_INDEX_5 = SAMPLE_INDEX_4 + SAMPLE_SPACING;
+            sortSamples(array, SAMPLE_INDEX_1, SAMPLE_INDEX_2, SAMPLE_INDEX_3, SAMPLE_INDEX_4, SAMPLE_INDEX_5,
+                    comparator);
+
+            if ((comparator.compare(array[SAMPLE_INDEX_1], array[SAMPLE_INDEX_2]) < 0)
+                    && (comparator.compare(array[SAMPLE_INDEX_2], array[SAMPLE_INDEX_3]) < 0)
+                    && (comparator.compare(array[SAMPLE_INDEX_3], array[SAMPLE_INDEX_4]) < 0)
+                    && (comparator.compare(array[SAMPLE_INDEX_4], array[SAMPLE_INDEX_5]) < 0)) {
+                // The samples are all different, so partition the range with the second and fourth sample as pivots into elements below the first pivot, elements between the pivots and elements above the second pivot. The pivots' positions are filled with the first and last element of the range, whose positions are filled with the pivots after partitioning.
+                final E PIVOT_1 = array[SAMPLE_INDEX_2];
+                final E PIVOT_2 = array[SAMPLE_INDEX_4];
+                array[SAMPLE_INDEX_2] = array[startIndex];
+                array[SAMPLE_INDEX_4] = array[endIndex - 1];
+
+                // Skip the elements at both ends that are already in the correct part. The third sample lies between the pivots, so both scans stop at it.
+                int lessIndex = startIndex + 1;
+                int greatIndex = endIndex - 2;
+                while (comparator.compare(array[lessIndex], PIVOT_1) < 0) {
+                    lessIndex++;
+                }
+                while (comparator.compare(array[greatIndex], PIVOT_2) > 0) {
+                    greatIndex--;
+                }
+
+                // Elements before the less index are below the first pivot and elements after the great index are above the second pivot.
+                partitionLoop:
+                for (int k = lessIndex; k <= greatIndex; k++) {
+                    E element = array[k];
+                    if (comparator.compare(element, PIVOT_1) < 0) {
+                        array[k] = array[lessIndex];
+                        array[lessIndex] = element;
+                        lessIndex++;
+                    } else if (comparator.compare(element, PIVOT_2) > 0) {
+                        while (comparator.compare(array[greatIndex], PIVOT_2) > 0) {
+                            if (greatIndex == k) {
+                                greatIndex--;
+                                break partitionLoop;
+                            }
+                            greatIndex--;
+                        }
+                        if (comparator.compare(array[greatIndex], PIVOT_1) < 0) {
+                            array[k] = array[lessIndex];
+                            array[lessIndex] = array[greatIndex];
+                            lessIndex++;
+                        } else {
+                            array[k] = array[greatIndex];
+                        }
+                        array[greatIndex] = element;
+                        greatIndex--;
+                    }
+                }
+
+                // Move the pivots into their final positions.
+                array[startIndex] = array[lessIndex - 1];
+                array[lessIndex - 1] = PIVOT_1;
+                array[endIndex - 1] = array[greatIndex + 1];
+                array[greatIndex + 1] = PIVOT_2;
+                final int LEFT_PART_END_INDEX = lessIndex - 1;
+                final int RIGHT_PART_START_INDEX = greatIndex + 2;
+
+                // If the middle part is very large, it probably holds many elements equal to the pivots. Move those to the ends of the middle part, where they are already in their final positions.
+                if ((lessIndex < SAMPLE_INDEX_1) && (SAMPLE_INDEX_5 < greatIndex)) {
+                    while (comparator.compare(array[lessIndex], PIVOT_1) == 0) {
+                        lessIndex++;
+                    }
+                    while (comparator.compare(array[greatIndex], PIVOT_2) == 0) {
+                        greatIndex--;
+                    }
+                    equalPartitionLoop:
+                    for (int k = lessIndex; k <= greatIndex; k++) {
+                        E element = array[k];
+                        if (comparator.compare(element, PIVOT_1) == 0) {
+                            array[k] = array[lessIndex];
+                            array[lessIndex] = element;
+                            lessIndex++;
+                        } else if (comparator.compare(element, PIVOT_2) == 0) {
+                            while (comparator.compare(array[greatIndex], PIVOT_2) == 0) {
+                                if (greatIndex == k) {
+                                    greatIndex--;
+                                    break equalPartitionLoop;
+                                }
+                                greatIndex--;
+                            }
+                            if (comparator.compare(array[greatIndex], PIVOT_1) == 0) {
+                                array[k] = array[lessIndex];
+                                array[lessIndex] = array[greatIndex];
+                                lessIndex++;
+                            } else {
+                                array[k] = array[greatIndex];
+                            }
+                            array[greatIndex] = element;
+                            greatIndex--;
+                        }
+                    }
+                }
+
+                // Sort the two smaller parts recursively and the largest part in the next iteration of the loop, so the recursion never goes deeper than log n levels.
+                final int LEFT_PART_LENGTH = LEFT_PART_END_INDEX - startIndex;
+                final int MIDDLE_PART_LENGTH = greatIndex + 1 - lessIndex;
+                final int RIGHT_PART_LENGTH = endIndex - RIGHT_PART_START_INDEX;
+                if ((LEFT_PART_LENGTH >= MIDDLE_PART_LENGTH) && (LEFT_PART_LENGTH >= RIGHT_PART_LENGTH)) {
+                    sort(array, lessIndex, (greatIndex + 1), depthLimit, comparator);
+                    sort(array, RIGHT_PART_START_INDEX, endIndex, depthLimit, comparator);
+                    endIndex = LEFT_PART_END_INDEX;
+                } else if (MIDDLE_PART_LENGTH >= RIGHT_PART_LENGTH) {
+                    sort(array, startIndex, LEFT_PART_END_INDEX, depthLimit, comparator);
+                    sort(array, RIGHT_PART_START_INDEX, endIndex, depthLimit, comparator);
+                    startIndex = lessIndex;
+                    endIndex = greatIndex + 1;
+                } else {
+                    sort(array, startIndex, LEFT_PART_END_INDEX, depthLimit, comparator);
+                    sort(array, lessIndex, (greatIndex + 1), depthLimit, comparator);
+                    startIndex = RIGHT_PART_START_INDEX;
+                }
+            } else {
+                // Some of the samples are equal, which hints at many duplicates, so partition the range around the third sample into elements below it, elements equal to it and elements above it. The equal elements are already in their final positions.
+                final E PIVOT = array[SAMPLE_INDEX_3];
+                int lessIndex = startIndex;
+                int greatIndex = endIndex - 1;
+                int k = startIndex;
+                while (k <= greatIndex) {
+                    E element = array[k];
+                    if (comparator.compare(element, PIVOT) < 0) {
+                        array[k] = array[lessIndex];
+                        array[lessIndex] = element;
+                        lessIndex++;
+                        k++;
+                    } else if (comparator.compare(element, PIVOT) > 0) {
+                        array[k] = array[greatIndex];
+                        array[greatIndex] = element;
+                        greatIndex--;
+                    } else {
+                        k++;
+                    }
+                }
+
+                // Sort the smaller part recursively and the larger part in the next iteration of the loop.
+                if ((lessIndex - startIndex) < (endIndex - greatIndex - 1)) {
+                    sort(array, startIndex, lessIndex, depthLimit, comparator);
+                    startIndex = greatIndex + 1;
+                } else {
+                    sort(array, (greatIndex + 1), endIndex, depthLimit, comparator);
+                    endIndex = lessIndex;
+                }
+            }
+        }
+    }
+
+    /**
+     * Sorts the five samples at the specified indices of the specified array in-place with a sorting network.
+     * 
+     * @param array The array that contains the samples.
+     * @param sampleIndex1 The index of the first sample.
+     * @param sampleIndex2 The index of the second sample.
+     * @param sampleIndex3 The index of the third sample.
+     * @param sampleIndex4 The index of the fourth sample.
+     * @param sampleIndex5 The index of the fifth sample.
+     * @param comparator The comparator that defines the order of the elements.
+     */
+    private static <E> void sortSamples(E[] array, int sampleIndex1, int sampleIndex2, int sampleIndex3,
+            int sampleIndex4, int sampleIndex5, Comparator<? super E> comparator) {
+        sortPair(array, sampleIndex1, sampleIndex2, comparator);
+        sortPair(array, sampleIndex4, sampleIndex5, comparator);
+        sortPair(array, sampleIndex3, sampleIndex5, comparator);
+        sortPair(array, sampleIndex3, sampleIndex4, comparator);
+        sortPair(array, sampleIndex1, sampleIndex4, comparator);
+        sortPair(array, sampleIndex1, sampleIndex3, comparator);
+        sortPair(array, sampleIndex2, sampleIndex5, comparator);
+        sortPair(array, sampleIndex2, sampleIndex4, comparator);
+        sortPair(array, sampleIndex2, sampleIndex3, comparator);
+    }
+
+    /**
+     * Swaps the elements at the specified indices of the specified array if they are out of order.
+     * 
+     * @param array The array that contains the elements.
+     * @param index1 The index of the element that should be the smaller one.
+     * @param index2 The index of the element that should be the larger one.
+     * @param comparator The comparator that defines the order of the elements.
+     */
+    private static <E> void sortPair(E[] array, int index1, int index2, Comparator<? super E> comparator) {
+        if (comparator.compare(array[index1], array[index2]) > 0) {
+            E element = array[index1];
+            array[index1] = array[index2];
+            array[index2] = element;
+        }
+    }
+
+    /**
+     * Sorts the elements in the specified array between the start index (inclusive) and the end index (exclusive) with insertion sort.
+     * 
+     * @param array The array to sort.
+     * @param startIndex The index specifying the start of the range of elements to sort. This index is inclusive.
+     * @param endIndex The index specifying the end of the range of elements to sort. This index is exclusive.
+     * @param comparator The comparator that defines the order of the elements.
+     */
+    private static <E> void insertionSort(E[] array, int startIndex, int endIndex, Comparator<? super E> comparator) {
+        for (int i = startIndex + 1; i < endIndex; i++) {
+            E elementToInsert = array[i];
+            int j = i - 1;
+            while ((j >= startIndex) && (comparator.compare(array[j], elementToInsert) > 0)) {
+                array[j + 1] = array[j];
+                j--;
+            }
+            array[j + 1] = elementToInsert;
+        }
+    }
+
+    /**
+     * Sorts the elements in the specified array between the start index (inclusive) and the end index (exclusive) in-place with heapsort.
+     * 
+     * @param array The array to sort.
+     * @param startIndex The index specifying the start of the range of elements to sort. This index is inclusive.
+     * @param endIndex The index specifying the end of the range of elements to sort. This index is exclusive.
+     * @param comparator The comparator that defines the order of the elements.
+     */
+    static <E> void heapSort(E[] array, int startIndex, int endIndex, Comparator<? super E> comparator) {
+        // Turn the range into a max heap.
+        final int NUMBER_OF_ELEMENTS = endIndex - startIndex;
+        for (int i = (NUMBER_OF_ELEMENTS >>> 1) - 1; i >= 0; i--) {
+            siftDown(array, startIndex, i, NUMBER_OF_ELEMENTS, comparator);
+        }
+
+        // Repeatedly move the largest element of the heap to the end of the heap and shrink the heap by one.
+        for (int heapSize = NUMBER_OF_ELEMENTS - 1; heapSize > 0; heapSize--) {
+            E largestElement = array[startIndex];
+            array[startIndex] = array[startIndex + heapSize];
+            array[startIndex + heapSize] = largestElement;
+            siftDown(array, startIndex, 0, heapSize, comparator);
+        }
+    }
+
+    /**
+     * Moves the element at the specified heap index of a max heap down until neither of its children is larger than it.
+     * 
+     * @param array The array that contains the heap.
+     * @param heapStartIndex The index in the array of the root of the heap.
+     * @param heapIndex The heap index of the element to move down.
+     * @param heapSize The number of elements in the heap.
+     * @param comparator The comparator that defines the order of the elements.
+     */
+    private static <E> void siftDown(E[] array, int heapStartIndex, int heapIndex, int heapSize,
+            Comparator<? super E> comparator) {
+        E element = array[heapStartIndex + heapIndex];
+        int childIndex = (2 * heapIndex) + 1;
+        while (childIndex < heapSize) {
+            // Pick the larger child.
+            if (((childIndex + 1) < heapSize)
+                    && (comparator.compare(array[heapStartIndex + childIndex], array[heapStartIndex + childIndex
+                            + 1]) < 0)) {
+                childIndex++;
+            }
+            if (comparator.compare(element, array[heapStartIndex + childIndex]) >= 0) {
+                break;
+            }
+            array[heapStartIndex + heapIndex] = array[heapStartIndex + childIndex];
+            heapIndex = childIndex;
+            childIndex = (2 * heapIndex) + 1;
+        }
+        array[heapStartIndex + heapIndex] = element;
+    }
+
+    /**
+     * Sorts the elements in the specified int array between the start index (inclusive) and the end index (exclusive) with introsort.
+     * 
+     * @param array The array to sort.
+     * @param startIndex The index specifying the start of the range of elements to sort. This index is inclusive.
+     * @param endIndex The index specifying the end of the range of elements to sort. This index is exclusive.
+     */
+    static void sort(int[] array, int startIndex, int endIndex) {
+        sort(array, startIndex, endIndex, calculateDepthLimit(endIndex - startIndex));
+    }
+
+    /**
+     * Sorts the elements in the specified int array between the start index (inclusive) and the end index (exclusive) with introsort, switching to heapsort once the specified number of partitioning levels has been used up.
+     * 
+     * @param array The array to sort.
+     * @param startIndex The index specifying the start of the range of elements to sort. This index is inclusive.
+     * @param endIndex The index specifying the end of the range of elements to sort. This index is exclusive.
+     * @param depthLimit The number of partitioning levels left before the range is sorted with heapsort.
+     */
+    private static void sort(int[] array, int startIndex, int endIndex, int depthLimit) {
+        while (true) {
+            final int NUMBER_OF_ELEMENTS = endIndex - startIndex;
+
+            // Sort small partitions with insertion sort.
+            if (NUMBER_OF_ELEMENTS < INSERTION_SORT_THRESHOLD) {
+                insertionSort(array, startIndex, endIndex);
+                return;
+            }
+
+            // Sort the range with heapsort if partitioning has gone too deep, which only happens when the pivots keep splitting the range badly.
+            if (depthLimit == 0) {
+                heapSort(array, startIndex, endIndex);
+                return;
+            }
+            depthLimit--;
+
+            // Sort five evenly spaced samples around the middle of the range in-place.
+            final int SAMPLE_SPACING = (NUMBER_OF_ELEMENTS >>> 3) + (NUMBER_OF_ELEMENTS >>> 6) + 1;
+            final int SAMPLE_INDEX_3 = (startIndex + endIndex) >>> 1;
+            final int SAMPLE_INDEX_2 = SAMPLE_INDEX_3 - SAMPLE_SPACING;
+            final int SAMPLE_INDEX_1 = SAMPLE_INDEX_2 - SAMPLE_SPACING;
+            final int SAMPLE_INDEX_4 = SAMPLE_INDEX_3 + SAMPLE_SPACING;
+            final int SAMPLE_INDEX_5 = SAMPLE_INDEX_4 + SAMPLE_SPACING;
+            sortSamples(array, SAMPLE_INDEX_1, SAMPLE_INDEX_2, SAMPLE_INDEX_3, SAMPLE_INDEX_4, SAMPLE_INDEX_5);
+
+            if ((array[SAMPLE_INDEX_1] < array[SAMPLE_INDEX_2])
+                    && (array[SAMPLE_INDEX_2] < array[SAMPLE_INDEX_3])
+                    && (array[SAMPLE_INDEX_3] < array[SAMPLE_INDEX_4])
+                    && (array[SAMPLE_INDEX_4] < array[SAMPLE_INDEX_5])) {
+                // The samples are all different, so partition the range with the second and fourth sample as pivots into elements below the first pivot, elements between the pivots and elements above the second pivot. The pivots' positions are filled with the first and last element of the range, whose positions are filled with the pivots after partitioning.
+                final int PIVOT_1 = array[SAMPLE_INDEX_2];
+                final int PIVOT_2 = array[SAMPLE_INDEX_4];
+                array[SAMPLE_INDEX_2] = array[startIndex];
+                array[SAMPLE_INDEX_4] = array[endIndex - 1];
+
+                // Skip the elements at both ends that are already in the correct part. The third sample lies between the pivots, so both scans stop at it.
+                int lessIndex = startIndex + 1;
+                int greatIndex = endIndex - 2;
+                while (array[lessIndex] < PIVOT_1) {
+                    lessIndex++;
+                }
+                while (array[greatIndex] > PIVOT_2) {
+                    greatIndex--;
+                }
+
+                // Elements before the less index are below the first pivot and elements after the great index are above the second pivot.
+                partitionLoop:
+                for (int k = lessIndex; k <= greatIndex; k++) {
+                    int element = array[k];
+                    if (element < PIVOT_1) {
+                        array[k] = array[lessIndex];
+                        array[lessIndex] = element;
+                        lessIndex++;
+                    } else if (element > PIVOT_2) {
+                        while (array[greatIndex] > PIVOT_2) {
+                            if (greatIndex == k) {
+                                greatIndex--;
+                                break partitionLoop;
+                            }
+                            greatIndex--;
+                        }
+                        if (array[greatIndex] < PIVOT_1) {
+                            array[k] = array[lessIndex];
+                            array[lessIndex] = array[greatIndex];
+                            lessIndex++;
+                        } else {
+                            array[k] = array[greatIndex];
+                        }
+                        array[greatIndex] = element;
+                        greatIndex--;
+                    }
+                }
+
+                // Move the pivots into their final positions.
+                array[startIndex] = array[lessIndex - 1];
+                array[lessIndex - 1] = PIVOT_1;
+                array[endIndex - 1] = array[greatIndex + 1];
+                array[greatIndex + 1] = PIVOT_2;
+                final int LEFT_PART_END_INDEX = lessIndex - 1;
+                final int RIGHT_PART_START_INDEX = greatIndex + 2;
+
+                // If the middle part is very large, it probably holds many elements equal to the pivots. Move those to the ends of the middle part, where they are already in their final positions.
+                if ((lessIndex < SAMPLE_INDEX_1) && (SAMPLE_INDEX_5 < greatIndex)) {
+                    while (array[lessIndex] == PIVOT_1) {
+                        lessIndex++;
+                    }
+                    while (array[greatIndex] == PIVOT_2) {
+                        greatIndex--;
+                    }
+                    equalPartitionLoop:
+                    for (int k = lessIndex; k <= greatIndex; k++) {
+                        int element = array[k];
+                        if (element == PIVOT_1) {
+                            array[k] = array[lessIndex];
+                            array[lessIndex] = element;
+                            lessIndex++;
+                        } else if (element == PIVOT_2) {
+                            while (array[greatIndex] == PIVOT_2) {
+                                if (greatIndex == k) {
+                                    greatIndex--;
+                                    break equalPartitionLoop;
+                                }
+                                greatIndex--;
+                            }
+                            if (array[greatIndex] == PIVOT_1) {
+                                array[k] = array[lessIndex];
+                                array[lessIndex] = array[greatIndex];
+                                lessIndex++;
+                            } else {
+                                array[k] = array[greatIndex];
+                            }
+                            array[greatIndex] = element;
+                            greatIndex--;
+                        }
+                    }
+                }
+
+                // Sort the two smaller parts recursively and the largest part in the next iteration of the loop, so the recursion never goes deeper than log n levels.
+                final int LEFT_PART_LENGTH = LEFT_PART_END_INDEX - startIndex;
+                final int MIDDLE_PART_LENGTH = greatIndex + 1 - lessIndex;
+                final int RIGHT_PART_LENGTH = endIndex - RIGHT_PART_START_INDEX;
+                if ((LEFT_PART_LENGTH >= MIDDLE_PART_LENGTH) && (LEFT_PART_LENGTH >= RIGHT_PART_LENGTH)) {
+                    sort(array, lessIndex, (greatIndex + 1), depthLimit);
+                    sort(array, RIGHT_PART_START_INDEX, endIndex, depthLimit);
+                    endIndex = LEFT_PART_END_INDEX;
+                } else if (MIDDLE_PART_LENGTH >= RIGHT_PART_LENGTH) {
+                    sort(array, startIndex, LEFT_PART_END_INDEX, depthLimit);
+                    sort(array, RIGHT_PART_START_INDEX, endIndex, depthLimit);
+                    startIndex = lessIndex;
+                    endIndex = greatIndex + 1;
+                } else {
+                    sort(array, startIndex, LEFT_PART_END_INDEX, depthLimit);
+                    sort(array, lessIndex, (greatIndex + 1), depthLimit);
+                    startIndex = RIGHT_PART_START_INDEX;
+                }
+            } else {
+                // Some of the samples are equal, which hints at many duplicates, so partition the range around the third sample into elements below it, elements equal to it and elements above it. The equal elements are already in their final positions.
+                final int PIVOT = array[SAMPLE_INDEX_3];
+                int lessIndex = startIndex;
+                int greatIndex = endIndex - 1;
+                int k = startIndex;
+                while (k <= greatIndex) {
+                    int element = array[k];
+                    if (element < PIVOT) {
+                        array[k] = array[lessIndex];
+                        array[lessIndex] = element;
+                        lessIndex++;
+                        k++;
+                    } else if (element > PIVOT) {
+                        array[k] = array[greatIndex];
+                        array[greatIndex] = element;
+                        greatIndex--;
+                    } else {
+                        k++;
+                    }
+                }
+
+                // Sort the smaller part recursively and the larger part in the next iteration of the loop.
+                if ((lessIndex - startIndex) < (endIndex - greatIndex - 1)) {
+                    sort(array, startIndex, lessIndex, depthLimit);
+                    startIndex = greatIndex + 1;
+                } else {
+                    sort(array, (greatIndex + 1), endIndex, depthLimit);
+                    endIndex = lessIndex;
+                }
+            }
+        }
+    }
+
+    /**
+     * Sorts the five samples at the specified indices of the specified int array in-place with a sorting network.
+     * 
+     * @param array The array that contains the samples.
+     * @param sampleIndex1 The index of the first sample.
+     * @param sampleIndex2 The index of the second sample.
+     * @param sampleIndex3 The index of the third sample.
+     * @param sampleIndex4 The index of the fourth sample.
+     * @param sampleIndex5 The index of the fifth sample.
+     */
+    private static void sortSamples(int[] array, int sampleIndex1, int sampleIndex2, int sampleIndex3,
+            int sampleIndex4, int sampleIndex5) {
+        sortPair(array, sampleIndex1, sampleIndex2);
+        sortPair(array, sampleIndex4, sampleIndex5);
+        sortPair(array, sampleIndex3, sampleIndex5);
+        sortPair(array, sampleIndex3, sampleIndex4);
+        sortPair(array, sampleIndex1, sampleIndex4);
+        sortPair(array, sampleIndex1, sampleIndex3);
+        sortPair(array, sampleIndex2, sampleIndex5);
+        sortPair(array, sampleIndex2, sampleIndex4);
+        sortPair(array, sampleIndex2, sampleIndex3);
+    }
+
+    /**
+     * Swaps the elements at the specified indices of the specified int array if they are out of order.
+     * 
+     * @param array The array that contains the elements.
+     * @param index1 The index of the element that should be the smaller one.
+     * @param index2 The index of the element that should be the larger one.
+     */
+    private static void sortPair(int[] array, int index1, int index2) {
+        if (array[index1] > array[index2]) {
+            int element = array[index1];
+            array[index1] = array[index2];
+            array[index2] = element;
+        }
+    }
+
+    /**
+     * Sorts the elements in the specified int array between the start index (inclusive) and the end index (exclusive) with insertion sort.
+     * 
+     * @param array The array to sort.
+     * @param startIndex The index specifying the start of the range of elements to sort. This index is inclusive.
+     * @param endIndex The index specifying the end of the range of elements to sort. This index is exclusive.
+     */
+    private static void insertionSort(int[] array, int startIndex, int endIndex) {
+        for (int i = startIndex + 1; i < endIndex; i++) {
+            int elementToInsert = array[i];
+            int j = i - 1;
+            while ((j >= startIndex) && (array[j] > elementToInsert)) {
+                array[j + 1] = array[j];
+                j--;
+            }
+            array[j + 1] = elementToInsert;
+        }
+    }
+
+    /**
+     * Sorts the elements in the specified int array between the start index (inclusive) and the end index (exclusive) in-place with heapsort.
+     * 
+     * @param array The array to sort.
+     * @param startIndex The index specifying the start of the range of elements to sort. This index is inclusive.
+     * @param endIndex The index specifying the end of the range of elements to sort. This index is exclusive.
+     */
+    static void heapSort(int[] array, int startIndex, int endIndex) {
+        // Turn the range into a max heap.
+        final int NUMBER_OF_ELEMENTS = endIndex - startIndex;
+        for (int i = (NUMBER_OF_ELEMENTS >>> 1) - 1; i >= 0; i--) {
+            siftDown(array, startIndex, i, NUMBER_OF_ELEMENTS);
+        }
+
+        // Repeatedly move the largest element of the heap to the end of the heap and shrink the heap by one.
+        for (int heapSize = NUMBER_OF_ELEMENTS - 1; heapSize > 0; heapSize--) {
+            int largestElement = array[startIndex];
+            array[startIndex] = array[startIndex + heapSize];
+            array[startIndex + heapSize] = largestElement;
+            siftDown(array, startIndex, 0, heapSize);
+        }
+    }
+
+    /**
+     * Moves the element at the specified heap index of a max heap down until neither of its children is larger than it.
+     * 
+     * @param array The array that contains the heap.
+     * @param heapStartIndex The index in the array of the root of the heap.
+     * @param heapIndex The heap index of the element to move down.
+     * @param heapSize The number of elements in the heap.
+     */
+    private static void siftDown(int[] array, int heapStartIndex, int heapIndex, int heapSize) {
+        int element = array[heapStartIndex + heapIndex];
+        int childIndex = (2 * heapIndex) + 1;
+        while (childIndex < heapSize) {
+            // Pick the larger child.
+            if (((childIndex + 1) < heapSize)
+                    && (array[heapStartIndex + childIndex] < array[heapStartIndex + childIndex + 1])) {
+                childIndex++;
+            }
+            if (element >= array[heapStartIndex + childIndex]) {
+                break;
+            }
+            array[heapStartIndex + heapIndex] = array[heapStartIndex + childIndex];
+            heapIndex = childIndex;
+            childIndex = (2 * heapIndex) + 1;
+        }
+        array[heapStartIndex + heapIndex] = element;
+    }
+
+    /**
+     * Sorts the elements in the specified long array between the start index (inclusive) and the end index (exclusive) with introsort.
+     * 
+     * @param array The array to sort.
+     * @param startIndex The index specifying the start of the range of elements to sort. This index is inclusive.
+     * @param endIndex The index specifying the end of the range of elements to sort. This index is exclusive.
+     */
+    static void sort(long[] array, int startIndex, int endIndex) {
+        sort(array, startIndex, endIndex, calculateDepthLimit(endIndex - startIndex));
+    }
+
+    /**
+     * Sorts the elements in the specified long array between the start index (inclusive) and the end index (exclusive) with introsort, switching to heapsort once the specified number of partitioning levels has been used up.
+     * 
+     * @param array The array to sort.
+     * @param startIndex The index specifying the start of the range of elements to sort. This index is inclusive.
+     * @param endIndex The index specifying the end of the range of elements to sort. This index is exclusive.
+     * @param depthLimit The number of partitioning levels left before the range is sorted with heapsort.
+     */
+    private static void sort(long[] array, int startIndex, int endIndex, int depthLimit) {
+        while (true) {
+            final int NUMBER_OF_ELEMENTS = endIndex - startIndex;
+
+            // Sort small partitions with insertion sort.
+            if (NUMBER_OF_ELEMENTS < INSERTION_SORT_THRESHOLD) {
+                insertionSort(array, startIndex, endIndex);
+                return;
+            }
+
+            // Sort the range with heapsort if partitioning has gone too deep, which only happens when the pivots keep splitting the range badly.
+            if (depthLimit == 0) {
+                heapSort(array, startIndex, endIndex);
+                return;
+            }
+            depthLimit--;
+
+            // Sort five evenly spaced samples around the middle of the range in-place.
+            final int SAMPLE_SPACING = (NUMBER_OF_ELEMENTS >>> 3) + (NUMBER_OF_ELEMENTS >>> 6) + 1;
+            final int SAMPLE_INDEX_3 = (startIndex + endIndex) >>> 1;
+            final int SAMPLE_INDEX_2 = SAMPLE_INDEX_3 - SAMPLE_SPACING;
+            final int SAMPLE_INDEX_1 = SAMPLE_INDEX_2 - SAMPLE_SPACING;
+            final int SAMPLE_INDEX_4 = SAMPLE_INDEX_3 + SAMPLE_SPACING;
+            final int SAMPLE_INDEX_5 = SAMPLE_INDEX_4 + SAMPLE_SPACING;
+            sortSamples(array, SAMPLE_INDEX_1, SAMPLE_INDEX_2, SAMPLE_INDEX_3, SAMPLE_INDEX_4, SAMPLE_INDEX_5);
+
+            if ((array[SAMPLE_INDEX_1] < array[SAMPLE_INDEX_2])
+                    && (array[SAMPLE_INDEX_2] < array[SAMPLE_INDEX_3])
+                    && (array[SAMPLE_INDEX_3] < array[SAMPLE_INDEX_4])
+                    && (array[SAMPLE_INDEX_4] < array[SAMPLE_INDEX_5])) {
+                // The samples are all different, so partition the range with the second and fourth sample as pivots into elements below the first pivot, elements between the pivots and elements above the second pivot. The pivots' positions are filled with the first and last element of the range, whose positions are filled with the pivots after partitioning.
+                final long PIVOT_1 = array[SAMPLE_INDEX_2];
+                final long PIVOT_2 = array[SAMPLE_INDEX_4];
+                array[SAMPLE_INDEX_2] = array[startIndex];
+                array[SAMPLE_INDEX_4] = array[endIndex - 1];
+
+                // Skip the elements at both ends that are already in the correct part. The third sample lies between the pivots, so both scans stop at it.
+                int lessIndex = startIndex + 1;
+                int greatIndex = endIndex - 2;
+                while (array[lessIndex] < PIVOT_1) {
+                    lessIndex++;
+                }
+                while (array[greatIndex] > PIVOT_2) {
+                    greatIndex--;
+                }
+
+                // Elements before the less index are below the first pivot and elements after the great index are above the second pivot.
+                partitionLoop:
+                for (int k = lessIndex; k <= greatIndex; k++) {
+                    long element = array[k];
+                    if (element < PIVOT_1) {
+                        array[k] = array[lessIndex];
+                        array[lessIndex] = element;
+                        lessIndex++;
+                    } else if (element > PIVOT_2) {
+                        while (array[greatIndex] > PIVOT_2) {
+                            if (greatIndex == k) {
+                                greatIndex--;
+                                break partitionLoop;
+                            }
+                            greatIndex--;
+                        }
+                        if (array[greatIndex] < PIVOT_1) {
+                            array[k] = array[lessIndex];
+                            array[lessIndex] = array[greatIndex];
+                            lessIndex++;
+                        } else {
+                            array[k] = array[greatIndex];
+                        }
+                        array[greatIndex] = element;
+                        greatIndex--;
+                    }
+                }
+
+                // Move the pivots into their final positions.
+                array[startIndex] = array[lessIndex - 1];
+                array[lessIndex - 1] = PIVOT_1;
+                array[endIndex - 1] = array[greatIndex + 1];
+                array[greatIndex + 1] = PIVOT_2;
+                final int LEFT_PART_END_INDEX = lessIndex - 1;
+                final int RIGHT_PART_START_INDEX = greatIndex + 2;
+
+                // If the middle part is very large, it probably holds many elements equal to the pivots. Move those to the ends of the middle part, where they are already in their final positions.
+                if ((lessIndex < SAMPLE_INDEX_1) && (SAMPLE_INDEX_5 < greatIndex)) {
+                    while (array[lessIndex] == PIVOT_1) {
+                        lessIndex++;
+                    }
+                    while (array[greatIndex] == PIVOT_2) {
+                        greatIndex--;
+                    }
+                    equalPartitionLoop:
+                    for (int k = lessIndex; k <= greatIndex; k++) {
+                        long element = array[k];
+                        if (element == PIVOT_1) {
+                            array[k] = array[lessIndex];
+                            array[lessIndex] = element;
+                            lessIndex++;
+                        } else if (element == PIVOT_2) {
+                            while (array[greatIndex] == PIVOT_2) {
+                                if (greatIndex == k) {
+                                    greatIndex--;
+                                    break equalPartitionLoop;
+                                }
+                                greatIndex--;
+                            }
+                            if (array[greatIndex] == PIVOT_1) {
+                                array[k] = array[lessIndex];
+                                array[lessIndex] = array[greatIndex];
+                                lessIndex++;
+                            } else {
+                                array[k] = array[greatIndex];
+                            }
+                            array[greatIndex] = element;
+                            greatIndex--;
+                        }
+                    }
+                }
+
+                // Sort the two smaller parts recursively and the largest part in the next iteration of the loop, so the recursion never goes deeper than log n levels.
+                final int LEFT_PART_LENGTH = LEFT_PART_END_INDEX - startIndex;
+                final int MIDDLE_PART_LENGTH = greatIndex + 1 - lessIndex;
+                final int RIGHT_PART_LENGTH = endIndex - RIGHT_PART_START_INDEX;
+                if ((LEFT_PART_LENGTH >= MIDDLE_PART_LENGTH) && (LEFT_PART_LENGTH >= RIGHT_PART_LENGTH)) {
+                    sort(array, lessIndex, (greatIndex + 1), depthLimit);
+                    sort(array, RIGHT_PART_START_INDEX, endIndex, depthLimit);
+                    endIndex = LEFT_PART_END_INDEX;
+                } else if (MIDDLE_PART_LENGTH >= RIGHT_PART_LENGTH) {
+                    sort(array, startIndex, LEFT_PART_END_INDEX, depthLimit);
+                    sort(array, RIGHT_PART_START_INDEX, endIndex, depthLimit);
+                    startIndex = lessIndex;
+                    endIndex = greatIndex + 1;
+                } else {
+                    sort(array, startIndex, LEFT_PART_END_INDEX, depthLimit);
+                    sort(array, lessIndex, (greatIndex + 1), depthLimit);
+                    startIndex = RIGHT_PART_START_INDEX;
+                }
+            } else {
+                // Some of the samples are equal, which hints at many duplicates, so partition the range around the third sample into elements below it, elements equal to it and elements above it. The equal elements are already in their final positions.
+                final long PIVOT = array[SAMPLE_INDEX_3];
+                int lessIndex = startIndex;
+                int greatIndex = endIndex - 1;
+                int k = startIndex;
+                while (k <= greatIndex) {
+                    long element = array[k];
+                    if (element < PIVOT) {
+                        array[k] = array[lessIndex];
+                        array[lessIndex] = element;
+                        lessIndex++;
+                        k++;
+                    } else if (element > PIVOT) {
+                        array[k] = array[greatIndex];
+                        array[greatIndex] = element;
+                        greatIndex--;
+                    } else {
+                        k++;
+                    }
+                }
+
+                // Sort the smaller part recursively and the larger part in the next iteration of the loop.
+                if ((lessIndex - startIndex) < (endIndex - greatIndex - 1)) {
+                    sort(array, startIndex, lessIndex, depthLimit);
+                    startIndex = greatIndex + 1;
+                } else {
+                    sort(array, (greatIndex + 1), endIndex, depthLimit);
+                    endIndex = lessIndex;
+                }
+            }
+        }
+    }
+
+    /**
+     * Sorts the five samples at the specified indices of the specified long array in-place with a sorting network.
+     * 
+     * @param array The array that contains the samples.
+     * @param sampleIndex1 The index of the first sample.
+     * @param sampleIndex2 The index of the second sample.
+     * @param sampleIndex3 The index of the third sample.
+     * @param sampleIndex4 The index of the fourth sample.
+     * @param sampleIndex5 The index of the fifth sample.
+     */
+    private static void sortSamples(long[] array, int sampleIndex1, int sampleIndex2, int sampleIndex3,
+            int sampleIndex4, int sampleIndex5) {
+        sortPair(array, sampleIndex1, sampleIndex2);
+        sortPair(array, sampleIndex4, sampleIndex5);
+        sortPair(array, sampleIndex3, sampleIndex5);
+        sortPair(array, sampleIndex3, sampleIndex4);
+        sortPair(array, sampleIndex1, sampleIndex4);
+        sortPair(array, sampleIndex1, sampleIndex3);
+        sortPair(array, sampleIndex2, sampleIndex5);
+        sortPair(array, sampleIndex2, sampleIndex4);
+        sortPair(array, sampleIndex2, sampleIndex3);
+    }
+
+    /**
+     * Swaps the elements at the specified indices of the specified long array if they are out of order.
+     * 
+     * @param array The array that contains the elements.
+     * @param index1 The index of the element that should be the smaller one.
+     * @param index2 The index of the element that should be the larger one.
+     */
+    private static void sortPair(long[] array, int index1, int index2) {
+        if (array[index1] > array[index2]) {
+            long element = array[index1];
+            array[index1] = array[index2];
+            array[index2] = element;
+        }
+    }
+
+    /**
+     * Sorts the elements in the specified long array between the start index (inclusive) and the end index (exclusive) with insertion sort.
+     * 
+     * @param array The array to sort.
+     * @param startIndex The index specifying the start of the range of elements to sort. This index is inclusive.
+     * @param endIndex The index specifying the end of the range of elements to sort. This index is exclusive.
+     */
+    private static void insertionSort(long[] array, int startIndex, int endIndex) {
+        for (int i = startIndex + 1; i < endIndex; i++) {
+            long elementToInsert = array[i];
+            int j = i - 1;
+            while ((j >= startIndex) && (array[j] > elementToInsert)) {
+                array[j + 1] = array[j];
+                j--;
+            }
+            array[j + 1] = elementToInsert;
+        }
+    }
+
+    /**
+     * Sorts the elements in the specified long array between the start index (inclusive) and the end index (exclusive) in-place with heapsort.
+     * 
+     * @param array The array to sort.
+     * @param startIndex The index specifying the start of the range of elements to sort. This index is inclusive.
+     * @param endIndex The index specifying the end of the range of elements to sort. This index is exclusive.
+     */
+    static void heapSort(long[] array, int startIndex, int endIndex) {
+        // Turn the range into a max heap.
+        final int NUMBER_OF_ELEMENTS = endIndex - startIndex;
+        for (int i = (NUMBER_OF_ELEMENTS >>> 1) - 1; i >= 0; i--) {
+            siftDown(array, startIndex, i, NUMBER_OF_ELEMENTS);
+        }
+
+        // Repeatedly move the largest element of the heap to the end of the heap and shrink the heap by one.
+        for (int heapSize = NUMBER_OF_ELEMENTS - 1; heapSize > 0; heapSize--) {
+            long largestElement = array[startIndex];
+            array[startIndex] = array[startIndex + heapSize];
+            array[startIndex + heapSize] = largestElement;
+            siftDown(array, startIndex, 0, heapSize);
+        }
+    }
+
+    /**
+     * Moves the element at the specified heap index of a max heap down until neither of its children is larger than it.
+     * 
+     * @param array The array that contains the heap.
+     * @param heapStartIndex The index in the array of the root of the heap.
+     * @param heapIndex The heap index of the element to move down.
+     * @param heapSize The number of elements in the heap.
+     */
+    private static void siftDown(long[] array, int heapStartIndex, int heapIndex, int heapSize) {
+        long element = array[heapStartIndex + heapIndex];
+        int childIndex = (2 * heapIndex) + 1;
+        while (childIndex < heapSize) {
+            // Pick the larger child.
+            if (((childIndex + 1) < heapSize)
+                    && (array[heapStartIndex + childIndex] < array[heapStartIndex + childIndex + 1])) {
+                childIndex++;
+            }
+            if (element >= array[heapStartIndex + childIndex]) {
+                break;
+            }
+            array[heapStartIndex + heapIndex] = array[heapStartIndex + childIndex];
+            heapIndex = childIndex;
+            childIndex = (2 * heapIndex) + 1;
+        }
+        array[heapStartIndex + heapIndex] = element;
+    }
+
+    /**
+     * Sorts the elements in the specified double array between the start index (inclusive) and the end index (exclusive) with introsort.
+     * 
+     * @param array The array to sort.
+     * @param startIndex The index specifying the start of the range of elements to sort. This index is inclusive.
+     * @param endIndex The index specifying the end of the range of elements to sort. This index is exclusive.
+     */
+    static void sort(double[] array, int startIndex, int endIndex) {
+        sort(array, startIndex, endIndex, calculateDepthLimit(endIndex - startIndex));
+    }
+
+    /**
+     * Sorts the elements in the specified double array between the start index (inclusive) and the end index (exclusive) with introsort, switching to heapsort once the specified number of partitioning levels has been used up.
+     * 
+     * @param array The array to sort.
+     * @param startIndex The index specifying the start of the range of elements to sort. This index is inclusive.
+     * @param endIndex The index specifying the end of the range of elements to sort. This index is exclusive.
+     * @param depthLimit The number of partitioning levels left before the range is sorted with heapsort.
+     */
+    private static void sort(double[] array, int startIndex, int endIndex, int depthLimit) {
+        while (true) {
+            final int NUMBER_OF_ELEMENTS = endIndex - startIndex;
+
+            // Sort small partitions with insertion sort.
+            if (NUMBER_OF_ELEMENTS < INSERTION_SORT_THRESHOLD) {
+                insertionSort(array, startIndex, endIndex);
+                return;
+            }
+
+            // Sort the range with heapsort if partitioning has gone too deep, which only happens when the pivots keep splitting the range badly.
+            if (depthLimit == 0) {
+                heapSort(array, startIndex, endIndex);
+                return;
+            }
+            depthLimit--;
+
+            // Sort five evenly spaced samples around the middle of the range in-place.
+            final int SAMPLE_SPACING = (NUMBER_OF_ELEMENTS >>> 3) + (NUMBER_OF_ELEMENTS >>> 6) + 1;
+            final int SAMPLE_INDEX_3 = (startIndex + endIndex) >>> 1;
+            final int SAMPLE_INDEX_2 = SAMPLE_INDEX_3 - SAMPLE_SPACING;
+            final int SAMPLE_INDEX_1 = SAMPLE_INDEX_2 - SAMPLE_SPACING;
+            final int SAMPLE_INDEX_4 = SAMPLE_INDEX_3 + SAMPLE_SPACING;
+            final int SAMPLE_INDEX_5 = SAMPLE_INDEX_4 + SAMPLE_SPACING;
+            sortSamples(array, SAMPLE_INDEX_1, SAMPLE_INDEX_2, SAMPLE_INDEX_3, SAMPLE_INDEX_4, SAMPLE_INDEX_5);
+
+            if ((Double.compare(array[SAMPLE_INDEX_1], array[SAMPLE_INDEX_2]) < 0)
+                    && (Double.compare(array[SAMPLE_INDEX_2], array[SAMPLE_INDEX_3]) < 0)
+                    && (Double.compare(array[SAMPLE_INDEX_3], array[SAMPLE_INDEX_4]) < 0)
+                    && (Double.compare(array[SAMPLE_INDEX_4], array[SAMPLE_INDEX_5]) < 0)) {
+                // The samples are all different, so partition the range with the second and fourth sample as pivots into elements below the first pivot, elements between the pivots and elements above the second pivot. The pivots' positions are filled with the first and last element of the range, whose positions are filled with the pivots after partitioning.
+                final double PIVOT_1 = array[SAMPLE_INDEX_2];
+                final double PIVOT_2 = array[SAMPLE_INDEX_4];
+                array[SAMPLE_INDEX_2] = array[startIndex];
+                array[SAMPLE_INDEX_4] = array[endIndex - 1];
+
+                // Skip the elements at both ends that are already in the correct part. The third sample lies between the pivots, so both scans stop at it.
+                int lessIndex = startIndex + 1;
+                int greatIndex = endIndex - 2;
+                while (Double.compare(array[lessIndex], PIVOT_1) < 0) {
+                    lessIndex++;
+                }
+                while (Double.compare(array[greatIndex], PIVOT_2) > 0) {
+                    greatIndex--;
+                }
+
+                // Elements before the less index are below the first pivot and elements after the great index are above the second pivot.
+                partitionLoop:
+                for (int k = lessIndex; k <= greatIndex; k++) {
+                    double element = array[k];
+                    if (Double.compare(element, PIVOT_1) < 0) {
+                        array[k] = array[lessIndex];
+                        array[lessIndex] = element;
+                        lessIndex++;
+                    } else if (Double.compare(element, PIVOT_2) > 0) {
+                        while (Double.compare(array[greatIndex], PIVOT_2) > 0) {
+                            if (greatIndex == k) {
+                                greatIndex--;
+                                break partitionLoop;
+                            }
+                            greatIndex--;
+                        }
+                        if (Double.compare(array[greatIndex], PIVOT_1) < 0) {
+                            array[k] = array[lessIndex];
+                            array[lessIndex] = array[greatIndex];
+                            lessIndex++;
+                        } else {
+                            array[k] = array[greatIndex];
+                        }
+                        array[greatIndex] = element;
+                        greatIndex--;
+                    }
+                }
+
+                // Move the pivots into their final positions.
+                array[startIndex] = array[lessIndex - 1];
+                array[lessIndex - 1] = PIVOT_1;
+                array[endIndex - 1] = array[greatIndex + 1];
+                array[greatIndex + 1] = PIVOT_2;
+                final int LEFT_PART_END_INDEX = lessIndex - 1;
+                final int RIGHT_PART_START_INDEX = greatIndex + 2;
+
+                // If the middle part is very large, it probably holds many elements equal to the pivots. Move those to the ends of the middle part, where they are already in their final positions.
+                if ((lessIndex < SAMPLE_INDEX_1) && (SAMPLE_INDEX_5 < greatIndex)) {
+                    while (Double.compare(array[lessIndex], PIVOT_1) == 0) {
+                        lessIndex++;
+                    }
+                    while (Double.compare(array[greatIndex], PIVOT_2) == 0) {
+                        greatIndex--;
+                    }
+                    equalPartitionLoop:
+                    for (int k = lessIndex; k <= greatIndex; k++) {
+                        double element = array[k];
+                        if (Double.compare(element, PIVOT_1) == 0) {
+                            array[k] = array[lessIndex];
+                            array[lessIndex] = element;
+                            lessIndex++;
+                        } else if (Double.compare(element, PIVOT_2) == 0) {
+                            while (Double.compare(array[greatIndex], PIVOT_2) == 0) {
+                                if (greatIndex == k) {
+                                    greatIndex--;
+                                    break equalPartitionLoop;
+                                }
+                                greatIndex--;
+                            }
+                            if (Double.compare(array[greatIndex], PIVOT_1) == 0) {
+                                array[k] = array[lessIndex];
+                                array[lessIndex] = array[greatIndex];
+                                lessIndex++;
+                            } else {
+                                array[k] = array[greatIndex];
+                            }
+                            array[greatIndex] = element;
+                            greatIndex--;
+                        }
+                    }
+                }
+
+                // Sort the two smaller parts recursively and the largest part in the next iteration of the loop, so the recursion never goes deeper than log n levels.
+                final int LEFT_PART_LENGTH = LEFT_PART_END_INDEX - startIndex;
+                final int MIDDLE_PART_LENGTH = greatIndex + 1 - lessIndex;
+                final int RIGHT_PART_LENGTH = endIndex - RIGHT_PART_START_INDEX;
+                if ((LEFT_PART_LENGTH >= MIDDLE_PART_LENGTH) && (LEFT_PART_LENGTH >= RIGHT_PART_LENGTH)) {
+                    sort(array, lessIndex, (greatIndex + 1), depthLimit);
+                    sort(array, RIGHT_PART_START_INDEX, endIndex, depthLimit);
+                    endIndex = LEFT_PART_END_INDEX;
+                } else if (MIDDLE_PART_LENGTH >= RIGHT_PART_LENGTH) {
+                    sort(array, startIndex, LEFT_PART_END_INDEX, depthLimit);
+                    sort(array, RIGHT_PART_START_INDEX, endIndex, depthLimit);
+                    startIndex = lessIndex;
+                    endIndex = greatIndex + 1;
+                } else {
+                    sort(array, startIndex, LEFT_PART_END_INDEX, depthLimit);
+                    sort(array, lessIndex, (greatIndex + 1), depthLimit);
+                    startIndex = RIGHT_PART_START_INDEX;
+                }
+            } else {
+                // Some of the samples are equal, which hints at many duplicates, so partition the range around the third sample into elements below it, elements equal to it and elements above it. The equal elements are already in their final positions.
+                final double PIVOT = array[SAMPLE_INDEX_3];
+                int lessIndex = startIndex;
+                int greatIndex = endIndex - 1;
+                int k = startIndex;
+                while (k <= greatIndex) {
+                    double element = array[k];
+                    if (Double.compare(element, PIVOT) < 0) {
+                        array[k] = array[lessIndex];
+                        array[lessIndex] = element;
+                        lessIndex++;
+                        k++;
+                    } else if (Double.compare(element, PIVOT) > 0) {
+                        array[k] = array[greatIndex];
+                        array[greatIndex] = element;
+                        greatIndex--;
+                    } else {
+                        k++;
+                    }
+                }
+
+                // Sort the smaller part recursively and the larger part in the next iteration of the loop.
+                if ((lessIndex - startIndex) < (endIndex - greatIndex - 1)) {
+                    sort(array, startIndex, lessIndex, depthLimit);
+                    startIndex = greatIndex + 1;
+                } else {
+                    sort(array, (greatIndex + 1), endIndex, depthLimit);
+                    endIndex = lessIndex;
+                }
+            }
+        }
+    }
+
+    /**
+     * Sorts the five samples at the specified indices of the specified double array in-place with a sorting network.
+     * 
+     * @param array The array that contains the samples.
+     * @param sampleIndex1 The index of the first sample.
+     * @param sampleIndex2 The index of the second sample.
+     * @param sampleIndex3 The index of the third sample.
+     * @param sampleIndex4 The index of the fourth sample.
+     * @param sampleIndex5 The index of the fifth sample.
+     */
+    private static void sortSamples(double[] array, int sampleIndex1, int sampleIndex2, int sampleIndex3,
+            int sampleIndex4, int sampleIndex5) {
+        sortPair(array, sampleIndex1, sampleIndex2);
+        sortPair(array, sampleIndex4, sampleIndex5);
+        sortPair(array, sampleIndex3, sampleIndex5);
+        sortPair(array, sampleIndex3, sampleIndex4);
+        sortPair(array, sampleIndex1, sampleIndex4);
+        sortPair(array, sampleIndex1, sampleIndex3);
+        sortPair(array, sampleIndex2, sampleIndex5);
+        sortPair(array, sampleIndex2, sampleIndex4);
+        sortPair(array, sampleIndex2, sampleIndex3);
+    }
+
+    /**
+     * Swaps the elements at the specified indices of the specified double array if they are out of order.
+     * 
+     * @param array The array that contains the elements.
+     * @param index1 The index of the element that should be the smaller one.
+     * @param index2 The index of the element that should be the larger one.
+     */
+    private static void sortPair(double[] array, int index1, int index2) {
+        if (Double.compare(array[index1], array[index2]) > 0) {
+            double element = array[index1];
+            array[index1] = array[index2];
+            array[index2] = element;
+        }
+    }
+
+    /**
+     * Sorts the elements in the specified double array between the start index (inclusive) and the end index (exclusive) with insertion sort.
+     * 
+     * @param array The array to sort.
+     * @param startIndex The index specifying the start of the range of elements to sort. This index is inclusive.
+     * @param endIndex The index specifying the end of the range of elements to sort. This index is exclusive.
+     */
+    private static void insertionSort(double[] array, int startIndex, int endIndex) {
+        for (int i = startIndex + 1; i < endIndex; i++) {
+            double elementToInsert = array[i];
+            int j = i - 1;
+            while ((j >= startIndex) && (Double.compare(array[j], elementToInsert) > 0)) {
+                array[j + 1] = array[j];
+                j--;
+            }
+            array[j + 1] = elementToInsert;
+        }
+    }
+
+    /**
+     * Sorts the elements in the specified double array between the start index (inclusive) and the end index (exclusive) in-place with heapsort.
+     * 
+     * @param array The array to sort.
+     * @param startIndex The index specifying the start of the range of elements to sort. This index is inclusive.
+     * @param endIndex The index specifying the end of the range of elements to sort. This index is exclusive.
+     */
+    static void heapSort(double[] array, int startIndex, int endIndex) {
+        // Turn the range into a max heap.
+        final int NUMBER_OF_ELEMENTS = endIndex - startIndex;
+        for (int i = (NUMBER_OF_ELEMENTS >>> 1) - 1; i >= 0; i--) {
+            siftDown(array, startIndex, i, NUMBER_OF_ELEMENTS);
+        }
+
+        // Repeatedly move the largest element of the heap to the end of the heap and shrink the heap by one.
+        for (int heapSize = NUMBER_OF_ELEMENTS - 1; heapSize > 0; heapSize--) {
+            double largestElement = array[startIndex];
+            array[startIndex] = array[startIndex + heapSize];
+            array[startIndex + heapSize] = largestElement;
+            siftDown(array, startIndex, 0, heapSize);
+        }
+    }
+
+    /**
+     * Moves the element at the specified heap index of a max heap down until neither of its children is larger than it.
+     * 
+     * @param array The array that contains the heap.
+     * @param heapStartIndex The index in the array of the root of the heap.
+     * @param heapIndex The heap index of the element to move down.
+     * @param heapSize The number of elements in the heap.
+     */
+    private static void siftDown(double[] array, int heapStartIndex, int heapIndex, int heapSize) {
+        double element = array[heapStartIndex + heapIndex];
+        int childIndex = (2 * heapIndex) + 1;
+        while (childIndex < heapSize) {
+            // Pick the larger child.
+            if (((childIndex + 1) < heapSize)
+                    && (Double.compare(array[heapStartIndex + childIndex], array[heapStartIndex + childIndex
+                            + 1]) < 0)) {
+                childIndex++;
+            }
+            if (Double.compare(element, array[heapStartIndex + childIndex]) >= 0) {
+                break;
+            }
+            array[heapStartIndex + heapIndex] = array[heapStartIndex + childIndex];
+            heapIndex = childIndex;
+            childIndex = (2 * heapIndex) + 1;
+        }
+        array[heapStartIndex + heapIndex] = element;
+    }
+
+    /**
+     * Sorts the elements in the specified float array between the start index (inclusive) and the end index (exclusive) with introsort.
+     * 
+     * @param array The array to sort.
+     * @param startIndex The index specifying the start of the range of elements to sort. This index is inclusive.
+     * @param endIndex The index specifying the end of the range of elements to sort. This index is exclusive.
+     */
+    static void sort(float[] array, int startIndex, int endIndex) {
+        sort(array, startIndex, endIndex, calculateDepthLimit(endIndex - startIndex));
+    }
+
+    /**
+     * Sorts the elements in the specified float array between the start index (inclusive) and the end index (exclusive) with introsort, switching to heapsort once the specified number of partitioning levels has been used up.
+     * 
+     * @param array The array to sort.
+     * @param startIndex The index specifying the start of the range of elements to sort. This index is inclusive.
+     * @param endIndex The index specifying the end of the range of elements to sort. This index is exclusive.
+     * @param depthLimit The number of partitioning levels left before the range is sorted with heapsort.
+     */
+    private static void sort(float[] array, int startIndex, int endIndex, int depthLimit) {
+        while (true) {
+            final int NUMBER_OF_ELEMENTS = endIndex - startIndex;
+
+            // Sort small partitions with insertion sort.
+            if (NUMBER_OF_ELEMENTS < INSERTION_SORT_THRESHOLD) {
+                insertionSort(array, startIndex, endIndex);
+                return;
+            }
+
+            // Sort the range with heapsort if partitioning has gone too deep, which only happens when the pivots keep splitting the range badly.
+            if (depthLimit == 0) {
+                heapSort(array, startIndex, endIndex);
+                return;
+            }
+            depthLimit--;
+
+            // Sort five evenly spaced samples around the middle of the range in-place.
+            final int SAMPLE_SPACING = (NUMBER_OF_ELEMENTS >>> 3) + (NUMBER_OF_ELEMENTS >>> 6) + 1;
+            final int SAMPLE_INDEX_3 = (startIndex + endIndex) >>> 1;
+            final int SAMPLE_INDEX_2 = SAMPLE_INDEX_3 - SAMPLE_SPACING;
+            final int SAMPLE_INDEX_1 = SAMPLE_INDEX_2 - SAMPLE_SPACING;
+            final int SAMPLE_INDEX_4 = SAMPLE_INDEX_3 + SAMPLE_SPACING;
+            final int SAMPLE_INDEX_5 = SAMPLE_INDEX_4 + SAMPLE_SPACING;
+            sortSamples(array, SAMPLE_INDEX_1, SAMPLE_INDEX_2, SAMPLE_INDEX_3, SAMPLE_INDEX_4, SAMPLE_INDEX_5);
+
+            if ((Float.compare(array[SAMPLE_INDEX_1], array[SAMPLE_INDEX_2]) < 0)
+                    && (Float.compare(array[SAMPLE_INDEX_2], array[SAMPLE_INDEX_3]) < 0)
+                    && (Float.compare(array[SAMPLE_INDEX_3], array[SAMPLE_INDEX_4]) < 0)
+                    && (Float.compare(array[SAMPLE_INDEX_4], array[SAMPLE_INDEX_5]) < 0)) {
+                // The samples are all different, so partition the range with the second and fourth sample as pivots into elements below the first pivot, elements between the pivots and elements above the second pivot. The pivots' positions are filled with the first and last element of the range, whose positions are filled with the pivots after partitioning.
+                final float PIVOT_1 = array[SAMPLE_INDEX_2];
+                final float PIVOT_2 = array[SAMPLE_INDEX_4];
+                array[SAMPLE_INDEX_2] = array[startIndex];
+                array[SAMPLE_INDEX_4] = array[endIndex - 1];
+
+                // Skip the elements at both ends that are already in the correct part. The third sample lies between the pivots, so both scans stop at it.
+                int lessIndex = startIndex + 1;
+                int greatIndex = endIndex - 2;
+                while (Float.compare(array[lessIndex], PIVOT_1) < 0) {
+                    lessIndex++;
+                }
+                while (Float.compare(array[greatIndex], PIVOT_2) > 0) {
+                    greatIndex--;
+                }
+
+                // Elements before the less index are below the first pivot and elements after the great index are above the second pivot.
+                partitionLoop:
+                for (int k = lessIndex; k <= greatIndex; k++) {
+                    float element = array[k];
+                    if (Float.compare(element, PIVOT_1) < 0) {
+                        array[k] = array[lessIndex];
+                        array[lessIndex] = element;
+                        lessIndex++;
+                    } else if (Float.compare(element, PIVOT_2) > 0) {
+                        while (Float.compare(array[greatIndex], PIVOT_2) > 0) {
+                            if (greatIndex == k) {
+                                greatIndex--;
+                                break partitionLoop;
+                            }
+                            greatIndex--;
+                        }
+                        if (Float.compare(array[greatIndex], PIVOT_1) < 0) {
+                            array[k] = array[lessIndex];
+                            array[lessIndex] = array[greatIndex];
+                            lessIndex++;
+                        } else {
+                            array[k] = array[greatIndex];
+                        }
+                        array[greatIndex] = element;
+                        greatIndex--;
+                    }
+                }
+
+                // Move the pivots into their final positions.
+                array[startIndex] = array[lessIndex - 1];
+                array[lessIndex - 1] = PIVOT_1;
+                array[endIndex - 1] = array[greatIndex + 1];
+                array[greatIndex + 1] = PIVOT_2;
+                final int LEFT_PART_END_INDEX = lessIndex - 1;
+                final int RIGHT_PART_START_INDEX = greatIndex + 2;
+
+                // If the middle part is very large, it probably holds many elements equal to the pivots. Move those to the ends of the middle part, where they are already in their final positions.
+                if ((lessIndex < SAMPLE_INDEX_1) && (SAMPLE_INDEX_5 < greatIndex)) {
+                    while (Float.compare(array[lessIndex], PIVOT_1) == 0) {
+                        lessIndex++;
+                    }
+                    while (Float.compare(array[greatIndex], PIVOT_2) == 0) {
+                        greatIndex--;
+                    }
+                    equalPartitionLoop:
+                    for (int k = lessIndex; k <= greatIndex; k++) {
+                        float element = array[k];
+                        if (Float.compare(element, PIVOT_1) == 0) {
+                            array[k] = array[lessIndex];
+                            array[lessIndex] = element;
+                            lessIndex++;
+                        } else if (Float.compare(element, PIVOT_2) == 0) {
+                            while (Float.compare(array[greatIndex], PIVOT_2) == 0) {
+                                if (greatIndex == k) {
+                                    greatIndex--;
+                                    break equalPartitionLoop;
+                                }
+                                greatIndex--;
+                            }
+                            if (Float.compare(array[greatIndex], PIVOT_1) == 0) {
+                                array[k] = array[lessIndex];
+                                array[lessIndex] = array[greatIndex];
+                                lessIndex++;
+                            } else {
+                                array[k] = array[greatIndex];
+                            }
+                            array[greatIndex] = element;
+                            greatIndex--;
+                        }
+                    }
+                }
+
+                // Sort the two smaller parts recursively and the largest part in the next iteration of the loop, so the recursion never goes deeper than log n levels.
+                final int LEFT_PART_LENGTH = LEFT_PART_END_INDEX - startIndex;
+                final int MIDDLE_PART_LENGTH = greatIndex + 1 - lessIndex;
+                final int RIGHT_PART_LENGTH = endIndex - RIGHT_PART_START_INDEX;
+                if ((LEFT_PART_LENGTH >= MIDDLE_PART_LENGTH) && (LEFT_PART_LENGTH >= RIGHT_PART_LENGTH)) {
+                    sort(array, lessIndex, (greatIndex + 1), depthLimit);
+                    sort(array, RIGHT_PART_START_INDEX, endIndex, depthLimit);
+                    endIndex = LEFT_PART_END_INDEX;
+                } else if (MIDDLE_PART_LENGTH >= RIGHT_PART_LENGTH) {
+                    sort(array, startIndex, LEFT_PART_END_INDEX, depthLimit);
+                    sort(array, RIGHT_PART_START_INDEX, endIndex, depthLimit);
+                    startIndex = lessIndex;
+                    endIndex = greatIndex + 1;
+                } else {
+                    sort(array, startIndex, LEFT_PART_END_INDEX, depthLimit);
+                    sort(array, lessIndex, (greatIndex + 1), depthLimit);
+                    startIndex = RIGHT_PART_START_INDEX;
+                }
+            } else {
+                // Some of the samples are equal, which hints at many duplicates, so partition the range around the third sample into elements below it, elements equal to it and elements above it. The equal elements are already in their final positions.
+                final float PIVOT = array[SAMPLE_INDEX_3];
+                int lessIndex = startIndex;
+                int greatIndex = endIndex - 1;
+                int k = startIndex;
+                while (k <= greatIndex) {
+                    float element = array[k];
+                    if (Float.compare(element, PIVOT) < 0) {
+                        array[k] = array[lessIndex];
+                        array[lessIndex] = element;
+                        lessIndex++;
+                        k++;
+                    } else if (Float.compare(element, PIVOT) > 0) {
+                        array[k] = array[greatIndex];
+                        array[greatIndex] = element;
+                        greatIndex--;
+                    } else {
+                        k++;
+                    }
+                }
+
+                // Sort the smaller part recursively and the larger part in the next iteration of the loop.
+                if ((lessIndex - startIndex) < (endIndex - greatIndex - 1)) {
+                    sort(array, startIndex, lessIndex, depthLimit);
+                    startIndex = greatIndex + 1;
+                } else {
+                    sort(array, (greatIndex + 1), endIndex, depthLimit);
+                    endIndex = lessIndex;
+                }
+            }
+        }
+    }
+
+    /**
+     * Sorts the five samples at the specified indices of the specified float array in-place with a sorting network.
+     * 
+     * @param array The array that contains the samples.
+     * @param sampleIndex1 The index of the first sample.
+     * @param sampleIndex2 The index of the second sample.
+     * @param sampleIndex3 The index of the third sample.
+     * @param sampleIndex4 The index of the fourth sample.
+     * @param sampleIndex5 The index of the fifth sample.
+     */
+    private static void sortSamples(float[] array, int sampleIndex1, int sampleIndex2, int sampleIndex3,
+            int sampleIndex4, int sampleIndex5) {
+        sortPair(array, sampleIndex1, sampleIndex2);
+        sortPair(array, sampleIndex4, sampleIndex5);
+        sortPair(array, sampleIndex3, sampleIndex5);
+        sortPair(array, sampleIndex3, sampleIndex4);
+        sortPair(array, sampleIndex1, sampleIndex4);
+        sortPair(array, sampleIndex1, sampleIndex3);
+        sortPair(array, sampleIndex2, sampleIndex5);
+        sortPair(array, sampleIndex2, sampleIndex4);
+        sortPair(array, sampleIndex2, sampleIndex3);
+    }
+
+    /**
+     * Swaps the elements at the specified indices of the specified float array if they are out of order.
+     * 
+     * @param array The array that contains the elements.
+     * @param index1 The index of the element that should be the smaller one.
+     * @param index2 The index of the element that should be the larger one.
+     */
+    private static void sortPair(float[] array, int index1, int index2) {
+        if (Float.compare(array[index1], array[index2]) > 0) {
+            float element = array[index1];
+            array[index1] = array[index2];
+            array[index2] = element;
+        }
+    }
+
+    /**
+     * Sorts the elements in the specified float array between the start index (inclusive) and the end index (exclusive) with insertion sort.
+     * 
+     * @param array The array to sort.
+     * @param startIndex The index specifying the start of the range of elements to sort. This index is inclusive.
+     * @param endIndex The index specifying the end of the range of elements to sort. This index is exclusive.
+     */
+    private static void insertionSort(float[] array, int startIndex, int endIndex) {
+        for (int i = startIndex + 1; i < endIndex; i++) {
+            float elementToInsert = array[i];
+            int j = i - 1;
+            while ((j >= startIndex) && (Float.compare(array[j], elementToInsert) > 0)) {
+                array[j + 1] = array[j];
+                j--;
+            }
+            array[j + 1] = elementToInsert;
+        }
+    }
+
+    /**
+     * Sorts the elements in the specified float array between the start index (inclusive) and the end index (exclusive) in-place with heapsort.
+     * 
+     * @param array The array to sort.
+     * @param startIndex The index specifying the start of the range of elements to sort. This index is inclusive.
+     * @param endIndex The index specifying the end of the range of elements to sort. This index is exclusive.
+     */
+    static void heapSort(float[] array, int startIndex, int endIndex) {
+        // Turn the range into a max heap.
+        final int NUMBER_OF_ELEMENTS = endIndex - startIndex;
+        for (int i = (NUMBER_OF_ELEMENTS >>> 1) - 1; i >= 0; i--) {
+            siftDown(array, startIndex, i, NUMBER_OF_ELEMENTS);
+        }
+
+        // Repeatedly move the largest element of the heap to the end of the heap and shrink the heap by one.
+        for (int heapSize = NUMBER_OF_ELEMENTS - 1; heapSize > 0; heapSize--) {
+            float largestElement = array[startIndex];
+            array[startIndex] = array[startIndex + heapSize];
+            array[startIndex + heapSize] = largestElement;
+            siftDown(array, startIndex, 0, heapSize);
+        }
+    }
+
+    /**
+     * Moves the element at the specified heap index of a max heap down until neither of its children is larger than it.
+     * 
+     * @param array The array that contains the heap.
+     * @param heapStartIndex The index in the array of the root of the heap.
+     * @param heapIndex The heap index of the element to move down.
+     * @param heapSize The number of elements in the heap.
+     */
+    private static void siftDown(float[] array, int heapStartIndex, int heapIndex, int heapSize) {
+        float element = array[heapStartIndex + heapIndex];
+        int childIndex = (2 * heapIndex) + 1;
+        while (childIndex < heapSize) {
+            // Pick the larger child.
+            if (((childIndex + 1) < heapSize)
+                    && (Float.compare(array[heapStartIndex + childIndex], array[heapStartIndex + childIndex
+                            + 1]) < 0)) {
+                childIndex++;
+            }
+            if (Float.compare(element, array[heapStartIndex + childIndex]) >= 0) {
+                break;
+            }
+            array[heapStartIndex + heapIndex] = array[heapStartIndex + childIndex];
+            heapIndex = childIndex;
+            childIndex = (2 * heapIndex) + 1;
+        }
+        array[heapStartIndex + heapIndex] = element;
+    }
+}
@@ -0,0 +1,198 @@
+package sort;
+
+/**
+ * This class describes the distribution of a range of integer keys: how many keys there are and the smallest and largest key. The sorts in {@link Sort} use it to decide whether the keys fall into a range that is small enough, compared to the number of keys, for counting sort to beat a comparison sort. A key distribution is immutable.
+ * 
+ * @author Jaskaran Singh
+ */
+public final class KeyDistribution {
+    // The largest key range that is sorted with counting sort automatically. The counts of a range this large take 16 MB.
+    public static final int MAXIMUM_AUTOMATIC_COUNTING_SORT_KEY_RANGE = 1 << 22;
+
+    // The largest key range that counting sort can sort at all, which is the largest array of counts that can be allocated.
+    static final long MAXIMUM_COUNTING_SORT_KEY_RANGE = Integer.MAX_VALUE - 8;
+
+    private final int numberOfKeys;
+    private final long minimumKey;
+    private final long maximumKey;
+
+    /**
+     * Creates a key distribution.
+     * 
+     * @param numberOfKeys The number of keys.
+     * @param minimumKey The smallest key.
+     * @param maximumKey The largest key.
+     */
+    private KeyDistribution(int numberOfKeys, long minimumKey, long maximumKey) {
+        this.numberOfKeys = numberOfKeys;
+        this.minimumKey = minimumKey;
+        this.maximumKey = maximumKey;
+    }
+
+    /**
+     * Returns the distribution of the keys in the inputted int array between the start index (inclusive) and the end index (inclusive).
+     * 
+     * @param array The int array that contains the keys.
+     * @param startIndex The index specifying the start of the range of keys in the array. This index is inclusive.
+     * @param endIndex The index specifying the end of the range of keys in the array. This index is inclusive.
+     * @return Returns the distribution of the keys.
+     * @throws IndexOutOfBoundsException If the range of keys is not inside the array.
+     * @throws NullPointerException
+     */
+    public static KeyDistribution of(int[] array, int startIndex, int endIndex)
+            throws IndexOutOfBoundsException, NullPointerException {
+        // Throw an IndexOutOfBoundsException if the range of keys is not inside the array.
+        checkRange(array.length, startIndex, endIndex);
+
+        // Find the smallest and largest key in a single pass.
+        int minimumKey = Integer.MAX_VALUE;
+        int maximumKey = Integer.MIN_VALUE;
+        for (int i = startIndex; i <= endIndex; i++) {
+            int key = array[i];
+            if (key < minimumKey) {
+                minimumKey = key;
+            }
+            if (key > maximumKey) {
+                maximumKey = key;
+            }
+        }
+        return new KeyDistribution(Math.max(0, (endIndex - startIndex + 1)), minimumKey, maximumKey);
+    }
+
+    /**
+     * Returns the distribution of the keys in the inputted int array.
+     * 
+     * @param array The int array that contains the keys.
+     * @return Returns the distribution of the keys.
+     * @throws NullPointerException
+     */
+    public static KeyDistribution of(int[] array) throws NullPointerException {
+        return of(array, 0, (array.length - 1));
+    }
+
+    /**
+     * Returns the distribution of the keys in the inputted long array between the start index (inclusive) and the end index (inclusive).
+     * 
+     * @param array The long array that contains the keys.
+     * @param startIndex The index specifying the start of the range of keys in the array. This index is inclusive.
+     * @param endIndex The index specifying the end of the range of keys in the array. This index is inclusive.
+     * @return Returns the distribution of the keys.
+     * @throws IndexOutOfBoundsException If the range of keys is not inside the array.
+     * @throws NullPointerException
+     */
+    public static KeyDistribution of(long[] array, int startIndex, int endIndex)
+            throws IndexOutOfBoundsException, NullPointerException {
+        // Throw an IndexOutOfBoundsException if the range of keys is not inside the array.
+        checkRange(array.length, startIndex, endIndex);
+
+        // Find the smallest and largest key in a single pass.
+        long minimumKey = Long.MAX_VALUE;
+        long maximumKey = Long.MIN_VALUE;
+        for (int i = startIndex; i <= endIndex; i++) {
+            long key = array[i];
+            if (key < minimumKey) {
+                minimumKey = key;
+            }
+            if (key > maximumKey) {
+                maximumKey = key;
+            }
+        }
+        return new KeyDistribution(Math.max(0, (endIndex - startIndex + 1)), minimumKey, maximumKey);
+    }
+
+    /**
+     * Returns the distribution of the keys in the inputted long array.
+     * 
+     * @param array The long array that contains the keys.
+     * @return Returns the distribution of the keys.
+     * @throws NullPointerException
+     */
+    public static KeyDistribution of(long[] array) throws NullPointerException {
+        return of(array, 0, (array.length - 1));
+    }
+
+    /**
+     * Throws an IndexOutOfBoundsException if a non-empty range of keys between the start index (inclusive) and the end index (inclusive) is not inside an array of the specified length.
+     * 
+     * @param arrayLength The length of the array.
+     * @param startIndex The index specifying the start of the range of keys. This index is inclusive.
+     * @param endIndex The index specifying the end of the range of keys. This index is inclusive.
+     * @throws IndexOutOfBoundsException If the range of keys is not inside the array.
+     */
+    private static void checkRange(int arrayLength, int startIndex, int endIndex) throws IndexOutOfBoundsException {
+        if ((startIndex <= endIndex) && ((startIndex < 0) || (endIndex >= arrayLength))) {
+            throw new IndexOutOfBoundsException();
+        }
+    }
+
+    /**
+     * Returns the number of keys.
+     * 
+     * @return Returns the number of keys.
+     */
+    public int getNumberOfKeys() {
+        return numberOfKeys;
+    }
+
+    /**
+     * Returns the smallest key. The result is unspecified if there are no keys.
+     * 
+     * @return Returns the smallest key.
+     */
+    public long getMinimumKey() {
+        return minimumKey;
+    }
+
+    /**
+     * Returns the largest key. The result is unspecified if there are no keys.
+     * 
+     * @return Returns the largest key.
+     */
+    public long getMaximumKey() {
+        return maximumKey;
+    }
+
+    /**
+     * Returns the number of different values that a key between the smallest and the largest key (both inclusive) can take. This is the number of counts that counting sort needs. Returns zero if there are no keys and Long.MAX_VALUE if the range does not fit into a long.
+     * 
+     * @return Returns the range of the keys.
+     */
+    public long getKeyRange() {
+        if (numberOfKeys == 0) {
+            return 0;
+        }
+        long keyRange = maximumKey - minimumKey + 1;
+        return (keyRange <= 0) ? Long.MAX_VALUE : keyRange;
+    }
+
+    /**
+     * Returns the average number of keys per value in the range of the keys. Values above one mean that the keys must contain duplicates.
+     * 
+     * @return Returns the average number of keys per value in the range of the keys.
+     */
+    public double getKeyDensity() {
+        return (numberOfKeys == 0) ? 0.0 : ((double) numberOfKeys / getKeyRange());
+    }
+
+    /**
+     * Determines whether counting sort should be used to sort the keys. Counting sort takes time proportional to the number of keys plus the range of the keys, so it is chosen when the range is no larger than the number of keys and no larger than {@link #MAXIMUM_AUTOMATIC_COUNTING_SORT_KEY_RANGE}. Returns true if counting sort should be used. Returns false otherwise.
+     * 
+     * @return Returns true if counting sort should be used. Returns false otherwise.
+     */
+    public boolean isCountingSortFavorable() {
+        long keyRange = getKeyRange();
+        return (numberOfKeys > 1) && (keyRange <= numberOfKeys) && (keyRange
+                <= MAXIMUM_AUTOMATIC_COUNTING_SORT_KEY_RANGE);
+    }
+
+    /**
+     * Returns a string that describes the key distribution.
+     * 
+     * @return Returns a string that describes the key distribution.
+     */
+    @Override
+    public String toString() {
+        return "[keys: " + numberOfKeys + ", minimum: " + minimumKey + ", maximum: " + maximumKey + ", range: "
+                + getKeyRange() + ", counting sort: " + isCountingSortFavorable() + "]";
+    }
+}
@@ -0,0 +1,121 @@
+package sort;
+
+import java.util.Comparator;
+
+/**
+ * This class is a tournament tree of losers that merges k sorted sources. Each source contributes its current record as a leaf, and every internal node remembers the source that lost the match played there, while the overall winner is kept at the root. After the winner's record is taken, only the matches on the path from the winner's leaf to the root are replayed, so each record costs about log2(k) comparisons, compared with about 2 log2(k) for a binary heap. A source whose record is null is exhausted and loses every match. When two records are equal, the source with the smaller index wins, so merging runs of a stable sort in input order keeps the merge stable.
+ * 
+ * @author Jaskaran Singh
+ * @param <E> The type of the records.
+ */
+final class LoserTree<E> {
+    // The comparator that defines the order of the records.
+    private final Comparator<? super E> comparator;
+
+    // The current record of each source, or null if the source is exhausted.
+    private final E[] currentRecords;
+
+    // The number of sources, which is also the index of the first leaf in the implicit tree.
+    private final int numberOfSources;
+
+    // Index zero holds the source that won the whole tournament. Every other index holds the source that lost the match at that internal node.
+    private final int[] tree;
+
+    /**
+     * LoserTree constructor. Plays the whole tournament once.
+     * 
+     * @param firstRecords The first record of each source, or null for a source that is empty. The array is used as the tree's current records and must not be changed by the caller.
+     * @param comparator The comparator that defines the order of the records.
+     */
+    LoserTree(E[] firstRecords, Comparator<? super E> comparator) {
+        this.comparator = comparator;
+        this.currentRecords = firstRecords;
+        this.numberOfSources = firstRecords.length;
+        this.tree = new int[Math.max(1, numberOfSources)];
+
+        // Play the matches bottom-up. The leaves of the implicit tree are at indices k to 2k - 1, and the winners of the matches are kept in a temporary array.
+        int[] winners = new int[2 * numberOfSources];
+        for (int source = 0; source < numberOfSources; source++) {
+            winners[numberOfSources + source] = source;
+        }
+        for (int node = numberOfSources - 1; node > 0; node--) {
+            int source1 = winners[2 * node];
+            int source2 = winners[(2 * node) + 1];
+            if (beats(source1, source2)) {
+                winners[node] = source1;
+                tree[node] = source2;
+            } else {
+                winners[node] = source2;
+                tree[node] = source1;
+            }
+        }
+        // With fewer than two sources no match is played. A single source always wins, and a tree without sources is empty.
+        tree[0] = (numberOfSources < 2) ? 0 : winners[1];
+    }
+
+    /**
+     * Determines whether every source is exhausted. Returns true if no source has a record left. Returns false otherwise.
+     * 
+     * @return Returns true if no source has a record left. Returns false otherwise.
+     */
+    boolean isEmpty() {
+        return (numberOfSources == 0) || (currentRecords[tree[0]] == null);
+    }
+
+    /**
+     * Returns the index of the source whose current record is the smallest.
+     * 
+     * @return Returns the index of the winning source.
+     */
+    int getWinningSource() {
+        return tree[0];
+    }
+
+    /**
+     * Returns the smallest current record, or null if every source is exhausted.
+     * 
+     * @return Returns the smallest current record.
+     */
+    E getWinningRecord() {
+        return (numberOfSources == 0) ? null : currentRecords[tree[0]];
+    }
+
+    /**
+     * Replaces the winning record with the next record of the same source and replays the matches on the path from that source's leaf to the root.
+     * 
+     * @param nextRecord The next record of the winning source, or null if the source is exhausted.
+     */
+    void replaceWinningRecord(E nextRecord) {
+        int winner = tree[0];
+        currentRecords[winner] = nextRecord;
+        for (int node = (numberOfSources + winner) >>> 1; node > 0; node >>>= 1) {
+            // The loser stored at this node plays the current winner, and the winner moves up.
+            if (beats(tree[node], winner)) {
+                int loser = winner;
+                winner = tree[node];
+                tree[node] = loser;
+            }
+        }
+        tree[0] = winner;
+    }
+
+    /**
+     * Determines whether the current record of the first source beats the current record of the second source. Exhausted sources lose every match, and ties go to the source with the smaller index.
+     * 
+     * @param source1 The index of the first source.
+     * @param source2 The index of the second source.
+     * @return Returns true if the first source wins. Returns false otherwise.
+     */
+    private boolean beats(int source1, int source2) {
+        E record1 = currentRecords[source1];
+        E record2 = currentRecords[source2];
+        if (record1 == null) {
+            return false;
+        }
+        if (record2 == null) {
+            return true;
+        }
+        int comparison = comparator.compare(record1, record2);
+        return (comparison < 0) || ((comparison == 0) && (source1 < source2));
+    }
+}
@@ -0,0 +1,447 @@
+package sort;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Objects;
+
+/**
+ * This class sorts files of fixed-width binary records through memory mappings, without creating a heap object per record. A record can be a single int, long, float or double value, or a longer record with such a key at a fixed offset, in either byte order.
+ * 
+ * A single mapping cannot be larger than 2 GB, so the file is processed in windows. Each window is mapped and sorted in place: the keys are read into a primitive array, sorted, and either written back (for files of plain values) or used to move the records into their sorted positions by following the cycles of the permutation. If the file spans more than one window, the sorted windows are then merged with a loser tree over their keys, copying each record from its window's mapping straight into a mapping of the output. The heap memory used is proportional to the number of records in one window, not to the size of the file.
+ * 
+ * @author Jaskaran Singh
+ */
+public class MappedFileSort {
+    // The default size of the windows that the file is mapped and sorted in.
+    public static final int DEFAULT_WINDOW_SIZE_IN_BYTES = 64 << 20;
+
+    /**
+     * This enum lists the types of key that records can be sorted by. Keys are ordered the same way as by {@link Integer#compare(int, int)}, {@link Long#compare(long, long)}, {@link Float#compare(float, float)} and {@link Double#compare(double, double)}.
+     * 
+     * @author Jaskaran Singh
+     */
+    public enum KeyType {
+        INT(Integer.BYTES),
+        LONG(Long.BYTES),
+        FLOAT(Float.BYTES),
+        DOUBLE(Double.BYTES);
+
+        // The number of bytes of a key of this type.
+        private final int sizeInBytes;
+
+        /**
+         * KeyType constructor.
+         * 
+         * @param sizeInBytes The number of bytes of a key of this type.
+         */
+        private KeyType(int sizeInBytes) {
+            this.sizeInBytes = sizeInBytes;
+        }
+
+        /**
+         * Returns the number of bytes of a key of this type.
+         * 
+         * @return Returns the number of bytes of a key.
+         */
+        public int getSizeInBytes() {
+            return sizeInBytes;
+        }
+
+        /**
+         * Reads the key at the specified position of the buffer and converts it into a long whose signed order matches the order of the keys.
+         * 
+         * @param buffer The buffer to read from.
+         * @param position The position of the key in the buffer.
+         * @return Returns the key as a sortable long.
+         */
+        private long readSortableKey(ByteBuffer buffer, int position) {
+            switch (this) {
+                case INT:
+                    return buffer.getInt(position);
+                case LONG:
+                    return buffer.getLong(position);
+                case FLOAT:
+                    return Sort.toSortableInt(buffer.getFloat(position));
+                case DOUBLE:
+                    return Sort.toSortableLong(buffer.getDouble(position));
+                default:
+                    throw new AssertionError(this);
+            }
+        }
+
+        /**
+         * Converts the specified sortable long back into a key and writes it at the specified position of the buffer.
+         * 
+         * @param buffer The buffer to write into.
+         * @param position The position of the key in the buffer.
+         * @param sortableKey The key as a sortable long.
+         */
+        private void writeSortableKey(ByteBuffer buffer, int position, long sortableKey) {
+            switch (this) {
+                case INT:
+                    buffer.putInt(position, (int) sortableKey);
+                    break;
+                case LONG:
+                    buffer.putLong(position, sortableKey);
+                    break;
+                case FLOAT:
+                    buffer.putFloat(position, Sort.fromSortableInt((int) sortableKey));
+                    break;
+                case DOUBLE:
+                    buffer.putDouble(position, Sort.fromSortableLong(sortableKey));
+                    break;
+            }
+        }
+    }
+
+    private final int recordSizeInBytes;
+    private final int keyOffset;
+    private final KeyType keyType;
+    private final ByteOrder byteOrder;
+    private final int windowSizeInBytes;
+
+    /**
+     * MappedFileSort constructor for files of records with a key at a fixed offset.
+     * 
+     * @param recordSizeInBytes The number of bytes of each record.
+     * @param keyOffset The offset of the key from the start of each record.
+     * @param keyType The type of the key.
+     * @param byteOrder The byte order of the key.
+     * @param windowSizeInBytes The largest number of bytes that are mapped and sorted at once. It is rounded down to a whole number of records.
+     * @throws IllegalArgumentException If the key does not fit into the record or the window cannot hold a record.
+     * @throws NullPointerException
+     */
+    public MappedFileSort(int recordSizeInBytes, int keyOffset, KeyType keyType, ByteOrder byteOrder,
+            int windowSizeInBytes) throws IllegalArgumentException, NullPointerException {
+        if ((keyOffset < 0) || ((keyOffset + keyType.getSizeInBytes()) > recordSizeInBytes)) {
+            throw new IllegalArgumentException("The key must lie inside the record.");
+        }
+        if (windowSizeInBytes < recordSizeInBytes) {
+            throw new IllegalArgumentException("The window must hold at least one record.");
+        }
+        this.recordSizeInBytes = recordSizeInBytes;
+        this.keyOffset = keyOffset;
+        this.keyType = keyType;
+        this.byteOrder = Objects.requireNonNull(byteOrder);
+        this.windowSizeInBytes = windowSizeInBytes - (windowSizeInBytes % recordSizeInBytes);
+    }
+
+    /**
+     * MappedFileSort constructor for files of records with a key at a fixed offset. Uses the default window size.
+     * 
+     * @param recordSizeInBytes The number of bytes of each record.
+     * @param keyOffset The offset of the key from the start of each record.
+     * @param keyType The type of the key.
+     * @param byteOrder The byte order of the key.
+     * @throws IllegalArgumentException If the key does not fit into the record.
+     * @throws NullPointerException
+     */
+    public MappedFileSort(int recordSizeInBytes, int keyOffset, KeyType keyType, ByteOrder byteOrder)
+            throws IllegalArgumentException, NullPointerException {
+        this(recordSizeInBytes, keyOffset, keyType, byteOrder, DEFAULT_WINDOW_SIZE_IN_BYTES);
+    }
+
+    /**
+     * MappedFileSort constructor for files of plain values of the specified type. Uses the default window size. Every NaN in a file of floats or doubles is replaced with the canonical NaN.
+     * 
+     * @param keyType The type of the values.
+     * @param byteOrder The byte order of the values.
+     * @throws NullPointerException
+     */
+    public MappedFileSort(KeyType keyType, ByteOrder byteOrder) throws NullPointerException {
+        this(keyType.getSizeInBytes(), 0, keyType, byteOrder);
+    }
+
+    /**
+     * Sorts the records in the specified file in-place. If the file spans more than one window, the merged records are written into a temporary file in the same directory, which then replaces the file.
+     * 
+     * @param file The file to sort.
+     * @throws IOException If the file cannot be read or written, or if it does not hold a whole number of records.
+     */
+    public void sort(Path file) throws IOException {
+        final long FILE_SIZE;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            FILE_SIZE = channel.size();
+            if ((FILE_SIZE % recordSizeInBytes) != 0) {
+                throw new IOException("The file does not hold a whole number of " + recordSizeInBytes
+                        + " byte records.");
+            }
+
+            // Sort each window in-place.
+            for (long windowStart = 0; windowStart < FILE_SIZE; windowStart += windowSizeInBytes) {
+                MappedByteBuffer window = channel.map(MapMode.READ_WRITE, windowStart,
+                        Math.min(windowSizeInBytes, (FILE_SIZE - windowStart)));
+                window.order(byteOrder);
+                sortWindow(window);
+                window.force();
+            }
+            if (FILE_SIZE <= windowSizeInBytes) {
+                return;
+            }
+        }
+
+        // Merge the sorted windows into a temporary file and move it over the file.
+        Path temporaryFile = Files.createTempFile(file.toAbsolutePath().getParent(), (file.getFileName() + "."),
+                ".sorting");
+        try {
+            try (FileChannel sourceChannel = FileChannel.open(file, StandardOpenOption.READ);
+                    FileChannel destinationChannel = FileChannel.open(temporaryFile, StandardOpenOption.READ,
+                            StandardOpenOption.WRITE)) {
+                mergeWindows(sourceChannel, FILE_SIZE, destinationChannel);
+            }
+            Files.move(temporaryFile, file, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(temporaryFile);
+        }
+    }
+
+    /**
+     * Sorts the records in the input file into the output file. The input file is copied into the output file by the file system, without passing through the heap, and the output file is then sorted in-place. The input file is left unchanged.
+     * 
+     * @param inputFile The file that holds the records to sort.
+     * @param outputFile The file that the sorted records are written into. It is created or replaced.
+     * @throws IOException If a file cannot be read or written, or if the input file does not hold a whole number of records.
+     */
+    public void sort(Path inputFile, Path outputFile) throws IOException {
+        try (FileChannel inputChannel = FileChannel.open(inputFile, StandardOpenOption.READ);
+                FileChannel outputChannel = FileChannel.open(outputFile, StandardOpenOption.CREATE,
+                        StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            final long FILE_SIZE = inputChannel.size();
+            long position = 0;
+            while (position < FILE_SIZE) {
+                position += inputChannel.transferTo(position, (FILE_SIZE - position), outputChannel);
+            }
+        }
+        sort(outputFile);
+    }
+
+    /**
+     * Sorts the records in the specified window in-place.
+     * 
+     * @param window The mapped window to sort.
+     */
+    private void sortWindow(ByteBuffer window) {
+        final int NUMBER_OF_RECORDS = window.capacity() / recordSizeInBytes;
+        if (NUMBER_OF_RECORDS <= 1) {
+            return;
+        }
+
+        // Read the key of every record as a sortable long.
+        long[] keys = new long[NUMBER_OF_RECORDS];
+        for (int i = 0; i < NUMBER_OF_RECORDS; i++) {
+            keys[i] = keyType.readSortableKey(window, ((i * recordSizeInBytes) + keyOffset));
+        }
+
+        if (recordSizeInBytes == keyType.getSizeInBytes()) {
+            // The records are plain values, so radix sort the keys and write them back.
+            RadixSort.lsdRadixSort(keys, 0, NUMBER_OF_RECORDS, new long[NUMBER_OF_RECORDS], null, null);
+            for (int i = 0; i < NUMBER_OF_RECORDS; i++) {
+                keyType.writeSortableKey(window, (i * recordSizeInBytes), keys[i]);
+            }
+        } else {
+            // Merge sort the record indices by their keys and move every record into its sorted position.
+            int[] indices = new int[NUMBER_OF_RECORDS];
+            for (int i = 0; i < NUMBER_OF_RECORDS; i++) {
+                indices[i] = i;
+            }
+            Sort.mergeSort(keys.clone(), indices.clone(), keys, indices, 0, (NUMBER_OF_RECORDS - 1));
+            permuteRecords(window, indices);
+        }
+    }
+
+    /**
+     * Moves the records in the specified window into the order given by the sorted indices. Each cycle of the permutation is followed from its first position, so every record is copied once and only one record is held outside of the window at a time. The indices are overwritten.
+     * 
+     * @param window The mapped window that holds the records.
+     * @param sortedIndices The original index of the record that belongs at each position.
+     */
+    private void permuteRecords(ByteBuffer window, int[] sortedIndices) {
+        byte[] cycleStartRecord = new byte[recordSizeInBytes];
+        for (int cycleStart = 0; cycleStart < sortedIndices.length; cycleStart++) {
+            if (sortedIndices[cycleStart] == cycleStart) {
+                continue;
+            }
+
+            // Hold the first record of the cycle and pull every other record of the cycle one step forward.
+            window.get((cycleStart * recordSizeInBytes), cycleStartRecord);
+            int position = cycleStart;
+            while (true) {
+                int sourcePosition = sortedIndices[position];
+                sortedIndices[position] = position;
+                if (sourcePosition == cycleStart) {
+                    window.put((position * recordSizeInBytes), cycleStartRecord);
+                    break;
+                }
+                window.put((position * recordSizeInBytes), window, (sourcePosition * recordSizeInBytes),
+                        recordSizeInBytes);
+                position = sourcePosition;
+            }
+        }
+    }
+
+    /**
+     * Merges the sorted windows of the source file into the destination file with a loser tree over the windows' current keys. Ties go to the earlier window, so the merge keeps records with equal keys in the order that the window sorts left them in.
+     * 
+     * @param sourceChannel The channel of the file whose windows are sorted.
+     * @param fileSize The size of the file in bytes.
+     * @param destinationChannel The channel of the file that the merged records are written into.
+     * @throws IOException If a file cannot be mapped.
+     */
+    private void mergeWindows(FileChannel sourceChannel, long fileSize, FileChannel destinationChannel)
+            throws IOException {
+        // Map every sorted window and read its first key.
+        final int NUMBER_OF_WINDOWS = (int) (((fileSize - 1) / windowSizeInBytes) + 1);
+        MappedByteBuffer[] windows = new MappedByteBuffer[NUMBER_OF_WINDOWS];
+        int[] positions = new int[NUMBER_OF_WINDOWS];
+        long[] currentKeys = new long[NUMBER_OF_WINDOWS];
+        for (int i = 0; i < NUMBER_OF_WINDOWS; i++) {
+            final long WINDOW_START = (long) i * windowSizeInBytes;
+            windows[i] = sourceChannel.map(MapMode.READ_ONLY, WINDOW_START,
+                    Math.min(windowSizeInBytes, (fileSize - WINDOW_START)));
+            windows[i].order(byteOrder);
+            currentKeys[i] = keyType.readSortableKey(windows[i], keyOffset);
+        }
+        KeyLoserTree loserTree = new KeyLoserTree(currentKeys);
+
+        // Copy the record with the smallest key into the output, one output window at a time.
+        long outputWindowStart = 0;
+        MappedByteBuffer outputWindow = null;
+        int outputPosition = 0;
+        while (!loserTree.isEmpty()) {
+            if ((outputWindow == null) || (outputPosition == outputWindow.capacity())) {
+                if (outputWindow != null) {
+                    outputWindow.force();
+                    outputWindowStart += outputWindow.capacity();
+                }
+                outputWindow = destinationChannel.map(MapMode.READ_WRITE, outputWindowStart,
+                        Math.min(windowSizeInBytes, (fileSize - outputWindowStart)));
+                outputPosition = 0;
+            }
+            final int WINDOW_INDEX = loserTree.getWinningSource();
+            MappedByteBuffer window = windows[WINDOW_INDEX];
+            outputWindow.put(outputPosition, window, positions[WINDOW_INDEX], recordSizeInBytes);
+            outputPosition += recordSizeInBytes;
+            positions[WINDOW_INDEX] += recordSizeInBytes;
+            if (positions[WINDOW_INDEX] < window.capacity()) {
+                currentKeys[WINDOW_INDEX] = keyType.readSortableKey(window, (positions[WINDOW_INDEX] + keyOffset));
+                loserTree.replaceWinningKey(false);
+            } else {
+                loserTree.replaceWinningKey(true);
+            }
+        }
+        if (outputWindow != null) {
+            outputWindow.force();
+        }
+    }
+
+    /**
+     * This class is a tournament tree of losers over primitive keys, which merges the sorted windows without boxing a key per record. It works the same way as {@link LoserTree}, with the current key of each source held in a long array that the caller updates before replaying the winner's matches.
+     * 
+     * @author Jaskaran Singh
+     */
+    private static final class KeyLoserTree {
+        // The current key of each source, kept up to date by the caller.
+        private final long[] currentKeys;
+
+        // Whether each source is exhausted.
+        private final boolean[] isExhausted;
+
+        // The number of sources, which is also the index of the first leaf in the implicit tree.
+        private final int numberOfSources;
+
+        // Index zero holds the source that won the whole tournament. Every other index holds the source that lost the match at that internal node.
+        private final int[] tree;
+
+        /**
+         * KeyLoserTree constructor. Plays the whole tournament once.
+         * 
+         * @param currentKeys The first key of each source. None of the sources may be empty.
+         */
+        private KeyLoserTree(long[] currentKeys) {
+            this.currentKeys = currentKeys;
+            this.numberOfSources = currentKeys.length;
+            this.isExhausted = new boolean[numberOfSources];
+            this.tree = new int[numberOfSources];
+
+            // Play the matches bottom-up, keeping the winners of the matches in a temporary array.
+            int[] winners = new int[2 * numberOfSources];
+            for (int source = 0; source < numberOfSources; source++) {
+                winners[numberOfSources + source] = source;
+            }
+            for (int node = numberOfSources - 1; node > 0; node--) {
+                int source1 = winners[2 * node];
+                int source2 = winners[(2 * node) + 1];
+                if (beats(source1, source2)) {
+                    winners[node] = source1;
+                    tree[node] = source2;
+                } else {
+                    winners[node] = source2;
+                    tree[node] = source1;
+                }
+            }
+            tree[0] = (numberOfSources == 1) ? 0 : winners[1];
+        }
+
+        /**
+         * Determines whether every source is exhausted.
+         * 
+         * @return Returns true if no source has a key left. Returns false otherwise.
+         */
+        private boolean isEmpty() {
+            return isExhausted[tree[0]];
+        }
+
+        /**
+         * Returns the index of the source whose current key is the smallest.
+         * 
+         * @return Returns the index of the winning source.
+         */
+        private int getWinningSource() {
+            return tree[0];
+        }
+
+        /**
+         * Replays the matches on the path from the winning source's leaf to the root after the caller has updated the winning source's current key.
+         * 
+         * @param isWinningSourceExhausted Whether the winning source has no keys left.
+         */
+        private void replaceWinningKey(boolean isWinningSourceExhausted) {
+            int winner = tree[0];
+            isExhausted[winner] = isWinningSourceExhausted;
+            for (int node = (numberOfSources + winner) >>> 1; node > 0; node >>>= 1) {
+                if (beats(tree[node], winner)) {
+                    int loser = winner;
+                    winner = tree[node];
+                    tree[node] = loser;
+                }
+            }
+            tree[0] = winner;
+        }
+
+        /**
+         * Determines whether the current key of the first source beats the current key of the second source. Exhausted sources lose every match, and ties go to the source with the smaller index.
+         * 
+         * @param source1 The index of the first source.
+         * @param source2 The index of the second source.
+         * @return Returns true if the first source wins. Returns false otherwise.
+         */
+        private boolean beats(int source1, int source2) {
+            if (isExhausted[source1]) {
+                return false;
+            }
+            if (isExhausted[source2]) {
+                return true;
+            }
+            return (currentKeys[source1] < currentKeys[source2])
+                    || ((currentKeys[source1] == currentKeys[source2]) && (source1 < source2));
+        }
+    }
+}
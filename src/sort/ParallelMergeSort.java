@@ -0,0 +1,832 @@
+package sort;
+
+import java.util.Comparator;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * This class contains the fork/join tasks behind the parallel merge sorts in {@link Sort}. Every sort task works like the sequential merge sort: the halves of a range are sorted from one array into the other, so elements are never copied back between levels. Merges are split across threads too, so the final merges do not run on a single thread.
+ * 
+ * @author Jaskaran Singh
+ */
+final class ParallelMergeSort {
+    /**
+     * Private constructor. This class only contains fork/join tasks.
+     */
+    private ParallelMergeSort() {
+    }
+
+    /**
+     * Sorts a range of elements from a source Object array into the same range of a destination Object array. Before the task runs, both arrays must contain the same elements in the range. The halves of the range are sorted in parallel from the destination array into the source array, and then merged back into the destination array in parallel.
+     */
+    static final class ObjectSortTask<E> extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final Object[] sourceArray;
+        private final Object[] destinationArray;
+        private final int startIndex;
+        private final int endIndex;
+        private final int sequentialCutoff;
+        private final Comparator<? super E> comparator;
+
+        /**
+         * ObjectSortTask constructor.
+         * 
+         * @param sourceArray The array that the range of elements is merged from.
+         * @param destinationArray The array that the sorted range of elements is written into.
+         * @param startIndex The index specifying the start of the range of elements to sort. This index is inclusive.
+         * @param endIndex The index specifying the end of the range of elements to sort. This index is exclusive.
+         * @param sequentialCutoff The number of elements at or below which the range is sorted on the current thread.
+         * @param comparator The comparator that defines the order of the elements.
+         */
+        ObjectSortTask(Object[] sourceArray, Object[] destinationArray, int startIndex, int endIndex,
+                int sequentialCutoff, Comparator<? super E> comparator) {
+            this.sourceArray = sourceArray;
+            this.destinationArray = destinationArray;
+            this.startIndex = startIndex;
+            this.endIndex = endIndex;
+            this.sequentialCutoff = sequentialCutoff;
+            this.comparator = comparator;
+        }
+
+        @Override
+        protected void compute() {
+            // Sort small ranges of elements with the sequential merge sort.
+            if ((endIndex - startIndex) <= sequentialCutoff) {
+                Sort.mergeSort(sourceArray, 0, destinationArray, 0, startIndex, (endIndex - 1), comparator);
+                return;
+            }
+
+            // Sort both halves of the range of elements from the destination array into the source array in parallel.
+            final int MIDDLE_INDEX = ((endIndex - startIndex) / 2) + startIndex;
+            invokeAll(new ObjectSortTask<E>(destinationArray, sourceArray, startIndex, MIDDLE_INDEX, sequentialCutoff,
+                    comparator),
+                    new ObjectSortTask<E>(destinationArray, sourceArray, MIDDLE_INDEX, endIndex, sequentialCutoff,
+                            comparator));
+
+            // Merge the sorted halves from the source array into the destination array in parallel.
+            new ObjectMergeTask<E>(sourceArray, startIndex, MIDDLE_INDEX, MIDDLE_INDEX, endIndex, destinationArray,
+                    startIndex,
+                    sequentialCutoff, comparator).compute();
+        }
+    }
+
+    /**
+     * Stably merges two adjacent sorted runs of a source Object array into a destination Object array. Large merges are split in two by taking the middle element of the longer run and binary searching for its position in the shorter run, and both parts are merged in parallel.
+     */
+    static final class ObjectMergeTask<E> extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final Object[] sourceArray;
+        private final int startIndexForFirstRun;
+        private final int endIndexForFirstRun;
+        private final int startIndexForSecondRun;
+        private final int endIndexForSecondRun;
+        private final Object[] destinationArray;
+        private final int destinationIndex;
+        private final int sequentialCutoff;
+        private final Comparator<? super E> comparator;
+
+        /**
+         * ObjectMergeTask constructor. Every end index is exclusive.
+         * 
+         * @param sourceArray The array that contains both sorted runs.
+         * @param startIndexForFirstRun The start index of the first run.
+         * @param endIndexForFirstRun The end index of the first run.
+         * @param startIndexForSecondRun The start index of the second run.
+         * @param endIndexForSecondRun The end index of the second run.
+         * @param destinationArray The array that the merged runs are written into.
+         * @param destinationIndex The index in the destination array that the merged runs are written to.
+         * @param sequentialCutoff The number of elements at or below which the runs are merged on the current thread.
+         * @param comparator The comparator that defines the order of the elements.
+         */
+        ObjectMergeTask(Object[] sourceArray, int startIndexForFirstRun, int endIndexForFirstRun,
+                int startIndexForSecondRun,
+                int endIndexForSecondRun, Object[] destinationArray, int destinationIndex, int sequentialCutoff,
+                        Comparator<? super E> comparator) {
+            this.sourceArray = sourceArray;
+            this.startIndexForFirstRun = startIndexForFirstRun;
+            this.endIndexForFirstRun = endIndexForFirstRun;
+            this.startIndexForSecondRun = startIndexForSecondRun;
+            this.endIndexForSecondRun = endIndexForSecondRun;
+            this.destinationArray = destinationArray;
+            this.destinationIndex = destinationIndex;
+            this.sequentialCutoff = sequentialCutoff;
+            this.comparator = comparator;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        protected void compute() {
+            final int LENGTH_OF_FIRST_RUN = endIndexForFirstRun - startIndexForFirstRun;
+            final int LENGTH_OF_SECOND_RUN = endIndexForSecondRun - startIndexForSecondRun;
+
+            // Merge small runs on the current thread. Two runs of one element each cannot be split any further, so they are always merged here, even with a sequential cutoff of one.
+            if ((LENGTH_OF_FIRST_RUN + LENGTH_OF_SECOND_RUN) <= Math.max(sequentialCutoff, 2)) {
+                int indexForFirstRun = startIndexForFirstRun;
+                int indexForSecondRun = startIndexForSecondRun;
+                int index = destinationIndex;
+                while ((indexForFirstRun < endIndexForFirstRun) && (indexForSecondRun < endIndexForSecondRun)) {
+                    if (comparator.compare((E) sourceArray[indexForFirstRun],
+                            (E) sourceArray[indexForSecondRun]) <= 0) {
+                        destinationArray[index++] = sourceArray[indexForFirstRun++];
+                    } else {
+                        destinationArray[index++] = sourceArray[indexForSecondRun++];
+                    }
+                }
+                System.arraycopy(sourceArray, indexForFirstRun, destinationArray, index,
+                        (endIndexForFirstRun - indexForFirstRun));
+                index += (endIndexForFirstRun - indexForFirstRun);
+                System.arraycopy(sourceArray, indexForSecondRun, destinationArray, index,
+                        (endIndexForSecondRun - indexForSecondRun));
+                return;
+            }
+
+            // Split both runs around the middle element of the longer run. Elements of the first run that are equal to the split element always stay on the left side of the split so the merge is stable.
+            int splitIndexForFirstRun;
+            int splitIndexForSecondRun;
+            if (LENGTH_OF_FIRST_RUN >= LENGTH_OF_SECOND_RUN) {
+                splitIndexForFirstRun = (LENGTH_OF_FIRST_RUN / 2) + startIndexForFirstRun;
+                // Find the first element of the second run that is not less than the split element.
+                int lowIndex = startIndexForSecondRun;
+                int highIndex = endIndexForSecondRun;
+                while (lowIndex < highIndex) {
+                    int middleIndex = (lowIndex + highIndex) >>> 1;
+                    if (comparator.compare((E) sourceArray[middleIndex], (E) sourceArray[splitIndexForFirstRun]) < 0) {
+                        lowIndex = middleIndex + 1;
+                    } else {
+                        highIndex = middleIndex;
+                    }
+                }
+                splitIndexForSecondRun = lowIndex;
+            } else {
+                splitIndexForSecondRun = (LENGTH_OF_SECOND_RUN / 2) + startIndexForSecondRun;
+                // Find the first element of the first run that is greater than the split element.
+                int lowIndex = startIndexForFirstRun;
+                int highIndex = endIndexForFirstRun;
+                while (lowIndex < highIndex) {
+                    int middleIndex = (lowIndex + highIndex) >>> 1;
+                    if (comparator.compare((E) sourceArray[middleIndex],
+                            (E) sourceArray[splitIndexForSecondRun]) <= 0) {
+                        lowIndex = middleIndex + 1;
+                    } else {
+                        highIndex = middleIndex;
+                    }
+                }
+                splitIndexForFirstRun = lowIndex;
+            }
+
+            // Merge the parts on each side of the split in parallel.
+            final int DESTINATION_INDEX_FOR_RIGHT_SIDE = destinationIndex
+                    + (splitIndexForFirstRun - startIndexForFirstRun)
+                    + (splitIndexForSecondRun - startIndexForSecondRun);
+            invokeAll(new ObjectMergeTask<E>(sourceArray, startIndexForFirstRun, splitIndexForFirstRun,
+                    startIndexForSecondRun,
+                    splitIndexForSecondRun, destinationArray, destinationIndex, sequentialCutoff, comparator),
+                    new ObjectMergeTask<E>(sourceArray, splitIndexForFirstRun, endIndexForFirstRun,
+                            splitIndexForSecondRun,
+                            endIndexForSecondRun, destinationArray, DESTINATION_INDEX_FOR_RIGHT_SIDE, sequentialCutoff,
+                                    comparator));
+        }
+    }
+
+    /**
+     * Sorts a range of elements from a source int array into the same range of a destination int array. Before the task runs, both arrays must contain the same elements in the range. The halves of the range are sorted in parallel from the destination array into the source array, and then merged back into the destination array in parallel.
+     */
+    static final class IntSortTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final int[] sourceArray;
+        private final int[] destinationArray;
+        private final int startIndex;
+        private final int endIndex;
+        private final int sequentialCutoff;
+
+        /**
+         * IntSortTask constructor.
+         * 
+         * @param sourceArray The array that the range of elements is merged from.
+         * @param destinationArray The array that the sorted range of elements is written into.
+         * @param startIndex The index specifying the start of the range of elements to sort. This index is inclusive.
+         * @param endIndex The index specifying the end of the range of elements to sort. This index is exclusive.
+         * @param sequentialCutoff The number of elements at or below which the range is sorted on the current thread.
+         */
+        IntSortTask(int[] sourceArray, int[] destinationArray, int startIndex, int endIndex, int sequentialCutoff) {
+            this.sourceArray = sourceArray;
+            this.destinationArray = destinationArray;
+            this.startIndex = startIndex;
+            this.endIndex = endIndex;
+            this.sequentialCutoff = sequentialCutoff;
+        }
+
+        @Override
+        protected void compute() {
+            // Sort small ranges of elements with the sequential merge sort.
+            if ((endIndex - startIndex) <= sequentialCutoff) {
+                Sort.mergeSort(sourceArray, 0, destinationArray, 0, startIndex, (endIndex - 1));
+                return;
+            }
+
+            // Sort both halves of the range of elements from the destination array into the source array in parallel.
+            final int MIDDLE_INDEX = ((endIndex - startIndex) / 2) + startIndex;
+            invokeAll(new IntSortTask(destinationArray, sourceArray, startIndex, MIDDLE_INDEX, sequentialCutoff),
+                    new IntSortTask(destinationArray, sourceArray, MIDDLE_INDEX, endIndex, sequentialCutoff));
+
+            // Merge the sorted halves from the source array into the destination array in parallel.
+            new IntMergeTask(sourceArray, startIndex, MIDDLE_INDEX, MIDDLE_INDEX, endIndex, destinationArray,
+                    startIndex,
+                    sequentialCutoff).compute();
+        }
+    }
+
+    /**
+     * Stably merges two adjacent sorted runs of a source int array into a destination int array. Large merges are split in two by taking the middle element of the longer run and binary searching for its position in the shorter run, and both parts are merged in parallel.
+     */
+    static final class IntMergeTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final int[] sourceArray;
+        private final int startIndexForFirstRun;
+        private final int endIndexForFirstRun;
+        private final int startIndexForSecondRun;
+        private final int endIndexForSecondRun;
+        private final int[] destinationArray;
+        private final int destinationIndex;
+        private final int sequentialCutoff;
+
+        /**
+         * IntMergeTask constructor. Every end index is exclusive.
+         * 
+         * @param sourceArray The array that contains both sorted runs.
+         * @param startIndexForFirstRun The start index of the first run.
+         * @param endIndexForFirstRun The end index of the first run.
+         * @param startIndexForSecondRun The start index of the second run.
+         * @param endIndexForSecondRun The end index of the second run.
+         * @param destinationArray The array that the merged runs are written into.
+         * @param destinationIndex The index in the destination array that the merged runs are written to.
+         * @param sequentialCutoff The number of elements at or below which the runs are merged on the current thread.
+         */
+        IntMergeTask(int[] sourceArray, int startIndexForFirstRun, int endIndexForFirstRun, int startIndexForSecondRun,
+                int endIndexForSecondRun, int[] destinationArray, int destinationIndex, int sequentialCutoff) {
+            this.sourceArray = sourceArray;
+            this.startIndexForFirstRun = startIndexForFirstRun;
+            this.endIndexForFirstRun = endIndexForFirstRun;
+            this.startIndexForSecondRun = startIndexForSecondRun;
+            this.endIndexForSecondRun = endIndexForSecondRun;
+            this.destinationArray = destinationArray;
+            this.destinationIndex = destinationIndex;
+            this.sequentialCutoff = sequentialCutoff;
+        }
+
+        @Override
+        protected void compute() {
+            final int LENGTH_OF_FIRST_RUN = endIndexForFirstRun - startIndexForFirstRun;
+            final int LENGTH_OF_SECOND_RUN = endIndexForSecondRun - startIndexForSecondRun;
+
+            // Merge small runs on the current thread. Two runs of one element each cannot be split any further, so they are always merged here, even with a sequential cutoff of one.
+            if ((LENGTH_OF_FIRST_RUN + LENGTH_OF_SECOND_RUN) <= Math.max(sequentialCutoff, 2)) {
+                int indexForFirstRun = startIndexForFirstRun;
+                int indexForSecondRun = startIndexForSecondRun;
+                int index = destinationIndex;
+                while ((indexForFirstRun < endIndexForFirstRun) && (indexForSecondRun < endIndexForSecondRun)) {
+                    if (sourceArray[indexForFirstRun] <= sourceArray[indexForSecondRun]) {
+                        destinationArray[index++] = sourceArray[indexForFirstRun++];
+                    } else {
+                        destinationArray[index++] = sourceArray[indexForSecondRun++];
+                    }
+                }
+                System.arraycopy(sourceArray, indexForFirstRun, destinationArray, index,
+                        (endIndexForFirstRun - indexForFirstRun));
+                index += (endIndexForFirstRun - indexForFirstRun);
+                System.arraycopy(sourceArray, indexForSecondRun, destinationArray, index,
+                        (endIndexForSecondRun - indexForSecondRun));
+                return;
+            }
+
+            // Split both runs around the middle element of the longer run. Elements of the first run that are equal to the split element always stay on the left side of the split so the merge is stable.
+            int splitIndexForFirstRun;
+            int splitIndexForSecondRun;
+            if (LENGTH_OF_FIRST_RUN >= LENGTH_OF_SECOND_RUN) {
+                splitIndexForFirstRun = (LENGTH_OF_FIRST_RUN / 2) + startIndexForFirstRun;
+                // Find the first element of the second run that is not less than the split element.
+                int lowIndex = startIndexForSecondRun;
+                int highIndex = endIndexForSecondRun;
+                while (lowIndex < highIndex) {
+                    int middleIndex = (lowIndex + highIndex) >>> 1;
+                    if (sourceArray[middleIndex] < sourceArray[splitIndexForFirstRun]) {
+                        lowIndex = middleIndex + 1;
+                    } else {
+                        highIndex = middleIndex;
+                    }
+                }
+                splitIndexForSecondRun = lowIndex;
+            } else {
+                splitIndexForSecondRun = (LENGTH_OF_SECOND_RUN / 2) + startIndexForSecondRun;
+                // Find the first element of the first run that is greater than the split element.
+                int lowIndex = startIndexForFirstRun;
+                int highIndex = endIndexForFirstRun;
+                while (lowIndex < highIndex) {
+                    int middleIndex = (lowIndex + highIndex) >>> 1;
+                    if (sourceArray[middleIndex] <= sourceArray[splitIndexForSecondRun]) {
+                        lowIndex = middleIndex + 1;
+                    } else {
+                        highIndex = middleIndex;
+                    }
+                }
+                splitIndexForFirstRun = lowIndex;
+            }
+
+            // Merge the parts on each side of the split in parallel.
+            final int DESTINATION_INDEX_FOR_RIGHT_SIDE = destinationIndex
+                    + (splitIndexForFirstRun - startIndexForFirstRun)
+                    + (splitIndexForSecondRun - startIndexForSecondRun);
+            invokeAll(new IntMergeTask(sourceArray, startIndexForFirstRun, splitIndexForFirstRun,
+                    startIndexForSecondRun,
+                    splitIndexForSecondRun, destinationArray, destinationIndex, sequentialCutoff),
+                    new IntMergeTask(sourceArray, splitIndexForFirstRun, endIndexForFirstRun, splitIndexForSecondRun,
+                            endIndexForSecondRun, destinationArray, DESTINATION_INDEX_FOR_RIGHT_SIDE,
+                                    sequentialCutoff));
+        }
+    }
+
+    /**
+     * Sorts a range of elements from a source long array into the same range of a destination long array. Before the task runs, both arrays must contain the same elements in the range. The halves of the range are sorted in parallel from the destination array into the source array, and then merged back into the destination array in parallel.
+     */
+    static final class LongSortTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final long[] sourceArray;
+        private final long[] destinationArray;
+        private final int startIndex;
+        private final int endIndex;
+        private final int sequentialCutoff;
+
+        /**
+         * LongSortTask constructor.
+         * 
+         * @param sourceArray The array that the range of elements is merged from.
+         * @param destinationArray The array that the sorted range of elements is written into.
+         * @param startIndex The index specifying the start of the range of elements to sort. This index is inclusive.
+         * @param endIndex The index specifying the end of the range of elements to sort. This index is exclusive.
+         * @param sequentialCutoff The number of elements at or below which the range is sorted on the current thread.
+         */
+        LongSortTask(long[] sourceArray, long[] destinationArray, int startIndex, int endIndex, int sequentialCutoff) {
+            this.sourceArray = sourceArray;
+            this.destinationArray = destinationArray;
+            this.startIndex = startIndex;
+            this.endIndex = endIndex;
+            this.sequentialCutoff = sequentialCutoff;
+        }
+
+        @Override
+        protected void compute() {
+            // Sort small ranges of elements with the sequential merge sort.
+            if ((endIndex - startIndex) <= sequentialCutoff) {
+                Sort.mergeSort(sourceArray, 0, destinationArray, 0, startIndex, (endIndex - 1));
+                return;
+            }
+
+            // Sort both halves of the range of elements from the destination array into the source array in parallel.
+            final int MIDDLE_INDEX = ((endIndex - startIndex) / 2) + startIndex;
+            invokeAll(new LongSortTask(destinationArray, sourceArray, startIndex, MIDDLE_INDEX, sequentialCutoff),
+                    new LongSortTask(destinationArray, sourceArray, MIDDLE_INDEX, endIndex, sequentialCutoff));
+
+            // Merge the sorted halves from the source array into the destination array in parallel.
+            new LongMergeTask(sourceArray, startIndex, MIDDLE_INDEX, MIDDLE_INDEX, endIndex, destinationArray,
+                    startIndex,
+                    sequentialCutoff).compute();
+        }
+    }
+
+    /**
+     * Stably merges two adjacent sorted runs of a source long array into a destination long array. Large merges are split in two by taking the middle element of the longer run and binary searching for its position in the shorter run, and both parts are merged in parallel.
+     */
+    static final class LongMergeTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final long[] sourceArray;
+        private final int startIndexForFirstRun;
+        private final int endIndexForFirstRun;
+        private final int startIndexForSecondRun;
+        private final int endIndexForSecondRun;
+        private final long[] destinationArray;
+        private final int destinationIndex;
+        private final int sequentialCutoff;
+
+        /**
+         * LongMergeTask constructor. Every end index is exclusive.
+         * 
+         * @param sourceArray The array that contains both sorted runs.
+         * @param startIndexForFirstRun The start index of the first run.
+         * @param endIndexForFirstRun The end index of the first run.
+         * @param startIndexForSecondRun The start index of the second run.
+         * @param endIndexForSecondRun The end index of the second run.
+         * @param destinationArray The array that the merged runs are written into.
+         * @param destinationIndex The index in the destination array that the merged runs are written to.
+         * @param sequentialCutoff The number of elements at or below which the runs are merged on the current thread.
+         */
+        LongMergeTask(long[] sourceArray, int startIndexForFirstRun, int endIndexForFirstRun,
+                int startIndexForSecondRun,
+                int endIndexForSecondRun, long[] destinationArray, int destinationIndex, int sequentialCutoff) {
+            this.sourceArray = sourceArray;
+            this.startIndexForFirstRun = startIndexForFirstRun;
+            this.endIndexForFirstRun = endIndexForFirstRun;
+            this.startIndexForSecondRun = startIndexForSecondRun;
+            this.endIndexForSecondRun = endIndexForSecondRun;
+            this.destinationArray = destinationArray;
+            this.destinationIndex = destinationIndex;
+            this.sequentialCutoff = sequentialCutoff;
+        }
+
+        @Override
+        protected void compute() {
+            final int LENGTH_OF_FIRST_RUN = endIndexForFirstRun - startIndexForFirstRun;
+            final int LENGTH_OF_SECOND_RUN = endIndexForSecondRun - startIndexForSecondRun;
+
+            // Merge small runs on the current thread. Two runs of one element each cannot be split any further, so they are always merged here, even with a sequential cutoff of one.
+            if ((LENGTH_OF_FIRST_RUN + LENGTH_OF_SECOND_RUN) <= Math.max(sequentialCutoff, 2)) {
+                int indexForFirstRun = startIndexForFirstRun;
+                int indexForSecondRun = startIndexForSecondRun;
+                int index = destinationIndex;
+                while ((indexForFirstRun < endIndexForFirstRun) && (indexForSecondRun < endIndexForSecondRun)) {
+                    if (sourceArray[indexForFirstRun] <= sourceArray[indexForSecondRun]) {
+                        destinationArray[index++] = sourceArray[indexForFirstRun++];
+                    } else {
+                        destinationArray[index++] = sourceArray[indexForSecondRun++];
+                    }
+                }
+                System.arraycopy(sourceArray, indexForFirstRun, destinationArray, index,
+                        (endIndexForFirstRun - indexForFirstRun));
+                index += (endIndexForFirstRun - indexForFirstRun);
+                System.arraycopy(sourceArray, indexForSecondRun, destinationArray, index,
+                        (endIndexForSecondRun - indexForSecondRun));
+                return;
+            }
+
+            // Split both runs around the middle element of the longer run. Elements of the first run that are equal to the split element always stay on the left side of the split so the merge is stable.
+            int splitIndexForFirstRun;
+            int splitIndexForSecondRun;
+            if (LENGTH_OF_FIRST_RUN >= LENGTH_OF_SECOND_RUN) {
+                splitIndexForFirstRun = (LENGTH_OF_FIRST_RUN / 2) + startIndexForFirstRun;
+                // Find the first element of the second run that is not less than the split element.
+                int lowIndex = startIndexForSecondRun;
+                int highIndex = endIndexForSecondRun;
+                while (lowIndex < highIndex) {
+                    int middleIndex = (lowIndex + highIndex) >>> 1;
+                    if (sourceArray[middleIndex] < sourceArray[splitIndexForFirstRun]) {
+                        lowIndex = middleIndex + 1;
+                    } else {
+                        highIndex = middleIndex;
+                    }
+                }
+                splitIndexForSecondRun = lowIndex;
+            } else {
+                splitIndexForSecondRun = (LENGTH_OF_SECOND_RUN / 2) + startIndexForSecondRun;
+                // Find the first element of the first run that is greater than the split element.
+                int lowIndex = startIndexForFirstRun;
+                int highIndex = endIndexForFirstRun;
+                while (lowIndex < highIndex) {
+                    int middleIndex = (lowIndex + highIndex) >>> 1;
+                    if (sourceArray[middleIndex] <= sourceArray[splitIndexForSecondRun]) {
+                        lowIndex = middleIndex + 1;
+                    } else {
+                        highIndex = middleIndex;
+                    }
+                }
+                splitIndexForFirstRun = lowIndex;
+            }
+
+            // Merge the parts on each side of the split in parallel.
+            final int DESTINATION_INDEX_FOR_RIGHT_SIDE = destinationIndex
+                    + (splitIndexForFirstRun - startIndexForFirstRun)
+                    + (splitIndexForSecondRun - startIndexForSecondRun);
+            invokeAll(new LongMergeTask(sourceArray, startIndexForFirstRun, splitIndexForFirstRun,
+                    startIndexForSecondRun,
+                    splitIndexForSecondRun, destinationArray, destinationIndex, sequentialCutoff),
+                    new LongMergeTask(sourceArray, splitIndexForFirstRun, endIndexForFirstRun, splitIndexForSecondRun,
+                            endIndexForSecondRun, destinationArray, DESTINATION_INDEX_FOR_RIGHT_SIDE,
+                                    sequentialCutoff));
+        }
+    }
+
+    /**
+     * Sorts a range of elements from a source double array into the same range of a destination double array. Before the task runs, both arrays must contain the same elements in the range. The halves of the range are sorted in parallel from the destination array into the source array, and then merged back into the destination array in parallel.
+     */
+    static final class DoubleSortTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final double[] sourceArray;
+        private final double[] destinationArray;
+        private final int startIndex;
+        private final int endIndex;
+        private final int sequentialCutoff;
+
+        /**
+         * DoubleSortTask constructor.
+         * 
+         * @param sourceArray The array that the range of elements is merged from.
+         * @param destinationArray The array that the sorted range of elements is written into.
+         * @param startIndex The index specifying the start of the range of elements to sort. This index is inclusive.
+         * @param endIndex The index specifying the end of the range of elements to sort. This index is exclusive.
+         * @param sequentialCutoff The number of elements at or below which the range is sorted on the current thread.
+         */
+        DoubleSortTask(double[] sourceArray, double[] destinationArray, int startIndex, int endIndex,
+                int sequentialCutoff) {
+            this.sourceArray = sourceArray;
+            this.destinationArray = destinationArray;
+            this.startIndex = startIndex;
+            this.endIndex = endIndex;
+            this.sequentialCutoff = sequentialCutoff;
+        }
+
+        @Override
+        protected void compute() {
+            // Sort small ranges of elements with the sequential merge sort.
+            if ((endIndex - startIndex) <= sequentialCutoff) {
+                Sort.mergeSort(sourceArray, 0, destinationArray, 0, startIndex, (endIndex - 1));
+                return;
+            }
+
+            // Sort both halves of the range of elements from the destination array into the source array in parallel.
+            final int MIDDLE_INDEX = ((endIndex - startIndex) / 2) + startIndex;
+            invokeAll(new DoubleSortTask(destinationArray, sourceArray, startIndex, MIDDLE_INDEX, sequentialCutoff),
+                    new DoubleSortTask(destinationArray, sourceArray, MIDDLE_INDEX, endIndex, sequentialCutoff));
+
+            // Merge the sorted halves from the source array into the destination array in parallel.
+            new DoubleMergeTask(sourceArray, startIndex, MIDDLE_INDEX, MIDDLE_INDEX, endIndex, destinationArray,
+                    startIndex,
+                    sequentialCutoff).compute();
+        }
+    }
+
+    /**
+     * Stably merges two adjacent sorted runs of a source double array into a destination double array. Large merges are split in two by taking the middle element of the longer run and binary searching for its position in the shorter run, and both parts are merged in parallel.
+     */
+    static final class DoubleMergeTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final double[] sourceArray;
+        private final int startIndexForFirstRun;
+        private final int endIndexForFirstRun;
+        private final int startIndexForSecondRun;
+        private final int endIndexForSecondRun;
+        private final double[] destinationArray;
+        private final int destinationIndex;
+        private final int sequentialCutoff;
+
+        /**
+         * DoubleMergeTask constructor. Every end index is exclusive.
+         * 
+         * @param sourceArray The array that contains both sorted runs.
+         * @param startIndexForFirstRun The start index of the first run.
+         * @param endIndexForFirstRun The end index of the first run.
+         * @param startIndexForSecondRun The start index of the second run.
+         * @param endIndexForSecondRun The end index of the second run.
+         * @param destinationArray The array that the merged runs are written into.
+         * @param destinationIndex The index in the destination array that the merged runs are written to.
+         * @param sequentialCutoff The number of elements at or below which the runs are merged on the current thread.
+         */
+        DoubleMergeTask(double[] sourceArray, int startIndexForFirstRun, int endIndexForFirstRun,
+                int startIndexForSecondRun,
+                int endIndexForSecondRun, double[] destinationArray, int destinationIndex, int sequentialCutoff) {
+            this.sourceArray = sourceArray;
+            this.startIndexForFirstRun = startIndexForFirstRun;
+            this.endIndexForFirstRun = endIndexForFirstRun;
+            this.startIndexForSecondRun = startIndexForSecondRun;
+            this.endIndexForSecondRun = endIndexForSecondRun;
+            this.destinationArray = destinationArray;
+            this.destinationIndex = destinationIndex;
+            this.sequentialCutoff = sequentialCutoff;
+        }
+
+        @Override
+        protected void compute() {
+            final int LENGTH_OF_FIRST_RUN = endIndexForFirstRun - startIndexForFirstRun;
+            final int LENGTH_OF_SECOND_RUN = endIndexForSecondRun - startIndexForSecondRun;
+
+            // Merge small runs on the current thread. Two runs of one element each cannot be split any further, so they are always merged here, even with a sequential cutoff of one.
+            if ((LENGTH_OF_FIRST_RUN + LENGTH_OF_SECOND_RUN) <= Math.max(sequentialCutoff, 2)) {
+                int indexForFirstRun = startIndexForFirstRun;
+                int indexForSecondRun = startIndexForSecondRun;
+                int index = destinationIndex;
+                while ((indexForFirstRun < endIndexForFirstRun) && (indexForSecondRun < endIndexForSecondRun)) {
+                    if (Double.compare(sourceArray[indexForFirstRun], sourceArray[indexForSecondRun]) <= 0) {
+                        destinationArray[index++] = sourceArray[indexForFirstRun++];
+                    } else {
+                        destinationArray[index++] = sourceArray[indexForSecondRun++];
+                    }
+                }
+                System.arraycopy(sourceArray, indexForFirstRun, destinationArray, index,
+                        (endIndexForFirstRun - indexForFirstRun));
+                index += (endIndexForFirstRun - indexForFirstRun);
+                System.arraycopy(sourceArray, indexForSecondRun, destinationArray, index,
+                        (endIndexForSecondRun - indexForSecondRun));
+                return;
+            }
+
+            // Split both runs around the middle element of the longer run. Elements of the first run that are equal to the split element always stay on the left side of the split so the merge is stable.
+            int splitIndexForFirstRun;
+            int splitIndexForSecondRun;
+            if (LENGTH_OF_FIRST_RUN >= LENGTH_OF_SECOND_RUN) {
+                splitIndexForFirstRun = (LENGTH_OF_FIRST_RUN / 2) + startIndexForFirstRun;
+                // Find the first element of the second run that is not less than the split element.
+                int lowIndex = startIndexForSecondRun;
+                int highIndex = endIndexForSecondRun;
+                while (lowIndex < highIndex) {
+                    int middleIndex = (lowIndex + highIndex) >>> 1;
+                    if (Double.compare(sourceArray[middleIndex], sourceArray[splitIndexForFirstRun]) < 0) {
+                        lowIndex = middleIndex + 1;
+                    } else {
+                        highIndex = middleIndex;
+                    }
+                }
+                splitIndexForSecondRun = lowIndex;
+            } else {
+                splitIndexForSecondRun = (LENGTH_OF_SECOND_RUN / 2) + startIndexForSecondRun;
+                // Find the first element of the first run that is greater than the split element.
+                int lowIndex = startIndexForFirstRun;
+                int highIndex = endIndexForFirstRun;
+                while (lowIndex < highIndex) {
+                    int middleIndex = (lowIndex + highIndex) >>> 1;
+                    if (Double.compare(sourceArray[middleIndex], sourceArray[splitIndexForSecondRun]) <= 0) {
+                        lowIndex = middleIndex + 1;
+                    } else {
+                        highIndex = middleIndex;
+                    }
+                }
+                splitIndexForFirstRun = lowIndex;
+            }
+
+            // Merge the parts on each side of the split in parallel.
+            final int DESTINATION_INDEX_FOR_RIGHT_SIDE = destinationIndex
+                    + (splitIndexForFirstRun - startIndexForFirstRun)
+                    + (splitIndexForSecondRun - startIndexForSecondRun);
+            invokeAll(new DoubleMergeTask(sourceArray, startIndexForFirstRun, splitIndexForFirstRun,
+                    startIndexForSecondRun,
+                    splitIndexForSecondRun, destinationArray, destinationIndex, sequentialCutoff),
+                    new DoubleMergeTask(sourceArray, splitIndexForFirstRun, endIndexForFirstRun, splitIndexForSecondRun,
+                            endIndexForSecondRun, destinationArray, DESTINATION_INDEX_FOR_RIGHT_SIDE,
+                                    sequentialCutoff));
+        }
+    }
+
+    /**
+     * Sorts a range of elements from a source float array into the same range of a destination float array. Before the task runs, both arrays must contain the same elements in the range. The halves of the range are sorted in parallel from the destination array into the source array, and then merged back into the destination array in parallel.
+     */
+    static final class FloatSortTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final float[] sourceArray;
+        private final float[] destinationArray;
+        private final int startIndex;
+        private final int endIndex;
+        private final int sequentialCutoff;
+
+        /**
+         * FloatSortTask constructor.
+         * 
+         * @param sourceArray The array that the range of elements is merged from.
+         * @param destinationArray The array that the sorted range of elements is written into.
+         * @param startIndex The index specifying the start of the range of elements to sort. This index is inclusive.
+         * @param endIndex The index specifying the end of the range of elements to sort. This index is exclusive.
+         * @param sequentialCutoff The number of elements at or below which the range is sorted on the current thread.
+         */
+        FloatSortTask(float[] sourceArray, float[] destinationArray, int startIndex, int endIndex,
+                int sequentialCutoff) {
+            this.sourceArray = sourceArray;
+            this.destinationArray = destinationArray;
+            this.startIndex = startIndex;
+            this.endIndex = endIndex;
+            this.sequentialCutoff = sequentialCutoff;
+        }
+
+        @Override
+        protected void compute() {
+            // Sort small ranges of elements with the sequential merge sort.
+            if ((endIndex - startIndex) <= sequentialCutoff) {
+                Sort.mergeSort(sourceArray, 0, destinationArray, 0, startIndex, (endIndex - 1));
+                return;
+            }
+
+            // Sort both halves of the range of elements from the destination array into the source array in parallel.
+            final int MIDDLE_INDEX = ((endIndex - startIndex) / 2) + startIndex;
+            invokeAll(new FloatSortTask(destinationArray, sourceArray, startIndex, MIDDLE_INDEX, sequentialCutoff),
+                    new FloatSortTask(destinationArray, sourceArray, MIDDLE_INDEX, endIndex, sequentialCutoff));
+
+            // Merge the sorted halves from the source array into the destination array in parallel.
+            new FloatMergeTask(sourceArray, startIndex, MIDDLE_INDEX, MIDDLE_INDEX, endIndex, destinationArray,
+                    startIndex,
+                    sequentialCutoff).compute();
+        }
+    }
+
+    /**
+     * Stably merges two adjacent sorted runs of a source float array into a destination float array. Large merges are split in two by taking the middle element of the longer run and binary searching for its position in the shorter run, and both parts are merged in parallel.
+     */
+    static final class FloatMergeTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final float[] sourceArray;
+        private final int startIndexForFirstRun;
+        private final int endIndexForFirstRun;
+        private final int startIndexForSecondRun;
+        private final int endIndexForSecondRun;
+        private final float[] destinationArray;
+        private final int destinationIndex;
+        private final int sequentialCutoff;
+
+        /**
+         * FloatMergeTask constructor. Every end index is exclusive.
+         * 
+         * @param sourceArray The array that contains both sorted runs.
+         * @param startIndexForFirstRun The start index of the first run.
+         * @param endIndexForFirstRun The end index of the first run.
+         * @param startIndexForSecondRun The start index of the second run.
+         * @param endIndexForSecondRun The end index of the second run.
+         * @param destinationArray The array that the merged runs are written into.
+         * @param destinationIndex The index in the destination array that the merged runs are written to.
+         * @param sequentialCutoff The number of elements at or below which the runs are merged on the current thread.
+         */
+        FloatMergeTask(float[] sourceArray, int startIndexForFirstRun, int endIndexForFirstRun,
+                int startIndexForSecondRun,
+                int endIndexForSecondRun, float[] destinationArray, int destinationIndex, int sequentialCutoff) {
+            this.sourceArray = sourceArray;
+            this.startIndexForFirstRun = startIndexForFirstRun;
+            this.endIndexForFirstRun = endIndexForFirstRun;
+            this.startIndexForSecondRun = startIndexForSecondRun;
+            this.endIndexForSecondRun = endIndexForSecondRun;
+            this.destinationArray = destinationArray;
+            this.destinationIndex = destinationIndex;
+            this.sequentialCutoff = sequentialCutoff;
+        }
+
+        @Override
+        protected void compute() {
+            final int LENGTH_OF_FIRST_RUN = endIndexForFirstRun - startIndexForFirstRun;
+            final int LENGTH_OF_SECOND_RUN = endIndexForSecondRun - startIndexForSecondRun;
+
+            // Merge small runs on the current thread. Two runs of one element each cannot be split any further, so they are always merged here, even with a sequential cutoff of one.
+            if ((LENGTH_OF_FIRST_RUN + LENGTH_OF_SECOND_RUN) <= Math.max(sequentialCutoff, 2)) {
+                int indexForFirstRun = startIndexForFirstRun;
+                int indexForSecondRun = startIndexForSecondRun;
+                int index = destinationIndex;
+                while ((indexForFirstRun < endIndexForFirstRun) && (indexForSecondRun < endIndexForSecondRun)) {
+                    if (Float.compare(sourceArray[indexForFirstRun], sourceArray[indexForSecondRun]) <= 0) {
+                        destinationArray[index++] = sourceArray[indexForFirstRun++];
+                    } else {
+                        destinationArray[index++] = sourceArray[indexForSecondRun++];
+                    }
+                }
+                System.arraycopy(sourceArray, indexForFirstRun, destinationArray, index,
+                        (endIndexForFirstRun - indexForFirstRun));
+                index += (endIndexForFirstRun - indexForFirstRun);
+                System.arraycopy(sourceArray, indexForSecondRun, destinationArray, index,
+                        (endIndexForSecondRun - indexForSecondRun));
+                return;
+            }
+
+            // Split both runs around the middle element of the longer run. Elements of the first run that are equal to the split element always stay on the left side of the split so the merge is stable.
+            int splitIndexForFirstRun;
+            int splitIndexForSecondRun;
+            if (LENGTH_OF_FIRST_RUN >= LENGTH_OF_SECOND_RUN) {
+                splitIndexForFirstRun = (LENGTH_OF_FIRST_RUN / 2) + startIndexForFirstRun;
+                // Find the first element of the second run that is not less than the split element.
+                int lowIndex = startIndexForSecondRun;
+                int highIndex = endIndexForSecondRun;
+                while (lowIndex < highIndex) {
+                    int middleIndex = (lowIndex + highIndex) >>> 1;
+                    if (Float.compare(sourceArray[middleIndex], sourceArray[splitIndexForFirstRun]) < 0) {
+                        lowIndex = middleIndex + 1;
+                    } else {
+                        highIndex = middleIndex;
+                    }
+                }
+                splitIndexForSecondRun = lowIndex;
+            } else {
+                splitIndexForSecondRun = (LENGTH_OF_SECOND_RUN / 2) + startIndexForSecondRun;
+                // Find the first element of the first run that is greater than the split element.
+                int lowIndex = startIndexForFirstRun;
+                int highIndex = endIndexForFirstRun;
+                while (lowIndex < highIndex) {
+                    int middleIndex = (lowIndex + highIndex) >>> 1;
+                    if (Float.compare(sourceArray[middleIndex], sourceArray[splitIndexForSecondRun]) <= 0) {
+                        lowIndex = middleIndex + 1;
+                    } else {
+                        highIndex = middleIndex;
+                    }
+                }
+                splitIndexForFirstRun = lowIndex;
+            }
+
+            // Merge the parts on each side of the split in parallel.
+            final int DESTINATION_INDEX_FOR_RIGHT_SIDE = destinationIndex
+                    + (splitIndexForFirstRun - startIndexForFirstRun)
+                    + (splitIndexForSecondRun - startIndexForSecondRun);
+            invokeAll(new FloatMergeTask(sourceArray, startIndexForFirstRun, splitIndexForFirstRun,
+                    startIndexForSecondRun,
+                    splitIndexForSecondRun, destinationArray, destinationIndex, sequentialCutoff),
+                    new FloatMergeTask(sourceArray, splitIndexForFirstRun, endIndexForFirstRun, splitIndexForSecondRun,
+                            endIndexForSecondRun, destinationArray, DESTINATION_INDEX_FOR_RIGHT_SIDE,
+                                    sequentialCutoff));
+        }
+    }
+}
@@ -0,0 +1,543 @@
+package sort;
+
+import java.util.List;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+
+/**
+ * This class contains radix sorting methods for primitive arrays and for lists that are sorted by a primitive key. Radix sorts never compare two elements. They distribute the elements into buckets one digit at a time, so they sort in linear time for a fixed key width.
+ * 
+ * The least significant digit (LSD) sorts use 8-bit digits for int keys and 11-bit digits for long keys. The histograms of every digit are counted in a single pass before any element is moved, and a digit is skipped when every element has the same value in it, so keys from a small range such as [0, 100) only need a single pass. Signed keys are handled by flipping the sign bit of the most significant digit, and float and double keys are converted into ints and longs whose signed order matches {@link Float#compare(float, float)} and {@link Double#compare(double, double)}. The most significant digit (MSD) sort works in-place and is intended for wide keys that differ in their high bits.
+ * 
+ * @author Jaskaran Singh
+ */
+public class RadixSort {
+    // The number of bits in each digit of an int key, the number of digits in an int key, and the number of buckets for each digit.
+    private static final int INT_DIGIT_BITS = 8;
+    private static final int INT_NUMBER_OF_DIGITS = 4;
+    private static final int INT_RADIX = 1 << INT_DIGIT_BITS;
+
+    // The number of bits in each digit of a long key, the number of digits in a long key, and the number of buckets for each digit. The last digit only has 9 bits.
+    private static final int LONG_DIGIT_BITS = 11;
+    private static final int LONG_NUMBER_OF_DIGITS = 6;
+    private static final int LONG_RADIX = 1 << LONG_DIGIT_BITS;
+
+    // The number of bits in each digit of the MSD sort and the number of buckets for each digit.
+    private static final int MSD_DIGIT_BITS = 8;
+    private static final int MSD_RADIX = 1 << MSD_DIGIT_BITS;
+
+    // Buckets of the MSD sort that are shorter than this threshold are sorted with insertion sort.
+    private static final int MSD_INSERTION_SORT_THRESHOLD = 32;
+
+    /**
+     * Sorts the inputted int array in-place in ascending order with an LSD radix sort.
+     * 
+     * @param array The int array to sort.
+     * @throws NullPointerException
+     */
+    public static void radixSort(int[] array) throws NullPointerException {
+        radixSort(array, 0, (array.length - 1));
+    }
+
+    /**
+     * Sorts the elements in the inputted int array between the start index (inclusive) and the end index (inclusive) in-place in ascending order with an LSD radix sort.
+     * 
+     * @param array The int array to sort.
+     * @param startIndex The index specifying the start of the range of elements to sort in the array. This index is inclusive.
+     * @param endIndex The index specifying the end of the range of elements to sort in the array. This index is inclusive.
+     * @throws IndexOutOfBoundsException If the range of elements is not inside the array.
+     * @throws NullPointerException
+     */
+    public static void radixSort(int[] array, int startIndex, int endIndex)
+            throws IndexOutOfBoundsException, NullPointerException {
+        if (startIndex >= endIndex) {
+            return;
+        }
+        checkRange(array.length, startIndex, endIndex);
+        lsdRadixSort(array, startIndex, (endIndex + 1), new int[endIndex - startIndex + 1]);
+    }
+
+    /**
+     * Sorts the inputted long array in-place in ascending order with an LSD radix sort.
+     * 
+     * @param array The long array to sort.
+     * @throws NullPointerException
+     */
+    public static void radixSort(long[] array) throws NullPointerException {
+        radixSort(array, 0, (array.length - 1));
+    }
+
+    /**
+     * Sorts the elements in the inputted long array between the start index (inclusive) and the end index (inclusive) in-place in ascending order with an LSD radix sort.
+     * 
+     * @param array The long array to sort.
+     * @param startIndex The index specifying the start of the range of elements to sort in the array. This index is inclusive.
+     * @param endIndex The index specifying the end of the range of elements to sort in the array. This index is inclusive.
+     * @throws IndexOutOfBoundsException If the range of elements is not inside the array.
+     * @throws NullPointerException
+     */
+    public static void radixSort(long[] array, int startIndex, int endIndex)
+            throws IndexOutOfBoundsException, NullPointerException {
+        if (startIndex >= endIndex) {
+            return;
+        }
+        checkRange(array.length, startIndex, endIndex);
+        lsdRadixSort(array, startIndex, (endIndex + 1), new long[endIndex - startIndex + 1], null, null);
+    }
+
+    /**
+     * Sorts the inputted float array in-place in ascending order with an LSD radix sort. The elements are ordered the same way {@link Float#compareTo(Float)} orders them, so -0.0 comes before 0.0 and NaN comes after every other value. Every NaN is replaced with the canonical NaN.
+     * 
+     * @param array The float array to sort.
+     * @throws NullPointerException
+     */
+    public static void radixSort(float[] array) throws NullPointerException {
+        radixSort(array, 0, (array.length - 1));
+    }
+
+    /**
+     * Sorts the elements in the inputted float array between the start index (inclusive) and the end index (inclusive) in-place in ascending order with an LSD radix sort. The elements are ordered the same way {@link Float#compareTo(Float)} orders them. Every NaN is replaced with the canonical NaN.
+     * 
+     * @param array The float array to sort.
+     * @param startIndex The index specifying the start of the range of elements to sort in the array. This index is inclusive.
+     * @param endIndex The index specifying the end of the range of elements to sort in the array. This index is inclusive.
+     * @throws IndexOutOfBoundsException If the range of elements is not inside the array.
+     * @throws NullPointerException
+     */
+    public static void radixSort(float[] array, int startIndex, int endIndex)
+            throws IndexOutOfBoundsException, NullPointerException {
+        if (startIndex >= endIndex) {
+            return;
+        }
+        checkRange(array.length, startIndex, endIndex);
+
+        // Convert the floats into sortable int keys, sort the keys and convert them back.
+        final int NUMBER_OF_ELEMENTS = endIndex - startIndex + 1;
+        int[] keys = new int[NUMBER_OF_ELEMENTS];
+        for (int i = 0; i < NUMBER_OF_ELEMENTS; i++) {
+            keys[i] = Sort.toSortableInt(array[startIndex + i]);
+        }
+        lsdRadixSort(keys, 0, NUMBER_OF_ELEMENTS, new int[NUMBER_OF_ELEMENTS]);
+        for (int i = 0; i < NUMBER_OF_ELEMENTS; i++) {
+            array[startIndex + i] = Sort.fromSortableInt(keys[i]);
+        }
+    }
+
+    /**
+     * Sorts the inputted double array in-place in ascending order with an LSD radix sort. The elements are ordered the same way {@link Double#compareTo(Double)} orders them, so -0.0 comes before 0.0 and NaN comes after every other value. Every NaN is replaced with the canonical NaN.
+     * 
+     * @param array The double array to sort.
+     * @throws NullPointerException
+     */
+    public static void radixSort(double[] array) throws NullPointerException {
+        radixSort(array, 0, (array.length - 1));
+    }
+
+    /**
+     * Sorts the elements in the inputted double array between the start index (inclusive) and the end index (inclusive) in-place in ascending order with an LSD radix sort. The elements are ordered the same way {@link Double#compareTo(Double)} orders them. Every NaN is replaced with the canonical NaN.
+     * 
+     * @param array The double array to sort.
+     * @param startIndex The index specifying the start of the range of elements to sort in the array. This index is inclusive.
+     * @param endIndex The index specifying the end of the range of elements to sort in the array. This index is inclusive.
+     * @throws IndexOutOfBoundsException If the range of elements is not inside the array.
+     * @throws NullPointerException
+     */
+    public static void radixSort(double[] array, int startIndex, int endIndex)
+            throws IndexOutOfBoundsException, NullPointerException {
+        if (startIndex >= endIndex) {
+            return;
+        }
+        checkRange(array.length, startIndex, endIndex);
+
+        // Convert the doubles into sortable long keys, sort the keys and convert them back.
+        final int NUMBER_OF_ELEMENTS = endIndex - startIndex + 1;
+        long[] keys = new long[NUMBER_OF_ELEMENTS];
+        for (int i = 0; i < NUMBER_OF_ELEMENTS; i++) {
+            keys[i] = Sort.toSortableLong(array[startIndex + i]);
+        }
+        lsdRadixSort(keys, 0, NUMBER_OF_ELEMENTS, new long[NUMBER_OF_ELEMENTS], null, null);
+        for (int i = 0; i < NUMBER_OF_ELEMENTS; i++) {
+            array[startIndex + i] = Sort.fromSortableLong(keys[i]);
+        }
+    }
+
+    /**
+     * Sorts the inputted long array in-place in ascending order with an in-place MSD radix sort. The elements are distributed into buckets by their most significant 8 bits, and each bucket is sorted by the next 8 bits, so keys that differ in their high bits are finished after a few levels. Levels where every element of a bucket has the same digit are skipped and small buckets are sorted with insertion sort. Apart from the bucket counts, no extra memory is used.
+     * 
+     * @param array The long array to sort.
+     * @throws NullPointerException
+     */
+    public static void msdRadixSort(long[] array) throws NullPointerException {
+        msdRadixSort(array, 0, array.length, (Long.SIZE - MSD_DIGIT_BITS));
+    }
+
+    /**
+     * Sorts the inputted double array in-place in ascending order with an in-place MSD radix sort. The elements are ordered the same way {@link Double#compareTo(Double)} orders them. Every NaN is replaced with the canonical NaN.
+     * 
+     * @param array The double array to sort.
+     * @throws NullPointerException
+     */
+    public static void msdRadixSort(double[] array) throws NullPointerException {
+        // Convert the doubles into sortable long keys, sort the keys and convert them back.
+        long[] keys = new long[array.length];
+        for (int i = 0; i < array.length; i++) {
+            keys[i] = Sort.toSortableLong(array[i]);
+        }
+        msdRadixSort(keys);
+        for (int i = 0; i < array.length; i++) {
+            array[i] = Sort.fromSortableLong(keys[i]);
+        }
+    }
+
+    /**
+     * Sorts the elements in the inputted list by the int key that the specified key extractor returns for each element, with an LSD radix sort. The list is sorted in-place in ascending order of the keys. The sort is stable, so elements with equal keys keep their relative order. The key extractor is called exactly once per element.
+     * 
+     * @param list The list to sort.
+     * @param keyExtractor The function that returns the key of an element.
+     * @throws NullPointerException
+     */
+    public static <E> void radixSortByIntKey(List<E> list, ToIntFunction<? super E> keyExtractor)
+            throws NullPointerException {
+        // Extract the key of every element once.
+        Object[] elements = list.toArray();
+        long[] keys = new long[elements.length];
+        for (int i = 0; i < elements.length; i++) {
+            @SuppressWarnings("unchecked")
+            E element = (E) elements[i];
+            keys[i] = keyExtractor.applyAsInt(element);
+        }
+
+        // Sort the elements by their keys.
+        radixSortByKeys(list, keys, elements);
+    }
+
+    /**
+     * Sorts the elements in the inputted list by the long key that the specified key extractor returns for each element, with an LSD radix sort. The list is sorted in-place in ascending order of the keys. The sort is stable, so elements with equal keys keep their relative order. The key extractor is called exactly once per element.
+     * 
+     * @param list The list to sort.
+     * @param keyExtractor The function that returns the key of an element.
+     * @throws NullPointerException
+     */
+    public static <E> void radixSortByLongKey(List<E> list, ToLongFunction<? super E> keyExtractor)
+            throws NullPointerException {
+        // Extract the key of every element once.
+        Object[] elements = list.toArray();
+        long[] keys = new long[elements.length];
+        for (int i = 0; i < elements.length; i++) {
+            @SuppressWarnings("unchecked")
+            E element = (E) elements[i];
+            keys[i] = keyExtractor.applyAsLong(element);
+        }
+
+        // Sort the elements by their keys.
+        radixSortByKeys(list, keys, elements);
+    }
+
+    /**
+     * Sorts the elements in the inputted list by the double key that the specified key extractor returns for each element, with an LSD radix sort. The list is sorted in-place in ascending order of the keys, with the keys ordered the same way {@link Double#compareTo(Double)} orders them. The sort is stable, so elements with equal keys keep their relative order. The key extractor is called exactly once per element.
+     * 
+     * @param list The list to sort.
+     * @param keyExtractor The function that returns the key of an element.
+     * @throws NullPointerException
+     */
+    public static <E> void radixSortByDoubleKey(List<E> list, ToDoubleFunction<? super E> keyExtractor)
+            throws NullPointerException {
+        // Extract the key of every element once and convert it into a long that orders the same way the double does.
+        Object[] elements = list.toArray();
+        long[] keys = new long[elements.length];
+        for (int i = 0; i < elements.length; i++) {
+            @SuppressWarnings("unchecked")
+            E element = (E) elements[i];
+            keys[i] = Sort.toSortableLong(keyExtractor.applyAsDouble(element));
+        }
+
+        // Sort the elements by their keys.
+        radixSortByKeys(list, keys, elements);
+    }
+
+    /**
+     * Sorts the specified elements by the specified keys with a stable LSD radix sort and writes them back into the list.
+     * 
+     * @param list The list that the sorted elements are written into.
+     * @param keys The keys of the elements.
+     * @param elements The elements of the list, in the same order as the keys.
+     */
+    static <E> void radixSortByKeys(List<E> list, long[] keys, Object[] elements) {
+        if (elements.length <= 1) {
+            return;
+        }
+        lsdRadixSort(keys, 0, keys.length, new long[keys.length], elements, new Object[elements.length]);
+        Sort.writeArrayToList(elements, 0, list, 0, elements.length);
+    }
+
+    /**
+     * Throws an IndexOutOfBoundsException if the range of elements between the start index (inclusive) and the end index (inclusive) is not inside an array of the specified length.
+     * 
+     * @param arrayLength The length of the array.
+     * @param startIndex The index specifying the start of the range of elements. This index is inclusive.
+     * @param endIndex The index specifying the end of the range of elements. This index is inclusive.
+     * @throws IndexOutOfBoundsException If the range of elements is not inside the array.
+     */
+    private static void checkRange(int arrayLength, int startIndex, int endIndex) throws IndexOutOfBoundsException {
+        if ((startIndex < 0) || (endIndex >= arrayLength)) {
+            throw new IndexOutOfBoundsException();
+        }
+    }
+
+    /**
+     * Returns the digit of the specified int key at the specified digit position. The sign bit of the most significant digit is flipped so that negative keys come before positive keys.
+     * 
+     * @param key The key.
+     * @param digitIndex The position of the digit, starting with zero for the least significant digit.
+     * @return Returns the digit.
+     */
+    private static int intDigit(int key, int digitIndex) {
+        int digit = (key >>> (digitIndex * INT_DIGIT_BITS)) & (INT_RADIX - 1);
+        return (digitIndex == (INT_NUMBER_OF_DIGITS - 1)) ? (digit ^ (INT_RADIX >>> 1)) : digit;
+    }
+
+    /**
+     * Returns the digit of the specified long key at the specified digit position. The sign bit of the most significant digit is flipped so that negative keys come before positive keys.
+     * 
+     * @param key The key.
+     * @param digitIndex The position of the digit, starting with zero for the least significant digit.
+     * @return Returns the digit.
+     */
+    private static int longDigit(long key, int digitIndex) {
+        final int SHIFT = digitIndex * LONG_DIGIT_BITS;
+        if (digitIndex == (LONG_NUMBER_OF_DIGITS - 1)) {
+            // The most significant digit holds the remaining bits, including the sign bit.
+            return (int) ((key >>> SHIFT) ^ (1L << (Long.SIZE - SHIFT - 1)));
+        }
+        return (int) ((key >>> SHIFT) & (LONG_RADIX - 1));
+    }
+
+    /**
+     * Sorts the int keys between the start index (inclusive) and the end index (exclusive) with an LSD radix sort. The keys are moved back and forth between the array and the buffer, and copied back into the array at the end if the last pass left them in the buffer.
+     * 
+     * @param array The array that contains the keys.
+     * @param startIndex The index specifying the start of the range of keys to sort. This index is inclusive.
+     * @param endIndex The index specifying the end of the range of keys to sort. This index is exclusive.
+     * @param buffer The buffer that the keys are distributed into. It must be at least as long as the range of keys.
+     */
+    static void lsdRadixSort(int[] array, int startIndex, int endIndex, int[] buffer) {
+        final int NUMBER_OF_ELEMENTS = endIndex - startIndex;
+
+        // Count the histogram of every digit in a single pass.
+        int[][] digitCounts = new int[INT_NUMBER_OF_DIGITS][INT_RADIX];
+        for (int i = startIndex; i < endIndex; i++) {
+            int key = array[i];
+            for (int digitIndex = 0; digitIndex < INT_NUMBER_OF_DIGITS; digitIndex++) {
+                digitCounts[digitIndex][intDigit(key, digitIndex)]++;
+            }
+        }
+
+        int[] sourceArray = array;
+        int sourceOffset = startIndex;
+        int[] destinationArray = buffer;
+        int destinationOffset = 0;
+        for (int digitIndex = 0; digitIndex < INT_NUMBER_OF_DIGITS; digitIndex++) {
+            // Skip the digit if every key has the same value in it.
+            int[] counts = digitCounts[digitIndex];
+            if (counts[intDigit(sourceArray[sourceOffset], digitIndex)] == NUMBER_OF_ELEMENTS) {
+                continue;
+            }
+
+            // Turn the counts into the start position of each bucket.
+            int bucketStartIndex = 0;
+            for (int bucket = 0; bucket < INT_RADIX; bucket++) {
+                int count = counts[bucket];
+                counts[bucket] = bucketStartIndex;
+                bucketStartIndex += count;
+            }
+
+            // Distribute the keys into their buckets, keeping keys in the same bucket in their current order.
+            for (int i = 0; i < NUMBER_OF_ELEMENTS; i++) {
+                int key = sourceArray[sourceOffset + i];
+                destinationArray[destinationOffset + counts[intDigit(key, digitIndex)]++] = key;
+            }
+
+            // The destination holds the keys for the next pass.
+            int[] previousSourceArray = sourceArray;
+            int previousSourceOffset = sourceOffset;
+            sourceArray = destinationArray;
+            sourceOffset = destinationOffset;
+            destinationArray = previousSourceArray;
+            destinationOffset = previousSourceOffset;
+        }
+
+        // Copy the keys back into the array if the last pass left them in the buffer.
+        if (sourceArray != array) {
+            System.arraycopy(sourceArray, sourceOffset, array, startIndex, NUMBER_OF_ELEMENTS);
+        }
+    }
+
+    /**
+     * Sorts the long keys between the start index (inclusive) and the end index (exclusive) with an LSD radix sort. If elements are given, they travel with their keys and end up in the same order as the keys, which makes this a stable sort of the elements by their keys. The elements array and its buffer must then be indexed the same way as the keys array and its buffer.
+     * 
+     * @param array The array that contains the keys.
+     * @param startIndex The index specifying the start of the range of keys to sort. This index is inclusive.
+     * @param endIndex The index specifying the end of the range of keys to sort. This index is exclusive.
+     * @param buffer The buffer that the keys are distributed into. It must be at least as long as the range of keys.
+     * @param elements The elements that belong to the keys, or null if there are no elements.
+     * @param elementBuffer The buffer that the elements are distributed into, or null if there are no elements.
+     */
+    static void lsdRadixSort(long[] array, int startIndex, int endIndex, long[] buffer, Object[] elements,
+            Object[] elementBuffer) {
+        final int NUMBER_OF_ELEMENTS = endIndex - startIndex;
+
+        // Count the histogram of every digit in a single pass.
+        int[][] digitCounts = new int[LONG_NUMBER_OF_DIGITS][LONG_RADIX];
+        for (int i = startIndex; i < endIndex; i++) {
+            long key = array[i];
+            for (int digitIndex = 0; digitIndex < LONG_NUMBER_OF_DIGITS; digitIndex++) {
+                digitCounts[digitIndex][longDigit(key, digitIndex)]++;
+            }
+        }
+
+        long[] sourceArray = array;
+        Object[] sourceElements = elements;
+        int sourceOffset = startIndex;
+        long[] destinationArray = buffer;
+        Object[] destinationElements = elementBuffer;
+        int destinationOffset = 0;
+        for (int digitIndex = 0; digitIndex < LONG_NUMBER_OF_DIGITS; digitIndex++) {
+            // Skip the digit if every key has the same value in it.
+            int[] counts = digitCounts[digitIndex];
+            if (counts[longDigit(sourceArray[sourceOffset], digitIndex)] == NUMBER_OF_ELEMENTS) {
+                continue;
+            }
+
+            // Turn the counts into the start position of each bucket.
+            int bucketStartIndex = 0;
+            for (int bucket = 0; bucket < LONG_RADIX; bucket++) {
+                int count = counts[bucket];
+                counts[bucket] = bucketStartIndex;
+                bucketStartIndex += count;
+            }
+
+            // Distribute the keys, and their elements, into their buckets, keeping keys in the same bucket in their current order.
+            if (elements == null) {
+                for (int i = 0; i < NUMBER_OF_ELEMENTS; i++) {
+                    long key = sourceArray[sourceOffset + i];
+                    destinationArray[destinationOffset + counts[longDigit(key, digitIndex)]++] = key;
+                }
+            } else {
+                for (int i = 0; i < NUMBER_OF_ELEMENTS; i++) {
+                    long key = sourceArray[sourceOffset + i];
+                    int destinationIndex = destinationOffset + counts[longDigit(key, digitIndex)]++;
+                    destinationArray[destinationIndex] = key;
+                    destinationElements[destinationIndex] = sourceElements[sourceOffset + i];
+                }
+            }
+
+            // The destination holds the keys for the next pass.
+            long[] previousSourceArray = sourceArray;
+            Object[] previousSourceElements = sourceElements;
+            int previousSourceOffset = sourceOffset;
+            sourceArray = destinationArray;
+            sourceElements = destinationElements;
+            sourceOffset = destinationOffset;
+            destinationArray = previousSourceArray;
+            destinationElements = previousSourceElements;
+            destinationOffset = previousSourceOffset;
+        }
+
+        // Copy the keys, and their elements, back into the arrays if the last pass left them in the buffers.
+        if (sourceArray != array) {
+            System.arraycopy(sourceArray, sourceOffset, array, startIndex, NUMBER_OF_ELEMENTS);
+            if (elements != null) {
+                System.arraycopy(sourceElements, sourceOffset, elements, startIndex, NUMBER_OF_ELEMENTS);
+            }
+        }
+    }
+
+    /**
+     * Sorts the long keys between the start index (inclusive) and the end index (exclusive) with an in-place MSD radix sort (American flag sort), starting with the digit at the specified shift.
+     * 
+     * @param array The array that contains the keys.
+     * @param startIndex The index specifying the start of the range of keys to sort. This index is inclusive.
+     * @param endIndex The index specifying the end of the range of keys to sort. This index is exclusive.
+     * @param shift The number of bits to the right of the digit that the keys are distributed by.
+     */
+    private static void msdRadixSort(long[] array, int startIndex, int endIndex, int shift) {
+        // Sort small ranges of keys with insertion sort.
+        if ((endIndex - startIndex) < MSD_INSERTION_SORT_THRESHOLD) {
+            for (int i = startIndex + 1; i < endIndex; i++) {
+                long keyToInsert = array[i];
+                int j = i - 1;
+                while ((j >= startIndex) && (array[j] > keyToInsert)) {
+                    array[j + 1] = array[j];
+                    j--;
+                }
+                array[j + 1] = keyToInsert;
+            }
+            return;
+        }
+
+        // Move on to the next digit while every key has the same value in the current digit.
+        int[] counts = new int[MSD_RADIX];
+        while (true) {
+            for (int i = startIndex; i < endIndex; i++) {
+                counts[msdDigit(array[i], shift)]++;
+            }
+            if (counts[msdDigit(array[startIndex], shift)] != (endIndex - startIndex)) {
+                break;
+            }
+            if (shift == 0) {
+                // Every key is equal.
+                return;
+            }
+            counts[msdDigit(array[startIndex], shift)] = 0;
+            shift -= MSD_DIGIT_BITS;
+        }
+
+        // Find the start and end position of each bucket.
+        int[] nextIndices = new int[MSD_RADIX];
+        int[] bucketEndIndices = new int[MSD_RADIX];
+        int bucketStartIndex = startIndex;
+        for (int bucket = 0; bucket < MSD_RADIX; bucket++) {
+            nextIndices[bucket] = bucketStartIndex;
+            bucketStartIndex += counts[bucket];
+            bucketEndIndices[bucket] = bucketStartIndex;
+        }
+
+        // Move every key into its bucket by following cycles of displaced keys.
+        for (int bucket = 0; bucket < MSD_RADIX; bucket++) {
+            while (nextIndices[bucket] < bucketEndIndices[bucket]) {
+                long key = array[nextIndices[bucket]];
+                int digit = msdDigit(key, shift);
+                while (digit != bucket) {
+                    long displacedKey = array[nextIndices[digit]];
+                    array[nextIndices[digit]++] = key;
+                    key = displacedKey;
+                    digit = msdDigit(key, shift);
+                }
+                array[nextIndices[bucket]++] = key;
+            }
+        }
+
+        // Sort each bucket by the next digit.
+        if (shift > 0) {
+            bucketStartIndex = startIndex;
+            for (int bucket = 0; bucket < MSD_RADIX; bucket++) {
+                if ((bucketEndIndices[bucket] - bucketStartIndex) > 1) {
+                    msdRadixSort(array, bucketStartIndex, bucketEndIndices[bucket], (shift - MSD_DIGIT_BITS));
+                }
+                bucketStartIndex = bucketEndIndices[bucket];
+            }
+        }
+    }
+
+    /**
+     * Returns the 8-bit digit of the specified long key at the specified shift, with the sign bit flipped so that negative keys come before positive keys.
+     * 
+     * @param key The key.
+     * @param shift The number of bits to the right of the digit.
+     * @return Returns the digit.
+     */
+    private static int msdDigit(long key, int shift) {
+        return (int) (((key ^ Long.MIN_VALUE) >>> shift) & (MSD_RADIX - 1));
+    }
+}
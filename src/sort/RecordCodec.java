@@ -0,0 +1,115 @@
+package sort;
+
+import java.nio.ByteBuffer;
+
+/**
+ * This interface converts records to and from a compact fixed-width binary form. The external sorts use it to spill sorted runs to files and read them back. Every record takes exactly {@link #getRecordSizeInBytes()} bytes, so a file of records can be read in large blocks without any framing.
+ * 
+ * @author Jaskaran Singh
+ * @param <E> The type of the records.
+ */
+public interface RecordCodec<E> {
+    // A codec for longs, which are stored as 8 big-endian bytes.
+    RecordCodec<Long> LONG = new RecordCodec<Long>() {
+        @Override
+        public int getRecordSizeInBytes() {
+            return Long.BYTES;
+        }
+
+        @Override
+        public void write(Long record, ByteBuffer buffer) {
+            buffer.putLong(record);
+        }
+
+        @Override
+        public Long read(ByteBuffer buffer) {
+            return buffer.getLong();
+        }
+    };
+
+    // A codec for integers, which are stored as 4 big-endian bytes.
+    RecordCodec<Integer> INTEGER = new RecordCodec<Integer>() {
+        @Override
+        public int getRecordSizeInBytes() {
+            return Integer.BYTES;
+        }
+
+        @Override
+        public void write(Integer record, ByteBuffer buffer) {
+            buffer.putInt(record);
+        }
+
+        @Override
+        public Integer read(ByteBuffer buffer) {
+            return buffer.getInt();
+        }
+    };
+
+    // A codec for doubles, which are stored as their 8 big-endian IEEE 754 bytes.
+    RecordCodec<Double> DOUBLE = new RecordCodec<Double>() {
+        @Override
+        public int getRecordSizeInBytes() {
+            return Double.BYTES;
+        }
+
+        @Override
+        public void write(Double record, ByteBuffer buffer) {
+            buffer.putDouble(record);
+        }
+
+        @Override
+        public Double read(ByteBuffer buffer) {
+            return buffer.getDouble();
+        }
+    };
+
+    // A codec for floats, which are stored as their 4 big-endian IEEE 754 bytes.
+    RecordCodec<Float> FLOAT = new RecordCodec<Float>() {
+        @Override
+        public int getRecordSizeInBytes() {
+            return Float.BYTES;
+        }
+
+        @Override
+        public void write(Float record, ByteBuffer buffer) {
+            buffer.putFloat(record);
+        }
+
+        @Override
+        public Float read(ByteBuffer buffer) {
+            return buffer.getFloat();
+        }
+    };
+
+    /**
+     * Returns the number of bytes that every record takes in its binary form.
+     * 
+     * @return Returns the number of bytes per record.
+     */
+    int getRecordSizeInBytes();
+
+    /**
+     * Writes the binary form of the specified record at the position of the specified buffer and advances the position by {@link #getRecordSizeInBytes()} bytes.
+     * 
+     * @param record The record to write.
+     * @param buffer The buffer to write the record into. It has at least {@link #getRecordSizeInBytes()} bytes remaining.
+     */
+    void write(E record, ByteBuffer buffer);
+
+    /**
+     * Reads a record from the position of the specified buffer and advances the position by {@link #getRecordSizeInBytes()} bytes. The record must not be null.
+     * 
+     * @param buffer The buffer to read the record from. It has at least {@link #getRecordSizeInBytes()} bytes remaining.
+     * @return Returns the record.
+     */
+    E read(ByteBuffer buffer);
+
+    /**
+     * Returns an estimate of the number of bytes of heap memory that a record takes once it has been read. The external sorts use it to work out how many records fit into their memory budget. The default estimate is an object header plus the record's binary size.
+     * 
+     * @return Returns the estimated heap size of a record in bytes.
+     */
+    default long estimateHeapSizeInBytes() {
+        return 16L + getRecordSizeInBytes();
+    }
+}
@@ -0,0 +1,533 @@
+package sort;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.IntConsumer;
+
+/**
+ * This class contains the parallel sample sorts behind {@link Sort#parallelSampleSort(List)} and its overloads. A sample sort splits the elements into buckets by a few splitters, so every bucket can be sorted on its own thread and the sorted buckets are already in order, with no merges at the end.
+ * 
+ * The splitters are chosen by oversampling: a random sample that is several times larger than the number of splitters is sorted, and evenly spaced elements of the sample become the splitters, so the buckets come out about equally large. There are at most {@value #MAXIMUM_NUMBER_OF_SPLITTERS} splitters, so large inputs are split into at most 128 buckets between the splitters, of about n / 128 elements each however small the sequential cutoff is, plus the equality buckets. Equal splitters are collapsed, and every splitter gets an equality bucket of its own that holds the elements equal to it. Equality buckets are already sorted, so inputs with many duplicates, such as numbers from a small range, are mostly finished once they are distributed.
+ * 
+ * The elements are split into blocks, and each block is classified on its own thread, which counts the bucket of every element into a per-block histogram and remembers each element's bucket in a byte. Prefix sums over the histograms give every block its own region of every bucket, so the blocks then scatter their elements into the buckets in parallel without any synchronization. Blocks scatter their elements in their original order, so the distribution is stable, and the buckets are sorted with the stable sequential engines of {@link Sort}.
+ * 
+ * @author Jaskaran Singh
+ */
+final class SampleSort {
+    // The largest number of splitters. Every splitter has an equality bucket, and the buckets between the splitters add one more, so every bucket index fits into a byte.
+    private static final int MAXIMUM_NUMBER_OF_SPLITTERS = 127;
+
+    // The number of sampled elements per splitter.
+    private static final int OVERSAMPLING_FACTOR = 32;
+
+    // The number of blocks per thread, so that threads that finish early can take another block.
+    private static final int NUMBER_OF_BLOCKS_PER_THREAD = 4;
+
+    // The smallest number of elements in a block.
+    private static final int MINIMUM_BLOCK_SIZE = 4096;
+
+    // The seed of the random sample, so the same input is always split the same way.
+    private static final long SAMPLE_SEED = 0x5A3F1E2D4C6B8A97L;
+
+    /**
+     * Private constructor. This class only has static methods, so it cannot be instantiated.
+     */
+    private SampleSort() {
+    }
+
+    /**
+     * Sorts the inputted Object array in-place with a parallel sample sort. The sort is stable.
+     * 
+     * @param array The array to sort.
+     * @param sequentialCutoff The number of elements per splitter, below the cap.
+     * @param forkJoinPool The fork/join pool that runs the sort.
+     * @param comparator The comparator that defines the order of the elements.
+     */
+    @SuppressWarnings("unchecked")
+    static <E> void sort(Object[] array, int sequentialCutoff, ForkJoinPool forkJoinPool,
+            Comparator<? super E> comparator) {
+        final int NUMBER_OF_ELEMENTS = array.length;
+
+        // Choose the splitters from a sorted random sample, leaving out equal splitters.
+        final int[] SAMPLE_INDICES = getSampleIndices(NUMBER_OF_ELEMENTS,
+                getNumberOfSplitters(NUMBER_OF_ELEMENTS, sequentialCutoff, forkJoinPool));
+        Object[] sample = new Object[SAMPLE_INDICES.length];
+        for (int i = 0; i < sample.length; i++) {
+            sample[i] = array[SAMPLE_INDICES[i]];
+        }
+        Sort.mergeSort(sample.clone(), 0, sample, 0, 0, (sample.length - 1), comparator);
+        List<Object> splitterList = new ArrayList<>();
+        for (int i = OVERSAMPLING_FACTOR - 1; i < sample.length; i += OVERSAMPLING_FACTOR) {
+            if (splitterList.isEmpty()
+                    || (comparator.compare((E) splitterList.get(splitterList.size() - 1), (E) sample[i]) < 0)) {
+                splitterList.add(sample[i]);
+            }
+        }
+        final Object[] SPLITTERS = splitterList.toArray();
+        final int NUMBER_OF_BUCKETS = (2 * SPLITTERS.length) + 1;
+
+        // Classify the elements of every block in parallel.
+        final int NUMBER_OF_BLOCKS = getNumberOfBlocks(NUMBER_OF_ELEMENTS, forkJoinPool);
+        final int BLOCK_SIZE = getBlockSize(NUMBER_OF_ELEMENTS, NUMBER_OF_BLOCKS);
+        final byte[] BUCKET_INDICES = new byte[NUMBER_OF_ELEMENTS];
+        final int[][] BUCKET_OFFSETS = new int[NUMBER_OF_BLOCKS][NUMBER_OF_BUCKETS];
+        forEachInParallel(forkJoinPool, NUMBER_OF_BLOCKS, block -> {
+            final int[] BUCKET_COUNTS = BUCKET_OFFSETS[block];
+            final int END_INDEX = Math.min(NUMBER_OF_ELEMENTS, (block + 1) * BLOCK_SIZE);
+            for (int i = block * BLOCK_SIZE; i < END_INDEX; i++) {
+                // Find the first splitter that is not less than the element, and check whether they are equal.
+                E element = (E) array[i];
+                int low = 0;
+                int high = SPLITTERS.length;
+                while (low < high) {
+                    final int MIDDLE = (low + high) >>> 1;
+                    if (comparator.compare((E) SPLITTERS[MIDDLE], element) < 0) {
+                        low = MIDDLE + 1;
+                    } else {
+                        high = MIDDLE;
+                    }
+                }
+                final int BUCKET = ((low < SPLITTERS.length) && (comparator.compare((E) SPLITTERS[low], element) == 0))
+                        ? ((2 * low) + 1) : (2 * low);
+                BUCKET_INDICES[i] = (byte) BUCKET;
+                BUCKET_COUNTS[BUCKET]++;
+            }
+        });
+
+        // Scatter the elements of every block into their buckets in parallel.
+        final int[] BUCKET_STARTS = toBucketOffsets(BUCKET_OFFSETS);
+        final Object[] BUFFER = new Object[NUMBER_OF_ELEMENTS];
+        forEachInParallel(forkJoinPool, NUMBER_OF_BLOCKS, block -> {
+            final int[] OFFSETS = BUCKET_OFFSETS[block];
+            final int END_INDEX = Math.min(NUMBER_OF_ELEMENTS, (block + 1) * BLOCK_SIZE);
+            for (int i = block * BLOCK_SIZE; i < END_INDEX; i++) {
+                BUFFER[OFFSETS[BUCKET_INDICES[i] & 0xFF]++] = array[i];
+            }
+        });
+
+        // Copy every bucket back into the array and sort it there, in parallel. Equality buckets are already sorted.
+        forEachInParallel(forkJoinPool, NUMBER_OF_BUCKETS, bucket -> {
+            final int START_INDEX = BUCKET_STARTS[bucket];
+            final int END_INDEX = BUCKET_STARTS[bucket + 1];
+            System.arraycopy(BUFFER, START_INDEX, array, START_INDEX, (END_INDEX - START_INDEX));
+            if (((bucket % 2) == 0) && ((END_INDEX - START_INDEX) > 1)) {
+                Sort.mergeSort(BUFFER, 0, array, 0, START_INDEX, (END_INDEX - 1), comparator);
+            }
+        });
+    }
+
+    /**
+     * Sorts the inputted int array in-place with a parallel sample sort.
+     * 
+     * @param array The array to sort.
+     * @param sequentialCutoff The number of elements per splitter, below the cap.
+     * @param forkJoinPool The fork/join pool that runs the sort.
+     */
+    static void sort(int[] array, int sequentialCutoff, ForkJoinPool forkJoinPool) {
+        final int NUMBER_OF_ELEMENTS = array.length;
+
+        // Choose the splitters from a sorted random sample, leaving out equal splitters.
+        final int[] SAMPLE_INDICES = getSampleIndices(NUMBER_OF_ELEMENTS,
+                getNumberOfSplitters(NUMBER_OF_ELEMENTS, sequentialCutoff, forkJoinPool));
+        int[] sample = new int[SAMPLE_INDICES.length];
+        for (int i = 0; i < sample.length; i++) {
+            sample[i] = array[SAMPLE_INDICES[i]];
+        }
+        Sort.mergeSort(sample);
+        int numberOfSplitters = 0;
+        int[] splitters = new int[sample.length / OVERSAMPLING_FACTOR];
+        for (int i = OVERSAMPLING_FACTOR - 1; i < sample.length; i += OVERSAMPLING_FACTOR) {
+            if ((numberOfSplitters == 0) || (splitters[numberOfSplitters - 1] < sample[i])) {
+                splitters[numberOfSplitters++] = sample[i];
+            }
+        }
+        final int[] SPLITTERS = Arrays.copyOf(splitters, numberOfSplitters);
+        final int NUMBER_OF_BUCKETS = (2 * SPLITTERS.length) + 1;
+
+        // Classify the elements of every block in parallel.
+        final int NUMBER_OF_BLOCKS = getNumberOfBlocks(NUMBER_OF_ELEMENTS, forkJoinPool);
+        final int BLOCK_SIZE = getBlockSize(NUMBER_OF_ELEMENTS, NUMBER_OF_BLOCKS);
+        final byte[] BUCKET_INDICES = new byte[NUMBER_OF_ELEMENTS];
+        final int[][] BUCKET_OFFSETS = new int[NUMBER_OF_BLOCKS][NUMBER_OF_BUCKETS];
+        forEachInParallel(forkJoinPool, NUMBER_OF_BLOCKS, block -> {
+            final int[] BUCKET_COUNTS = BUCKET_OFFSETS[block];
+            final int END_INDEX = Math.min(NUMBER_OF_ELEMENTS, (block + 1) * BLOCK_SIZE);
+            for (int i = block * BLOCK_SIZE; i < END_INDEX; i++) {
+                // Find the first splitter that is not less than the key, and check whether they are equal.
+                final int KEY = array[i];
+                int low = 0;
+                int high = SPLITTERS.length;
+                while (low < high) {
+                    final int MIDDLE = (low + high) >>> 1;
+                    if (SPLITTERS[MIDDLE] < KEY) {
+                        low = MIDDLE + 1;
+                    } else {
+                        high = MIDDLE;
+                    }
+                }
+                final int BUCKET = ((low < SPLITTERS.length) && (SPLITTERS[low] == KEY)) ? ((2 * low) + 1)
+                        : (2 * low);
+                BUCKET_INDICES[i] = (byte) BUCKET;
+                BUCKET_COUNTS[BUCKET]++;
+            }
+        });
+
+        // Scatter the elements of every block into their buckets in parallel.
+        final int[] BUCKET_STARTS = toBucketOffsets(BUCKET_OFFSETS);
+        final int[] BUFFER = new int[NUMBER_OF_ELEMENTS];
+        forEachInParallel(forkJoinPool, NUMBER_OF_BLOCKS, block -> {
+            final int[] OFFSETS = BUCKET_OFFSETS[block];
+            final int END_INDEX = Math.min(NUMBER_OF_ELEMENTS, (block + 1) * BLOCK_SIZE);
+            for (int i = block * BLOCK_SIZE; i < END_INDEX; i++) {
+                BUFFER[OFFSETS[BUCKET_INDICES[i] & 0xFF]++] = array[i];
+            }
+        });
+
+        // Copy every bucket back into the array and sort it there, in parallel. Equality buckets are already sorted.
+        forEachInParallel(forkJoinPool, NUMBER_OF_BUCKETS, bucket -> {
+            final int START_INDEX = BUCKET_STARTS[bucket];
+            final int END_INDEX = BUCKET_STARTS[bucket + 1];
+            System.arraycopy(BUFFER, START_INDEX, array, START_INDEX, (END_INDEX - START_INDEX));
+            if ((bucket % 2) == 0) {
+                Sort.mergeSort(array, START_INDEX, (END_INDEX - 1));
+            }
+        });
+    }
+
+    /**
+     * Sorts the inputted long array in-place with a parallel sample sort.
+     * 
+     * @param array The array to sort.
+     * @param sequentialCutoff The number of elements per splitter, below the cap.
+     * @param forkJoinPool The fork/join pool that runs the sort.
+     */
+    static void sort(long[] array, int sequentialCutoff, ForkJoinPool forkJoinPool) {
+        final int NUMBER_OF_ELEMENTS = array.length;
+
+        // Choose the splitters from a sorted random sample, leaving out equal splitters.
+        final int[] SAMPLE_INDICES = getSampleIndices(NUMBER_OF_ELEMENTS,
+                getNumberOfSplitters(NUMBER_OF_ELEMENTS, sequentialCutoff, forkJoinPool));
+        long[] sample = new long[SAMPLE_INDICES.length];
+        for (int i = 0; i < sample.length; i++) {
+            sample[i] = array[SAMPLE_INDICES[i]];
+        }
+        Sort.mergeSort(sample);
+        int numberOfSplitters = 0;
+        long[] splitters = new long[sample.length / OVERSAMPLING_FACTOR];
+        for (int i = OVERSAMPLING_FACTOR - 1; i < sample.length; i += OVERSAMPLING_FACTOR) {
+            if ((numberOfSplitters == 0) || (splitters[numberOfSplitters - 1] < sample[i])) {
+                splitters[numberOfSplitters++] = sample[i];
+            }
+        }
+        final long[] SPLITTERS = Arrays.copyOf(splitters, numberOfSplitters);
+        final int NUMBER_OF_BUCKETS = (2 * SPLITTERS.length) + 1;
+
+        // Classify the elements of every block in parallel.
+        final int NUMBER_OF_BLOCKS = getNumberOfBlocks(NUMBER_OF_ELEMENTS, forkJoinPool);
+        final int BLOCK_SIZE = getBlockSize(NUMBER_OF_ELEMENTS, NUMBER_OF_BLOCKS);
+        final byte[] BUCKET_INDICES = new byte[NUMBER_OF_ELEMENTS];
+        final int[][] BUCKET_OFFSETS = new int[NUMBER_OF_BLOCKS][NUMBER_OF_BUCKETS];
+        forEachInParallel(forkJoinPool, NUMBER_OF_BLOCKS, block -> {
+            final int[] BUCKET_COUNTS = BUCKET_OFFSETS[block];
+            final int END_INDEX = Math.min(NUMBER_OF_ELEMENTS, (block + 1) * BLOCK_SIZE);
+            for (int i = block * BLOCK_SIZE; i < END_INDEX; i++) {
+                // Find the first splitter that is not less than the key, and check whether they are equal.
+                final long KEY = array[i];
+                int low = 0;
+                int high = SPLITTERS.length;
+                while (low < high) {
+                    final int MIDDLE = (low + high) >>> 1;
+                    if (SPLITTERS[MIDDLE] < KEY) {
+                        low = MIDDLE + 1;
+                    } else {
+                        high = MIDDLE;
+                    }
+                }
+                final int BUCKET = ((low < SPLITTERS.length) && (SPLITTERS[low] == KEY)) ? ((2 * low) + 1)
+                        : (2 * low);
+                BUCKET_INDICES[i] = (byte) BUCKET;
+                BUCKET_COUNTS[BUCKET]++;
+            }
+        });
+
+        // Scatter the elements of every block into their buckets in parallel.
+        final int[] BUCKET_STARTS = toBucketOffsets(BUCKET_OFFSETS);
+        final long[] BUFFER = new long[NUMBER_OF_ELEMENTS];
+        forEachInParallel(forkJoinPool, NUMBER_OF_BLOCKS, block -> {
+            final int[] OFFSETS = BUCKET_OFFSETS[block];
+            final int END_INDEX = Math.min(NUMBER_OF_ELEMENTS, (block + 1) * BLOCK_SIZE);
+            for (int i = block * BLOCK_SIZE; i < END_INDEX; i++) {
+                BUFFER[OFFSETS[BUCKET_INDICES[i] & 0xFF]++] = array[i];
+            }
+        });
+
+        // Copy every bucket back into the array and sort it there, in parallel. Equality buckets are already sorted.
+        forEachInParallel(forkJoinPool, NUMBER_OF_BUCKETS, bucket -> {
+            final int START_INDEX = BUCKET_STARTS[bucket];
+            final int END_INDEX = BUCKET_STARTS[bucket + 1];
+            System.arraycopy(BUFFER, START_INDEX, array, START_INDEX, (END_INDEX - START_INDEX));
+            if ((bucket % 2) == 0) {
+                Sort.mergeSort(array, START_INDEX, (END_INDEX - 1));
+            }
+        });
+    }
+
+    /**
+     * Sorts the inputted double array in-place with a parallel sample sort. The doubles are sorted as sortable long keys: they are converted with {@link Sort#toSortableLong(double)} as they are sampled, classified and scattered into the buffer, and every bucket is converted back with {@link Sort#fromSortableLong(long)} as it is copied into the array, so the conversions run in parallel and need no key array of their own. Every NaN is replaced with the canonical NaN.
+     * 
+     * @param array The array to sort.
+     * @param sequentialCutoff The number of elements per splitter, below the cap.
+     * @param forkJoinPool The fork/join pool that runs the sort.
+     */
+    static void sort(double[] array, int sequentialCutoff, ForkJoinPool forkJoinPool) {
+        final int NUMBER_OF_ELEMENTS = array.length;
+
+        // Choose the splitters from a sorted random sample, leaving out equal splitters.
+        final int[] SAMPLE_INDICES = getSampleIndices(NUMBER_OF_ELEMENTS,
+                getNumberOfSplitters(NUMBER_OF_ELEMENTS, sequentialCutoff, forkJoinPool));
+        long[] sample = new long[SAMPLE_INDICES.length];
+        for (int i = 0; i < sample.length; i++) {
+            sample[i] = Sort.toSortableLong(array[SAMPLE_INDICES[i]]);
+        }
+        Sort.mergeSort(sample);
+        int numberOfSplitters = 0;
+        long[] splitters = new long[sample.length / OVERSAMPLING_FACTOR];
+        for (int i = OVERSAMPLING_FACTOR - 1; i < sample.length; i += OVERSAMPLING_FACTOR) {
+            if ((numberOfSplitters == 0) || (splitters[numberOfSplitters - 1] < sample[i])) {
+                splitters[numberOfSplitters++] = sample[i];
+            }
+        }
+        final long[] SPLITTERS = Arrays.copyOf(splitters, numberOfSplitters);
+        final int NUMBER_OF_BUCKETS = (2 * SPLITTERS.length) + 1;
+
+        // Classify the elements of every block in parallel.
+        final int NUMBER_OF_BLOCKS = getNumberOfBlocks(NUMBER_OF_ELEMENTS, forkJoinPool);
+        final int BLOCK_SIZE = getBlockSize(NUMBER_OF_ELEMENTS, NUMBER_OF_BLOCKS);
+        final byte[] BUCKET_INDICES = new byte[NUMBER_OF_ELEMENTS];
+        final int[][] BUCKET_OFFSETS = new int[NUMBER_OF_BLOCKS][NUMBER_OF_BUCKETS];
+        forEachInParallel(forkJoinPool, NUMBER_OF_BLOCKS, block -> {
+            final int[] BUCKET_COUNTS = BUCKET_OFFSETS[block];
+            final int END_INDEX = Math.min(NUMBER_OF_ELEMENTS, (block + 1) * BLOCK_SIZE);
+            for (int i = block * BLOCK_SIZE; i < END_INDEX; i++) {
+                // Find the first splitter that is not less than the key, and check whether they are equal.
+                final long KEY = Sort.toSortableLong(array[i]);
+                int low = 0;
+                int high = SPLITTERS.length;
+                while (low < high) {
+                    final int MIDDLE = (low + high) >>> 1;
+                    if (SPLITTERS[MIDDLE] < KEY) {
+                        low = MIDDLE + 1;
+                    } else {
+                        high = MIDDLE;
+                    }
+                }
+                final int BUCKET = ((low < SPLITTERS.length) && (SPLITTERS[low] == KEY)) ? ((2 * low) + 1)
+                        : (2 * low);
+                BUCKET_INDICES[i] = (byte) BUCKET;
+                BUCKET_COUNTS[BUCKET]++;
+            }
+        });
+
+        // Convert the elements of every block into keys and scatter them into their buckets in parallel.
+        final int[] BUCKET_STARTS = toBucketOffsets(BUCKET_OFFSETS);
+        final long[] BUFFER = new long[NUMBER_OF_ELEMENTS];
+        forEachInParallel(forkJoinPool, NUMBER_OF_BLOCKS, block -> {
+            final int[] OFFSETS = BUCKET_OFFSETS[block];
+            final int END_INDEX = Math.min(NUMBER_OF_ELEMENTS, (block + 1) * BLOCK_SIZE);
+            for (int i = block * BLOCK_SIZE; i < END_INDEX; i++) {
+                BUFFER[OFFSETS[BUCKET_INDICES[i] & 0xFF]++] = Sort.toSortableLong(array[i]);
+            }
+        });
+
+        // Sort every bucket in the buffer and convert it back into the array, in parallel. Equality buckets are already sorted.
+        forEachInParallel(forkJoinPool, NUMBER_OF_BUCKETS, bucket -> {
+            final int START_INDEX = BUCKET_STARTS[bucket];
+            final int END_INDEX = BUCKET_STARTS[bucket + 1];
+            if ((bucket % 2) == 0) {
+                Sort.mergeSort(BUFFER, START_INDEX, (END_INDEX - 1));
+            }
+            for (int i = START_INDEX; i < END_INDEX; i++) {
+                array[i] = Sort.fromSortableLong(BUFFER[i]);
+            }
+        });
+    }
+
+    /**
+     * Sorts the inputted float array in-place with a parallel sample sort. The floats are sorted as sortable int keys: they are converted with {@link Sort#toSortableInt(float)} as they are sampled, classified and scattered into the buffer, and every bucket is converted back with {@link Sort#fromSortableInt(int)} as it is copied into the array, so the conversions run in parallel and need no key array of their own. Every NaN is replaced with the canonical NaN.
+     * 
+     * @param array The array to sort.
+     * @param sequentialCutoff The number of elements per splitter, below the cap.
+     * @param forkJoinPool The fork/join pool that runs the sort.
+     */
+    static void sort(float[] array, int sequentialCutoff, ForkJoinPool forkJoinPool) {
+        final int NUMBER_OF_ELEMENTS = array.length;
+
+        // Choose the splitters from a sorted random sample, leaving out equal splitters.
+        final int[] SAMPLE_INDICES = getSampleIndices(NUMBER_OF_ELEMENTS,
+                getNumberOfSplitters(NUMBER_OF_ELEMENTS, sequentialCutoff, forkJoinPool));
+        int[] sample = new int[SAMPLE_INDICES.length];
+        for (int i = 0; i < sample.length; i++) {
+            sample[i] = Sort.toSortableInt(array[SAMPLE_INDICES[i]]);
+        }
+        Sort.mergeSort(sample);
+        int numberOfSplitters = 0;
+        int[] splitters = new int[sample.length / OVERSAMPLING_FACTOR];
+        for (int i = OVERSAMPLING_FACTOR - 1; i < sample.length; i += OVERSAMPLING_FACTOR) {
+            if ((numberOfSplitters == 0) || (splitters[numberOfSplitters - 1] < sample[i])) {
+                splitters[numberOfSplitters++] = sample[i];
+            }
+        }
+        final int[] SPLITTERS = Arrays.copyOf(splitters, numberOfSplitters);
+        final int NUMBER_OF_BUCKETS = (2 * SPLITTERS.length) + 1;
+
+        // Classify the elements of every block in parallel.
+        final int NUMBER_OF_BLOCKS = getNumberOfBlocks(NUMBER_OF_ELEMENTS, forkJoinPool);
+        final int BLOCK_SIZE = getBlockSize(NUMBER_OF_ELEMENTS, NUMBER_OF_BLOCKS);
+        final byte[] BUCKET_INDICES = new byte[NUMBER_OF_ELEMENTS];
+        final int[][] BUCKET_OFFSETS = new int[NUMBER_OF_BLOCKS][NUMBER_OF_BUCKETS];
+        forEachInParallel(forkJoinPool, NUMBER_OF_BLOCKS, block -> {
+            final int[] BUCKET_COUNTS = BUCKET_OFFSETS[block];
+            final int END_INDEX = Math.min(NUMBER_OF_ELEMENTS, (block + 1) * BLOCK_SIZE);
+            for (int i = block * BLOCK_SIZE; i < END_INDEX; i++) {
+                // Find the first splitter that is not less than the key, and check whether they are equal.
+                final int KEY = Sort.toSortableInt(array[i]);
+                int low = 0;
+                int high = SPLITTERS.length;
+                while (low < high) {
+                    final int MIDDLE = (low + high) >>> 1;
+                    if (SPLITTERS[MIDDLE] < KEY) {
+                        low = MIDDLE + 1;
+                    } else {
+                        high = MIDDLE;
+                    }
+                }
+                final int BUCKET = ((low < SPLITTERS.length) && (SPLITTERS[low] == KEY)) ? ((2 * low) + 1)
+                        : (2 * low);
+                BUCKET_INDICES[i] = (byte) BUCKET;
+                BUCKET_COUNTS[BUCKET]++;
+            }
+        });
+
+        // Convert the elements of every block into keys and scatter them into their buckets in parallel.
+        final int[] BUCKET_STARTS = toBucketOffsets(BUCKET_OFFSETS);
+        final int[] BUFFER = new int[NUMBER_OF_ELEMENTS];
+        forEachInParallel(forkJoinPool, NUMBER_OF_BLOCKS, block -> {
+            final int[] OFFSETS = BUCKET_OFFSETS[block];
+            final int END_INDEX = Math.min(NUMBER_OF_ELEMENTS, (block + 1) * BLOCK_SIZE);
+            for (int i = block * BLOCK_SIZE; i < END_INDEX; i++) {
+                BUFFER[OFFSETS[BUCKET_INDICES[i] & 0xFF]++] = Sort.toSortableInt(array[i]);
+            }
+        });
+
+        // Sort every bucket in the buffer and convert it back into the array, in parallel. Equality buckets are already sorted.
+        forEachInParallel(forkJoinPool, NUMBER_OF_BUCKETS, bucket -> {
+            final int START_INDEX = BUCKET_STARTS[bucket];
+            final int END_INDEX = BUCKET_STARTS[bucket + 1];
+            if ((bucket % 2) == 0) {
+                Sort.mergeSort(BUFFER, START_INDEX, (END_INDEX - 1));
+            }
+            for (int i = START_INDEX; i < END_INDEX; i++) {
+                array[i] = Sort.fromSortableInt(BUFFER[i]);
+            }
+        });
+    }
+
+    /**
+     * Returns the number of splitters to split the specified number of elements by. There should be enough buckets for every thread to sort several of them, and one splitter per sequential cutoff elements, but the number of splitters is capped at {@value #MAXIMUM_NUMBER_OF_SPLITTERS} so every bucket index fits into a byte. Above about {@value #MAXIMUM_NUMBER_OF_SPLITTERS} times the sequential cutoff, the buckets therefore grow beyond the sequential cutoff.
+     * 
+     * @param numberOfElements The number of elements to sort.
+     * @param sequentialCutoff The number of elements per splitter, below the cap.
+     * @param forkJoinPool The fork/join pool that runs the sort.
+     * @return Returns the number of splitters.
+     */
+    private static int getNumberOfSplitters(int numberOfElements, int sequentialCutoff, ForkJoinPool forkJoinPool) {
+        final int NUMBER_OF_SPLITTERS = Math.max((numberOfElements / sequentialCutoff),
+                (NUMBER_OF_BLOCKS_PER_THREAD * forkJoinPool.getParallelism()));
+        return Math.max(1, Math.min(NUMBER_OF_SPLITTERS, MAXIMUM_NUMBER_OF_SPLITTERS));
+    }
+
+    /**
+     * Returns the indices of a random sample of the elements, with {@value #OVERSAMPLING_FACTOR} sampled elements per splitter. Elements may be sampled more than once. The sample is drawn with a fixed seed, so the same input is always split the same way.
+     * 
+     * @param numberOfElements The number of elements to sample from.
+     * @param numberOfSplitters The number of splitters.
+     * @return Returns the indices of the sampled elements.
+     */
+    private static int[] getSampleIndices(int numberOfElements, int numberOfSplitters) {
+        SplittableRandom random = new SplittableRandom(SAMPLE_SEED);
+        int[] sampleIndices = new int[numberOfSplitters * OVERSAMPLING_FACTOR];
+        for (int i = 0; i < sampleIndices.length; i++) {
+            sampleIndices[i] = random.nextInt(numberOfElements);
+        }
+        return sampleIndices;
+    }
+
+    /**
+     * Returns the number of blocks to classify and scatter the specified number of elements in.
+     * 
+     * @param numberOfElements The number of elements to sort.
+     * @param forkJoinPool The fork/join pool that runs the sort.
+     * @return Returns the number of blocks.
+     */
+    private static int getNumberOfBlocks(int numberOfElements, ForkJoinPool forkJoinPool) {
+        final int NUMBER_OF_BLOCKS = Math.min(((numberOfElements - 1) / MINIMUM_BLOCK_SIZE) + 1,
+                (NUMBER_OF_BLOCKS_PER_THREAD * forkJoinPool.getParallelism()));
+        return Math.max(1, NUMBER_OF_BLOCKS);
+    }
+
+    /**
+     * Returns the number of elements in every block except the last one, which may hold fewer.
+     * 
+     * @param numberOfElements The number of elements to sort.
+     * @param numberOfBlocks The number of blocks.
+     * @return Returns the block size.
+     */
+    private static int getBlockSize(int numberOfElements, int numberOfBlocks) {
+        return ((numberOfElements - 1) / numberOfBlocks) + 1;
+    }
+
+    /**
+     * Turns the bucket counts of every block into the index that the block scatters its next element of each bucket to. The buckets are laid out in order, and inside each bucket the blocks are laid out in order, so the scatter is stable. Returns the start index of every bucket, followed by the number of elements.
+     * 
+     * @param bucketCounts The number of elements of every bucket in every block. It is replaced with the scatter offsets.
+     * @return Returns the start index of every bucket, with one more entry for the end of the last bucket.
+     */
+    private static int[] toBucketOffsets(int[][] bucketCounts) {
+        final int NUMBER_OF_BUCKETS = bucketCounts[0].length;
+        int[] bucketStarts = new int[NUMBER_OF_BUCKETS + 1];
+        int offset = 0;
+        for (int bucket = 0; bucket < NUMBER_OF_BUCKETS; bucket++) {
+            bucketStarts[bucket] = offset;
+            for (int[] blockBucketCounts : bucketCounts) {
+                final int COUNT = blockBucketCounts[bucket];
+                blockBucketCounts[bucket] = offset;
+                offset += COUNT;
+            }
+        }
+        bucketStarts[NUMBER_OF_BUCKETS] = offset;
+        return bucketStarts;
+    }
+
+    /**
+     * Runs the specified task once for every index from zero to the number of tasks (exclusive) on the specified fork/join pool, and waits for every run to finish.
+     * 
+     * @param forkJoinPool The fork/join pool that runs the tasks.
+     * @param numberOfTasks The number of tasks.
+     * @param task The task, which receives its index.
+     */
+    private static void forEachInParallel(ForkJoinPool forkJoinPool, int numberOfTasks, IntConsumer task) {
+        List<ForkJoinTask<?>> tasks = new ArrayList<>(numberOfTasks);
+        for (int i = 0; i < numberOfTasks; i++) {
+            final int INDEX = i;
+            tasks.add(ForkJoinTask.adapt(() -> task.accept(INDEX)));
+        }
+        forkJoinPool.invoke(ForkJoinTask.adapt(() -> {
+            ForkJoinTask.invokeAll(tasks);
+        }));
+    }
+}
@@ -0,0 +1,163 @@
+package sort;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * This class contains the selection algorithms behind the top-k and partial sorts in {@link Sort}. Every element travels with its index in the input, and elements that compare as equal are ordered by that index, so no two elements tie. The selected elements are therefore exactly the ones that a stable sort would put at the selected ranks.
+ * 
+ * @author Jaskaran Singh
+ */
+final class Selection {
+    /**
+     * Private constructor. This class only has static methods, so it cannot be instantiated.
+     */
+    private Selection() {
+    }
+
+    /**
+     * Selects the k smallest elements of the specified list with a bounded max-heap of k elements. The list is read once with its iterator, and an element only enters the heap if it is smaller than the largest element in the heap, so the selection takes O(n log k) time and O(k) extra space. On random input only about k ln(n / k) elements ever enter the heap.
+     * 
+     * @param list The list to select from.
+     * @param k The number of elements to select. It must be between 1 and the size of the list.
+     * @param heapElements The array that the selected elements are written into, in heap order. It must hold k elements.
+     * @param heapIndices The array that the list indices of the selected elements are written into, in heap order. It must hold k indices.
+     * @param comparator The comparator that defines the order of the elements.
+     */
+    @SuppressWarnings("unchecked")
+    static <E> void selectWithHeap(List<E> list, int k, Object[] heapElements, int[] heapIndices,
+            Comparator<? super E> comparator) {
+        int heapSize = 0;
+        int index = 0;
+        for (E element : list) {
+            if (heapSize < k) {
+                // Fill the heap, moving the new element up past every smaller parent.
+                int child = heapSize++;
+                while (child > 0) {
+                    final int PARENT = (child - 1) >>> 1;
+                    if (compare((E) heapElements[PARENT], heapIndices[PARENT], element, index, comparator) >= 0) {
+                        break;
+                    }
+                    heapElements[child] = heapElements[PARENT];
+                    heapIndices[child] = heapIndices[PARENT];
+                    child = PARENT;
+                }
+                heapElements[child] = element;
+                heapIndices[child] = index;
+            } else if (comparator.compare(element, (E) heapElements[0]) < 0) {
+                // Replace the largest element in the heap. An equal element comes later in the list, so it never replaces the largest element.
+                siftDown(heapElements, heapIndices, k, element, index, comparator);
+            }
+            index++;
+        }
+    }
+
+    /**
+     * Moves the elements in the specified range around, so that the element at the specified rank is the element that a stable sort would put there, every element before it is smaller, and every element after it is larger. The range is partitioned around random pivots, so the selection takes O(n) time on average on any input, with O(1) extra space.
+     * 
+     * @param elements The elements to select from.
+     * @param indices The input indices of the elements, which are moved together with them.
+     * @param startIndex The index specifying the start of the range. This index is inclusive.
+     * @param endIndex The index specifying the end of the range. This index is exclusive.
+     * @param rank The index of the position to select the element for. It must be inside the range.
+     * @param comparator The comparator that defines the order of the elements.
+     */
+    @SuppressWarnings("unchecked")
+    static <E> void select(Object[] elements, int[] indices, int startIndex, int endIndex, int rank,
+            Comparator<? super E> comparator) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        while ((endIndex - startIndex) > 1) {
+            // Move a random pivot to the end of the range and move every smaller element in front of the rest.
+            final int LAST_INDEX = endIndex - 1;
+            swap(elements, indices, random.nextInt(startIndex, endIndex), LAST_INDEX);
+            final E PIVOT = (E) elements[LAST_INDEX];
+            final int PIVOT_INDEX = indices[LAST_INDEX];
+            int pivotPosition = startIndex;
+            for (int i = startIndex; i < LAST_INDEX; i++) {
+                if (compare((E) elements[i], indices[i], PIVOT, PIVOT_INDEX, comparator) < 0) {
+                    swap(elements, indices, i, pivotPosition++);
+                }
+            }
+            swap(elements, indices, pivotPosition, LAST_INDEX);
+
+            // Keep only the side of the pivot that contains the rank.
+            if (rank == pivotPosition) {
+                return;
+            } else if (rank < pivotPosition) {
+                endIndex = pivotPosition;
+            } else {
+                startIndex = pivotPosition + 1;
+            }
+        }
+    }
+
+    /**
+     * Places the specified element at the root of the max-heap and moves it down past every larger child.
+     * 
+     * @param heapElements The elements in the heap.
+     * @param heapIndices The list indices of the elements in the heap.
+     * @param heapSize The number of elements in the heap.
+     * @param element The element that replaces the root.
+     * @param index The list index of the element that replaces the root.
+     * @param comparator The comparator that defines the order of the elements.
+     */
+    @SuppressWarnings("unchecked")
+    private static <E> void siftDown(Object[] heapElements, int[] heapIndices, int heapSize, E element, int index,
+            Comparator<? super E> comparator) {
+        int parent = 0;
+        while (true) {
+            // Find the larger child, if there is one.
+            int child = (2 * parent) + 1;
+            if (child >= heapSize) {
+                break;
+            }
+            if (((child + 1) < heapSize) && (compare((E) heapElements[child + 1], heapIndices[child + 1],
+                    (E) heapElements[child], heapIndices[child], comparator) > 0)) {
+                child++;
+            }
+
+            // Stop once the element is at least as large as its larger child.
+            if (compare((E) heapElements[child], heapIndices[child], element, index, comparator) <= 0) {
+                break;
+            }
+            heapElements[parent] = heapElements[child];
+            heapIndices[parent] = heapIndices[child];
+            parent = child;
+        }
+        heapElements[parent] = element;
+        heapIndices[parent] = index;
+    }
+
+    /**
+     * Compares two elements, breaking ties by their input indices.
+     * 
+     * @param element1 The first element.
+     * @param index1 The input index of the first element.
+     * @param element2 The second element.
+     * @param index2 The input index of the second element.
+     * @param comparator The comparator that defines the order of the elements.
+     * @return Returns a negative integer, zero, or a positive integer as the first element is less than, equal to, or greater than the second element.
+     */
+    private static <E> int compare(E element1, int index1, E element2, int index2, Comparator<? super E> comparator) {
+        int comparison = comparator.compare(element1, element2);
+        return (comparison != 0) ? comparison : Integer.compare(index1, index2);
+    }
+
+    /**
+     * Swaps two elements, together with their indices.
+     * 
+     * @param elements The elements.
+     * @param indices The input indices of the elements.
+     * @param position1 The position of the first element.
+     * @param position2 The position of the second element.
+     */
+    private static void swap(Object[] elements, int[] indices, int position1, int position2) {
+        Object element = elements[position1];
+        elements[position1] = elements[position2];
+        elements[position2] = element;
+        int index = indices[position1];
+        indices[position1] = indices[position2];
+        indices[position2] = index;
+    }
+}
@@ -1,36 +1,89 @@
 package sort;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.Objects;
+import java.util.RandomAccess;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
 
 /**
- * This class contains sorting methods for array lists.
+ * This class contains sorting methods for lists, object arrays and primitive arrays. Lists that do not support fast random access, such as linked lists, are copied into an array, sorted there and written back in a single pass so that no sort has to call {@code get(i)} on them.
  * 
  * @author Jaskaran Singh
  */
 public class Sort {
+    // Ranges of elements that are shorter than this threshold are sorted with insertion sort instead of being split any further by merge sort.
+    static final int INSERTION_SORT_THRESHOLD = 7;
+
+    // The default number of elements at or below which the parallel merge sorts sort or merge a piece of the input on a single thread.
+    static final int DEFAULT_PARALLEL_SEQUENTIAL_CUTOFF = 8192;
+
+    // Top-k selections of at most one in this many elements of a list use a bounded heap instead of quickselect.
+    private static final int TOP_K_HEAP_DIVISOR = 16;
+
+    // The system property that names the registered sort algorithm that sort(List) uses instead of choosing one.
+    public static final String SORT_ALGORITHM_PROPERTY = "sort.algorithm";
+
     /**
-     * Determines whether the range of elements in the specified array list is sorted in ascending order between the element at the specified start index (inclusive) and the element at the specified end index (inclusive). Returns true if the specified range of elements in the arraylist is sorted in ascending order. Returns false otherwise.
+     * Determines whether the range of elements in the specified list is sorted in ascending order between the element at the specified start index (inclusive) and the element at the specified end index (inclusive). Returns true if the specified range of elements in the list is sorted in ascending order. Returns false otherwise.
      * 
-     * @param arrayList The array list that contains the range of elements whose sorting order needs to be checked.
-     * @param startIndex The index that specifies the start of the range of elements that need to be checked in the array list. This index is inclusive.
-     * @param endIndex The index that specifies the end of the range of elements that need to be checked in the array list. This index is inclusive.
-     * @return Returns true if the specified range of elements in the array list is sorted in ascending order. Returns false otherwise.
+     * @param list The list that contains the range of elements whose sorting order needs to be checked.
+     * @param startIndex The index that specifies the start of the range of elements that need to be checked in the list. This index is inclusive.
+     * @param endIndex The index that specifies the end of the range of elements that need to be checked in the list. This index is inclusive.
+     * @return Returns true if the specified range of elements in the list is sorted in ascending order. Returns false otherwise.
      * @throws IndexOutOfBoundsException If the start index is greater than the end index.
      * @throws NullPointerException
      * @throws ClassCastException
      */
-    public static <E extends Comparable<E>> boolean isArrayListSorted(ArrayList<E> arrayList, int startIndex,
+    public static <E extends Comparable<E>> boolean isArrayListSorted(List<E> list, int startIndex,
             int endIndex)
             throws IndexOutOfBoundsException, NullPointerException, ClassCastException {
+        return isArrayListSorted(list, startIndex, endIndex, Comparator.naturalOrder());
+    }
+
+    /**
+     * Determines whether the range of elements in the specified list is sorted in ascending order, as defined by the specified comparator, between the element at the specified start index (inclusive) and the element at the specified end index (inclusive). Returns true if the specified range of elements in the list is sorted in ascending order. Returns false otherwise.
+     * 
+     * @param list The list that contains the range of elements whose sorting order needs to be checked.
+     * @param startIndex The index that specifies the start of the range of elements that need to be checked in the list. This index is inclusive.
+     * @param endIndex The index that specifies the end of the range of elements that need to be checked in the list. This index is inclusive.
+     * @param comparator The comparator that defines the order of the elements.
+     * @return Returns true if the specified range of elements in the list is sorted in ascending order. Returns false otherwise.
+     * @throws IndexOutOfBoundsException If the start index is greater than the end index.
+     * @throws NullPointerException
+     * @throws ClassCastException
+     */
+    public static <E> boolean isArrayListSorted(List<E> list, int startIndex, int endIndex,
+            Comparator<? super E> comparator)
+            throws IndexOutOfBoundsException, NullPointerException, ClassCastException {
         // Throw an IndexOutOfBoundsException if the start index is greater than the end index.
         if (startIndex > endIndex) {
             throw new IndexOutOfBoundsException();
         }
 
         // If the range of elements are not sorted in ascending order, return false.
-        for (int i = startIndex; i < endIndex; i++) {
-            if (arrayList.get(i).compareTo(arrayList.get(i + 1)) > 0) {
-                return false;
+        if (list instanceof RandomAccess) {
+            for (int i = startIndex; i < endIndex; i++) {
+                if (comparator.compare(list.get(i), list.get(i + 1)) > 0) {
+                    return false;
+                }
+            }
+        } else {
+            // Walk lists without fast random access with a single iterator.
+            ListIterator<E> listIterator = list.listIterator(startIndex);
+            E previousElement = listIterator.next();
+            for (int i = startIndex; i < endIndex; i++) {
+                E element = listIterator.next();
+                if (comparator.compare(previousElement, element) > 0) {
+                    return false;
+                }
+                previousElement = element;
             }
         }
 
@@ -39,126 +92,2605 @@ public class Sort {
     }
 
     /**
-     * Determines whether the elements in the specified array list are sorted in ascending order. Returns true if the elements in the arraylist are sorted in ascending order. Returns false otherwise.
+     * Determines whether the elements in the specified list are sorted in ascending order. Returns true if the elements in the list are sorted in ascending order. Returns false otherwise.
+     * 
+     * @param list The list that contains the elements whose sorting order needs to be checked.
+     * @return Returns true if the elements in the list are sorted in ascending order. Returns false otherwise.
+     * @throws IndexOutOfBoundsException
+     * @throws NullPointerException
+     * @throws ClassCastException
+     */
+    public static <E extends Comparable<E>> boolean isArrayListSorted(List<E> list)
+            throws IndexOutOfBoundsException, NullPointerException, ClassCastException {
+        return isArrayListSorted(list, Comparator.naturalOrder());
+    }
+
+    /**
+     * Determines whether the elements in the specified list are sorted in ascending order, as defined by the specified comparator. Returns true if the elements in the list are sorted in ascending order. Returns false otherwise. Large lists with fast random access are checked in parallel chunks with {@link Sortedness#isSorted(List, Comparator)}, so the comparator must not depend on any mutable state.
+     * 
+     * @param list The list that contains the elements whose sorting order needs to be checked.
+     * @param comparator The comparator that defines the order of the elements.
+     * @return Returns true if the elements in the list are sorted in ascending order. Returns false otherwise.
+     * @throws IndexOutOfBoundsException
+     * @throws NullPointerException
+     * @throws ClassCastException
+     */
+    public static <E> boolean isArrayListSorted(List<E> list, Comparator<? super E> comparator)
+            throws IndexOutOfBoundsException, NullPointerException, ClassCastException {
+        return Sortedness.isSorted(list, comparator);
+    }
+
+    /**
+     * Swaps the elements of the specified indices in the specified list.
      * 
-     * @param arrayList The array list that contains the elements whose sorting order needs to be checked.
-     * @return Returns true if the elements in the array list are sorted in ascending order. Returns false otherwise.
+     * @param list The list that contains the elements that need to be swapped.
+     * @param swapIndex1 The index of one of the elements in the list that need to be swapped.
+     * @param swapIndex2 The index of one of the elements in the list that need to be swapped.
      * @throws IndexOutOfBoundsException
      * @throws NullPointerException
      * @throws ClassCastException
      */
-    public static <E extends Comparable<E>> boolean isArrayListSorted(ArrayList<E> arrayList)
+    public static <E> void swapArrayListElements(List<E> list, int swapIndex1, int swapIndex2)
             throws IndexOutOfBoundsException, NullPointerException, ClassCastException {
-        return isArrayListSorted(arrayList, 0, (arrayList.size() - 1));
+        E elementToSwap = list.get(swapIndex1);
+        list.set(swapIndex1, list.get(swapIndex2));
+        list.set(swapIndex2, elementToSwap);
+    }
+
+    /**
+     * Sorts the inputted list in-place in ascending order with the sorting algorithm that suits it best. The sort is stable, so equal elements keep their relative order. See {@link #sort(List, Comparator, boolean)} for how the algorithm is chosen.
+     * 
+     * @param list The list to sort.
+     * @throws IllegalArgumentException If the {@value #SORT_ALGORITHM_PROPERTY} system property names an algorithm that is not registered.
+     * @throws NullPointerException
+     * @throws ClassCastException
+     */
+    public static <E extends Comparable<E>> void sort(List<E> list)
+            throws IllegalArgumentException, NullPointerException, ClassCastException {
+        sort(list, Comparator.naturalOrder(), true);
+    }
+
+    /**
+     * Sorts the inputted list in-place in ascending order, as defined by the specified comparator, with the sorting algorithm that suits it best. The sort is stable, so equal elements keep their relative order. See {@link #sort(List, Comparator, boolean)} for how the algorithm is chosen.
+     * 
+     * @param list The list to sort.
+     * @param comparator The comparator that defines the order of the elements.
+     * @throws IllegalArgumentException If the {@value #SORT_ALGORITHM_PROPERTY} system property names an algorithm that is not registered.
+     * @throws NullPointerException
+     * @throws ClassCastException
+     */
+    public static <E> void sort(List<E> list, Comparator<? super E> comparator)
+            throws IllegalArgumentException, NullPointerException, ClassCastException {
+        sort(list, comparator, true);
+    }
+
+    /**
+     * Sorts the inputted list in-place in ascending order, as defined by the specified comparator, with the sorting algorithm that suits it best. The algorithm is chosen from the length of the list, the type of its elements, the range of their keys, whether the sort must be stable and a quick sample of how presorted the list is; see {@link #selectSortAlgorithm(List, Comparator, boolean)}. Every choice is logged at the FINE level to the logger named after this class.
+     * 
+     * To override the choice for a single call, use {@link #sort(List, Comparator, SortAlgorithm)}. To override it for every call, set the {@value #SORT_ALGORITHM_PROPERTY} system property to the name of a registered algorithm, such as "merge"; see {@link SortAlgorithmRegistry}. The property is ignored for lists that the named algorithm cannot sort, and for sorts that must be stable when the named algorithm is not, so the sort falls back to the algorithm it would otherwise choose.
+     * 
+     * @param list The list to sort.
+     * @param comparator The comparator that defines the order of the elements.
+     * @param isStabilityRequired Whether equal elements must keep their relative order. If they need not, an unstable algorithm may be chosen.
+     * @throws IllegalArgumentException If the {@value #SORT_ALGORITHM_PROPERTY} system property names an algorithm that is not registered.
+     * @throws NullPointerException
+     * @throws ClassCastException
+     */
+    public static <E> void sort(List<E> list, Comparator<? super E> comparator, boolean isStabilityRequired)
+            throws IllegalArgumentException, NullPointerException, ClassCastException {
+        sortMeasured(list, comparator, selectSortAlgorithm(list, comparator, isStabilityRequired));
+    }
+
+    /**
+     * Sorts the inputted list in-place in ascending order, as defined by the specified comparator, with the specified sorting algorithm instead of the one that {@link #sort(List, Comparator)} would choose.
+     * 
+     * @param list The list to sort.
+     * @param comparator The comparator that defines the order of the elements.
+     * @param sortAlgorithm The sorting algorithm to sort the list with.
+     * @throws IllegalArgumentException If the sorting algorithm cannot sort the list.
+     * @throws NullPointerException
+     * @throws ClassCastException
+     */
+    public static <E> void sort(List<E> list, Comparator<? super E> comparator, SortAlgorithm sortAlgorithm)
+            throws IllegalArgumentException, NullPointerException, ClassCastException {
+        if (!sortAlgorithm.canSort(list, comparator)) {
+            throw new IllegalArgumentException("The " + sortAlgorithm.getName() + " sort cannot sort this list.");
+        }
+        sortMeasured(list, comparator, sortAlgorithm);
+    }
+
+    /**
+     * Sorts the inputted list with the specified sorting algorithm. When instrumentation is enabled (see {@link SortInstrumentation}), the sort is measured and its comparisons are counted.
+     * 
+     * @param list The list to sort.
+     * @param comparator The comparator that defines the order of the elements.
+     * @param sortAlgorithm The sorting algorithm to sort the list with.
+     */
+    private static <E> void sortMeasured(List<E> list, Comparator<? super E> comparator, SortAlgorithm sortAlgorithm) {
+        if (!SortInstrumentation.ENABLED) {
+            sortAlgorithm.sort(list, comparator);
+            return;
+        }
+
+        // Measure the sort, and end the measurement even if the sort throws.
+        SortMeasurement measurement = SortMeasurement.begin(sortAlgorithm.getName(), list.size());
+        try {
+            sortAlgorithm.sort(list, measurement.countComparisons(comparator));
+        } finally {
+            measurement.end();
+        }
+    }
+
+    /**
+     * Chooses the sorting algorithm that {@link #sort(List, Comparator, boolean)} sorts the inputted list with, without sorting it. The first of these rules that applies chooses the algorithm:
+     * 
+     * Lists of at most 16 elements are sorted with insertion sort. Lists where most of a small sample of short windows are ascending or descending are sorted with the adaptive merge sort, which merges the runs that are already there. Integers or Longs in their natural order whose keys come from a range no larger than their number are sorted with counting sort. Integers, Longs, Floats or Doubles in their natural order are sorted with radix sort. Lists that do not need a stable sort are sorted with introsort. Every other list is sorted with merge sort.
+     * 
+     * If the {@value #SORT_ALGORITHM_PROPERTY} system property is set, the algorithm that is registered under its value is chosen instead, as long as it can sort the list and is stable whenever stability is required. Otherwise the rules above choose the algorithm.
+     * 
+     * @param list The list to sort.
+     * @param comparator The comparator that defines the order of the elements.
+     * @param isStabilityRequired Whether equal elements must keep their relative order.
+     * @return Returns the chosen sorting algorithm.
+     * @throws IllegalArgumentException If the {@value #SORT_ALGORITHM_PROPERTY} system property names an algorithm that is not registered.
+     * @throws NullPointerException
+     * @throws ClassCastException
+     */
+    public static <E> SortAlgorithm selectSortAlgorithm(List<E> list, Comparator<? super E> comparator,
+            boolean isStabilityRequired) throws IllegalArgumentException, NullPointerException, ClassCastException {
+        return SortAlgorithmSelector.select(list, Objects.requireNonNull(comparator), isStabilityRequired);
     }
 
     /**
-     * Swaps the elements of the specified indices in the specified array list.
+     * Sorts the inputted list in-place with bubble sort. The list is sorted in ascending order.
      * 
-     * @param arrayList The array list that contains the elements that need to be swapped.
-     * @param swapIndex1 The index of one of the elements in the array list that need to be swapped.
-     * @param swapIndex2 The index of one of the elements in the array list that need to be swapped.
+     * @param list The list to sort.
      * @throws IndexOutOfBoundsException
      * @throws NullPointerException
      * @throws ClassCastException
      */
-    public static <E> void swapArrayListElements(ArrayList<E> arrayList, int swapIndex1, int swapIndex2)
+    public static <E extends Comparable<E>> void bubbleSort(List<E> list)
             throws IndexOutOfBoundsException, NullPointerException, ClassCastException {
-        E elementToSwap = arrayList.get(swapIndex1);
-        arrayList.set(swapIndex1, arrayList.get(swapIndex2));
-        arrayList.set(swapIndex2, elementToSwap);
+        bubbleSort(list, Comparator.naturalOrder());
     }
 
     /**
-     * Sorts the inputted array list in-place with bubble sort. The array list is sorted in ascending order.
+     * Sorts the inputted list in-place with bubble sort. The list is sorted in ascending order, as defined by the specified comparator. The sort stops after the first pass that does not swap any elements, so a sorted list costs a single pass.
      * 
-     * @param arrayList The array list to sort.
+     * @param list The list to sort.
+     * @param comparator The comparator that defines the order of the elements.
      * @throws IndexOutOfBoundsException
      * @throws NullPointerException
      * @throws ClassCastException
      */
-    public static <E extends Comparable<E>> void bubbleSort(ArrayList<E> arrayList)
+    public static <E> void bubbleSort(List<E> list, Comparator<? super E> comparator)
             throws IndexOutOfBoundsException, NullPointerException, ClassCastException {
-        for (int i = (arrayList.size() - 1); i > 0; i--) {
+        // Sort lists without fast random access in an array and write the sorted elements back.
+        if (!(list instanceof RandomAccess)) {
+            @SuppressWarnings("unchecked")
+            E[] array = (E[]) list.toArray();
+            bubbleSort(array, comparator);
+            writeArrayToList(array, 0, list, 0, array.length);
+            return;
+        }
+
+        for (int i = (list.size() - 1); i > 0; i--) {
+            boolean wereElementsSwapped = false;
+            // Carry the largest element of the pass along, so each pair only reads the element after it.
+            E element = list.get(0);
             for (int j = 0; j < i; j++) {
                 // If an element at an index and the element at the next index are not sorted in ascending order, swap the elements.
-                if (!isArrayListSorted(arrayList, j, (j + 1))) {
-                    swapArrayListElements(arrayList, j, (j + 1));
+                E nextElement = list.get(j + 1);
+                if (comparator.compare(element, nextElement) > 0) {
+                    list.set(j, nextElement);
+                    list.set((j + 1), element);
+                    if (SortInstrumentation.ENABLED) {
+                        SortMeasurement.recordMoves(2);
+                    }
+                    wereElementsSwapped = true;
+                } else {
+                    element = nextElement;
                 }
             }
+
+            // If a pass did not swap any elements, the list is sorted.
+            if (!wereElementsSwapped) {
+                return;
+            }
         }
     }
 
     /**
-     * Sorts the elements in the inputted array list between the start index (inclusive) and the end index (inclusive) with merge sort. The array list is sorted in-place in ascending order.
+     * Sorts the elements in the inputted list between the start index (inclusive) and the end index (inclusive) with merge sort. The list is sorted in-place in ascending order. The sort is stable, so equal elements keep their relative order.
+     * 
+     * A single scratch buffer that is twice as long as the range of elements is allocated for the whole sort. See {@link #mergeSort(List, int, int, Object[])} to supply a reusable scratch buffer instead.
+     * 
+     * @param list The list to sort.
+     * @param startIndex The index specifying the start of the range of elements to sort in the list. The element at this index is included in the range of elements that are sorted.
+     * @param endIndex The index specifying the end of the range of elements to sort in the list. The element at this index is included in the range of elements that are sorted.
+     * @throws IndexOutOfBoundsException
+     * @throws NullPointerException
+     * @throws ClassCastException
+     */
+    public static <E extends Comparable<E>> void mergeSort(List<E> list, int startIndex, int endIndex)
+            throws IndexOutOfBoundsException, NullPointerException, ClassCastException {
+        mergeSort(list, startIndex, endIndex, Comparator.naturalOrder());
+    }
+
+    /**
+     * Sorts the elements in the inputted list between the start index (inclusive) and the end index (inclusive) with merge sort. The list is sorted in-place in ascending order, as defined by the specified comparator. The sort is stable, so equal elements keep their relative order.
      * 
-     * @param arrayList The array list to sort.
-     * @param startIndex The index specifying the start of the range of elements to sort in the array list. The element at this index is included in the range of elements that are sorted.
-     * @param endIndex The index specifying the end of the range of elements to sort in the array list. The element at this index is included in the range of elements that are sorted.
+     * @param list The list to sort.
+     * @param startIndex The index specifying the start of the range of elements to sort in the list. The element at this index is included in the range of elements that are sorted.
+     * @param endIndex The index specifying the end of the range of elements to sort in the list. The element at this index is included in the range of elements that are sorted.
+     * @param comparator The comparator that defines the order of the elements.
      * @throws IndexOutOfBoundsException
      * @throws NullPointerException
      * @throws ClassCastException
      */
-    public static <E extends Comparable<E>> void mergeSort(ArrayList<E> arrayList, int startIndex, int endIndex)
+    public static <E> void mergeSort(List<E> list, int startIndex, int endIndex,
+            Comparator<? super E> comparator)
             throws IndexOutOfBoundsException, NullPointerException, ClassCastException {
-        // If the range of elements in the array list only has one element in it, it does not need to be sorted because it is already sorted.
-        if (startIndex == endIndex) {
+        // If the range of elements in the list has one element or less in it, it does not need to be sorted because it is already sorted.
+        if (startIndex >= endIndex) {
             // Return to the calling function now that the specified range of elements has been sorted.
             return;
         }
 
-        // Recursively split the range of elements in the array list that needs to be sorted into a half range of elements that need to be sorted and then sort each half of the range of elements. When a half range of elements returns from the recursive call, it is in sorted order. Merge the sorted half range of elements with the other sorted half range of elements when both half ranges return from their respective recursive calls. The half ranges of elements should be merged in a way such that the new range of elements in the array list is a sorted range of elements. After merging the two half ranges of elements in the array list into a sorted range of elements, return to the calling function.
-        final int START_INDEX_FOR_FIRST_HALF = startIndex;
-        final int END_INDEX_FOR_FIRST_HALF = ((endIndex - startIndex) / 2) + startIndex;
-        final int START_INDEX_FOR_SECOND_HALF = END_INDEX_FOR_FIRST_HALF + 1;
-        final int END_INDEX_FOR_SECOND_HALF = endIndex;
-        mergeSort(arrayList, START_INDEX_FOR_FIRST_HALF, END_INDEX_FOR_FIRST_HALF);
-        mergeSort(arrayList, START_INDEX_FOR_SECOND_HALF, END_INDEX_FOR_SECOND_HALF);
-        // Both of the half ranges of elements in the array list are sorted.
+        // Sort the range of elements with a scratch buffer that is shared by every level of the recursion.
+        mergeSort(list, startIndex, endIndex, createMergeSortScratchBuffer(endIndex - startIndex + 1), comparator);
+    }
 
-        // Create an array list that can store all of the elements from the array list halves.
-        ArrayList<E> sortedArrayList = new ArrayList<>(endIndex - startIndex + 1);
+    /**
+     * Sorts the elements in the inputted list between the start index (inclusive) and the end index (inclusive) with merge sort. The list is sorted in-place in ascending order. The sort is stable, so equal elements keep their relative order.
+     * 
+     * The specified scratch buffer is used for all of the work instead of allocating temporary storage, so the same scratch buffer can be reused across many sorts. It must be at least twice as long as the range of elements (see {@link #createMergeSortScratchBuffer(int)}). The range of elements is copied into both halves of the scratch buffer and each level of the recursion merges from one half into the other, so elements are never copied back between levels. When the two sorted halves of a range are already in order, the merge is replaced by a straight copy. The scratch buffer is cleared before this method returns so it does not keep the elements reachable.
+     * 
+     * @param list The list to sort.
+     * @param startIndex The index specifying the start of the range of elements to sort in the list. The element at this index is included in the range of elements that are sorted.
+     * @param endIndex The index specifying the end of the range of elements to sort in the list. The element at this index is included in the range of elements that are sorted.
+     * @param scratchBuffer The scratch buffer used to sort the range of elements. It must be at least twice as long as the range of elements.
+     * @throws IndexOutOfBoundsException If the range of elements is not inside the list.
+     * @throws IllegalArgumentException If the scratch buffer is shorter than twice the length of the range of elements.
+     * @throws NullPointerException
+     * @throws ClassCastException
+     */
+    public static <E extends Comparable<E>> void mergeSort(List<E> list, int startIndex, int endIndex,
+            Object[] scratchBuffer)
+            throws IndexOutOfBoundsException, IllegalArgumentException, NullPointerException, ClassCastException {
+        mergeSort(list, startIndex, endIndex, scratchBuffer, Comparator.naturalOrder());
+    }
 
-        // Declare indices that can aid in merging the sorted half ranges of elements into the new array list in a way such that the new array list is a sorted array list containing all of the elements from both of the half ranges of elements.
-        int indexForFirstHalf = START_INDEX_FOR_FIRST_HALF;
-        int indexForSecondHalf = START_INDEX_FOR_SECOND_HALF;
+    /**
+     * Sorts the elements in the inputted list between the start index (inclusive) and the end index (inclusive) with merge sort, using the specified scratch buffer instead of allocating temporary storage. The list is sorted in-place in ascending order, as defined by the specified comparator. The sort is stable, so equal elements keep their relative order.
+     * 
+     * @param list The list to sort.
+     * @param startIndex The index specifying the start of the range of elements to sort in the list. The element at this index is included in the range of elements that are sorted.
+     * @param endIndex The index specifying the end of the range of elements to sort in the list. The element at this index is included in the range of elements that are sorted.
+     * @param scratchBuffer The scratch buffer used to sort the range of elements. It must be at least twice as long as the range of elements.
+     * @param comparator The comparator that defines the order of the elements.
+     * @throws IndexOutOfBoundsException If the range of elements is not inside the list.
+     * @throws IllegalArgumentException If the scratch buffer is shorter than twice the length of the range of elements.
+     * @throws NullPointerException
+     * @throws ClassCastException
+     */
+    public static <E> void mergeSort(List<E> list, int startIndex, int endIndex, Object[] scratchBuffer,
+            Comparator<? super E> comparator)
+            throws IndexOutOfBoundsException, IllegalArgumentException, NullPointerException, ClassCastException {
+        // If the range of elements in the list has one element or less in it, it does not need to be sorted because it is already sorted.
+        if (startIndex >= endIndex) {
+            return;
+        }
 
-        // While there are elements in both of the half ranges of elements that haven't been inserted into the new array list, insert the elements from the half ranges of elements into the new array list in a way such that the new array list is a sorted array list.
-        while ((indexForFirstHalf <= END_INDEX_FOR_FIRST_HALF)
-                && (indexForSecondHalf <= END_INDEX_FOR_SECOND_HALF)) {
-            if (arrayList.get(indexForFirstHalf).compareTo(arrayList.get(indexForSecondHalf)) <= 0) {
-                sortedArrayList.add(arrayList.get(indexForFirstHalf++));
-            } else {
-                sortedArrayList.add(arrayList.get(indexForSecondHalf++));
+        // Throw an IndexOutOfBoundsException if the range of elements is not inside the list.
+        if ((startIndex < 0) || (endIndex >= list.size())) {
+            throw new IndexOutOfBoundsException();
+        }
+
+        // Throw an IllegalArgumentException if the scratch buffer cannot hold two copies of the range of elements.
+        final int NUMBER_OF_ELEMENTS = endIndex - startIndex + 1;
+        if (scratchBuffer.length < (2L * NUMBER_OF_ELEMENTS)) {
+            throw new IllegalArgumentException("The scratch buffer must hold at least " + (2L * NUMBER_OF_ELEMENTS)
+                    + " elements.");
+        }
+
+        // Find the measurement of the sort, if it is being measured.
+        final SortMeasurement MEASUREMENT = SortInstrumentation.ENABLED ? SortMeasurement.current() : null;
+        long phaseStartTime = (MEASUREMENT != null) ? System.nanoTime() : 0L;
+
+        // Copy the range of elements into both halves of the scratch buffer. Lists without fast random access are read with a single iterator.
+        if (list instanceof RandomAccess) {
+            for (int i = 0; i < NUMBER_OF_ELEMENTS; i++) {
+                E element = list.get(startIndex + i);
+                scratchBuffer[i] = element;
+                scratchBuffer[NUMBER_OF_ELEMENTS + i] = element;
+            }
+        } else {
+            ListIterator<E> listIterator = list.listIterator(startIndex);
+            for (int i = 0; i < NUMBER_OF_ELEMENTS; i++) {
+                E element = listIterator.next();
+                scratchBuffer[i] = element;
+                scratchBuffer[NUMBER_OF_ELEMENTS + i] = element;
             }
         }
 
-        // Insert any remaining elements into the new sorted array list from the half range of elements that had more elements in it than the other half range of elements.
-        while (indexForFirstHalf <= END_INDEX_FOR_FIRST_HALF) {
-            sortedArrayList.add(arrayList.get(indexForFirstHalf++));
+        long mergeNanosecondsBeforeSort = 0L;
+        if (MEASUREMENT != null) {
+            MEASUREMENT.recordCopyIn(NUMBER_OF_ELEMENTS, System.nanoTime() - phaseStartTime);
+            MEASUREMENT.recordRecursionDepth(getMergeSortRecursionDepth(NUMBER_OF_ELEMENTS));
+            mergeNanosecondsBeforeSort = MEASUREMENT.mergeNanoseconds;
+            phaseStartTime = System.nanoTime();
         }
-        while (indexForSecondHalf <= END_INDEX_FOR_SECOND_HALF) {
-            sortedArrayList.add(arrayList.get(indexForSecondHalf++));
+
+        // Sort the elements from the second half of the scratch buffer into the first half of the scratch buffer.
+        mergeSort(scratchBuffer, NUMBER_OF_ELEMENTS, scratchBuffer, 0, 0, (NUMBER_OF_ELEMENTS - 1), comparator);
+
+        // The time of the recursion that was not spent merging was spent splitting and sorting the shortest ranges.
+        if (MEASUREMENT != null) {
+            MEASUREMENT.splitNanoseconds += (System.nanoTime() - phaseStartTime)
+                    - (MEASUREMENT.mergeNanoseconds - mergeNanosecondsBeforeSort);
+            phaseStartTime = System.nanoTime();
         }
 
-        // Replace the range of elements in the array list with the elements from the sorted array list. The sorted array list contains the same elements as the range of elements from the array list but the elements in the sorted array list are in a sorted order.
-        for (int i = 0; i < sortedArrayList.size(); i++) {
-            arrayList.set(startIndex + i, sortedArrayList.get(i));
+        // Replace the range of elements in the list with the sorted elements.
+        writeArrayToList(scratchBuffer, 0, list, startIndex, NUMBER_OF_ELEMENTS);
+
+        if (MEASUREMENT != null) {
+            MEASUREMENT.recordCopyBack(NUMBER_OF_ELEMENTS, System.nanoTime() - phaseStartTime);
         }
 
-        // Return to the calling function now that the specified range of elements has been sorted.
-        return;
+        // Clear the scratch buffer so it does not keep the elements reachable.
+        Arrays.fill(scratchBuffer, 0, (2 * NUMBER_OF_ELEMENTS), null);
     }
 
     /**
-     * Sorts the elements in the inputted array list with merge sort. The array list is sorted in-place in ascending order.
+     * Sorts the elements in the inputted list with merge sort. The list is sorted in-place in ascending order. The sort is stable, so equal elements keep their relative order.
      * 
-     * @param arrayList The array list to sort.
+     * @param list The list to sort.
      * @throws IndexOutOfBoundsException
      * @throws NullPointerException
      * @throws ClassCastException
      */
-    public static <E extends Comparable<E>> void mergeSort(ArrayList<E> arrayList) throws IndexOutOfBoundsException, NullPointerException, ClassCastException {
-        mergeSort(arrayList, 0, (arrayList.size() - 1));
+    public static <E extends Comparable<E>> void mergeSort(List<E> list) throws IndexOutOfBoundsException,
+            NullPointerException, ClassCastException {
+        mergeSort(list, 0, (list.size() - 1));
+    }
+
+    /**
+     * Sorts the elements in the inputted list with merge sort. The list is sorted in-place in ascending order, as defined by the specified comparator. The sort is stable, so equal elements keep their relative order.
+     * 
+     * @param list The list to sort.
+     * @param comparator The comparator that defines the order of the elements.
+     * @throws IndexOutOfBoundsException
+     * @throws NullPointerException
+     * @throws ClassCastException
+     */
+    public static <E> void mergeSort(List<E> list, Comparator<? super E> comparator)
+            throws IndexOutOfBoundsException, NullPointerException, ClassCastException {
+        mergeSort(list, 0, (list.size() - 1), comparator);
+    }
+
+    /**
+     * Sorts the elements in the inputted list with merge sort, using the specified scratch buffer instead of allocating temporary storage. The list is sorted in-place in ascending order. The sort is stable, so equal elements keep their relative order.
+     * 
+     * @param list The list to sort.
+     * @param scratchBuffer The scratch buffer used to sort the list. It must be at least twice as long as the list.
+     * @throws IllegalArgumentException If the scratch buffer is shorter than twice the length of the list.
+     * @throws NullPointerException
+     * @throws ClassCastException
+     */
+    public static <E extends Comparable<E>> void mergeSort(List<E> list, Object[] scratchBuffer)
+            throws IllegalArgumentException, NullPointerException, ClassCastException {
+        mergeSort(list, 0, (list.size() - 1), scratchBuffer);
+    }
+
+    /**
+     * Creates a scratch buffer that is long enough to merge sort the specified number of elements. The scratch buffer can be passed to {@link #mergeSort(List, Object[])} and {@link #mergeSort(List, int, int, Object[])} and reused across sorts of up to that many elements.
+     * 
+     * @param numberOfElements The largest number of elements that will be sorted with the scratch buffer.
+     * @return Returns a scratch buffer that is long enough to merge sort the specified number of elements.
+     * @throws IllegalArgumentException If the number of elements is negative or too large for a scratch buffer.
+     */
+    public static Object[] createMergeSortScratchBuffer(int numberOfElements) throws IllegalArgumentException {
+        if ((numberOfElements < 0) || (numberOfElements > (Integer.MAX_VALUE / 2))) {
+            throw new IllegalArgumentException("Cannot create a scratch buffer for " + numberOfElements + " elements.");
+        }
+        if (SortInstrumentation.ENABLED) {
+            SortMeasurement.recordScratchBuffer(2 * numberOfElements);
+        }
+        return new Object[2 * numberOfElements];
+    }
+
+    /**
+     * Returns the depth of the recursion that merge sorting the specified number of elements reaches, counting the first call as depth one. The ranges are halved until they are short enough for insertion sort.
+     * 
+     * @param numberOfElements The number of elements to sort.
+     * @return Returns the recursion depth.
+     */
+    private static int getMergeSortRecursionDepth(int numberOfElements) {
+        int recursionDepth = 1;
+        for (int length = numberOfElements; (length - 1) >= INSERTION_SORT_THRESHOLD; length = (length + 1) / 2) {
+            recursionDepth++;
+        }
+        return recursionDepth;
+    }
+
+    /**
+     * Sorts the elements in the inputted list by the int key that the specified key extractor returns for each element. The list is sorted in-place in ascending order of the keys. The sort is stable, so elements with equal keys keep their relative order.
+     * 
+     * The key extractor is called exactly once per element. The keys are stored in a primitive array, the element indices are merge sorted by those keys without boxing, and the elements are then permuted into their sorted order.
+     * 
+     * @param list The list to sort.
+     * @param keyExtractor The function that returns the key of an element.
+     * @throws NullPointerException
+     */
+    public static <E> void mergeSortByIntKey(List<E> list, ToIntFunction<? super E> keyExtractor)
+            throws NullPointerException {
+        // Extract the key of every element once.
+        long[] keys = new long[list.size()];
+        int keyIndex = 0;
+        for (E element : list) {
+            keys[keyIndex++] = keyExtractor.applyAsInt(element);
+        }
+
+        // Sort the elements by their keys.
+        mergeSortByKeys(list, keys);
+    }
+
+    /**
+     * Sorts the elements in the inputted list by the long key that the specified key extractor returns for each element. The list is sorted in-place in ascending order of the keys. The sort is stable, so elements with equal keys keep their relative order.
+     * 
+     * The key extractor is called exactly once per element. The keys are stored in a primitive array, the element indices are merge sorted by those keys without boxing, and the elements are then permuted into their sorted order.
+     * 
+     * @param list The list to sort.
+     * @param keyExtractor The function that returns the key of an element.
+     * @throws NullPointerException
+     */
+    public static <E> void mergeSortByLongKey(List<E> list, ToLongFunction<? super E> keyExtractor)
+            throws NullPointerException {
+        // Extract the key of every element once.
+        long[] keys = new long[list.size()];
+        int keyIndex = 0;
+        for (E element : list) {
+            keys[keyIndex++] = keyExtractor.applyAsLong(element);
+        }
+
+        // Sort the elements by their keys.
+        mergeSortByKeys(list, keys);
+    }
+
+    /**
+     * Sorts the elements in the inputted list by the double key that the specified key extractor returns for each element. The list is sorted in-place in ascending order of the keys, with the keys ordered the same way {@link Double#compareTo(Double)} orders them. The sort is stable, so elements with equal keys keep their relative order.
+     * 
+     * The key extractor is called exactly once per element. The keys are stored in a primitive array, the element indices are merge sorted by those keys without boxing, and the elements are then permuted into their sorted order.
+     * 
+     * @param list The list to sort.
+     * @param keyExtractor The function that returns the key of an element.
+     * @throws NullPointerException
+     */
+    public static <E> void mergeSortByDoubleKey(List<E> list, ToDoubleFunction<? super E> keyExtractor)
+            throws NullPointerException {
+        // Extract the key of every element once and convert it into a long that orders the same way the double does.
+        long[] keys = new long[list.size()];
+        int keyIndex = 0;
+        for (E element : list) {
+            keys[keyIndex++] = toSortableLong(keyExtractor.applyAsDouble(element));
+        }
+
+        // Sort the elements by their keys.
+        mergeSortByKeys(list, keys);
+    }
+
+    /**
+     * Sorts the elements in the inputted list by the int key that the specified key extractor returns for each element, with counting sort. The list is sorted in-place in ascending order of the keys. The sort is stable, so elements with equal keys keep their relative order. Counting sort takes time proportional to the number of elements plus the range of the keys, so it is meant for keys from a small range, such as the grades of students.
+     * 
+     * @param list The list to sort.
+     * @param keyExtractor The function that returns the key of an element.
+     * @throws IllegalArgumentException If the range of the keys is too large for counting sort.
+     * @throws NullPointerException
+     */
+    public static <E> void countingSortByIntKey(List<E> list, ToIntFunction<? super E> keyExtractor)
+            throws IllegalArgumentException, NullPointerException {
+        // Extract the key of every element once.
+        long[] keys = new long[list.size()];
+        int keyIndex = 0;
+        for (E element : list) {
+            keys[keyIndex++] = keyExtractor.applyAsInt(element);
+        }
+
+        // Sort the elements by their keys.
+        countingSortByKeys(list, keys);
+    }
+
+    /**
+     * Sorts the elements in the inputted list by the long key that the specified key extractor returns for each element, with counting sort. The list is sorted in-place in ascending order of the keys. The sort is stable, so elements with equal keys keep their relative order. Counting sort takes time proportional to the number of elements plus the range of the keys, so it is meant for keys from a small range.
+     * 
+     * @param list The list to sort.
+     * @param keyExtractor The function that returns the key of an element.
+     * @throws IllegalArgumentException If the range of the keys is too large for counting sort.
+     * @throws NullPointerException
+     */
+    public static <E> void countingSortByLongKey(List<E> list, ToLongFunction<? super E> keyExtractor)
+            throws IllegalArgumentException, NullPointerException {
+        // Extract the key of every element once.
+        long[] keys = new long[list.size()];
+        int keyIndex = 0;
+        for (E element : list) {
+            keys[keyIndex++] = keyExtractor.applyAsLong(element);
+        }
+
+        // Sort the elements by their keys.
+        countingSortByKeys(list, keys);
+    }
+
+    /**
+     * Sorts the elements in the inputted list by the keys of the specified sort key, such as students by descending grade and then by ascending ID number. The list is sorted in-place. The sort is stable, so elements that are equal in every key keep their relative order.
+     * 
+     * The whole sort key is sorted in a single pass instead of one sort per key. When every key is an int, long or double key and their ranges fit into 64 bits together, each element's keys are extracted once and packed into a single long, and the elements are radix sorted by their packed keys. Otherwise the elements are merge sorted once with the sort key as their comparator.
+     * 
+     * @param list The list to sort.
+     * @param sortKey The sort key that defines the order of the elements.
+     * @throws NullPointerException
+     * @throws ClassCastException
+     */
+    public static <E> void sortBy(List<E> list, SortKey<? super E> sortKey) throws NullPointerException,
+            ClassCastException {
+        sortKey.sort(list);
+    }
+
+    /**
+     * Returns the indices of the specified keys in ascending order of the keys, without moving anything. The index at position i of the returned permutation is the index of the i-th smallest key, so callers that keep their records outside of the heap can gather the records in sorted order themselves. The sort is stable, so equal keys keep their relative order. The keys are merge sorted together with their indices, unless they come from a small range compared to their number, in which case they are counted instead. The keys array is left unchanged.
+     * 
+     * @param keys The keys to sort the indices of.
+     * @return Returns the permutation of indices that sorts the keys.
+     * @throws NullPointerException
+     */
+    public static int[] sortIndicesByKeys(long[] keys) throws NullPointerException {
+        // Create the index of every key.
+        final int NUMBER_OF_KEYS = keys.length;
+        int[] indices = createIndices(NUMBER_OF_KEYS);
+        if (NUMBER_OF_KEYS <= 1) {
+            return indices;
+        }
+
+        // Count the indices into place instead if the keys come from a small range.
+        KeyDistribution keyDistribution = KeyDistribution.of(keys);
+        if (keyDistribution.isCountingSortFavorable()) {
+            return CountingSort.sortIndicesByKeys(keys, keyDistribution);
+        }
+
+        // Sort the keys and indices together, leaving the caller's keys unchanged.
+        mergeSort(keys.clone(), indices.clone(), keys.clone(), indices, 0, (NUMBER_OF_KEYS - 1));
+        return indices;
+    }
+
+    /**
+     * Sorts the elements in the inputted list by the specified keys with a stable counting sort. The key at each index of the keys array belongs to the element at the same index of the list.
+     * 
+     * @param list The list to sort.
+     * @param keys The keys of the elements in the list.
+     * @throws IllegalArgumentException If the range of the keys is too large for counting sort.
+     */
+    private static <E> void countingSortByKeys(List<E> list, long[] keys) throws IllegalArgumentException {
+        // A list with one element or less in it is already sorted.
+        if (keys.length <= 1) {
+            return;
+        }
+        KeyDistribution keyDistribution = KeyDistribution.of(keys);
+        checkCountingSortKeyRange(keyDistribution);
+        CountingSort.sortByKeys(list, keys, keyDistribution);
+    }
+
+    /**
+     * Throws an IllegalArgumentException if the keys of the specified key distribution span a range that is too large for counting sort.
+     * 
+     * @param keyDistribution The distribution of the keys to sort.
+     * @throws IllegalArgumentException If the range of the keys is too large for counting sort.
+     */
+    private static void checkCountingSortKeyRange(KeyDistribution keyDistribution) throws IllegalArgumentException {
+        if (keyDistribution.getKeyRange() > KeyDistribution.MAXIMUM_COUNTING_SORT_KEY_RANGE) {
+            throw new IllegalArgumentException("The range of the keys is too large for counting sort: "
+                    + keyDistribution + ".");
+        }
+    }
+
+    /**
+     * Converts the specified double into a long whose signed order matches the order that {@link Double#compare(double, double)} gives the doubles. Negative doubles have all of their bits except the sign bit flipped, so larger magnitudes become smaller longs. Every NaN is collapsed into the canonical NaN, which becomes the largest key. Every sort of floating point keys in this package uses this order, so other code that orders floating point keys should use it too.
+     * 
+     * @param value The double to convert.
+     * @return Returns a long whose signed order matches the order of the doubles.
+     */
+    public static long toSortableLong(double value) {
+        long bits = Double.doubleToLongBits(value);
+        return bits ^ ((bits >> 63) & Long.MAX_VALUE);
+    }
+
+    /**
+     * Converts a long that was created by {@link #toSortableLong(double)} back into the double it was created from.
+     * 
+     * @param sortableLong The long to convert.
+     * @return Returns the double that the long was created from.
+     */
+    public static double fromSortableLong(long sortableLong) {
+        return Double.longBitsToDouble(sortableLong ^ ((sortableLong >> 63) & Long.MAX_VALUE));
+    }
+
+    /**
+     * Converts the specified float into an int whose signed order matches the order that {@link Float#compare(float, float)} gives the floats. Negative floats have all of their bits except the sign bit flipped, so larger magnitudes become smaller ints. Every NaN is collapsed into the canonical NaN, which becomes the largest key. Every sort of floating point keys in this package uses this order, so other code that orders floating point keys should use it too.
+     * 
+     * @param value The float to convert.
+     * @return Returns an int whose signed order matches the order of the floats.
+     */
+    public static int toSortableInt(float value) {
+        int bits = Float.floatToIntBits(value);
+        return bits ^ ((bits >> 31) & Integer.MAX_VALUE);
+    }
+
+    /**
+     * Converts an int that was created by {@link #toSortableInt(float)} back into the float it was created from.
+     * 
+     * @param sortableInt The int to convert.
+     * @return Returns the float that the int was created from.
+     */
+    public static float fromSortableInt(int sortableInt) {
+        return Float.intBitsToFloat(sortableInt ^ ((sortableInt >> 31) & Integer.MAX_VALUE));
+    }
+
+    /**
+     * Sorts the elements in the inputted list by the specified keys. The key at each index of the keys array belongs to the element at the same index of the list. The elements are merge sorted by their keys, unless the keys come from a small range compared to the number of elements, in which case they are sorted with a stable counting sort.
+     * 
+     * @param list The list to sort.
+     * @param keys The keys of the elements in the list.
+     */
+    private static <E> void mergeSortByKeys(List<E> list, long[] keys) {
+        // A list with one element or less in it is already sorted.
+        final int NUMBER_OF_ELEMENTS = keys.length;
+        if (NUMBER_OF_ELEMENTS <= 1) {
+            return;
+        }
+
+        // Sort the elements with a stable counting sort instead if the keys come from a small range.
+        KeyDistribution keyDistribution = KeyDistribution.of(keys);
+        if (keyDistribution.isCountingSortFavorable()) {
+            CountingSort.sortByKeys(list, keys, keyDistribution);
+            return;
+        }
+
+        // Create the index of every element and a second copy of the keys and indices for the merges.
+        int[] indices = new int[NUMBER_OF_ELEMENTS];
+        for (int i = 0; i < NUMBER_OF_ELEMENTS; i++) {
+            indices[i] = i;
+        }
+        long[] scratchKeys = keys.clone();
+        int[] scratchIndices = indices.clone();
+
+        // Sort the keys and indices together.
+        mergeSort(scratchKeys, scratchIndices, keys, indices, 0, (NUMBER_OF_ELEMENTS - 1));
+
+        // Permute the elements into the order given by the sorted indices.
+        Object[] elements = list.toArray();
+        Object[] sortedElements = new Object[NUMBER_OF_ELEMENTS];
+        for (int i = 0; i < NUMBER_OF_ELEMENTS; i++) {
+            sortedElements[i] = elements[indices[i]];
+        }
+        writeArrayToList(sortedElements, 0, list, 0, NUMBER_OF_ELEMENTS);
+    }
+
+    /**
+     * Replaces a range of elements in the specified list with elements from the specified array. Lists that support fast random access are written with {@code set(i)}. Other lists are written with a single list iterator pass, so linked lists are not walked once per element.
+     * 
+     * @param array The array that contains the elements to write.
+     * @param arrayIndex The index of the first element in the array to write.
+     * @param list The list whose elements are replaced.
+     * @param listIndex The index of the first element in the list to replace.
+     * @param numberOfElements The number of elements to write.
+     */
+    @SuppressWarnings("unchecked")
+    static <E> void writeArrayToList(Object[] array, int arrayIndex, List<E> list, int listIndex,
+            int numberOfElements) {
+        if (list instanceof RandomAccess) {
+            for (int i = 0; i < numberOfElements; i++) {
+                list.set(listIndex + i, (E) array[arrayIndex + i]);
+            }
+        } else {
+            ListIterator<E> listIterator = list.listIterator(listIndex);
+            for (int i = 0; i < numberOfElements; i++) {
+                listIterator.next();
+                listIterator.set((E) array[arrayIndex + i]);
+            }
+        }
+    }
+
+    /**
+     * Determines whether the range of elements in the specified array is sorted in ascending order between the element at the specified start index (inclusive) and the element at the specified end index (inclusive). Returns true if the specified range of elements in the array is sorted in ascending order. Returns false otherwise.
+     * 
+     * @param array The array that contains the range of elements whose sorting order needs to be checked.
+     * @param startIndex The index that specifies the start of the range of elements that need to be checked in the array. This index is inclusive.
+     * @param endIndex The index that specifies the end of the range of elements that need to be checked in the array. This index is inclusive.
+     * @return Returns true if the specified range of elements in the array is sorted in ascending order. Returns false otherwise.
+     * @throws IndexOutOfBoundsException If the start index is greater than the end index.
+     * @throws NullPointerException
+     * @throws ClassCastException
+     */
+    public static <E extends Comparable<E>> boolean isArraySorted(E[] array, int startIndex, int endIndex)
+            throws IndexOutOfBoundsException, NullPointerException, ClassCastException {
+        return isArraySorted(array, startIndex, endIndex, Comparator.naturalOrder());
+    }
+
+    /**
+     * Determines whether the range of elements in the specified array is sorted in ascending order, as defined by the specified comparator, between the element at the specified start index (inclusive) and the element at the specified end index (inclusive). Returns true if the specified range of elements in the array is sorted in ascending order. Returns false otherwise.
+     * 
+     * @param array The array that contains the range of elements whose sorting order needs to be checked.
+     * @param startIndex The index that specifies the start of the range of elements that need to be checked in the array. This index is inclusive.
+     * @param endIndex The index that specifies the end of the range of elements that need to be checked in the array. This index is inclusive.
+     * @param comparator The comparator that defines the order of the elements.
+     * @return Returns true if the specified range of elements in the array is sorted in ascending order. Returns false otherwise.
+     * @throws IndexOutOfBoundsException If the start index is greater than the end index.
+     * @throws NullPointerException
+     * @throws ClassCastException
+     */
+    public static <E> boolean isArraySorted(E[] array, int startIndex, int endIndex, Comparator<? super E> comparator)
+            throws IndexOutOfBoundsException, NullPointerException, ClassCastException {
+        // Throw an IndexOutOfBoundsException if the start index is greater than the end index.
+        if (startIndex > endIndex) {
+            throw new IndexOutOfBoundsException();
+        }
+
+        // If the range of elements are not sorted in ascending order, return false.
+        for (int i = startIndex; i < endIndex; i++) {
+            if (comparator.compare(array[i], array[i + 1]) > 0) {
+                return false;
+            }
+        }
+
+        // The range of elements are sorted. Return true.
+        return true;
+    }
+
+    /**
+     * Determines whether the elements in the specified array are sorted in ascending order. Returns true if the elements in the array are sorted in ascending order. Returns false otherwise.
+     * 
+     * @param array The array that contains the elements whose sorting order needs to be checked.
+     * @return Returns true if the elements in the array are sorted in ascending order. Returns false otherwise.
+     * @throws NullPointerException
+     * @throws ClassCastException
+     */
+    public static <E extends Comparable<E>> boolean isArraySorted(E[] array)
+            throws NullPointerException, ClassCastException {
+        return isArraySorted(array, Comparator.naturalOrder());
+    }
+
+    /**
+     * Determines whether the elements in the specified array are sorted in ascending order, as defined by the specified comparator. Returns true if the elements in the array are sorted in ascending order. Returns false otherwise.
+     * 
+     * @param array The array that contains the elements whose sorting order needs to be checked.
+     * @param comparator The comparator that defines the order of the elements.
+     * @return Returns true if the elements in the array are sorted in ascending order. Returns false otherwise.
+     * @throws NullPointerException
+     * @throws ClassCastException
+     */
+    public static <E> boolean isArraySorted(E[] array, Comparator<? super E> comparator)
+            throws NullPointerException, ClassCastException {
+        return (array.length == 0) || isArraySorted(array, 0, (array.length - 1), comparator);
+    }
+
+    /**
+     * Sorts the inputted array in-place with bubble sort. The array is sorted in ascending order.
+     * 
+     * @param array The array to sort.
+     * @throws NullPointerException
+     * @throws ClassCastException
+     */
+    public static <E extends Comparable<E>> void bubbleSort(E[] array) throws NullPointerException, ClassCastException {
+        bubbleSort(array, Comparator.naturalOrder());
+    }
+
+    /**
+     * Sorts the inputted array in-place with bubble sort. The array is sorted in ascending order, as defined by the specified comparator.
+     * 
+     * @param array The array to sort.
+     * @param comparator The comparator that defines the order of the elements.
+     * @throws NullPointerException
+     * @throws ClassCastException
+     */
+    public static <E> void bubbleSort(E[] array, Comparator<? super E> comparator)
+            throws NullPointerException, ClassCastException {
+        for (int i = (array.length - 1); i > 0; i--) {
+            boolean wereElementsSwapped = false;
+            for (int j = 0; j < i; j++) {
+                // If an element at an index and the element at the next index are not sorted in ascending order, swap the elements.
+                if (comparator.compare(array[j], array[j + 1]) > 0) {
+                    E elementToSwap = array[j];
+                    array[j] = array[j + 1];
+                    array[j + 1] = elementToSwap;
+                    wereElementsSwapped = true;
+                }
+            }
+
+            // If a pass did not swap any elements, the array is sorted.
+            if (!wereElementsSwapped) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Sorts the elements in the inputted array between the start index (inclusive) and the end index (inclusive) with merge sort. The array is sorted in-place in ascending order. The sort is stable, so equal elements keep their relative order.
+     * 
+     * @param array The array to sort.
+     * @param startIndex The index specifying the start of the range of elements to sort in the array. The element at this index is included in the range of elements that are sorted.
+     * @param endIndex The index specifying the end of the range of elements to sort in the array. The element at this index is included in the range of elements that are sorted.
+     * @throws IndexOutOfBoundsException
+     * @throws NullPointerException
+     * @throws ClassCastException
+     */
+    public static <E extends Comparable<E>> void mergeSort(E[] array, int startIndex, int endIndex)
+            throws IndexOutOfBoundsException, NullPointerException, ClassCastException {
+        mergeSort(array, startIndex, endIndex, Comparator.naturalOrder());
+    }
+
+    /**
+     * Sorts the elements in the inputted array between the start index (inclusive) and the end index (inclusive) with merge sort. The array is sorted in-place in ascending order, as defined by the specified comparator. The sort is stable, so equal elements keep their relative order. A single scratch buffer that is as long as the range of elements is allocated for the whole sort.
+     * 
+     * @param array The array to sort.
+     * @param startIndex The index specifying the start of the range of elements to sort in the array. The element at this index is included in the range of elements that are sorted.
+     * @param endIndex The index specifying the end of the range of elements to sort in the array. The element at this index is included in the range of elements that are sorted.
+     * @param comparator The comparator that defines the order of the elements.
+     * @throws IndexOutOfBoundsException If the range of elements is not inside the array.
+     * @throws NullPointerException
+     * @throws ClassCastException
+     */
+    public static <E> void mergeSort(E[] array, int startIndex, int endIndex, Comparator<? super E> comparator)
+            throws IndexOutOfBoundsException, NullPointerException, ClassCastException {
+        // A range of elements with one element or less in it is already sorted.
+        if (startIndex >= endIndex) {
+            return;
+        }
+
+        // Throw an IndexOutOfBoundsException if the range of elements is not inside the array.
+        if ((startIndex < 0) || (endIndex >= array.length)) {
+            throw new IndexOutOfBoundsException();
+        }
+
+        // Copy the range of elements into a scratch buffer and sort them from the scratch buffer back into the array.
+        Object[] scratchBuffer = Arrays.copyOfRange(array, startIndex, (endIndex + 1), Object[].class);
+        mergeSort(scratchBuffer, -startIndex, array, 0, startIndex, endIndex, comparator);
+    }
+
+    /**
+     * Sorts the elements in the inputted array with merge sort. The array is sorted in-place in ascending order. The sort is stable, so equal elements keep their relative order.
+     * 
+     * @param array The array to sort.
+     * @throws NullPointerException
+     * @throws ClassCastException
+     */
+    public static <E extends Comparable<E>> void mergeSort(E[] array) throws NullPointerException, ClassCastException {
+        mergeSort(array, 0, (array.length - 1));
+    }
+
+    /**
+     * Sorts the elements in the inputted array with merge sort. The array is sorted in-place in ascending order, as defined by the specified comparator. The sort is stable, so equal elements keep their relative order.
+     * 
+     * @param array The array to sort.
+     * @param comparator The comparator that defines the order of the elements.
+     * @throws NullPointerException
+     * @throws ClassCastException
+     */
+    public static <E> void mergeSort(E[] array, Comparator<? super E> comparator)
+            throws NullPointerException, ClassCastException {
+        mergeSort(array, 0, (array.length - 1), comparator);
+    }
+
+    /**
+     * Sorts the elements in the inputted list with an adaptive natural merge sort. The list is sorted in-place in ascending order. The sort is stable, so equal elements keep their relative order.
+     * 
+     * The sort finds the runs of elements that are already in ascending or strictly descending order and merges them, so it does less work the more ordered the input already is. A list that is already sorted costs n - 1 comparisons.
+     * 
+     * @param list The list to sort.
+     * @throws NullPointerException
+     * @throws ClassCastException
+     * @throws IllegalArgumentException If the elements' compareTo methods violate their general contract.
+     */
+    public static <E extends Comparable<E>> void adaptiveMergeSort(List<E> list)
+            throws NullPointerException, ClassCastException, IllegalArgumentException {
+        adaptiveMergeSort(list, Comparator.naturalOrder());
+    }
+
+    /**
+     * Sorts the elements in the inputted list with an adaptive natural merge sort. The list is sorted in-place in ascending order, as defined by the specified comparator. The sort is stable, so equal elements keep their relative order.
+     * 
+     * @param list The list to sort.
+     * @param comparator The comparator that defines the order of the elements.
+     * @throws NullPointerException
+     * @throws ClassCastException
+     * @throws IllegalArgumentException If the comparator violates its general contract.
+     */
+    public static <E> void adaptiveMergeSort(List<E> list, Comparator<? super E> comparator)
+            throws NullPointerException, ClassCastException, IllegalArgumentException {
+        // Sort the elements in an array and write them back into the list.
+        @SuppressWarnings("unchecked")
+        E[] array = (E[]) list.toArray();
+        AdaptiveMergeSort.sort(array, 0, array.length, comparator);
+        writeArrayToList(array, 0, list, 0, array.length);
+    }
+
+    /**
+     * Sorts the elements in the inputted array with an adaptive natural merge sort. The array is sorted in-place in ascending order. The sort is stable, so equal elements keep their relative order. An array that is already sorted costs n - 1 comparisons.
+     * 
+     * @param array The array to sort.
+     * @throws NullPointerException
+     * @throws ClassCastException
+     * @throws IllegalArgumentException If the elements' compareTo methods violate their general contract.
+     */
+    public static <E extends Comparable<E>> void adaptiveMergeSort(E[] array)
+            throws NullPointerException, ClassCastException, IllegalArgumentException {
+        AdaptiveMergeSort.sort(array, 0, array.length, Comparator.naturalOrder());
+    }
+
+    /**
+     * Sorts the elements in the inputted array with an adaptive natural merge sort. The array is sorted in-place in ascending order, as defined by the specified comparator. The sort is stable, so equal elements keep their relative order. An array that is already sorted costs n - 1 comparisons.
+     * 
+     * @param array The array to sort.
+     * @param comparator The comparator that defines the order of the elements.
+     * @throws NullPointerException
+     * @throws ClassCastException
+     * @throws IllegalArgumentException If the comparator violates its general contract.
+     */
+    public static <E> void adaptiveMergeSort(E[] array, Comparator<? super E> comparator)
+            throws NullPointerException, ClassCastException, IllegalArgumentException {
+        AdaptiveMergeSort.sort(array, 0, array.length, comparator);
+    }
+
+    /**
+     * Sorts the elements in the inputted list with introsort, a dual-pivot quicksort that partitions runs of equal elements three ways and falls back to heapsort. The list is sorted in ascending order in O(n log n) time, even in the worst case. The sort is not stable, so equal elements may not keep their relative order. The elements are copied into an array, sorted there in-place with O(log n) extra space, and written back.
+     * 
+     * @param list The list to sort.
+     * @throws NullPointerException
+     * @throws ClassCastException
+     */
+    public static <E extends Comparable<E>> void introSort(List<E> list) throws NullPointerException,
+            ClassCastException {
+        introSort(list, Comparator.naturalOrder());
+    }
+
+    /**
+     * Sorts the elements in the inputted list with introsort in the order that the specified comparator defines. The list is sorted in ascending order in O(n log n) time, even in the worst case. The sort is not stable, so equal elements may not keep their relative order.
+     * 
+     * @param list The list to sort.
+     * @param comparator The comparator that defines the order of the elements.
+     * @throws NullPointerException
+     * @throws ClassCastException
+     */
+    public static <E> void introSort(List<E> list, Comparator<? super E> comparator)
+            throws NullPointerException, ClassCastException {
+        // Sort the elements in an array and write them back into the list.
+        @SuppressWarnings("unchecked")
+        E[] array = (E[]) list.toArray();
+        IntroSort.sort(array, 0, array.length, comparator);
+        writeArrayToList(array, 0, list, 0, array.length);
+    }
+
+    /**
+     * Sorts the elements in the inputted array in-place with introsort. The array is sorted in ascending order in O(n log n) time, even in the worst case, with O(log n) extra space. The sort is not stable, so equal elements may not keep their relative order.
+     * 
+     * @param array The array to sort.
+     * @throws NullPointerException
+     * @throws ClassCastException
+     */
+    public static <E extends Comparable<E>> void introSort(E[] array) throws NullPointerException, ClassCastException {
+        IntroSort.sort(array, 0, array.length, Comparator.naturalOrder());
+    }
+
+    /**
+     * Sorts the elements in the inputted array in-place with introsort in the order that the specified comparator defines. The array is sorted in ascending order in O(n log n) time, even in the worst case, with O(log n) extra space. The sort is not stable, so equal elements may not keep their relative order.
+     * 
+     * @param array The array to sort.
+     * @param comparator The comparator that defines the order of the elements.
+     * @throws NullPointerException
+     * @throws ClassCastException
+     */
+    public static <E> void introSort(E[] array, Comparator<? super E> comparator)
+            throws NullPointerException, ClassCastException {
+        IntroSort.sort(array, 0, array.length, comparator);
+    }
+
+    /**
+     * Returns the k smallest elements in the inputted list in ascending order, without sorting the whole list. Pass a reversed comparator to get the k largest elements instead, e.g. the best k students by grade. The result is the same as the first k elements of the list after a stable sort, so equal elements keep their relative order. The list is left unchanged. If k is at most a sixteenth of the list's size, the elements are selected with a bounded heap in O(n log k) time and O(k) extra space. Otherwise they are selected with quickselect in O(n) average time. The selected elements are then sorted in O(k log k) time.
+     * 
+     * @param list The list to select the elements from.
+     * @param k The number of elements to return. If it is larger than the size of the list, every element is returned.
+     * @return Returns a new array list that holds the k smallest elements in ascending order.
+     * @throws IllegalArgumentException If k is negative.
+     * @throws NullPointerException
+     * @throws ClassCastException
+     */
+    public static <E extends Comparable<E>> ArrayList<E> topK(List<E> list, int k)
+            throws IllegalArgumentException, NullPointerException, ClassCastException {
+        return topK(list, k, Comparator.naturalOrder());
+    }
+
+    /**
+     * Returns the k smallest elements in the inputted list in ascending order, as defined by the specified comparator, without sorting the whole list. The result is the same as the first k elements of the list after a stable sort, so equal elements keep their relative order. The list is left unchanged.
+     * 
+     * @param list The list to select the elements from.
+     * @param k The number of elements to return. If it is larger than the size of the list, every element is returned.
+     * @param comparator The comparator that defines the order of the elements.
+     * @return Returns a new array list that holds the k smallest elements in ascending order.
+     * @throws IllegalArgumentException If k is negative.
+     * @throws NullPointerException
+     * @throws ClassCastException
+     */
+    @SuppressWarnings("unchecked")
+    public static <E> ArrayList<E> topK(List<E> list, int k, Comparator<? super E> comparator)
+            throws IllegalArgumentException, NullPointerException, ClassCastException {
+        if (k < 0) {
+            throw new IllegalArgumentException("k must not be negative.");
+        }
+        final int NUMBER_OF_ELEMENTS = list.size();
+        final int NUMBER_TO_SELECT = Math.min(k, NUMBER_OF_ELEMENTS);
+        if (NUMBER_TO_SELECT == 0) {
+            return new ArrayList<>();
+        }
+
+        // Select the k smallest elements, together with their indices in the list.
+        Object[] selectedElements;
+        int[] selectedIndices;
+        if (NUMBER_TO_SELECT <= (NUMBER_OF_ELEMENTS / TOP_K_HEAP_DIVISOR)) {
+            selectedElements = new Object[NUMBER_TO_SELECT];
+            selectedIndices = new int[NUMBER_TO_SELECT];
+            Selection.selectWithHeap(list, NUMBER_TO_SELECT, selectedElements, selectedIndices, comparator);
+        } else {
+            selectedElements = list.toArray();
+            selectedIndices = createIndices(NUMBER_OF_ELEMENTS);
+            if (NUMBER_TO_SELECT < NUMBER_OF_ELEMENTS) {
+                Selection.select(selectedElements, selectedIndices, 0, NUMBER_OF_ELEMENTS, (NUMBER_TO_SELECT - 1),
+                        comparator);
+            }
+        }
+
+        // Sort the selected elements and return them in a new list.
+        Object[] sortedElements = sortSelectedElements(selectedElements, selectedIndices, 0, NUMBER_TO_SELECT,
+                comparator);
+        ArrayList<E> topElements = new ArrayList<>(NUMBER_TO_SELECT);
+        for (Object element : sortedElements) {
+            topElements.add((E) element);
+        }
+        return topElements;
+    }
+
+    /**
+     * Sorts only the elements in the inputted list whose ranks are between the start rank (inclusive) and the end rank (inclusive). Afterwards, the positions in that range hold exactly the elements that a stable sort of the whole list would put there, in the same order. Every element before the range is less than or equal to them and every element after the range is greater than or equal to them, but those elements are left in an unspecified order. The range is found with two quickselects in O(n) average time and then sorted in O(m log m) time, where m is the length of the range.
+     * 
+     * @param list The list to partially sort.
+     * @param startRank The rank specifying the start of the range of ranks to sort. This rank is inclusive.
+     * @param endRank The rank specifying the end of the range of ranks to sort. This rank is inclusive.
+     * @throws IndexOutOfBoundsException If the range of ranks is not inside the list.
+     * @throws NullPointerException
+     * @throws ClassCastException
+     */
+    public static <E extends Comparable<E>> void partialSort(List<E> list, int startRank, int endRank)
+            throws IndexOutOfBoundsException, NullPointerException, ClassCastException {
+        partialSort(list, startRank, endRank, Comparator.naturalOrder());
+    }
+
+    /**
+     * Sorts only the elements in the inputted list whose ranks, as defined by the specified comparator, are between the start rank (inclusive) and the end rank (inclusive). Afterwards, the positions in that range hold exactly the elements that a stable sort of the whole list would put there, in the same order. The elements before and after the range are left in an unspecified order on the correct side of it.
+     * 
+     * @param list The list to partially sort.
+     * @param startRank The rank specifying the start of the range of ranks to sort. This rank is inclusive.
+     * @param endRank The rank specifying the end of the range of ranks to sort. This rank is inclusive.
+     * @param comparator The comparator that defines the order of the elements.
+     * @throws IndexOutOfBoundsException If the range of ranks is not inside the list.
+     * @throws NullPointerException
+     * @throws ClassCastException
+     */
+    public static <E> void partialSort(List<E> list, int startRank, int endRank, Comparator<? super E> comparator)
+            throws IndexOutOfBoundsException, NullPointerException, ClassCastException {
+        // An empty range of ranks does not need to be sorted.
+        if (startRank > endRank) {
+            return;
+        }
+
+        // Throw an IndexOutOfBoundsException if the range of ranks is not inside the list.
+        final int NUMBER_OF_ELEMENTS = list.size();
+        if ((startRank < 0) || (endRank >= NUMBER_OF_ELEMENTS)) {
+            throw new IndexOutOfBoundsException();
+        }
+
+        // Select the element at the start rank, and then the element at the end rank among the larger elements, so the range holds the right elements.
+        Object[] elements = list.toArray();
+        int[] indices = createIndices(NUMBER_OF_ELEMENTS);
+        Selection.select(elements, indices, 0, NUMBER_OF_ELEMENTS, startRank, comparator);
+        if (endRank > startRank) {
+            Selection.select(elements, indices, (startRank + 1), NUMBER_OF_ELEMENTS, endRank, comparator);
+        }
+
+        // Sort the range and write every element back into the list.
+        final int NUMBER_OF_RANKS = endRank - startRank + 1;
+        Object[] sortedElements = sortSelectedElements(elements, indices, startRank, NUMBER_OF_RANKS, comparator);
+        System.arraycopy(sortedElements, 0, elements, startRank, NUMBER_OF_RANKS);
+        writeArrayToList(elements, 0, list, 0, NUMBER_OF_ELEMENTS);
+    }
+
+    /**
+     * Creates an array that holds the indices from zero up to the specified number (exclusive).
+     * 
+     * @param numberOfIndices The number of indices.
+     * @return Returns the array of indices.
+     */
+    private static int[] createIndices(int numberOfIndices) {
+        int[] indices = new int[numberOfIndices];
+        for (int i = 0; i < numberOfIndices; i++) {
+            indices[i] = i;
+        }
+        return indices;
+    }
+
+    /**
+     * Sorts a range of selected elements stably. The elements are first put back into the order of their indices in the list, which selection scrambles, and then merge sorted, so equal elements end up in list order.
+     * 
+     * @param elements The selected elements.
+     * @param indices The list indices of the selected elements.
+     * @param startIndex The index of the first selected element in the arrays.
+     * @param numberOfElements The number of selected elements.
+     * @param comparator The comparator that defines the order of the elements.
+     * @return Returns a new array that holds the selected elements in ascending order.
+     */
+    private static <E> Object[] sortSelectedElements(Object[] elements, int[] indices, int startIndex,
+            int numberOfElements, Comparator<? super E> comparator) {
+        // Put the elements back into list order.
+        long[] listIndices = new long[numberOfElements];
+        for (int i = 0; i < numberOfElements; i++) {
+            listIndices[i] = indices[startIndex + i];
+        }
+        int[] listOrder = sortIndicesByKeys(listIndices);
+        Object[] sortedElements = new Object[numberOfElements];
+        for (int i = 0; i < numberOfElements; i++) {
+            sortedElements[i] = elements[startIndex + listOrder[i]];
+        }
+
+        // Merge sort the elements.
+        if (numberOfElements > 1) {
+            mergeSort(sortedElements.clone(), 0, sortedElements, 0, 0, (numberOfElements - 1), comparator);
+        }
+        return sortedElements;
+    }
+
+    /**
+     * Sorts a range of keys, and the element indices that travel with them, from the source arrays into the same range of the destination arrays with merge sort. Before the call, the source and destination arrays must contain the same keys and indices in the range. After the call, the range of the destination arrays is sorted in ascending order of the keys.
+     * 
+     * @param sourceKeys The keys that are merged from.
+     * @param sourceIndices The element indices that are merged from.
+     * @param destinationKeys The keys that the sorted range is written into.
+     * @param destinationIndices The element indices that the sorted range is written into.
+     * @param startIndex The index specifying the start of the range to sort. This index is inclusive.
+     * @param endIndex The index specifying the end of the range to sort. This index is inclusive.
+     */
+    static void mergeSort(long[] sourceKeys, int[] sourceIndices, long[] destinationKeys,
+            int[] destinationIndices, int startIndex, int endIndex) {
+        // Sort small ranges with insertion sort directly in the destination arrays.
+        if ((endIndex - startIndex) < INSERTION_SORT_THRESHOLD) {
+            for (int i = startIndex + 1; i <= endIndex; i++) {
+                long keyToInsert = destinationKeys[i];
+                int indexToInsert = destinationIndices[i];
+                int j = i - 1;
+                while ((j >= startIndex) && (destinationKeys[j] > keyToInsert)) {
+                    destinationKeys[j + 1] = destinationKeys[j];
+                    destinationIndices[j + 1] = destinationIndices[j];
+                    j--;
+                }
+                destinationKeys[j + 1] = keyToInsert;
+                destinationIndices[j + 1] = indexToInsert;
+            }
+            return;
+        }
+
+        // Sort each half of the range from the destination arrays into the source arrays.
+        final int END_INDEX_FOR_FIRST_HALF = ((endIndex - startIndex) / 2) + startIndex;
+        final int START_INDEX_FOR_SECOND_HALF = END_INDEX_FOR_FIRST_HALF + 1;
+        mergeSort(destinationKeys, destinationIndices, sourceKeys, sourceIndices, startIndex, END_INDEX_FOR_FIRST_HALF);
+        mergeSort(destinationKeys, destinationIndices, sourceKeys, sourceIndices, START_INDEX_FOR_SECOND_HALF,
+                endIndex);
+
+        // If the halves are already in order, copy them instead of merging them.
+        if (sourceKeys[END_INDEX_FOR_FIRST_HALF] <= sourceKeys[START_INDEX_FOR_SECOND_HALF]) {
+            System.arraycopy(sourceKeys, startIndex, destinationKeys, startIndex, (endIndex - startIndex + 1));
+            System.arraycopy(sourceIndices, startIndex, destinationIndices, startIndex, (endIndex - startIndex + 1));
+            return;
+        }
+
+        // Merge the sorted halves from the source arrays into the destination arrays.
+        int indexForFirstHalf = startIndex;
+        int indexForSecondHalf = START_INDEX_FOR_SECOND_HALF;
+        for (int i = startIndex; i <= endIndex; i++) {
+            if ((indexForSecondHalf > endIndex) || ((indexForFirstHalf <= END_INDEX_FOR_FIRST_HALF)
+                    && (sourceKeys[indexForFirstHalf] <= sourceKeys[indexForSecondHalf]))) {
+                destinationKeys[i] = sourceKeys[indexForFirstHalf];
+                destinationIndices[i] = sourceIndices[indexForFirstHalf++];
+            } else {
+                destinationKeys[i] = sourceKeys[indexForSecondHalf];
+                destinationIndices[i] = sourceIndices[indexForSecondHalf++];
+            }
+        }
+    }
+
+    /**
+     * Sorts a range of elements from the source array into the same range of the destination array with merge sort. The element with index i lives at position (offset + i) of each array. Before the call, both arrays must contain the same elements in the range. After the call, the range of the destination array is sorted in ascending order, as defined by the comparator, and the range of the source array is left in an unspecified order. Each level of the recursion swaps the roles of the two arrays, so the sorted halves never need to be copied back.
+     * 
+     * @param sourceArray The array that the range of elements is merged from.
+     * @param sourceOffset The position in the source array of the element with index zero.
+     * @param destinationArray The array that the sorted range of elements is written into.
+     * @param destinationOffset The position in the destination array of the element with index zero.
+     * @param startIndex The index specifying the start of the range of elements to sort. This index is inclusive.
+     * @param endIndex The index specifying the end of the range of elements to sort. This index is inclusive.
+     * @param comparator The comparator that defines the order of the elements.
+     */
+    @SuppressWarnings("unchecked")
+    static <E> void mergeSort(Object[] sourceArray, int sourceOffset, Object[] destinationArray,
+            int destinationOffset, int startIndex, int endIndex, Comparator<? super E> comparator) {
+        // Sort small ranges of elements with insertion sort directly in the destination array.
+        if ((endIndex - startIndex) < INSERTION_SORT_THRESHOLD) {
+            // Count the shifts and insertions, which are only recorded when the sort is measured.
+            int numberOfMoves = 0;
+            for (int i = startIndex + 1; i <= endIndex; i++) {
+                E elementToInsert = (E) destinationArray[destinationOffset + i];
+                int j = i - 1;
+                while ((j >= startIndex)
+                        && (comparator.compare((E) destinationArray[destinationOffset + j], elementToInsert) > 0)) {
+                    destinationArray[destinationOffset + j + 1] = destinationArray[destinationOffset + j];
+                    j--;
+                }
+                destinationArray[destinationOffset + j + 1] = elementToInsert;
+                numberOfMoves += i - j;
+            }
+            if (SortInstrumentation.ENABLED) {
+                SortMeasurement.recordMoves(numberOfMoves);
+            }
+            return;
+        }
+
+        // Sort each half of the range of elements from the destination array into the source array.
+        final int END_INDEX_FOR_FIRST_HALF = ((endIndex - startIndex) / 2) + startIndex;
+        final int START_INDEX_FOR_SECOND_HALF = END_INDEX_FOR_FIRST_HALF + 1;
+        mergeSort(destinationArray, destinationOffset, sourceArray, sourceOffset, startIndex, END_INDEX_FOR_FIRST_HALF,
+                comparator);
+        mergeSort(destinationArray, destinationOffset, sourceArray, sourceOffset, START_INDEX_FOR_SECOND_HALF, endIndex,
+                comparator);
+
+        // Time the merge when the sort is measured.
+        final long MERGE_START_TIME = SortInstrumentation.ENABLED ? System.nanoTime() : 0L;
+
+        // If the last element of the first half is not greater than the first element of the second half, the halves are already in order. Copy them instead of merging them.
+        if (comparator.compare((E) sourceArray[sourceOffset + END_INDEX_FOR_FIRST_HALF],
+                (E) sourceArray[sourceOffset + START_INDEX_FOR_SECOND_HALF]) <= 0) {
+            System.arraycopy(sourceArray, (sourceOffset + startIndex), destinationArray,
+                    (destinationOffset + startIndex), (endIndex - startIndex + 1));
+            if (SortInstrumentation.ENABLED) {
+                SortMeasurement.recordMerge((endIndex - startIndex + 1), MERGE_START_TIME);
+            }
+            return;
+        }
+
+        // Merge the sorted halves from the source array into the destination array.
+        int indexForFirstHalf = startIndex;
+        int indexForSecondHalf = START_INDEX_FOR_SECOND_HALF;
+        for (int i = startIndex; i <= endIndex; i++) {
+            if ((indexForSecondHalf > endIndex) || ((indexForFirstHalf <= END_INDEX_FOR_FIRST_HALF)
+                    && (comparator.compare((E) sourceArray[sourceOffset + indexForFirstHalf],
+                            (E) sourceArray[sourceOffset + indexForSecondHalf]) <= 0))) {
+                destinationArray[destinationOffset + i] = sourceArray[sourceOffset + indexForFirstHalf++];
+            } else {
+                destinationArray[destinationOffset + i] = sourceArray[sourceOffset + indexForSecondHalf++];
+            }
+        }
+        if (SortInstrumentation.ENABLED) {
+            SortMeasurement.recordMerge((endIndex - startIndex + 1), MERGE_START_TIME);
+        }
+    }
+
+    /**
+     * Determines whether the range of elements in the specified int array is sorted in ascending order between the element at the specified start index (inclusive) and the element at the specified end index (inclusive). Returns true if the specified range of elements in the array is sorted in ascending order. Returns false otherwise.
+     * 
+     * @param array The int array that contains the range of elements whose sorting order needs to be checked.
+     * @param startIndex The index that specifies the start of the range of elements that need to be checked in the array. This index is inclusive.
+     * @param endIndex The index that specifies the end of the range of elements that need to be checked in the array. This index is inclusive.
+     * @return Returns true if the specified range of elements in the array is sorted in ascending order. Returns false otherwise.
+     * @throws IndexOutOfBoundsException If the start index is greater than the end index.
+     * @throws NullPointerException
+     */
+    public static boolean isArraySorted(int[] array, int startIndex, int endIndex)
+            throws IndexOutOfBoundsException, NullPointerException {
+        // Throw an IndexOutOfBoundsException if the start index is greater than the end index.
+        if (startIndex > endIndex) {
+            throw new IndexOutOfBoundsException();
+        }
+
+        // The range of elements are sorted if none of them is greater than the element after it.
+        return !Sortedness.hasDescent(array, startIndex, endIndex);
+    }
+
+    /**
+     * Determines whether the elements in the specified int array are sorted in ascending order. Returns true if the elements in the array are sorted in ascending order. Returns false otherwise.
+     * 
+     * @param array The int array that contains the elements whose sorting order needs to be checked.
+     * @return Returns true if the elements in the array are sorted in ascending order. Returns false otherwise.
+     * @throws NullPointerException
+     */
+    public static boolean isArraySorted(int[] array) throws NullPointerException {
+        return Sortedness.isSorted(array);
+    }
+
+    /**
+     * Sorts the inputted int array in-place with bubble sort. The array is sorted in ascending order without boxing any of its elements.
+     * 
+     * @param array The int array to sort.
+     * @throws NullPointerException
+     */
+    public static void bubbleSort(int[] array) throws NullPointerException {
+        for (int i = (array.length - 1); i > 0; i--) {
+            boolean wereElementsSwapped = false;
+            for (int j = 0; j < i; j++) {
+                // If an element at an index and the element at the next index are not sorted in ascending order, swap the elements.
+                if (array[j] > array[j + 1]) {
+                    int elementToSwap = array[j];
+                    array[j] = array[j + 1];
+                    array[j + 1] = elementToSwap;
+                    wereElementsSwapped = true;
+                }
+            }
+
+            // If a pass did not swap any elements, the array is sorted.
+            if (!wereElementsSwapped) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Sorts the elements in the inputted int array between the start index (inclusive) and the end index (inclusive) with merge sort. The array is sorted in-place in ascending order without boxing any of its elements. A single scratch buffer that is as long as the range of elements is allocated for the whole sort. If the range of the keys is no larger than the number of elements, as it is for many duplicates from a small range, the elements are sorted with counting sort instead; see {@link KeyDistribution#isCountingSortFavorable()}.
+     * 
+     * @param array The int array to sort.
+     * @param startIndex The index specifying the start of the range of elements to sort in the array. The element at this index is included in the range of elements that are sorted.
+     * @param endIndex The index specifying the end of the range of elements to sort in the array. The element at this index is included in the range of elements that are sorted.
+     * @throws IndexOutOfBoundsException
+     * @throws NullPointerException
+     */
+    public static void mergeSort(int[] array, int startIndex, int endIndex)
+            throws IndexOutOfBoundsException, NullPointerException {
+        // A range of elements with one element or less in it is already sorted.
+        if (startIndex >= endIndex) {
+            return;
+        }
+
+        // Sort the range of elements with counting sort instead if the keys come from a small range.
+        KeyDistribution keyDistribution = KeyDistribution.of(array, startIndex, endIndex);
+        if (keyDistribution.isCountingSortFavorable()) {
+            CountingSort.sort(array, startIndex, endIndex, keyDistribution);
+            return;
+        }
+
+        // Sort the range of elements with a scratch buffer that is shared by every level of the recursion.
+        mergeSort(array, startIndex, endIndex, new int[endIndex - startIndex + 1]);
+    }
+
+    /**
+     * Sorts the elements in the inputted int array between the start index (inclusive) and the end index (inclusive) with merge sort, using the specified scratch buffer instead of allocating temporary storage. The array is sorted in-place in ascending order without boxing any of its elements. The range of elements is copied into the scratch buffer and each level of the recursion merges from one of the two arrays into the other, so elements are never copied back between levels. When the two sorted halves of a range are already in order, the merge is replaced by a straight copy.
+     * 
+     * @param array The int array to sort.
+     * @param startIndex The index specifying the start of the range of elements to sort in the array. The element at this index is included in the range of elements that are sorted.
+     * @param endIndex The index specifying the end of the range of elements to sort in the array. The element at this index is included in the range of elements that are sorted.
+     * @param scratchBuffer The scratch buffer used to sort the range of elements. It must be at least as long as the range of elements.
+     * @throws IndexOutOfBoundsException If the range of elements is not inside the array.
+     * @throws IllegalArgumentException If the scratch buffer is shorter than the range of elements.
+     * @throws NullPointerException
+     */
+    public static void mergeSort(int[] array, int startIndex, int endIndex, int[] scratchBuffer)
+            throws IndexOutOfBoundsException, IllegalArgumentException, NullPointerException {
+        // A range of elements with one element or less in it is already sorted.
+        if (startIndex >= endIndex) {
+            return;
+        }
+
+        // Throw an IndexOutOfBoundsException if the range of elements is not inside the array.
+        if ((startIndex < 0) || (endIndex >= array.length)) {
+            throw new IndexOutOfBoundsException();
+        }
+
+        // Throw an IllegalArgumentException if the scratch buffer cannot hold the range of elements.
+        final int NUMBER_OF_ELEMENTS = endIndex - startIndex + 1;
+        if (scratchBuffer.length < NUMBER_OF_ELEMENTS) {
+            throw new IllegalArgumentException("The scratch buffer must hold at least " + NUMBER_OF_ELEMENTS
+                    + " elements.");
+        }
+
+        // Copy the range of elements into the scratch buffer and sort them from the scratch buffer back into the array.
+        System.arraycopy(array, startIndex, scratchBuffer, 0, NUMBER_OF_ELEMENTS);
+        mergeSort(scratchBuffer, -startIndex, array, 0, startIndex, endIndex);
+    }
+
+    /**
+     * Sorts the elements in the inputted int array with merge sort. The array is sorted in-place in ascending order without boxing any of its elements.
+     * 
+     * @param array The int array to sort.
+     * @throws NullPointerException
+     */
+    public static void mergeSort(int[] array) throws NullPointerException {
+        mergeSort(array, 0, (array.length - 1));
+    }
+
+    /**
+     * Sorts the elements in the inputted int array between the start index (inclusive) and the end index (inclusive) with counting sort. The array is sorted in-place in ascending order. Counting sort takes time proportional to the number of elements plus the range of the keys, so it is meant for keys from a small range.
+     * 
+     * @param array The int array to sort.
+     * @param startIndex The index specifying the start of the range of elements to sort in the array. This index is inclusive.
+     * @param endIndex The index specifying the end of the range of elements to sort in the array. This index is inclusive.
+     * @throws IllegalArgumentException If the range of the keys is too large for counting sort.
+     * @throws IndexOutOfBoundsException If the range of elements is not inside the array.
+     * @throws NullPointerException
+     */
+    public static void countingSort(int[] array, int startIndex, int endIndex)
+            throws IllegalArgumentException, IndexOutOfBoundsException, NullPointerException {
+        // A range of elements with one element or less in it is already sorted.
+        if (startIndex >= endIndex) {
+            return;
+        }
+        KeyDistribution keyDistribution = KeyDistribution.of(array, startIndex, endIndex);
+        checkCountingSortKeyRange(keyDistribution);
+        CountingSort.sort(array, startIndex, endIndex, keyDistribution);
+    }
+
+    /**
+     * Sorts the elements in the inputted int array with counting sort. The array is sorted in-place in ascending order.
+     * 
+     * @param array The int array to sort.
+     * @throws IllegalArgumentException If the range of the keys is too large for counting sort.
+     * @throws NullPointerException
+     */
+    public static void countingSort(int[] array) throws IllegalArgumentException, NullPointerException {
+        countingSort(array, 0, (array.length - 1));
+    }
+
+    /**
+     * Sorts the elements in the inputted int array between the start index (inclusive) and the end index (inclusive) in-place with introsort, a dual-pivot quicksort that partitions runs of equal elements three ways and falls back to heapsort. The range is sorted in ascending order in O(n log n) time, even in the worst case, with O(log n) extra space.
+     * 
+     * @param array The int array to sort.
+     * @param startIndex The index specifying the start of the range of elements to sort in the array. This index is inclusive.
+     * @param endIndex The index specifying the end of the range of elements to sort in the array. This index is inclusive.
+     * @throws IndexOutOfBoundsException If the range of elements is not inside the array.
+     * @throws NullPointerException
+     */
+    public static void introSort(int[] array, int startIndex, int endIndex)
+            throws IndexOutOfBoundsException, NullPointerException {
+        // A range of elements with one element or less in it is already sorted.
+        if (startIndex >= endIndex) {
+            return;
+        }
+
+        // Throw an IndexOutOfBoundsException if the range of elements is not inside the array.
+        if ((startIndex < 0) || (endIndex >= array.length)) {
+            throw new IndexOutOfBoundsException();
+        }
+        IntroSort.sort(array, startIndex, (endIndex + 1));
+    }
+
+    /**
+     * Sorts the elements in the inputted int array in-place with introsort. The array is sorted in ascending order in O(n log n) time, even in the worst case, with O(log n) extra space.
+     * 
+     * @param array The int array to sort.
+     * @throws NullPointerException
+     */
+    public static void introSort(int[] array) throws NullPointerException {
+        IntroSort.sort(array, 0, array.length);
+    }
+
+    /**
+     * Sorts a range of elements from the source int array into the same range of the destination int array with merge sort. The element with index i lives at position (offset + i) of each array. Before the call, both arrays must contain the same elements in the range. After the call, the range of the destination array is sorted in ascending order and the range of the source array is left in an unspecified order.
+     * 
+     * @param sourceArray The array that the range of elements is merged from.
+     * @param sourceOffset The position in the source array of the element with index zero.
+     * @param destinationArray The array that the sorted range of elements is written into.
+     * @param destinationOffset The position in the destination array of the element with index zero.
+     * @param startIndex The index specifying the start of the range of elements to sort. This index is inclusive.
+     * @param endIndex The index specifying the end of the range of elements to sort. This index is inclusive.
+     */
+    static void mergeSort(int[] sourceArray, int sourceOffset, int[] destinationArray, int destinationOffset,
+            int startIndex, int endIndex) {
+        // Sort small ranges of elements with insertion sort directly in the destination array.
+        if ((endIndex - startIndex) < INSERTION_SORT_THRESHOLD) {
+            for (int i = startIndex + 1; i <= endIndex; i++) {
+                int elementToInsert = destinationArray[destinationOffset + i];
+                int j = i - 1;
+                while ((j >= startIndex) && (destinationArray[destinationOffset + j] > elementToInsert)) {
+                    destinationArray[destinationOffset + j + 1] = destinationArray[destinationOffset + j];
+                    j--;
+                }
+                destinationArray[destinationOffset + j + 1] = elementToInsert;
+            }
+            return;
+        }
+
+        // Sort each half of the range of elements from the destination array into the source array.
+        final int END_INDEX_FOR_FIRST_HALF = ((endIndex - startIndex) / 2) + startIndex;
+        final int START_INDEX_FOR_SECOND_HALF = END_INDEX_FOR_FIRST_HALF + 1;
+        mergeSort(destinationArray, destinationOffset, sourceArray, sourceOffset, startIndex, END_INDEX_FOR_FIRST_HALF);
+        mergeSort(destinationArray, destinationOffset, sourceArray, sourceOffset, START_INDEX_FOR_SECOND_HALF,
+                endIndex);
+
+        // If the halves are already in order, copy them instead of merging them.
+        if (sourceArray[sourceOffset + END_INDEX_FOR_FIRST_HALF] <= sourceArray[sourceOffset
+                + START_INDEX_FOR_SECOND_HALF]) {
+            System.arraycopy(sourceArray, (sourceOffset + startIndex), destinationArray,
+                    (destinationOffset + startIndex), (endIndex - startIndex + 1));
+            return;
+        }
+
+        // Merge the sorted halves from the source array into the destination array.
+        int indexForFirstHalf = startIndex;
+        int indexForSecondHalf = START_INDEX_FOR_SECOND_HALF;
+        for (int i = startIndex; i <= endIndex; i++) {
+            if ((indexForSecondHalf > endIndex) || ((indexForFirstHalf <= END_INDEX_FOR_FIRST_HALF)
+                    && (sourceArray[sourceOffset + indexForFirstHalf] <= sourceArray[sourceOffset
+                            + indexForSecondHalf]))) {
+                destinationArray[destinationOffset + i] = sourceArray[sourceOffset + indexForFirstHalf++];
+            } else {
+                destinationArray[destinationOffset + i] = sourceArray[sourceOffset + indexForSecondHalf++];
+            }
+        }
+    }
+
+    /**
+     * Determines whether the range of elements in the specified long array is sorted in ascending order between the element at the specified start index (inclusive) and the element at the specified end index (inclusive). Returns true if the specified range of elements in the array is sorted in ascending order. Returns false otherwise.
+     * 
+     * @param array The long array that contains the range of elements whose sorting order needs to be checked.
+     * @param startIndex The index that specifies the start of the range of elements that need to be checked in the array. This index is inclusive.
+     * @param endIndex The index that specifies the end of the range of elements that need to be checked in the array. This index is inclusive.
+     * @return Returns true if the specified range of elements in the array is sorted in ascending order. Returns false otherwise.
+     * @throws IndexOutOfBoundsException If the start index is greater than the end index.
+     * @throws NullPointerException
+     */
+    public static boolean isArraySorted(long[] array, int startIndex, int endIndex)
+            throws IndexOutOfBoundsException, NullPointerException {
+        // Throw an IndexOutOfBoundsException if the start index is greater than the end index.
+        if (startIndex > endIndex) {
+            throw new IndexOutOfBoundsException();
+        }
+
+        // The range of elements are sorted if none of them is greater than the element after it.
+        return !Sortedness.hasDescent(array, startIndex, endIndex);
+    }
+
+    /**
+     * Determines whether the elements in the specified long array are sorted in ascending order. Returns true if the elements in the array are sorted in ascending order. Returns false otherwise.
+     * 
+     * @param array The long array that contains the elements whose sorting order needs to be checked.
+     * @return Returns true if the elements in the array are sorted in ascending order. Returns false otherwise.
+     * @throws NullPointerException
+     */
+    public static boolean isArraySorted(long[] array) throws NullPointerException {
+        return Sortedness.isSorted(array);
+    }
+
+    /**
+     * Sorts the inputted long array in-place with bubble sort. The array is sorted in ascending order without boxing any of its elements.
+     * 
+     * @param array The long array to sort.
+     * @throws NullPointerException
+     */
+    public static void bubbleSort(long[] array) throws NullPointerException {
+        for (int i = (array.length - 1); i > 0; i--) {
+            boolean wereElementsSwapped = false;
+            for (int j = 0; j < i; j++) {
+                // If an element at an index and the element at the next index are not sorted in ascending order, swap the elements.
+                if (array[j] > array[j + 1]) {
+                    long elementToSwap = array[j];
+                    array[j] = array[j + 1];
+                    array[j + 1] = elementToSwap;
+                    wereElementsSwapped = true;
+                }
+            }
+
+            // If a pass did not swap any elements, the array is sorted.
+            if (!wereElementsSwapped) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Sorts the elements in the inputted long array between the start index (inclusive) and the end index (inclusive) with merge sort. The array is sorted in-place in ascending order without boxing any of its elements. A single scratch buffer that is as long as the range of elements is allocated for the whole sort. If the range of the keys is no larger than the number of elements, as it is for many duplicates from a small range, the elements are sorted with counting sort instead; see {@link KeyDistribution#isCountingSortFavorable()}.
+     * 
+     * @param array The long array to sort.
+     * @param startIndex The index specifying the start of the range of elements to sort in the array. The element at this index is included in the range of elements that are sorted.
+     * @param endIndex The index specifying the end of the range of elements to sort in the array. The element at this index is included in the range of elements that are sorted.
+     * @throws IndexOutOfBoundsException
+     * @throws NullPointerException
+     */
+    public static void mergeSort(long[] array, int startIndex, int endIndex)
+            throws IndexOutOfBoundsException, NullPointerException {
+        // A range of elements with one element or less in it is already sorted.
+        if (startIndex >= endIndex) {
+            return;
+        }
+
+        // Sort the range of elements with counting sort instead if the keys come from a small range.
+        KeyDistribution keyDistribution = KeyDistribution.of(array, startIndex, endIndex);
+        if (keyDistribution.isCountingSortFavorable()) {
+            CountingSort.sort(array, startIndex, endIndex, keyDistribution);
+            return;
+        }
+
+        // Sort the range of elements with a scratch buffer that is shared by every level of the recursion.
+        mergeSort(array, startIndex, endIndex, new long[endIndex - startIndex + 1]);
+    }
+
+    /**
+     * Sorts the elements in the inputted long array between the start index (inclusive) and the end index (inclusive) with merge sort, using the specified scratch buffer instead of allocating temporary storage. The array is sorted in-place in ascending order without boxing any of its elements. The range of elements is copied into the scratch buffer and each level of the recursion merges from one of the two arrays into the other, so elements are never copied back between levels. When the two sorted halves of a range are already in order, the merge is replaced by a straight copy.
+     * 
+     * @param array The long array to sort.
+     * @param startIndex The index specifying the start of the range of elements to sort in the array. The element at this index is included in the range of elements that are sorted.
+     * @param endIndex The index specifying the end of the range of elements to sort in the array. The element at this index is included in the range of elements that are sorted.
+     * @param scratchBuffer The scratch buffer used to sort the range of elements. It must be at least as long as the range of elements.
+     * @throws IndexOutOfBoundsException If the range of elements is not inside the array.
+     * @throws IllegalArgumentException If the scratch buffer is shorter than the range of elements.
+     * @throws NullPointerException
+     */
+    public static void mergeSort(long[] array, int startIndex, int endIndex, long[] scratchBuffer)
+            throws IndexOutOfBoundsException, IllegalArgumentException, NullPointerException {
+        // A range of elements with one element or less in it is already sorted.
+        if (startIndex >= endIndex) {
+            return;
+        }
+
+        // Throw an IndexOutOfBoundsException if the range of elements is not inside the array.
+        if ((startIndex < 0) || (endIndex >= array.length)) {
+            throw new IndexOutOfBoundsException();
+        }
+
+        // Throw an IllegalArgumentException if the scratch buffer cannot hold the range of elements.
+        final int NUMBER_OF_ELEMENTS = endIndex - startIndex + 1;
+        if (scratchBuffer.length < NUMBER_OF_ELEMENTS) {
+            throw new IllegalArgumentException("The scratch buffer must hold at least " + NUMBER_OF_ELEMENTS
+                    + " elements.");
+        }
+
+        // Copy the range of elements into the scratch buffer and sort them from the scratch buffer back into the array.
+        System.arraycopy(array, startIndex, scratchBuffer, 0, NUMBER_OF_ELEMENTS);
+        mergeSort(scratchBuffer, -startIndex, array, 0, startIndex, endIndex);
+    }
+
+    /**
+     * Sorts the elements in the inputted long array with merge sort. The array is sorted in-place in ascending order without boxing any of its elements.
+     * 
+     * @param array The long array to sort.
+     * @throws NullPointerException
+     */
+    public static void mergeSort(long[] array) throws NullPointerException {
+        mergeSort(array, 0, (array.length - 1));
+    }
+
+    /**
+     * Sorts the elements in the inputted long array between the start index (inclusive) and the end index (inclusive) with counting sort. The array is sorted in-place in ascending order. Counting sort takes time proportional to the number of elements plus the range of the keys, so it is meant for keys from a small range.
+     * 
+     * @param array The long array to sort.
+     * @param startIndex The index specifying the start of the range of elements to sort in the array. This index is inclusive.
+     * @param endIndex The index specifying the end of the range of elements to sort in the array. This index is inclusive.
+     * @throws IllegalArgumentException If the range of the keys is too large for counting sort.
+     * @throws IndexOutOfBoundsException If the range of elements is not inside the array.
+     * @throws NullPointerException
+     */
+    public static void countingSort(long[] array, int startIndex, int endIndex)
+            throws IllegalArgumentException, IndexOutOfBoundsException, NullPointerException {
+        // A range of elements with one element or less in it is already sorted.
+        if (startIndex >= endIndex) {
+            return;
+        }
+        KeyDistribution keyDistribution = KeyDistribution.of(array, startIndex, endIndex);
+        checkCountingSortKeyRange(keyDistribution);
+        CountingSort.sort(array, startIndex, endIndex, keyDistribution);
+    }
+
+    /**
+     * Sorts the elements in the inputted long array with counting sort. The array is sorted in-place in ascending order.
+     * 
+     * @param array The long array to sort.
+     * @throws IllegalArgumentException If the range of the keys is too large for counting sort.
+     * @throws NullPointerException
+     */
+    public static void countingSort(long[] array) throws IllegalArgumentException, NullPointerException {
+        countingSort(array, 0, (array.length - 1));
+    }
+
+    /**
+     * Sorts the elements in the inputted long array between the start index (inclusive) and the end index (inclusive) in-place with introsort, a dual-pivot quicksort that partitions runs of equal elements three ways and falls back to heapsort. The range is sorted in ascending order in O(n log n) time, even in the worst case, with O(log n) extra space.
+     * 
+     * @param array The long array to sort.
+     * @param startIndex The index specifying the start of the range of elements to sort in the array. This index is inclusive.
+     * @param endIndex The index specifying the end of the range of elements to sort in the array. This index is inclusive.
+     * @throws IndexOutOfBoundsException If the range of elements is not inside the array.
+     * @throws NullPointerException
+     */
+    public static void introSort(long[] array, int startIndex, int endIndex)
+            throws IndexOutOfBoundsException, NullPointerException {
+        // A range of elements with one element or less in it is already sorted.
+        if (startIndex >= endIndex) {
+            return;
+        }
+
+        // Throw an IndexOutOfBoundsException if the range of elements is not inside the array.
+        if ((startIndex < 0) || (endIndex >= array.length)) {
+            throw new IndexOutOfBoundsException();
+        }
+        IntroSort.sort(array, startIndex, (endIndex + 1));
+    }
+
+    /**
+     * Sorts the elements in the inputted long array in-place with introsort. The array is sorted in ascending order in O(n log n) time, even in the worst case, with O(log n) extra space.
+     * 
+     * @param array The long array to sort.
+     * @throws NullPointerException
+     */
+    public static void introSort(long[] array) throws NullPointerException {
+        IntroSort.sort(array, 0, array.length);
+    }
+
+    /**
+     * Sorts a range of elements from the source long array into the same range of the destination long array with merge sort. The element with index i lives at position (offset + i) of each array. Before the call, both arrays must contain the same elements in the range. After the call, the range of the destination array is sorted in ascending order and the range of the source array is left in an unspecified order.
+     * 
+     * @param sourceArray The array that the range of elements is merged from.
+     * @param sourceOffset The position in the source array of the element with index zero.
+     * @param destinationArray The array that the sorted range of elements is written into.
+     * @param destinationOffset The position in the destination array of the element with index zero.
+     * @param startIndex The index specifying the start of the range of elements to sort. This index is inclusive.
+     * @param endIndex The index specifying the end of the range of elements to sort. This index is inclusive.
+     */
+    static void mergeSort(long[] sourceArray, int sourceOffset, long[] destinationArray, int destinationOffset,
+            int startIndex, int endIndex) {
+        // Sort small ranges of elements with insertion sort directly in the destination array.
+        if ((endIndex - startIndex) < INSERTION_SORT_THRESHOLD) {
+            for (int i = startIndex + 1; i <= endIndex; i++) {
+                long elementToInsert = destinationArray[destinationOffset + i];
+                int j = i - 1;
+                while ((j >= startIndex) && (destinationArray[destinationOffset + j] > elementToInsert)) {
+                    destinationArray[destinationOffset + j + 1] = destinationArray[destinationOffset + j];
+                    j--;
+                }
+                destinationArray[destinationOffset + j + 1] = elementToInsert;
+            }
+            return;
+        }
+
+        // Sort each half of the range of elements from the destination array into the source array.
+        final int END_INDEX_FOR_FIRST_HALF = ((endIndex - startIndex) / 2) + startIndex;
+        final int START_INDEX_FOR_SECOND_HALF = END_INDEX_FOR_FIRST_HALF + 1;
+        mergeSort(destinationArray, destinationOffset, sourceArray, sourceOffset, startIndex, END_INDEX_FOR_FIRST_HALF);
+        mergeSort(destinationArray, destinationOffset, sourceArray, sourceOffset, START_INDEX_FOR_SECOND_HALF,
+                endIndex);
+
+        // If the halves are already in order, copy them instead of merging them.
+        if (sourceArray[sourceOffset + END_INDEX_FOR_FIRST_HALF] <= sourceArray[sourceOffset
+                + START_INDEX_FOR_SECOND_HALF]) {
+            System.arraycopy(sourceArray, (sourceOffset + startIndex), destinationArray,
+                    (destinationOffset + startIndex), (endIndex - startIndex + 1));
+            return;
+        }
+
+        // Merge the sorted halves from the source array into the destination array.
+        int indexForFirstHalf = startIndex;
+        int indexForSecondHalf = START_INDEX_FOR_SECOND_HALF;
+        for (int i = startIndex; i <= endIndex; i++) {
+            if ((indexForSecondHalf > endIndex) || ((indexForFirstHalf <= END_INDEX_FOR_FIRST_HALF)
+                    && (sourceArray[sourceOffset + indexForFirstHalf] <= sourceArray[sourceOffset
+                            + indexForSecondHalf]))) {
+                destinationArray[destinationOffset + i] = sourceArray[sourceOffset + indexForFirstHalf++];
+            } else {
+                destinationArray[destinationOffset + i] = sourceArray[sourceOffset + indexForSecondHalf++];
+            }
+        }
+    }
+
+    /**
+     * Determines whether the range of elements in the specified double array is sorted in ascending order between the element at the specified start index (inclusive) and the element at the specified end index (inclusive). Returns true if the specified range of elements in the array is sorted in ascending order. Returns false otherwise. The elements are ordered the same way {@link Double#compareTo(Double)} orders them, so -0.0 comes before 0.0 and NaN comes after every other value.
+     * 
+     * @param array The double array that contains the range of elements whose sorting order needs to be checked.
+     * @param startIndex The index that specifies the start of the range of elements that need to be checked in the array. This index is inclusive.
+     * @param endIndex The index that specifies the end of the range of elements that need to be checked in the array. This index is inclusive.
+     * @return Returns true if the specified range of elements in the array is sorted in ascending order. Returns false otherwise.
+     * @throws IndexOutOfBoundsException If the start index is greater than the end index.
+     * @throws NullPointerException
+     */
+    public static boolean isArraySorted(double[] array, int startIndex, int endIndex)
+            throws IndexOutOfBoundsException, NullPointerException {
+        // Throw an IndexOutOfBoundsException if the start index is greater than the end index.
+        if (startIndex > endIndex) {
+            throw new IndexOutOfBoundsException();
+        }
+
+        // The range of elements are sorted if none of them is greater than the element after it.
+        return !Sortedness.hasDescent(array, startIndex, endIndex);
+    }
+
+    /**
+     * Determines whether the elements in the specified double array are sorted in ascending order. Returns true if the elements in the array are sorted in ascending order. Returns false otherwise.
+     * 
+     * @param array The double array that contains the elements whose sorting order needs to be checked.
+     * @return Returns true if the elements in the array are sorted in ascending order. Returns false otherwise.
+     * @throws NullPointerException
+     */
+    public static boolean isArraySorted(double[] array) throws NullPointerException {
+        return Sortedness.isSorted(array);
+    }
+
+    /**
+     * Sorts the inputted double array in-place with bubble sort. The array is sorted in ascending order without boxing any of its elements. The elements are ordered the same way {@link Double#compareTo(Double)} orders them, so -0.0 comes before 0.0 and NaN comes after every other value.
+     * 
+     * @param array The double array to sort.
+     * @throws NullPointerException
+     */
+    public static void bubbleSort(double[] array) throws NullPointerException {
+        for (int i = (array.length - 1); i > 0; i--) {
+            boolean wereElementsSwapped = false;
+            for (int j = 0; j < i; j++) {
+                // If an element at an index and the element at the next index are not sorted in ascending order, swap the elements.
+                if (Double.compare(array[j], array[j + 1]) > 0) {
+                    double elementToSwap = array[j];
+                    array[j] = array[j + 1];
+                    array[j + 1] = elementToSwap;
+                    wereElementsSwapped = true;
+                }
+            }
+
+            // If a pass did not swap any elements, the array is sorted.
+            if (!wereElementsSwapped) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Sorts the elements in the inputted double array between the start index (inclusive) and the end index (inclusive) with merge sort. The array is sorted in-place in ascending order without boxing any of its elements. A single scratch buffer that is as long as the range of elements is allocated for the whole sort. The elements are ordered the same way {@link Double#compareTo(Double)} orders them, so -0.0 comes before 0.0 and NaN comes after every other value.
+     * 
+     * @param array The double array to sort.
+     * @param startIndex The index specifying the start of the range of elements to sort in the array. The element at this index is included in the range of elements that are sorted.
+     * @param endIndex The index specifying the end of the range of elements to sort in the array. The element at this index is included in the range of elements that are sorted.
+     * @throws IndexOutOfBoundsException
+     * @throws NullPointerException
+     */
+    public static void mergeSort(double[] array, int startIndex, int endIndex)
+            throws IndexOutOfBoundsException, NullPointerException {
+        // A range of elements with one element or less in it is already sorted.
+        if (startIndex >= endIndex) {
+            return;
+        }
+
+        // Sort the range of elements with a scratch buffer that is shared by every level of the recursion.
+        mergeSort(array, startIndex, endIndex, new double[endIndex - startIndex + 1]);
+    }
+
+    /**
+     * Sorts the elements in the inputted double array between the start index (inclusive) and the end index (inclusive) with merge sort, using the specified scratch buffer instead of allocating temporary storage. The array is sorted in-place in ascending order without boxing any of its elements. The range of elements is copied into the scratch buffer and each level of the recursion merges from one of the two arrays into the other, so elements are never copied back between levels. When the two sorted halves of a range are already in order, the merge is replaced by a straight copy. The elements are ordered the same way {@link Double#compareTo(Double)} orders them, so -0.0 comes before 0.0 and NaN comes after every other value.
+     * 
+     * @param array The double array to sort.
+     * @param startIndex The index specifying the start of the range of elements to sort in the array. The element at this index is included in the range of elements that are sorted.
+     * @param endIndex The index specifying the end of the range of elements to sort in the array. The element at this index is included in the range of elements that are sorted.
+     * @param scratchBuffer The scratch buffer used to sort the range of elements. It must be at least as long as the range of elements.
+     * @throws IndexOutOfBoundsException If the range of elements is not inside the array.
+     * @throws IllegalArgumentException If the scratch buffer is shorter than the range of elements.
+     * @throws NullPointerException
+     */
+    public static void mergeSort(double[] array, int startIndex, int endIndex, double[] scratchBuffer)
+            throws IndexOutOfBoundsException, IllegalArgumentException, NullPointerException {
+        // A range of elements with one element or less in it is already sorted.
+        if (startIndex >= endIndex) {
+            return;
+        }
+
+        // Throw an IndexOutOfBoundsException if the range of elements is not inside the array.
+        if ((startIndex < 0) || (endIndex >= array.length)) {
+            throw new IndexOutOfBoundsException();
+        }
+
+        // Throw an IllegalArgumentException if the scratch buffer cannot hold the range of elements.
+        final int NUMBER_OF_ELEMENTS = endIndex - startIndex + 1;
+        if (scratchBuffer.length < NUMBER_OF_ELEMENTS) {
+            throw new IllegalArgumentException("The scratch buffer must hold at least " + NUMBER_OF_ELEMENTS
+                    + " elements.");
+        }
+
+        // Copy the range of elements into the scratch buffer and sort them from the scratch buffer back into the array.
+        System.arraycopy(array, startIndex, scratchBuffer, 0, NUMBER_OF_ELEMENTS);
+        mergeSort(scratchBuffer, -startIndex, array, 0, startIndex, endIndex);
+    }
+
+    /**
+     * Sorts the elements in the inputted double array with merge sort. The array is sorted in-place in ascending order without boxing any of its elements. The elements are ordered the same way {@link Double#compareTo(Double)} orders them, so -0.0 comes before 0.0 and NaN comes after every other value.
+     * 
+     * @param array The double array to sort.
+     * @throws NullPointerException
+     */
+    public static void mergeSort(double[] array) throws NullPointerException {
+        mergeSort(array, 0, (array.length - 1));
+    }
+
+    /**
+     * Sorts the elements in the inputted double array between the start index (inclusive) and the end index (inclusive) in-place with introsort, a dual-pivot quicksort that partitions runs of equal elements three ways and falls back to heapsort. The range is sorted in ascending order in O(n log n) time, even in the worst case, with O(log n) extra space. The elements are ordered the same way {@link Double#compare(double, double)} orders them.
+     * 
+     * @param array The double array to sort.
+     * @param startIndex The index specifying the start of the range of elements to sort in the array. This index is inclusive.
+     * @param endIndex The index specifying the end of the range of elements to sort in the array. This index is inclusive.
+     * @throws IndexOutOfBoundsException If the range of elements is not inside the array.
+     * @throws NullPointerException
+     */
+    public static void introSort(double[] array, int startIndex, int endIndex)
+            throws IndexOutOfBoundsException, NullPointerException {
+        // A range of elements with one element or less in it is already sorted.
+        if (startIndex >= endIndex) {
+            return;
+        }
+
+        // Throw an IndexOutOfBoundsException if the range of elements is not inside the array.
+        if ((startIndex < 0) || (endIndex >= array.length)) {
+            throw new IndexOutOfBoundsException();
+        }
+        IntroSort.sort(array, startIndex, (endIndex + 1));
+    }
+
+    /**
+     * Sorts the elements in the inputted double array in-place with introsort. The array is sorted in ascending order in O(n log n) time, even in the worst case, with O(log n) extra space. The elements are ordered the same way {@link Double#compare(double, double)} orders them.
+     * 
+     * @param array The double array to sort.
+     * @throws NullPointerException
+     */
+    public static void introSort(double[] array) throws NullPointerException {
+        IntroSort.sort(array, 0, array.length);
+    }
+
+    /**
+     * Sorts a range of elements from the source double array into the same range of the destination double array with merge sort. The element with index i lives at position (offset + i) of each array. Before the call, both arrays must contain the same elements in the range. After the call, the range of the destination array is sorted in ascending order and the range of the source array is left in an unspecified order.
+     * 
+     * @param sourceArray The array that the range of elements is merged from.
+     * @param sourceOffset The position in the source array of the element with index zero.
+     * @param destinationArray The array that the sorted range of elements is written into.
+     * @param destinationOffset The position in the destination array of the element with index zero.
+     * @param startIndex The index specifying the start of the range of elements to sort. This index is inclusive.
+     * @param endIndex The index specifying the end of the range of elements to sort. This index is inclusive.
+     */
+    static void mergeSort(double[] sourceArray, int sourceOffset, double[] destinationArray, int destinationOffset,
+            int startIndex, int endIndex) {
+        // Sort small ranges of elements with insertion sort directly in the destination array.
+        if ((endIndex - startIndex) < INSERTION_SORT_THRESHOLD) {
+            for (int i = startIndex + 1; i <= endIndex; i++) {
+                double elementToInsert = destinationArray[destinationOffset + i];
+                int j = i - 1;
+                while ((j >= startIndex) && (Double.compare(destinationArray[destinationOffset + j],
+                        elementToInsert) > 0)) {
+                    destinationArray[destinationOffset + j + 1] = destinationArray[destinationOffset + j];
+                    j--;
+                }
+                destinationArray[destinationOffset + j + 1] = elementToInsert;
+            }
+            return;
+        }
+
+        // Sort each half of the range of elements from the destination array into the source array.
+        final int END_INDEX_FOR_FIRST_HALF = ((endIndex - startIndex) / 2) + startIndex;
+        final int START_INDEX_FOR_SECOND_HALF = END_INDEX_FOR_FIRST_HALF + 1;
+        mergeSort(destinationArray, destinationOffset, sourceArray, sourceOffset, startIndex, END_INDEX_FOR_FIRST_HALF);
+        mergeSort(destinationArray, destinationOffset, sourceArray, sourceOffset, START_INDEX_FOR_SECOND_HALF,
+                endIndex);
+
+        // If the halves are already in order, copy them instead of merging them.
+        if (Double.compare(sourceArray[sourceOffset + END_INDEX_FOR_FIRST_HALF],
+                sourceArray[sourceOffset + START_INDEX_FOR_SECOND_HALF]) <= 0) {
+            System.arraycopy(sourceArray, (sourceOffset + startIndex), destinationArray,
+                    (destinationOffset + startIndex), (endIndex - startIndex + 1));
+            return;
+        }
+
+        // Merge the sorted halves from the source array into the destination array.
+        int indexForFirstHalf = startIndex;
+        int indexForSecondHalf = START_INDEX_FOR_SECOND_HALF;
+        for (int i = startIndex; i <= endIndex; i++) {
+            if ((indexForSecondHalf > endIndex) || ((indexForFirstHalf <= END_INDEX_FOR_FIRST_HALF)
+                    && (Double.compare(sourceArray[sourceOffset + indexForFirstHalf],
+                            sourceArray[sourceOffset + indexForSecondHalf]) <= 0))) {
+                destinationArray[destinationOffset + i] = sourceArray[sourceOffset + indexForFirstHalf++];
+            } else {
+                destinationArray[destinationOffset + i] = sourceArray[sourceOffset + indexForSecondHalf++];
+            }
+        }
+    }
+
+    /**
+     * Determines whether the range of elements in the specified float array is sorted in ascending order between the element at the specified start index (inclusive) and the element at the specified end index (inclusive). Returns true if the specified range of elements in the array is sorted in ascending order. Returns false otherwise. The elements are ordered the same way {@link Float#compareTo(Float)} orders them, so -0.0 comes before 0.0 and NaN comes after every other value.
+     * 
+     * @param array The float array that contains the range of elements whose sorting order needs to be checked.
+     * @param startIndex The index that specifies the start of the range of elements that need to be checked in the array. This index is inclusive.
+     * @param endIndex The index that specifies the end of the range of elements that need to be checked in the array. This index is inclusive.
+     * @return Returns true if the specified range of elements in the array is sorted in ascending order. Returns false otherwise.
+     * @throws IndexOutOfBoundsException If the start index is greater than the end index.
+     * @throws NullPointerException
+     */
+    public static boolean isArraySorted(float[] array, int startIndex, int endIndex)
+            throws IndexOutOfBoundsException, NullPointerException {
+        // Throw an IndexOutOfBoundsException if the start index is greater than the end index.
+        if (startIndex > endIndex) {
+            throw new IndexOutOfBoundsException();
+        }
+
+        // The range of elements are sorted if none of them is greater than the element after it.
+        return !Sortedness.hasDescent(array, startIndex, endIndex);
+    }
+
+    /**
+     * Determines whether the elements in the specified float array are sorted in ascending order. Returns true if the elements in the array are sorted in ascending order. Returns false otherwise.
+     * 
+     * @param array The float array that contains the elements whose sorting order needs to be checked.
+     * @return Returns true if the elements in the array are sorted in ascending order. Returns false otherwise.
+     * @throws NullPointerException
+     */
+    public static boolean isArraySorted(float[] array) throws NullPointerException {
+        return Sortedness.isSorted(array);
+    }
+
+    /**
+     * Sorts the inputted float array in-place with bubble sort. The array is sorted in ascending order without boxing any of its elements. The elements are ordered the same way {@link Float#compareTo(Float)} orders them, so -0.0 comes before 0.0 and NaN comes after every other value.
+     * 
+     * @param array The float array to sort.
+     * @throws NullPointerException
+     */
+    public static void bubbleSort(float[] array) throws NullPointerException {
+        for (int i = (array.length - 1); i > 0; i--) {
+            boolean wereElementsSwapped = false;
+            for (int j = 0; j < i; j++) {
+                // If an element at an index and the element at the next index are not sorted in ascending order, swap the elements.
+                if (Float.compare(array[j], array[j + 1]) > 0) {
+                    float elementToSwap = array[j];
+                    array[j] = array[j + 1];
+                    array[j + 1] = elementToSwap;
+                    wereElementsSwapped = true;
+                }
+            }
+
+            // If a pass did not swap any elements, the array is sorted.
+            if (!wereElementsSwapped) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Sorts the elements in the inputted float array between the start index (inclusive) and the end index (inclusive) with merge sort. The array is sorted in-place in ascending order without boxing any of its elements. A single scratch buffer that is as long as the range of elements is allocated for the whole sort. The elements are ordered the same way {@link Float#compareTo(Float)} orders them, so -0.0 comes before 0.0 and NaN comes after every other value.
+     * 
+     * @param array The float array to sort.
+     * @param startIndex The index specifying the start of the range of elements to sort in the array. The element at this index is included in the range of elements that are sorted.
+     * @param endIndex The index specifying the end of the range of elements to sort in the array. The element at this index is included in the range of elements that are sorted.
+     * @throws IndexOutOfBoundsException
+     * @throws NullPointerException
+     */
+    public static void mergeSort(float[] array, int startIndex, int endIndex)
+            throws IndexOutOfBoundsException, NullPointerException {
+        // A range of elements with one element or less in it is already sorted.
+        if (startIndex >= endIndex) {
+            return;
+        }
+
+        // Sort the range of elements with a scratch buffer that is shared by every level of the recursion.
+        mergeSort(array, startIndex, endIndex, new float[endIndex - startIndex + 1]);
+    }
+
+    /**
+     * Sorts the elements in the inputted float array between the start index (inclusive) and the end index (inclusive) with merge sort, using the specified scratch buffer instead of allocating temporary storage. The array is sorted in-place in ascending order without boxing any of its elements. The range of elements is copied into the scratch buffer and each level of the recursion merges from one of the two arrays into the other, so elements are never copied back between levels. When the two sorted halves of a range are already in order, the merge is replaced by a straight copy. The elements are ordered the same way {@link Float#compareTo(Float)} orders them, so -0.0 comes before 0.0 and NaN comes after every other value.
+     * 
+     * @param array The float array to sort.
+     * @param startIndex The index specifying the start of the range of elements to sort in the array. The element at this index is included in the range of elements that are sorted.
+     * @param endIndex The index specifying the end of the range of elements to sort in the array. The element at this index is included in the range of elements that are sorted.
+     * @param scratchBuffer The scratch buffer used to sort the range of elements. It must be at least as long as the range of elements.
+     * @throws IndexOutOfBoundsException If the range of elements is not inside the array.
+     * @throws IllegalArgumentException If the scratch buffer is shorter than the range of elements.
+     * @throws NullPointerException
+     */
+    public static void mergeSort(float[] array, int startIndex, int endIndex, float[] scratchBuffer)
+            throws IndexOutOfBoundsException, IllegalArgumentException, NullPointerException {
+        // A range of elements with one element or less in it is already sorted.
+        if (startIndex >= endIndex) {
+            return;
+        }
+
+        // Throw an IndexOutOfBoundsException if the range of elements is not inside the array.
+        if ((startIndex < 0) || (endIndex >= array.length)) {
+            throw new IndexOutOfBoundsException();
+        }
+
+        // Throw an IllegalArgumentException if the scratch buffer cannot hold the range of elements.
+        final int NUMBER_OF_ELEMENTS = endIndex - startIndex + 1;
+        if (scratchBuffer.length < NUMBER_OF_ELEMENTS) {
+            throw new IllegalArgumentException("The scratch buffer must hold at least " + NUMBER_OF_ELEMENTS
+                    + " elements.");
+        }
+
+        // Copy the range of elements into the scratch buffer and sort them from the scratch buffer back into the array.
+        System.arraycopy(array, startIndex, scratchBuffer, 0, NUMBER_OF_ELEMENTS);
+        mergeSort(scratchBuffer, -startIndex, array, 0, startIndex, endIndex);
+    }
+
+    /**
+     * Sorts the elements in the inputted float array with merge sort. The array is sorted in-place in ascending order without boxing any of its elements. The elements are ordered the same way {@link Float#compareTo(Float)} orders them, so -0.0 comes before 0.0 and NaN comes after every other value.
+     * 
+     * @param array The float array to sort.
+     * @throws NullPointerException
+     */
+    public static void mergeSort(float[] array) throws NullPointerException {
+        mergeSort(array, 0, (array.length - 1));
+    }
+
+    /**
+     * Sorts the elements in the inputted float array between the start index (inclusive) and the end index (inclusive) in-place with introsort, a dual-pivot quicksort that partitions runs of equal elements three ways and falls back to heapsort. The range is sorted in ascending order in O(n log n) time, even in the worst case, with O(log n) extra space. The elements are ordered the same way {@link Float#compare(float, float)} orders them.
+     * 
+     * @param array The float array to sort.
+     * @param startIndex The index specifying the start of the range of elements to sort in the array. This index is inclusive.
+     * @param endIndex The index specifying the end of the range of elements to sort in the array. This index is inclusive.
+     * @throws IndexOutOfBoundsException If the range of elements is not inside the array.
+     * @throws NullPointerException
+     */
+    public static void introSort(float[] array, int startIndex, int endIndex)
+            throws IndexOutOfBoundsException, NullPointerException {
+        // A range of elements with one element or less in it is already sorted.
+        if (startIndex >= endIndex) {
+            return;
+        }
+
+        // Throw an IndexOutOfBoundsException if the range of elements is not inside the array.
+        if ((startIndex < 0) || (endIndex >= array.length)) {
+            throw new IndexOutOfBoundsException();
+        }
+        IntroSort.sort(array, startIndex, (endIndex + 1));
+    }
+
+    /**
+     * Sorts the elements in the inputted float array in-place with introsort. The array is sorted in ascending order in O(n log n) time, even in the worst case, with O(log n) extra space. The elements are ordered the same way {@link Float#compare(float, float)} orders them.
+     * 
+     * @param array The float array to sort.
+     * @throws NullPointerException
+     */
+    public static void introSort(float[] array) throws NullPointerException {
+        IntroSort.sort(array, 0, array.length);
+    }
+
+    /**
+     * Sorts a range of elements from the source float array into the same range of the destination float array with merge sort. The element with index i lives at position (offset + i) of each array. Before the call, both arrays must contain the same elements in the range. After the call, the range of the destination array is sorted in ascending order and the range of the source array is left in an unspecified order.
+     * 
+     * @param sourceArray The array that the range of elements is merged from.
+     * @param sourceOffset The position in the source array of the element with index zero.
+     * @param destinationArray The array that the sorted range of elements is written into.
+     * @param destinationOffset The position in the destination array of the element with index zero.
+     * @param startIndex The index specifying the start of the range of elements to sort. This index is inclusive.
+     * @param endIndex The index specifying the end of the range of elements to sort. This index is inclusive.
+     */
+    static void mergeSort(float[] sourceArray, int sourceOffset, float[] destinationArray, int destinationOffset,
+            int startIndex, int endIndex) {
+        // Sort small ranges of elements with insertion sort directly in the destination array.
+        if ((endIndex - startIndex) < INSERTION_SORT_THRESHOLD) {
+            for (int i = startIndex + 1; i <= endIndex; i++) {
+                float elementToInsert = destinationArray[destinationOffset + i];
+                int j = i - 1;
+                while ((j >= startIndex) && (Float.compare(destinationArray[destinationOffset + j],
+                        elementToInsert) > 0)) {
+                    destinationArray[destinationOffset + j + 1] = destinationArray[destinationOffset + j];
+                    j--;
+                }
+                destinationArray[destinationOffset + j + 1] = elementToInsert;
+            }
+            return;
+        }
+
+        // Sort each half of the range of elements from the destination array into the source array.
+        final int END_INDEX_FOR_FIRST_HALF = ((endIndex - startIndex) / 2) + startIndex;
+        final int START_INDEX_FOR_SECOND_HALF = END_INDEX_FOR_FIRST_HALF + 1;
+        mergeSort(destinationArray, destinationOffset, sourceArray, sourceOffset, startIndex, END_INDEX_FOR_FIRST_HALF);
+        mergeSort(destinationArray, destinationOffset, sourceArray, sourceOffset, START_INDEX_FOR_SECOND_HALF,
+                endIndex);
+
+        // If the halves are already in order, copy them instead of merging them.
+        if (Float.compare(sourceArray[sourceOffset + END_INDEX_FOR_FIRST_HALF],
+                sourceArray[sourceOffset + START_INDEX_FOR_SECOND_HALF]) <= 0) {
+            System.arraycopy(sourceArray, (sourceOffset + startIndex), destinationArray,
+                    (destinationOffset + startIndex), (endIndex - startIndex + 1));
+            return;
+        }
+
+        // Merge the sorted halves from the source array into the destination array.
+        int indexForFirstHalf = startIndex;
+        int indexForSecondHalf = START_INDEX_FOR_SECOND_HALF;
+        for (int i = startIndex; i <= endIndex; i++) {
+            if ((indexForSecondHalf > endIndex) || ((indexForFirstHalf <= END_INDEX_FOR_FIRST_HALF)
+                    && (Float.compare(sourceArray[sourceOffset + indexForFirstHalf],
+                            sourceArray[sourceOffset + indexForSecondHalf]) <= 0))) {
+                destinationArray[destinationOffset + i] = sourceArray[sourceOffset + indexForFirstHalf++];
+            } else {
+                destinationArray[destinationOffset + i] = sourceArray[sourceOffset + indexForSecondHalf++];
+            }
+        }
+    }
+
+    /**
+     * Sorts the elements in the inputted list with a parallel merge sort on the common fork/join pool. The list is sorted in-place in ascending order. The sort is stable and gives the same result as {@link #mergeSort(List)}.
+     * 
+     * @param list The list to sort.
+     * @throws NullPointerException
+     * @throws ClassCastException
+     */
+    public static <E extends Comparable<E>> void parallelMergeSort(List<E> list)
+            throws NullPointerException, ClassCastException {
+        parallelMergeSort(list, DEFAULT_PARALLEL_SEQUENTIAL_CUTOFF, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Sorts the elements in the inputted list with a parallel merge sort on the specified fork/join pool. The list is sorted in-place in ascending order. The sort is stable and gives the same result as {@link #mergeSort(List)}.
+     * 
+     * The list is split in half until the pieces hold no more than the sequential cutoff, and those pieces are sorted on their own threads with the sequential merge sort. The merges above them are split across threads too.
+     * 
+     * @param list The list to sort.
+     * @param sequentialCutoff The number of elements at or below which a piece of the list is sorted or merged on a single thread.
+     * @param forkJoinPool The fork/join pool that runs the sort.
+     * @throws IllegalArgumentException If the sequential cutoff is not positive.
+     * @throws NullPointerException
+     * @throws ClassCastException
+     */
+    public static <E extends Comparable<E>> void parallelMergeSort(List<E> list, int sequentialCutoff,
+            ForkJoinPool forkJoinPool) throws IllegalArgumentException, NullPointerException, ClassCastException {
+        // Throw an IllegalArgumentException if the sequential cutoff is not positive.
+        if (sequentialCutoff <= 0) {
+            throw new IllegalArgumentException("The sequential cutoff must be positive.");
+        }
+
+        // Sort small lists on the current thread.
+        if (list.size() <= sequentialCutoff) {
+            mergeSort(list);
+            return;
+        }
+
+        // Sort a copy of the elements from a second copy of the elements.
+        Object[] array = list.toArray();
+        Object[] scratchBuffer = array.clone();
+        forkJoinPool.invoke(new ParallelMergeSort.ObjectSortTask<E>(scratchBuffer, array, 0, array.length,
+                sequentialCutoff,
+                Comparator.naturalOrder()));
+
+        // Replace the elements in the list with the sorted elements.
+        writeArrayToList(array, 0, list, 0, array.length);
+    }
+
+    /**
+     * Sorts the inputted int array with a parallel merge sort on the common fork/join pool. The array is sorted in-place in ascending order and gives the same result as {@link #mergeSort(int[])}.
+     * 
+     * @param array The int array to sort.
+     * @throws NullPointerException
+     */
+    public static void parallelMergeSort(int[] array) throws NullPointerException {
+        parallelMergeSort(array, DEFAULT_PARALLEL_SEQUENTIAL_CUTOFF, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Sorts the inputted int array with a parallel merge sort on the specified fork/join pool. The array is sorted in-place in ascending order and gives the same result as {@link #mergeSort(int[])}.
+     * 
+     * @param array The int array to sort.
+     * @param sequentialCutoff The number of elements at or below which a piece of the array is sorted or merged on a single thread.
+     * @param forkJoinPool The fork/join pool that runs the sort.
+     * @throws IllegalArgumentException If the sequential cutoff is not positive.
+     * @throws NullPointerException
+     */
+    public static void parallelMergeSort(int[] array, int sequentialCutoff, ForkJoinPool forkJoinPool)
+            throws IllegalArgumentException, NullPointerException {
+        // Throw an IllegalArgumentException if the sequential cutoff is not positive.
+        if (sequentialCutoff <= 0) {
+            throw new IllegalArgumentException("The sequential cutoff must be positive.");
+        }
+
+        // Sort small arrays on the current thread.
+        if (array.length <= sequentialCutoff) {
+            mergeSort(array);
+            return;
+        }
+
+        // Sort the array from a copy of its elements.
+        forkJoinPool.invoke(new ParallelMergeSort.IntSortTask(array.clone(), array, 0, array.length, sequentialCutoff));
+    }
+
+    /**
+     * Sorts the inputted long array with a parallel merge sort on the common fork/join pool. The array is sorted in-place in ascending order and gives the same result as {@link #mergeSort(long[])}.
+     * 
+     * @param array The long array to sort.
+     * @throws NullPointerException
+     */
+    public static void parallelMergeSort(long[] array) throws NullPointerException {
+        parallelMergeSort(array, DEFAULT_PARALLEL_SEQUENTIAL_CUTOFF, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Sorts the inputted long array with a parallel merge sort on the specified fork/join pool. The array is sorted in-place in ascending order and gives the same result as {@link #mergeSort(long[])}.
+     * 
+     * @param array The long array to sort.
+     * @param sequentialCutoff The number of elements at or below which a piece of the array is sorted or merged on a single thread.
+     * @param forkJoinPool The fork/join pool that runs the sort.
+     * @throws IllegalArgumentException If the sequential cutoff is not positive.
+     * @throws NullPointerException
+     */
+    public static void parallelMergeSort(long[] array, int sequentialCutoff, ForkJoinPool forkJoinPool)
+            throws IllegalArgumentException, NullPointerException {
+        // Throw an IllegalArgumentException if the sequential cutoff is not positive.
+        if (sequentialCutoff <= 0) {
+            throw new IllegalArgumentException("The sequential cutoff must be positive.");
+        }
+
+        // Sort small arrays on the current thread.
+        if (array.length <= sequentialCutoff) {
+            mergeSort(array);
+            return;
+        }
+
+        // Sort the array from a copy of its elements.
+        forkJoinPool.invoke(new ParallelMergeSort.LongSortTask(array.clone(), array, 0, array.length,
+                sequentialCutoff));
+    }
+
+    /**
+     * Sorts the inputted double array with a parallel merge sort on the common fork/join pool. The array is sorted in-place in ascending order and gives the same result as {@link #mergeSort(double[])}.
+     * 
+     * @param array The double array to sort.
+     * @throws NullPointerException
+     */
+    public static void parallelMergeSort(double[] array) throws NullPointerException {
+        parallelMergeSort(array, DEFAULT_PARALLEL_SEQUENTIAL_CUTOFF, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Sorts the inputted double array with a parallel merge sort on the specified fork/join pool. The array is sorted in-place in ascending order and gives the same result as {@link #mergeSort(double[])}.
+     * 
+     * @param array The double array to sort.
+     * @param sequentialCutoff The number of elements at or below which a piece of the array is sorted or merged on a single thread.
+     * @param forkJoinPool The fork/join pool that runs the sort.
+     * @throws IllegalArgumentException If the sequential cutoff is not positive.
+     * @throws NullPointerException
+     */
+    public static void parallelMergeSort(double[] array, int sequentialCutoff, ForkJoinPool forkJoinPool)
+            throws IllegalArgumentException, NullPointerException {
+        // Throw an IllegalArgumentException if the sequential cutoff is not positive.
+        if (sequentialCutoff <= 0) {
+            throw new IllegalArgumentException("The sequential cutoff must be positive.");
+        }
+
+        // Sort small arrays on the current thread.
+        if (array.length <= sequentialCutoff) {
+            mergeSort(array);
+            return;
+        }
+
+        // Sort the array from a copy of its elements.
+        forkJoinPool.invoke(new ParallelMergeSort.DoubleSortTask(array.clone(), array, 0, array.length,
+                sequentialCutoff));
+    }
+
+    /**
+     * Sorts the inputted float array with a parallel merge sort on the common fork/join pool. The array is sorted in-place in ascending order and gives the same result as {@link #mergeSort(float[])}.
+     * 
+     * @param array The float array to sort.
+     * @throws NullPointerException
+     */
+    public static void parallelMergeSort(float[] array) throws NullPointerException {
+        parallelMergeSort(array, DEFAULT_PARALLEL_SEQUENTIAL_CUTOFF, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Sorts the inputted float array with a parallel merge sort on the specified fork/join pool. The array is sorted in-place in ascending order and gives the same result as {@link #mergeSort(float[])}.
+     * 
+     * @param array The float array to sort.
+     * @param sequentialCutoff The number of elements at or below which a piece of the array is sorted or merged on a single thread.
+     * @param forkJoinPool The fork/join pool that runs the sort.
+     * @throws IllegalArgumentException If the sequential cutoff is not positive.
+     * @throws NullPointerException
+     */
+    public static void parallelMergeSort(float[] array, int sequentialCutoff, ForkJoinPool forkJoinPool)
+            throws IllegalArgumentException, NullPointerException {
+        // Throw an IllegalArgumentException if the sequential cutoff is not positive.
+        if (sequentialCutoff <= 0) {
+            throw new IllegalArgumentException("The sequential cutoff must be positive.");
+        }
+
+        // Sort small arrays on the current thread.
+        if (array.length <= sequentialCutoff) {
+            mergeSort(array);
+            return;
+        }
+
+        // Sort the array from a copy of its elements.
+        forkJoinPool.invoke(new ParallelMergeSort.FloatSortTask(array.clone(), array, 0, array.length,
+                sequentialCutoff));
+    }
+
+    /**
+     * Sorts the elements in the inputted list with a parallel sample sort on the common fork/join pool. The list is sorted in-place in ascending order. The sort is stable and gives the same result as {@link #mergeSort(List)}.
+     * 
+     * @param list The list to sort.
+     * @throws NullPointerException
+     * @throws ClassCastException
+     */
+    public static <E extends Comparable<E>> void parallelSampleSort(List<E> list)
+            throws NullPointerException, ClassCastException {
+        parallelSampleSort(list, DEFAULT_PARALLEL_SEQUENTIAL_CUTOFF, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Sorts the elements in the inputted list with a parallel sample sort on the specified fork/join pool. The list is sorted in-place in ascending order. The sort is stable and gives the same result as {@link #mergeSort(List)}.
+     * 
+     * The elements are distributed into buckets by splitters chosen from a random sample, with a bucket of its own for the elements equal to each splitter, and every bucket is then merge sorted on its own thread. The sorted buckets are already in order, so unlike {@link #parallelMergeSort(List, int, ForkJoinPool)} there are no merges that every thread has to wait for at the end. Lists with many duplicates are mostly sorted once they are distributed.
+     * 
+     * @param list The list to sort.
+     * @param sequentialCutoff The number of elements at or below which the list is sorted on a single thread, and about the number of elements in each bucket until the number of splitters reaches its cap of 127.
+     * @param forkJoinPool The fork/join pool that runs the sort.
+     * @throws IllegalArgumentException If the sequential cutoff is not positive.
+     * @throws NullPointerException
+     * @throws ClassCastException
+     */
+    public static <E extends Comparable<E>> void parallelSampleSort(List<E> list, int sequentialCutoff,
+            ForkJoinPool forkJoinPool) throws IllegalArgumentException, NullPointerException, ClassCastException {
+        // Throw an IllegalArgumentException if the sequential cutoff is not positive.
+        if (sequentialCutoff <= 0) {
+            throw new IllegalArgumentException("The sequential cutoff must be positive.");
+        }
+
+        // Sort small lists on the current thread.
+        if (list.size() <= sequentialCutoff) {
+            mergeSort(list);
+            return;
+        }
+
+        // Sort a copy of the elements and replace the elements in the list with the sorted elements.
+        Object[] array = list.toArray();
+        SampleSort.sort(array, sequentialCutoff, forkJoinPool, Comparator.<E>naturalOrder());
+        writeArrayToList(array, 0, list, 0, array.length);
+    }
+
+    /**
+     * Sorts the inputted int array with a parallel sample sort on the common fork/join pool. The array is sorted in-place in ascending order and gives the same result as {@link #mergeSort(int[])}.
+     * 
+     * @param array The int array to sort.
+     * @throws NullPointerException
+     */
+    public static void parallelSampleSort(int[] array) throws NullPointerException {
+        parallelSampleSort(array, DEFAULT_PARALLEL_SEQUENTIAL_CUTOFF, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Sorts the inputted int array with a parallel sample sort on the specified fork/join pool. The array is sorted in-place in ascending order and gives the same result as {@link #mergeSort(int[])}.
+     * 
+     * @param array The int array to sort.
+     * @param sequentialCutoff The number of elements at or below which the array is sorted on a single thread, and about the number of elements in each bucket until the number of splitters reaches its cap of 127.
+     * @param forkJoinPool The fork/join pool that runs the sort.
+     * @throws IllegalArgumentException If the sequential cutoff is not positive.
+     * @throws NullPointerException
+     */
+    public static void parallelSampleSort(int[] array, int sequentialCutoff, ForkJoinPool forkJoinPool)
+            throws IllegalArgumentException, NullPointerException {
+        // Throw an IllegalArgumentException if the sequential cutoff is not positive.
+        if (sequentialCutoff <= 0) {
+            throw new IllegalArgumentException("The sequential cutoff must be positive.");
+        }
+
+        // Sort small arrays on the current thread.
+        if (array.length <= sequentialCutoff) {
+            mergeSort(array);
+            return;
+        }
+
+        // Sort the array in parallel.
+        SampleSort.sort(array, sequentialCutoff, forkJoinPool);
+    }
+
+    /**
+     * Sorts the inputted long array with a parallel sample sort on the common fork/join pool. The array is sorted in-place in ascending order and gives the same result as {@link #mergeSort(long[])}.
+     * 
+     * @param array The long array to sort.
+     * @throws NullPointerException
+     */
+    public static void parallelSampleSort(long[] array) throws NullPointerException {
+        parallelSampleSort(array, DEFAULT_PARALLEL_SEQUENTIAL_CUTOFF, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Sorts the inputted long array with a parallel sample sort on the specified fork/join pool. The array is sorted in-place in ascending order and gives the same result as {@link #mergeSort(long[])}.
+     * 
+     * @param array The long array to sort.
+     * @param sequentialCutoff The number of elements at or below which the array is sorted on a single thread, and about the number of elements in each bucket until the number of splitters reaches its cap of 127.
+     * @param forkJoinPool The fork/join pool that runs the sort.
+     * @throws IllegalArgumentException If the sequential cutoff is not positive.
+     * @throws NullPointerException
+     */
+    public static void parallelSampleSort(long[] array, int sequentialCutoff, ForkJoinPool forkJoinPool)
+            throws IllegalArgumentException, NullPointerException {
+        // Throw an IllegalArgumentException if the sequential cutoff is not positive.
+        if (sequentialCutoff <= 0) {
+            throw new IllegalArgumentException("The sequential cutoff must be positive.");
+        }
+
+        // Sort small arrays on the current thread.
+        if (array.length <= sequentialCutoff) {
+            mergeSort(array);
+            return;
+        }
+
+        // Sort the array in parallel.
+        SampleSort.sort(array, sequentialCutoff, forkJoinPool);
+    }
+
+    /**
+     * Sorts the inputted double array with a parallel sample sort on the common fork/join pool. The array is sorted in-place in ascending order, the same order that {@link #mergeSort(double[])} gives, except that NaNs may be replaced with the canonical NaN (see {@link #parallelSampleSort(double[], int, ForkJoinPool)}).
+     * 
+     * @param array The double array to sort.
+     * @throws NullPointerException
+     */
+    public static void parallelSampleSort(double[] array) throws NullPointerException {
+        parallelSampleSort(array, DEFAULT_PARALLEL_SEQUENTIAL_CUTOFF, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Sorts the inputted double array with a parallel sample sort on the specified fork/join pool. The array is sorted in-place in ascending order, the same order that {@link #mergeSort(double[])} gives. The result differs from merge sort only in its NaNs: when the array is longer than the sequential cutoff, the doubles are sorted as sortable long keys, so every NaN comes out as the canonical NaN, {@link Double#NaN}, whereas merge sort keeps the bits of every NaN.
+     * 
+     * @param array The double array to sort.
+     * @param sequentialCutoff The number of elements at or below which the array is sorted on a single thread, and about the number of elements in each bucket until the number of splitters reaches its cap of 127.
+     * @param forkJoinPool The fork/join pool that runs the sort.
+     * @throws IllegalArgumentException If the sequential cutoff is not positive.
+     * @throws NullPointerException
+     */
+    public static void parallelSampleSort(double[] array, int sequentialCutoff, ForkJoinPool forkJoinPool)
+            throws IllegalArgumentException, NullPointerException {
+        // Throw an IllegalArgumentException if the sequential cutoff is not positive.
+        if (sequentialCutoff <= 0) {
+            throw new IllegalArgumentException("The sequential cutoff must be positive.");
+        }
+
+        // Sort small arrays on the current thread.
+        if (array.length <= sequentialCutoff) {
+            mergeSort(array);
+            return;
+        }
+
+        // Sort the array in parallel. The doubles are converted into sortable long keys and back inside the parallel tasks.
+        SampleSort.sort(array, sequentialCutoff, forkJoinPool);
+    }
+
+    /**
+     * Sorts the inputted float array with a parallel sample sort on the common fork/join pool. The array is sorted in-place in ascending order, the same order that {@link #mergeSort(float[])} gives, except that NaNs may be replaced with the canonical NaN (see {@link #parallelSampleSort(float[], int, ForkJoinPool)}).
+     * 
+     * @param array The float array to sort.
+     * @throws NullPointerException
+     */
+    public static void parallelSampleSort(float[] array) throws NullPointerException {
+        parallelSampleSort(array, DEFAULT_PARALLEL_SEQUENTIAL_CUTOFF, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Sorts the inputted float array with a parallel sample sort on the specified fork/join pool. The array is sorted in-place in ascending order, the same order that {@link #mergeSort(float[])} gives. The result differs from merge sort only in its NaNs: when the array is longer than the sequential cutoff, the floats are sorted as sortable int keys, so every NaN comes out as the canonical NaN, {@link Float#NaN}, whereas merge sort keeps the bits of every NaN.
+     * 
+     * @param array The float array to sort.
+     * @param sequentialCutoff The number of elements at or below which the array is sorted on a single thread, and about the number of elements in each bucket until the number of splitters reaches its cap of 127.
+     * @param forkJoinPool The fork/join pool that runs the sort.
+     * @throws IllegalArgumentException If the sequential cutoff is not positive.
+     * @throws NullPointerException
+     */
+    public static void parallelSampleSort(float[] array, int sequentialCutoff, ForkJoinPool forkJoinPool)
+            throws IllegalArgumentException, NullPointerException {
+        // Throw an IllegalArgumentException if the sequential cutoff is not positive.
+        if (sequentialCutoff <= 0) {
+            throw new IllegalArgumentException("The sequential cutoff must be positive.");
+        }
+
+        // Sort small arrays on the current thread.
+        if (array.length <= sequentialCutoff) {
+            mergeSort(array);
+            return;
+        }
+
+        // Sort the array in parallel. The floats are converted into sortable int keys and back inside the parallel tasks.
+        SampleSort.sort(array, sequentialCutoff, forkJoinPool);
     }
 }
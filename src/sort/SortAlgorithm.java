@@ -0,0 +1,48 @@
+package sort;
+
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * This interface describes a sorting algorithm that sorts lists in-place. Algorithms are registered by name in the {@link SortAlgorithmRegistry}, where {@link Sort#sort(List, Comparator)} and its overloads can find them. The built-in algorithms are the constants of {@link StandardSortAlgorithm}.
+ * 
+ * @author Jaskaran Singh
+ */
+public interface SortAlgorithm {
+    /**
+     * Returns the name of this algorithm, which the registry knows it by.
+     * 
+     * @return Returns the name of this algorithm.
+     */
+    String getName();
+
+    /**
+     * Returns true if this algorithm is stable, so equal elements keep their relative order. Returns false otherwise.
+     * 
+     * @return Returns true if this algorithm is stable. Returns false otherwise.
+     */
+    boolean isStable();
+
+    /**
+     * Determines whether this algorithm can sort the specified list in the order of the specified comparator. Comparison sorts can sort any list. Algorithms that sort by a primitive key, such as radix sort, can only sort lists of numbers in their natural order.
+     * 
+     * @param list The list to sort.
+     * @param comparator The comparator that defines the order of the elements.
+     * @return Returns true if this algorithm can sort the list. Returns false otherwise.
+     */
+    default <E> boolean canSort(List<E> list, Comparator<? super E> comparator) {
+        return true;
+    }
+
+    /**
+     * Sorts the specified list in-place in ascending order, as defined by the specified comparator.
+     * 
+     * @param list The list to sort.
+     * @param comparator The comparator that defines the order of the elements.
+     * @throws IllegalArgumentException If this algorithm cannot sort the list; see {@link #canSort(List, Comparator)}.
+     * @throws NullPointerException
+     * @throws ClassCastException
+     */
+    <E> void sort(List<E> list, Comparator<? super E> comparator)
+            throws IllegalArgumentException, NullPointerException, ClassCastException;
+}
@@ -0,0 +1,71 @@
+package sort;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * This class keeps the sorting algorithms that {@link Sort#sort(List, java.util.Comparator, SortAlgorithm)} and the {@value Sort#SORT_ALGORITHM_PROPERTY} system property can choose by name. Every {@link StandardSortAlgorithm} is registered from the start, and further algorithms can be registered at any time. The registry can be used from many threads at once.
+ * 
+ * @author Jaskaran Singh
+ */
+public final class SortAlgorithmRegistry {
+    // The registered algorithms by name, in the order they were registered.
+    private static final Map<String, SortAlgorithm> SORT_ALGORITHMS = new LinkedHashMap<>();
+
+    static {
+        for (StandardSortAlgorithm sortAlgorithm : StandardSortAlgorithm.values()) {
+            SORT_ALGORITHMS.put(sortAlgorithm.getName(), sortAlgorithm);
+        }
+    }
+
+    /**
+     * Private constructor. This class only has static methods, so it cannot be instantiated.
+     */
+    private SortAlgorithmRegistry() {
+    }
+
+    /**
+     * Registers the specified sorting algorithm under its name.
+     * 
+     * @param sortAlgorithm The sorting algorithm to register.
+     * @throws IllegalArgumentException If another algorithm is already registered under the same name.
+     * @throws NullPointerException
+     */
+    public static synchronized void register(SortAlgorithm sortAlgorithm)
+            throws IllegalArgumentException, NullPointerException {
+        final String NAME = Objects.requireNonNull(sortAlgorithm.getName());
+        if (SORT_ALGORITHMS.containsKey(NAME)) {
+            throw new IllegalArgumentException("A sort algorithm is already registered as \"" + NAME + "\".");
+        }
+        SORT_ALGORITHMS.put(NAME, sortAlgorithm);
+    }
+
+    /**
+     * Returns the sorting algorithm that is registered under the specified name.
+     * 
+     * @param name The name of the sorting algorithm.
+     * @return Returns the sorting algorithm.
+     * @throws IllegalArgumentException If no algorithm is registered under the name.
+     * @throws NullPointerException
+     */
+    public static synchronized SortAlgorithm get(String name) throws IllegalArgumentException, NullPointerException {
+        SortAlgorithm sortAlgorithm = SORT_ALGORITHMS.get(Objects.requireNonNull(name));
+        if (sortAlgorithm == null) {
+            throw new IllegalArgumentException("No sort algorithm is registered as \"" + name
+                    + "\". The registered algorithms are " + SORT_ALGORITHMS.keySet() + ".");
+        }
+        return sortAlgorithm;
+    }
+
+    /**
+     * Returns every registered sorting algorithm, in the order they were registered.
+     * 
+     * @return Returns a new list of the registered sorting algorithms.
+     */
+    public static synchronized List<SortAlgorithm> getAll() {
+        return new ArrayList<>(SORT_ALGORITHMS.values());
+    }
+}
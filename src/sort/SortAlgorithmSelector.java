@@ -0,0 +1,146 @@
+package sort;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * This class chooses the sorting algorithm behind {@link Sort#sort(List, Comparator, boolean)}, with the rules that {@link Sort#selectSortAlgorithm(List, Comparator, boolean)} lists. Each rule only chooses an algorithm that beat merge sort on its kind of input in the list sort benchmarks, and each choice is logged at the {@link Level#FINE} level together with its reason.
+ * 
+ * @author Jaskaran Singh
+ */
+final class SortAlgorithmSelector {
+    // Lists with at most this many elements are sorted with insertion sort.
+    private static final int MAXIMUM_INSERTION_SORT_LENGTH = 16;
+
+    // The number of windows of adjacent elements that the presortedness sample looks at, and the number of adjacent pairs in each window.
+    private static final int NUMBER_OF_SAMPLE_WINDOWS = 16;
+    private static final int SAMPLE_WINDOW_LENGTH = 8;
+
+    // The logger that every choice is logged to.
+    private static final Logger LOGGER = Logger.getLogger(Sort.class.getName());
+
+    /**
+     * Private constructor. This class only has static methods, so it cannot be instantiated.
+     */
+    private SortAlgorithmSelector() {
+    }
+
+    /**
+     * Chooses the sorting algorithm for the specified list. If the {@value Sort#SORT_ALGORITHM_PROPERTY} system property is set, the algorithm that is registered under its value is chosen instead of applying the rules, unless it cannot sort the list, or it is unstable and the sort must be stable.
+     * 
+     * @param list The list to sort.
+     * @param comparator The comparator that defines the order of the elements.
+     * @param isStabilityRequired Whether equal elements must keep their relative order.
+     * @return Returns the chosen sorting algorithm.
+     * @throws IllegalArgumentException If the system property names an algorithm that is not registered.
+     */
+    static <E> SortAlgorithm select(List<E> list, Comparator<? super E> comparator, boolean isStabilityRequired)
+            throws IllegalArgumentException {
+        // Use the algorithm that the system property overrides the choice with, as long as it can sort the list and is stable when the sort must be stable. Otherwise the rules choose the algorithm.
+        final String OVERRIDE_NAME = System.getProperty(Sort.SORT_ALGORITHM_PROPERTY);
+        if (OVERRIDE_NAME != null) {
+            final SortAlgorithm OVERRIDE = SortAlgorithmRegistry.get(OVERRIDE_NAME);
+            if (!OVERRIDE.canSort(list, comparator)) {
+                LOGGER.log(Level.FINE, () -> "Ignoring the " + Sort.SORT_ALGORITHM_PROPERTY
+                        + " system property because " + OVERRIDE.getName() + " sort cannot sort this list.");
+            } else if (isStabilityRequired && !OVERRIDE.isStable()) {
+                LOGGER.log(Level.FINE, () -> "Ignoring the " + Sort.SORT_ALGORITHM_PROPERTY
+                        + " system property because " + OVERRIDE.getName() + " sort is not stable.");
+            } else {
+                return log(OVERRIDE, list, () -> "the " + Sort.SORT_ALGORITHM_PROPERTY
+                        + " system property overrides the choice");
+            }
+        }
+
+        // Sort short lists with insertion sort.
+        final int NUMBER_OF_ELEMENTS = list.size();
+        if (NUMBER_OF_ELEMENTS <= MAXIMUM_INSERTION_SORT_LENGTH) {
+            return log(StandardSortAlgorithm.INSERTION, list, () -> "the list is short");
+        }
+
+        // Merge the runs of presorted lists.
+        if (isSamplePresorted(list, comparator)) {
+            return log(StandardSortAlgorithm.ADAPTIVE_MERGE, list, () -> "the sampled elements are presorted");
+        }
+
+        // Count integers from a small range into place.
+        final boolean IS_NATURAL_ORDER = StandardSortAlgorithm.isNaturalOrder(comparator);
+        final Class<?> NUMBER_CLASS = IS_NATURAL_ORDER ? StandardSortAlgorithm.getNumberClass(list) : null;
+        if ((NUMBER_CLASS == Integer.class) || (NUMBER_CLASS == Long.class)) {
+            long[] keys = new long[NUMBER_OF_ELEMENTS];
+            int keyIndex = 0;
+            for (E element : list) {
+                keys[keyIndex++] = ((Number) element).longValue();
+            }
+            KeyDistribution keyDistribution = KeyDistribution.of(keys);
+            if (keyDistribution.isCountingSortFavorable()) {
+                return log(StandardSortAlgorithm.COUNTING, list, () -> "the keys come from a small range: "
+                        + keyDistribution);
+            }
+        }
+
+        // Sort numbers in their natural order by their primitive values.
+        if (NUMBER_CLASS != null) {
+            return log(StandardSortAlgorithm.RADIX, list, () -> "the elements are " + NUMBER_CLASS.getSimpleName()
+                    + "s in their natural order");
+        }
+
+        // Sort with introsort if stability is not required, and with merge sort otherwise.
+        if (!isStabilityRequired) {
+            return log(StandardSortAlgorithm.INTRO, list, () -> "the sort does not need to be stable");
+        }
+        return log(StandardSortAlgorithm.MERGE, list, () -> "no specialized algorithm applies");
+    }
+
+    /**
+     * Determines whether a sample of the specified list looks presorted. The sample is made of short windows of adjacent elements spread evenly over the list, and the list looks presorted if at least half of the windows are ascending or descending. A window of random elements is almost never either, while sorted, reversed and organ pipe lists consist of long runs that nearly every window falls into. Lists without fast random access are not sampled.
+     * 
+     * @param list The list to sample. It must have more than {@value #SAMPLE_WINDOW_LENGTH} elements.
+     * @param comparator The comparator that defines the order of the elements.
+     * @return Returns true if the sample looks presorted. Returns false otherwise.
+     */
+    private static <E> boolean isSamplePresorted(List<E> list, Comparator<? super E> comparator) {
+        if (!(list instanceof RandomAccess)) {
+            return false;
+        }
+
+        // Count the windows that are ascending or descending. The windows overlap if the list is short.
+        final long LAST_WINDOW_START_INDEX = list.size() - (SAMPLE_WINDOW_LENGTH + 1);
+        int numberOfMonotonicWindows = 0;
+        for (int window = 0; window < NUMBER_OF_SAMPLE_WINDOWS; window++) {
+            final int START_INDEX = (int) ((LAST_WINDOW_START_INDEX * window) / (NUMBER_OF_SAMPLE_WINDOWS - 1));
+            boolean isAscending = true;
+            boolean isDescending = true;
+            E previousElement = list.get(START_INDEX);
+            for (int i = (START_INDEX + 1); i <= (START_INDEX + SAMPLE_WINDOW_LENGTH); i++) {
+                E element = list.get(i);
+                final int COMPARISON = comparator.compare(previousElement, element);
+                isAscending &= COMPARISON <= 0;
+                isDescending &= COMPARISON >= 0;
+                previousElement = element;
+            }
+            if (isAscending || isDescending) {
+                numberOfMonotonicWindows++;
+            }
+        }
+        return (2 * numberOfMonotonicWindows) >= NUMBER_OF_SAMPLE_WINDOWS;
+    }
+
+    /**
+     * Logs the choice of a sorting algorithm and returns the algorithm. The message is only built if the logger logs it.
+     * 
+     * @param sortAlgorithm The chosen sorting algorithm.
+     * @param list The list that the algorithm was chosen for.
+     * @param reason The function that describes the reason for the choice. It is only called if the choice is logged.
+     * @return Returns the chosen sorting algorithm.
+     */
+    private static SortAlgorithm log(SortAlgorithm sortAlgorithm, List<?> list, Supplier<String> reason) {
+        LOGGER.log(Level.FINE, () -> "Sorting " + list.size() + " elements with " + sortAlgorithm.getName()
+                + " sort because " + reason.get() + ".");
+        return sortAlgorithm;
+    }
+}
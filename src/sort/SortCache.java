@@ -0,0 +1,532 @@
+package sort;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * This class sits in front of the sorts in {@link Sort} and remembers the sorted order of the lists that it has sorted, so a list that is sorted again does not start from scratch. The sorts are stable and give the same result as {@link Sort#mergeSort(List, Comparator)}.
+ * 
+ * Every input is fingerprinted with a streaming 64-bit hash of the hash codes of its elements in list order. When a cached input has the same fingerprint and the same elements at every position, its cached order is applied in a single pass without any comparisons. Otherwise, the two most recently used cached inputs of the same length are compared with the new input position by position, and if only a few positions hold different elements, the cached order of the unchanged elements is kept and the changed elements are sorted on their own and binary searched into it. Only inputs that are neither repeated nor near repeats are sorted from scratch. Every input is cached for next time together with its sorted output, so sorting or checking a list that the cache has already sorted is a hit too.
+ * 
+ * The cache holds at most a maximum number of elements across every cached input, and evicts the least recently used inputs to stay within it. Cached inputs keep references to their elements, and elements are matched with {@link Object#equals(Object)}, so elements must not change in ways that affect their order or equality while they are cached, just like keys of a hash map. The counters that {@link SortCacheMXBean} describes show how well the cache works. A sort cache is safe to use from many threads.
+ * 
+ * @author Jaskaran Singh
+ * @param <E> The type of the elements that are sorted.
+ */
+public final class SortCache<E> implements SortCacheMXBean {
+    // A cached order is patched only when at most one in this many elements changed. Otherwise the input is sorted from scratch.
+    private static final int PATCH_RATIO = 16;
+
+    // The number of most recently used cached inputs of each length that are tried for patching. A list and its sorted output have the same length, so both stay candidates.
+    private static final int NUMBER_OF_PATCH_CANDIDATES = 2;
+
+    // The estimated number of bytes of a cached input besides its two arrays, counting its entry in each map.
+    private static final long ENTRY_OVERHEAD_IN_BYTES = 128L;
+
+    // The estimated number of bytes that each cached element takes: a reference in the cached input, and an index in the cached order.
+    private static final long BYTES_PER_ELEMENT = 8L + Integer.BYTES;
+
+    // The comparator that defines the order of the elements.
+    private final Comparator<? super E> comparator;
+
+    // The maximum number of elements across every cached input.
+    private final long maximumNumberOfCachedElements;
+
+    // The cached inputs by fingerprint, from the least recently used to the most recently used.
+    private final LinkedHashMap<Long, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    // The most recently used cached inputs of each length, from the most recently used, which are the candidates for patching.
+    private final HashMap<Integer, Entry[]> patchCandidates = new HashMap<>();
+
+    // The number of elements across every cached input.
+    private long numberOfCachedElements;
+
+    // The counters.
+    private long numberOfHits;
+    private long numberOfPatches;
+    private long numberOfMisses;
+    private long numberOfEvictions;
+
+    /**
+     * SortCache constructor.
+     * 
+     * @param comparator The comparator that defines the order of the elements.
+     * @param maximumNumberOfCachedElements The maximum number of elements across every cached input. Lists that are longer are sorted without being cached.
+     * @throws IllegalArgumentException If the maximum number of cached elements is negative.
+     * @throws NullPointerException
+     */
+    public SortCache(Comparator<? super E> comparator, long maximumNumberOfCachedElements)
+            throws IllegalArgumentException, NullPointerException {
+        if (maximumNumberOfCachedElements < 0) {
+            throw new IllegalArgumentException("The maximum number of cached elements cannot be negative.");
+        }
+        this.comparator = Objects.requireNonNull(comparator);
+        this.maximumNumberOfCachedElements = maximumNumberOfCachedElements;
+    }
+
+    /**
+     * Creates a sort cache that sorts elements in ascending natural order.
+     * 
+     * @param maximumNumberOfCachedElements The maximum number of elements across every cached input.
+     * @return Returns the sort cache.
+     * @throws IllegalArgumentException If the maximum number of cached elements is negative.
+     */
+    public static <E extends Comparable<E>> SortCache<E> withNaturalOrder(long maximumNumberOfCachedElements)
+            throws IllegalArgumentException {
+        return new SortCache<E>(Comparator.naturalOrder(), maximumNumberOfCachedElements);
+    }
+
+    /**
+     * Sorts the inputted list in-place in ascending order, as defined by the comparator of the cache. The sort is stable, so equal elements keep their relative order. The cached order of the same input, or of a near copy of it, is reused when there is one.
+     * 
+     * @param list The list to sort.
+     * @throws NullPointerException
+     * @throws ClassCastException
+     */
+    public void sort(List<E> list) throws NullPointerException, ClassCastException {
+        // A list with one element or less in it is already sorted.
+        final int NUMBER_OF_ELEMENTS = list.size();
+        if (NUMBER_OF_ELEMENTS <= 1) {
+            return;
+        }
+
+        // Find the sorted order of the elements, from the cache if possible. A list that is already sorted is left alone.
+        Object[] elements = list.toArray();
+        Entry entry = findOrder(elements, getFingerprint(elements));
+        if (entry.isSorted) {
+            return;
+        }
+
+        // Replace the elements in the list with the elements in sorted order.
+        Object[] sortedElements = new Object[NUMBER_OF_ELEMENTS];
+        for (int i = 0; i < NUMBER_OF_ELEMENTS; i++) {
+            sortedElements[i] = elements[entry.order[i]];
+        }
+        Sort.writeArrayToList(sortedElements, 0, list, 0, NUMBER_OF_ELEMENTS);
+
+        // Cache the sorted elements as well, so sorting or checking the sorted list again is a hit, and edits of the sorted list can be patched.
+        int[] identityOrder = new int[NUMBER_OF_ELEMENTS];
+        for (int i = 0; i < NUMBER_OF_ELEMENTS; i++) {
+            identityOrder[i] = i;
+        }
+        final long SORTED_FINGERPRINT = getFingerprint(sortedElements);
+        synchronized (this) {
+            put(SORTED_FINGERPRINT, new Entry(sortedElements, identityOrder));
+        }
+    }
+
+    /**
+     * Returns whether the inputted list is sorted in ascending order, as defined by the comparator of the cache. If the list is a cached input, the answer is read from its cached order without any comparisons. Otherwise the list is checked with {@link Sort#isArrayListSorted(List, Comparator)}, and nothing is cached.
+     * 
+     * @param list The list to check.
+     * @return Returns true if the list is sorted, or false otherwise.
+     * @throws NullPointerException
+     * @throws ClassCastException
+     */
+    public boolean isSorted(List<E> list) throws NullPointerException, ClassCastException {
+        if (list.size() <= 1) {
+            return true;
+        }
+        Object[] elements = list.toArray();
+        final long FINGERPRINT = getFingerprint(elements);
+        synchronized (this) {
+            Entry entry = entries.get(FINGERPRINT);
+            if ((entry != null) && Arrays.equals(entry.elements, elements)) {
+                return entry.isSorted;
+            }
+        }
+        return Sort.isArrayListSorted(list, comparator);
+    }
+
+    /**
+     * Removes every cached input. The counters are kept.
+     */
+    public synchronized void clear() {
+        entries.clear();
+        patchCandidates.clear();
+        numberOfCachedElements = 0;
+    }
+
+    @Override
+    public synchronized long getNumberOfHits() {
+        return numberOfHits;
+    }
+
+    @Override
+    public synchronized long getNumberOfPatches() {
+        return numberOfPatches;
+    }
+
+    @Override
+    public synchronized long getNumberOfMisses() {
+        return numberOfMisses;
+    }
+
+    @Override
+    public synchronized double getHitRate() {
+        final long NUMBER_OF_SORTS = numberOfHits + numberOfPatches + numberOfMisses;
+        return (NUMBER_OF_SORTS == 0) ? 0.0 : ((double) (numberOfHits + numberOfPatches) / NUMBER_OF_SORTS);
+    }
+
+    @Override
+    public synchronized long getNumberOfEvictions() {
+        return numberOfEvictions;
+    }
+
+    @Override
+    public synchronized int getNumberOfEntries() {
+        return entries.size();
+    }
+
+    @Override
+    public synchronized long getNumberOfCachedElements() {
+        return numberOfCachedElements;
+    }
+
+    @Override
+    public synchronized long getEstimatedSizeInBytes() {
+        return (entries.size() * ENTRY_OVERHEAD_IN_BYTES) + (numberOfCachedElements * BYTES_PER_ELEMENT);
+    }
+
+    @Override
+    public synchronized void resetCounters() {
+        numberOfHits = 0;
+        numberOfPatches = 0;
+        numberOfMisses = 0;
+        numberOfEvictions = 0;
+    }
+
+    /**
+     * Returns a string that describes the counters and the size of the cache.
+     * 
+     * @return Returns a string that describes the cache.
+     */
+    @Override
+    public synchronized String toString() {
+        return "SortCache[hits=" + numberOfHits + ", patches=" + numberOfPatches + ", misses=" + numberOfMisses
+                + ", evictions=" + numberOfEvictions + ", entries=" + entries.size() + ", cachedElements="
+                + numberOfCachedElements + "]";
+    }
+
+    /**
+     * Returns the streaming 64-bit fingerprint of the specified elements. The hash code of each element is mixed into the fingerprint in order, so the fingerprint changes when elements are replaced or reordered.
+     * 
+     * @param elements The elements to fingerprint.
+     * @return Returns the fingerprint.
+     */
+    private static long getFingerprint(Object[] elements) {
+        long fingerprint = elements.length;
+        for (Object element : elements) {
+            fingerprint = Long.rotateLeft(fingerprint, 27) ^ (Objects.hashCode(element) * 0x9E3779B97F4A7C15L);
+        }
+
+        // Spread every bit of the fingerprint over the whole fingerprint, like the finalizer of SplitMix64.
+        fingerprint = (fingerprint ^ (fingerprint >>> 30)) * 0xBF58476D1CE4E5B9L;
+        fingerprint = (fingerprint ^ (fingerprint >>> 27)) * 0x94D049BB133111EBL;
+        return fingerprint ^ (fingerprint >>> 31);
+    }
+
+    /**
+     * Returns the cached input that holds the sorted order of the specified elements. A matching cached input is reused. Otherwise the order is patched from a near copy or sorted from scratch, and cached.
+     * 
+     * @param elements The elements in list order.
+     * @param fingerprint The fingerprint of the elements.
+     * @return Returns the cached input of the elements.
+     */
+    private Entry findOrder(Object[] elements, long fingerprint) {
+        // Reuse the cached order of the same elements.
+        Entry[] candidates;
+        synchronized (this) {
+            Entry entry = entries.get(fingerprint);
+            if ((entry != null) && Arrays.equals(entry.elements, elements)) {
+                addPatchCandidate(entry);
+                numberOfHits++;
+                return entry;
+            }
+            candidates = patchCandidates.get(elements.length);
+            candidates = (candidates != null) ? candidates.clone() : new Entry[0];
+        }
+
+        // Patch the cached order of a near copy, or sort the elements from scratch. Cached inputs never change, so this can run outside the lock.
+        int[] order = null;
+        for (int i = 0; (order == null) && (i < candidates.length) && (candidates[i] != null); i++) {
+            order = patchOrder(candidates[i], elements);
+        }
+        final boolean IS_PATCHED = order != null;
+        if (!IS_PATCHED) {
+            order = sortOrder(elements);
+        }
+        Entry entry = new Entry(elements, order);
+
+        // Count the sort and cache the new order.
+        synchronized (this) {
+            if (IS_PATCHED) {
+                numberOfPatches++;
+            } else {
+                numberOfMisses++;
+            }
+            put(fingerprint, entry);
+        }
+        return entry;
+    }
+
+    /**
+     * Caches the specified input and evicts the least recently used inputs until the cache holds at most the maximum number of elements. Inputs that are longer than the maximum are not cached. It must be called while holding the lock.
+     * 
+     * @param fingerprint The fingerprint of the input.
+     * @param entry The input to cache.
+     */
+    private void put(long fingerprint, Entry entry) {
+        final int NUMBER_OF_ELEMENTS = entry.elements.length;
+        if (NUMBER_OF_ELEMENTS > maximumNumberOfCachedElements) {
+            return;
+        }
+
+        // Replace any input with the same fingerprint.
+        Entry replacedEntry = entries.put(fingerprint, entry);
+        if (replacedEntry != null) {
+            numberOfCachedElements -= replacedEntry.elements.length;
+        }
+        addPatchCandidate(entry);
+        numberOfCachedElements += NUMBER_OF_ELEMENTS;
+
+        // Evict the least recently used inputs.
+        Iterator<Entry> iterator = entries.values().iterator();
+        while (numberOfCachedElements > maximumNumberOfCachedElements) {
+            Entry evictedEntry = iterator.next();
+            iterator.remove();
+            numberOfCachedElements -= evictedEntry.elements.length;
+            removePatchCandidate(evictedEntry);
+            numberOfEvictions++;
+        }
+    }
+
+    /**
+     * Makes the specified cached input the first patch candidate of its length, and drops the least recently used candidate if there are too many. It must be called while holding the lock.
+     * 
+     * @param entry The cached input.
+     */
+    private void addPatchCandidate(Entry entry) {
+        Entry[] candidates = patchCandidates.computeIfAbsent(entry.elements.length,
+                length -> new Entry[NUMBER_OF_PATCH_CANDIDATES]);
+
+        // Shift the candidates in front of the cached input, or every candidate but the last one if it is not a candidate yet, back by one.
+        int index = 0;
+        while ((index < (NUMBER_OF_PATCH_CANDIDATES - 1)) && (candidates[index] != entry)) {
+            index++;
+        }
+        System.arraycopy(candidates, 0, candidates, 1, index);
+        candidates[0] = entry;
+    }
+
+    /**
+     * Removes the specified cached input from the patch candidates of its length. It must be called while holding the lock.
+     * 
+     * @param entry The cached input.
+     */
+    private void removePatchCandidate(Entry entry) {
+        Entry[] candidates = patchCandidates.get(entry.elements.length);
+        if (candidates == null) {
+            return;
+        }
+        for (int i = 0; i < NUMBER_OF_PATCH_CANDIDATES; i++) {
+            if (candidates[i] == entry) {
+                System.arraycopy(candidates, (i + 1), candidates, i, (NUMBER_OF_PATCH_CANDIDATES - i - 1));
+                candidates[NUMBER_OF_PATCH_CANDIDATES - 1] = null;
+                break;
+            }
+        }
+        if (candidates[0] == null) {
+            patchCandidates.remove(entry.elements.length);
+        }
+    }
+
+    /**
+     * Returns the sorted order of the specified elements, patched from the cached order of a cached input of the same length. The unchanged elements keep their cached order, the changed elements are sorted on their own, and each changed element is binary searched into the unchanged elements. Equal elements are ordered by their positions, so the result is the order a stable sort gives.
+     * 
+     * @param candidate The cached input of the same length.
+     * @param elements The elements in list order.
+     * @return Returns the sorted order, or null if too many elements changed for a patch to pay off.
+     */
+    private int[] patchOrder(Entry candidate, Object[] elements) {
+        // Find the positions whose elements changed, and give up once there are too many of them.
+        final int NUMBER_OF_ELEMENTS = elements.length;
+        final int MAXIMUM_NUMBER_OF_CHANGES = NUMBER_OF_ELEMENTS / PATCH_RATIO;
+        int[] changedPositions = new int[MAXIMUM_NUMBER_OF_CHANGES];
+        int numberOfChanges = 0;
+        for (int i = 0; i < NUMBER_OF_ELEMENTS; i++) {
+            if (!Objects.equals(elements[i], candidate.elements[i])) {
+                if (numberOfChanges == MAXIMUM_NUMBER_OF_CHANGES) {
+                    return null;
+                }
+                changedPositions[numberOfChanges++] = i;
+            }
+        }
+        boolean[] isChanged = new boolean[NUMBER_OF_ELEMENTS];
+        for (int i = 0; i < numberOfChanges; i++) {
+            isChanged[changedPositions[i]] = true;
+        }
+
+        // Sort the changed positions by their elements. They start in ascending order of position, and the merge sort is stable, so equal elements stay ordered by position.
+        if (numberOfChanges > 1) {
+            mergeSortPositions(Arrays.copyOf(changedPositions, numberOfChanges), changedPositions, 0,
+                    (numberOfChanges - 1), elements);
+        }
+
+        // Walk the cached order, skipping the changed positions, and insert each changed position in front of the first unchanged position that sorts after it. The insertion points only move forward, so each binary search starts at the previous one.
+        int[] unchangedOrder = new int[NUMBER_OF_ELEMENTS - numberOfChanges];
+        int numberOfUnchangedPositions = 0;
+        for (int position : candidate.order) {
+            if (!isChanged[position]) {
+                unchangedOrder[numberOfUnchangedPositions++] = position;
+            }
+        }
+        int[] order = new int[NUMBER_OF_ELEMENTS];
+        int orderIndex = 0;
+        int unchangedIndex = 0;
+        for (int i = 0; i < numberOfChanges; i++) {
+            final int CHANGED_POSITION = changedPositions[i];
+            int low = unchangedIndex;
+            int high = numberOfUnchangedPositions;
+            while (low < high) {
+                final int MIDDLE = (low + high) >>> 1;
+                if (comparePositions(elements, unchangedOrder[MIDDLE], CHANGED_POSITION) < 0) {
+                    low = MIDDLE + 1;
+                } else {
+                    high = MIDDLE;
+                }
+            }
+            System.arraycopy(unchangedOrder, unchangedIndex, order, orderIndex, (low - unchangedIndex));
+            orderIndex += low - unchangedIndex;
+            unchangedIndex = low;
+            order[orderIndex++] = CHANGED_POSITION;
+        }
+        System.arraycopy(unchangedOrder, unchangedIndex, order, orderIndex, (numberOfUnchangedPositions
+                - unchangedIndex));
+        return order;
+    }
+
+    /**
+     * Returns the sorted order of the specified elements, sorted from scratch with the merge sort.
+     * 
+     * @param elements The elements in list order.
+     * @return Returns the sorted order.
+     */
+    private int[] sortOrder(Object[] elements) {
+        // Merge sort the positions by their elements. The positions start in ascending order, and the merge sort is stable, so equal elements stay ordered by position.
+        final int NUMBER_OF_ELEMENTS = elements.length;
+        int[] order = new int[NUMBER_OF_ELEMENTS];
+        for (int i = 0; i < NUMBER_OF_ELEMENTS; i++) {
+            order[i] = i;
+        }
+        mergeSortPositions(order.clone(), order, 0, (NUMBER_OF_ELEMENTS - 1), elements);
+        return order;
+    }
+
+    /**
+     * Sorts a range of positions from the source array into the same range of the destination array with merge sort, in ascending order of the elements at the positions. Before the call, both arrays must contain the same positions in the range. The sort is stable, and each level of the recursion swaps the roles of the two arrays like {@link Sort#mergeSort(Object[], int, Object[], int, int, int, Comparator)}.
+     * 
+     * @param sourcePositions The positions that are merged from.
+     * @param destinationPositions The positions that the sorted range is written into.
+     * @param startIndex The index specifying the start of the range to sort. This index is inclusive.
+     * @param endIndex The index specifying the end of the range to sort. This index is inclusive.
+     * @param elements The elements in list order.
+     */
+    @SuppressWarnings("unchecked")
+    private void mergeSortPositions(int[] sourcePositions, int[] destinationPositions, int startIndex, int endIndex,
+            Object[] elements) {
+        // Sort small ranges with insertion sort directly in the destination array.
+        if ((endIndex - startIndex) < Sort.INSERTION_SORT_THRESHOLD) {
+            for (int i = startIndex + 1; i <= endIndex; i++) {
+                int positionToInsert = destinationPositions[i];
+                E elementToInsert = (E) elements[positionToInsert];
+                int j = i - 1;
+                while ((j >= startIndex)
+                        && (comparator.compare((E) elements[destinationPositions[j]], elementToInsert) > 0)) {
+                    destinationPositions[j + 1] = destinationPositions[j];
+                    j--;
+                }
+                destinationPositions[j + 1] = positionToInsert;
+            }
+            return;
+        }
+
+        // Sort each half of the range from the destination array into the source array.
+        final int END_INDEX_FOR_FIRST_HALF = ((endIndex - startIndex) / 2) + startIndex;
+        final int START_INDEX_FOR_SECOND_HALF = END_INDEX_FOR_FIRST_HALF + 1;
+        mergeSortPositions(destinationPositions, sourcePositions, startIndex, END_INDEX_FOR_FIRST_HALF, elements);
+        mergeSortPositions(destinationPositions, sourcePositions, START_INDEX_FOR_SECOND_HALF, endIndex, elements);
+
+        // If the halves are already in order, copy them instead of merging them.
+        if (comparator.compare((E) elements[sourcePositions[END_INDEX_FOR_FIRST_HALF]],
+                (E) elements[sourcePositions[START_INDEX_FOR_SECOND_HALF]]) <= 0) {
+            System.arraycopy(sourcePositions, startIndex, destinationPositions, startIndex,
+                    (endIndex - startIndex + 1));
+            return;
+        }
+
+        // Merge the sorted halves from the source array into the destination array.
+        int indexForFirstHalf = startIndex;
+        int indexForSecondHalf = START_INDEX_FOR_SECOND_HALF;
+        for (int i = startIndex; i <= endIndex; i++) {
+            if ((indexForSecondHalf > endIndex) || ((indexForFirstHalf <= END_INDEX_FOR_FIRST_HALF)
+                    && (comparator.compare((E) elements[sourcePositions[indexForFirstHalf]],
+                            (E) elements[sourcePositions[indexForSecondHalf]]) <= 0))) {
+                destinationPositions[i] = sourcePositions[indexForFirstHalf++];
+            } else {
+                destinationPositions[i] = sourcePositions[indexForSecondHalf++];
+            }
+        }
+    }
+
+    /**
+     * Compares the elements at two positions, and orders the positions of equal elements by position.
+     * 
+     * @param elements The elements in list order.
+     * @param position1 The first position.
+     * @param position2 The second position.
+     * @return Returns a negative integer, zero, or a positive integer as the first position sorts before, at, or after the second position.
+     */
+    @SuppressWarnings("unchecked")
+    private int comparePositions(Object[] elements, int position1, int position2) {
+        final int COMPARISON = comparator.compare((E) elements[position1], (E) elements[position2]);
+        return (COMPARISON != 0) ? COMPARISON : Integer.compare(position1, position2);
+    }
+
+    /**
+     * This class holds a cached input: its elements in list order, and the positions of the elements in sorted order. Cached inputs never change once they are created.
+     * 
+     * @author Jaskaran Singh
+     */
+    private static final class Entry {
+        // The elements in list order.
+        private final Object[] elements;
+
+        // The positions of the elements in sorted order.
+        private final int[] order;
+
+        // Whether the elements are already in sorted order.
+        private final boolean isSorted;
+
+        /**
+         * Entry constructor.
+         * 
+         * @param elements The elements in list order.
+         * @param order The positions of the elements in sorted order.
+         */
+        private Entry(Object[] elements, int[] order) {
+            this.elements = elements;
+            this.order = order;
+            boolean isSorted = true;
+            for (int i = 0; isSorted && (i < order.length); i++) {
+                isSorted = order[i] == i;
+            }
+            this.isSorted = isSorted;
+        }
+    }
+}
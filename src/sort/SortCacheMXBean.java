@@ -0,0 +1,69 @@
+package sort;
+
+/**
+ * This interface publishes the counters of a {@link SortCache}. A sort cache implements it, so it can be registered with the platform MBean server and watched on a live JVM with tools such as JConsole.
+ * 
+ * @author Jaskaran Singh
+ */
+public interface SortCacheMXBean {
+    /**
+     * Returns the number of sorts whose input was found in the cache unchanged, so its cached order was reused.
+     * 
+     * @return Returns the number of hits.
+     */
+    long getNumberOfHits();
+
+    /**
+     * Returns the number of sorts whose input was a few elements away from a cached input, so the cached order was patched.
+     * 
+     * @return Returns the number of patches.
+     */
+    long getNumberOfPatches();
+
+    /**
+     * Returns the number of sorts that had to sort their input from scratch.
+     * 
+     * @return Returns the number of misses.
+     */
+    long getNumberOfMisses();
+
+    /**
+     * Returns the fraction of sorts that were hits or patches, between zero and one. It is zero before the first sort.
+     * 
+     * @return Returns the hit rate.
+     */
+    double getHitRate();
+
+    /**
+     * Returns the number of cached inputs that were evicted to stay within the maximum number of elements.
+     * 
+     * @return Returns the number of evictions.
+     */
+    long getNumberOfEvictions();
+
+    /**
+     * Returns the number of inputs in the cache.
+     * 
+     * @return Returns the number of entries.
+     */
+    int getNumberOfEntries();
+
+    /**
+     * Returns the number of elements in every cached input combined.
+     * 
+     * @return Returns the number of cached elements.
+     */
+    long getNumberOfCachedElements();
+
+    /**
+     * Returns an estimate of the number of bytes of heap memory that the cache takes, not counting the elements themselves.
+     * 
+     * @return Returns the estimated memory use in bytes.
+     */
+    long getEstimatedSizeInBytes();
+
+    /**
+     * Resets the hit, patch, miss and eviction counters to zero. The cached inputs are kept.
+     */
+    void resetCounters();
+}
@@ -0,0 +1,54 @@
+package sort;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+/**
+ * This class is the Java Flight Recorder event that {@link SortInstrumentation} commits for every measured sort. The event's duration is the duration of the sort. Events are only built when a recording has the event enabled.
+ * 
+ * @author Jaskaran Singh
+ */
+@Name("sort.Sort")
+@Label("Sort")
+@Category("Sorting")
+@Description("A list sort that went through Sort.sort with instrumentation enabled.")
+final class SortEvent extends jdk.jfr.Event {
+    @Label("Algorithm")
+    String algorithm;
+
+    @Label("Elements")
+    int numberOfElements;
+
+    @Label("Comparisons")
+    long numberOfComparisons;
+
+    @Label("Moves")
+    long numberOfMoves;
+
+    @Label("Maximum Recursion Depth")
+    int maximumRecursionDepth;
+
+    @Label("Scratch Allocated")
+    @DataAmount
+    long scratchBytesAllocated;
+
+    @Label("Copy In")
+    @Timespan
+    long copyInNanoseconds;
+
+    @Label("Split")
+    @Timespan
+    long splitNanoseconds;
+
+    @Label("Merge")
+    @Timespan
+    long mergeNanoseconds;
+
+    @Label("Copy Back")
+    @Timespan
+    long copyBackNanoseconds;
+}
@@ -0,0 +1,181 @@
+package sort;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+/**
+ * This class measures the sorts that go through {@link Sort#sort(java.util.List, java.util.Comparator)} and its overloads. Instrumentation is off unless the JVM is started with the {@value #INSTRUMENTATION_PROPERTY} system property set to true. Every hook in the sorting methods is guarded by the static final {@link #ENABLED} flag, so when instrumentation is off the JIT removes the hooks and the sorts run exactly as fast as before.
+ * 
+ * When instrumentation is on, each sort counts its comparisons through a counting comparator, and the list merge sort also counts its moves, its recursion depth, the scratch memory it allocates and the time it spends copying the list in, splitting, merging and copying the sorted elements back. The counts of each sort are committed as a "sort.Sort" Java Flight Recorder event, and added to the totals that {@link SortInstrumentationMXBean} publishes over JMX.
+ * 
+ * @author Jaskaran Singh
+ */
+public final class SortInstrumentation {
+    // The system property that turns instrumentation on.
+    public static final String INSTRUMENTATION_PROPERTY = "sort.instrumentation";
+
+    // Whether instrumentation is on. It is read once, so the JIT can remove every hook when it is false.
+    public static final boolean ENABLED = Boolean.getBoolean(INSTRUMENTATION_PROPERTY);
+
+    // The name that the totals are registered under with the platform MBean server.
+    public static final String OBJECT_NAME = "sort:type=SortInstrumentation";
+
+    // The totals of every measured sort.
+    private static final Statistics STATISTICS = new Statistics();
+
+    static {
+        if (ENABLED) {
+            try {
+                ManagementFactory.getPlatformMBeanServer().registerMBean(STATISTICS, new ObjectName(OBJECT_NAME));
+            } catch (JMException exception) {
+                // Keep measuring even if the totals cannot be published.
+                Logger.getLogger(Sort.class.getName()).log(Level.WARNING, "Cannot register " + OBJECT_NAME + ".",
+                        exception);
+            }
+        }
+    }
+
+    /**
+     * Private constructor. This class only has static methods, so it cannot be instantiated.
+     */
+    private SortInstrumentation() {
+    }
+
+    /**
+     * Returns the totals of every sort that has been measured. They are the same totals that are published over JMX, and they stay zero while instrumentation is off.
+     * 
+     * @return Returns the totals.
+     */
+    public static SortInstrumentationMXBean getStatistics() {
+        return STATISTICS;
+    }
+
+    /**
+     * Adds the counters of a finished measurement to the totals.
+     * 
+     * @param measurement The finished measurement.
+     * @param durationInNanoseconds The number of nanoseconds that the sort took.
+     */
+    static void publish(SortMeasurement measurement, long durationInNanoseconds) {
+        STATISTICS.numberOfSorts.increment();
+        STATISTICS.numberOfElements.add(measurement.numberOfElements);
+        STATISTICS.numberOfComparisons.add(measurement.numberOfComparisons);
+        STATISTICS.numberOfMoves.add(measurement.numberOfMoves);
+        STATISTICS.maximumRecursionDepth.accumulate(measurement.maximumRecursionDepth);
+        STATISTICS.scratchBytesAllocated.add(measurement.scratchBytesAllocated);
+        STATISTICS.copyInNanoseconds.add(measurement.copyInNanoseconds);
+        STATISTICS.splitNanoseconds.add(measurement.splitNanoseconds);
+        STATISTICS.mergeNanoseconds.add(measurement.mergeNanoseconds);
+        STATISTICS.copyBackNanoseconds.add(measurement.copyBackNanoseconds);
+        STATISTICS.totalNanoseconds.add(durationInNanoseconds);
+    }
+
+    /**
+     * This class keeps the totals of every measured sort. Sorts on different threads add to the totals at the same time, so every total is a striped adder that does not contend.
+     * 
+     * @author Jaskaran Singh
+     */
+    private static final class Statistics implements SortInstrumentationMXBean {
+        private final LongAdder numberOfSorts = new LongAdder();
+        private final LongAdder numberOfElements = new LongAdder();
+        private final LongAdder numberOfComparisons = new LongAdder();
+        private final LongAdder numberOfMoves = new LongAdder();
+        private final LongAccumulator maximumRecursionDepth = new LongAccumulator(Math::max, 0);
+        private final LongAdder scratchBytesAllocated = new LongAdder();
+        private final LongAdder copyInNanoseconds = new LongAdder();
+        private final LongAdder splitNanoseconds = new LongAdder();
+        private final LongAdder mergeNanoseconds = new LongAdder();
+        private final LongAdder copyBackNanoseconds = new LongAdder();
+        private final LongAdder totalNanoseconds = new LongAdder();
+
+        @Override
+        public long getNumberOfSorts() {
+            return numberOfSorts.sum();
+        }
+
+        @Override
+        public long getNumberOfElements() {
+            return numberOfElements.sum();
+        }
+
+        @Override
+        public long getNumberOfComparisons() {
+            return numberOfComparisons.sum();
+        }
+
+        @Override
+        public long getNumberOfMoves() {
+            return numberOfMoves.sum();
+        }
+
+        @Override
+        public long getMaximumRecursionDepth() {
+            return maximumRecursionDepth.get();
+        }
+
+        @Override
+        public long getScratchBytesAllocated() {
+            return scratchBytesAllocated.sum();
+        }
+
+        @Override
+        public long getCopyInNanoseconds() {
+            return copyInNanoseconds.sum();
+        }
+
+        @Override
+        public long getSplitNanoseconds() {
+            return splitNanoseconds.sum();
+        }
+
+        @Override
+        public long getMergeNanoseconds() {
+            return mergeNanoseconds.sum();
+        }
+
+        @Override
+        public long getCopyBackNanoseconds() {
+            return copyBackNanoseconds.sum();
+        }
+
+        @Override
+        public long getTotalNanoseconds() {
+            return totalNanoseconds.sum();
+        }
+
+        @Override
+        public void reset() {
+            numberOfSorts.reset();
+            numberOfElements.reset();
+            numberOfComparisons.reset();
+            numberOfMoves.reset();
+            maximumRecursionDepth.reset();
+            scratchBytesAllocated.reset();
+            copyInNanoseconds.reset();
+            splitNanoseconds.reset();
+            mergeNanoseconds.reset();
+            copyBackNanoseconds.reset();
+            totalNanoseconds.reset();
+        }
+
+        /**
+         * Returns a string that describes the totals.
+         * 
+         * @return Returns a string that describes the totals.
+         */
+        @Override
+        public String toString() {
+            return "[sorts: " + getNumberOfSorts() + ", elements: " + getNumberOfElements() + ", comparisons: "
+                    + getNumberOfComparisons() + ", moves: " + getNumberOfMoves() + ", maximum recursion depth: "
+                    + getMaximumRecursionDepth() + ", scratch bytes: " + getScratchBytesAllocated()
+                    + ", copy in ns: " + getCopyInNanoseconds() + ", split ns: " + getSplitNanoseconds()
+                    + ", merge ns: " + getMergeNanoseconds() + ", copy back ns: " + getCopyBackNanoseconds()
+                    + ", total ns: " + getTotalNanoseconds() + "]";
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package sort;
+
+/**
+ * This interface publishes the totals of every sort that {@link SortInstrumentation} has measured since the JVM started or the totals were last reset. It is registered with the platform MBean server under the name {@value SortInstrumentation#OBJECT_NAME}, so tools such as JConsole can watch it on a live JVM.
+ * 
+ * @author Jaskaran Singh
+ */
+public interface SortInstrumentationMXBean {
+    /**
+     * Returns the number of sorts that were measured.
+     * 
+     * @return Returns the number of sorts.
+     */
+    long getNumberOfSorts();
+
+    /**
+     * Returns the total number of elements that the measured sorts sorted.
+     * 
+     * @return Returns the number of elements.
+     */
+    long getNumberOfElements();
+
+    /**
+     * Returns the total number of times that the measured sorts called their comparator.
+     * 
+     * @return Returns the number of comparisons.
+     */
+    long getNumberOfComparisons();
+
+    /**
+     * Returns the total number of elements that the measured sorts moved or swapped. A swap counts as two moves.
+     * 
+     * @return Returns the number of moves.
+     */
+    long getNumberOfMoves();
+
+    /**
+     * Returns the deepest recursion that any measured sort reached.
+     * 
+     * @return Returns the maximum recursion depth.
+     */
+    long getMaximumRecursionDepth();
+
+    /**
+     * Returns the estimated number of bytes of scratch buffers that the measured sorts allocated.
+     * 
+     * @return Returns the number of scratch bytes allocated.
+     */
+    long getScratchBytesAllocated();
+
+    /**
+     * Returns the total number of nanoseconds that the measured merge sorts spent copying lists into their scratch buffers.
+     * 
+     * @return Returns the number of nanoseconds spent copying in.
+     */
+    long getCopyInNanoseconds();
+
+    /**
+     * Returns the total number of nanoseconds that the measured merge sorts spent splitting ranges and sorting the shortest ones, which is their recursion minus their merges.
+     * 
+     * @return Returns the number of nanoseconds spent splitting.
+     */
+    long getSplitNanoseconds();
+
+    /**
+     * Returns the total number of nanoseconds that the measured merge sorts spent merging sorted halves.
+     * 
+     * @return Returns the number of nanoseconds spent merging.
+     */
+    long getMergeNanoseconds();
+
+    /**
+     * Returns the total number of nanoseconds that the measured merge sorts spent writing the sorted elements back into their lists.
+     * 
+     * @return Returns the number of nanoseconds spent copying back.
+     */
+    long getCopyBackNanoseconds();
+
+    /**
+     * Returns the total number of nanoseconds that the measured sorts took from start to end.
+     * 
+     * @return Returns the number of nanoseconds.
+     */
+    long getTotalNanoseconds();
+
+    /**
+     * Resets every total to zero.
+     */
+    void reset();
+}
@@ -0,0 +1,288 @@
+package sort;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+
+/**
+ * This class describes an order of elements by several keys, such as students by descending grade and then by ascending ID number. The first key decides the order, and each later key only breaks the ties of the keys before it. Every key can be ascending or descending. A sort key is also a comparator that compares elements key by key, so it can be passed to any of the comparator sorts.
+ * 
+ * {@link Sort#sortBy(List, SortKey)} sorts a list by a sort key in a single stable pass. When every key is an int, long or double key, the key of every element is extracted once, and the keys are packed into a single long whose order is the order of the whole sort key, as long as the ranges of the keys fit into 64 bits together. The elements are then radix sorted by their packed keys. When the keys do not fit, or a key is a {@link Comparable} key, the elements are merge sorted once with this sort key as their comparator, instead of once per key.
+ * 
+ * Sort keys are immutable. Each method that adds a key or changes a direction returns a new sort key.
+ * 
+ * @author Jaskaran Singh
+ * @param <E> The type of the elements that are sorted.
+ */
+public final class SortKey<E> implements Comparator<E> {
+    // The keys, from the one that decides the order first to the one that breaks the last ties.
+    private final List<Key<E>> keys;
+
+    /**
+     * SortKey constructor.
+     * 
+     * @param keys The keys of the sort key. The list must not be modified afterwards.
+     */
+    private SortKey(List<Key<E>> keys) {
+        this.keys = keys;
+    }
+
+    /**
+     * Creates a sort key that orders elements in ascending order of the specified int key.
+     * 
+     * @param keyExtractor The function that returns the key of an element.
+     * @return Returns the sort key.
+     * @throws NullPointerException
+     */
+    public static <E> SortKey<E> byInt(ToIntFunction<? super E> keyExtractor) throws NullPointerException {
+        return new SortKey<E>(Collections.emptyList()).thenByInt(keyExtractor);
+    }
+
+    /**
+     * Creates a sort key that orders elements in ascending order of the specified long key.
+     * 
+     * @param keyExtractor The function that returns the key of an element.
+     * @return Returns the sort key.
+     * @throws NullPointerException
+     */
+    public static <E> SortKey<E> byLong(ToLongFunction<? super E> keyExtractor) throws NullPointerException {
+        return new SortKey<E>(Collections.emptyList()).thenByLong(keyExtractor);
+    }
+
+    /**
+     * Creates a sort key that orders elements in ascending order of the specified double key, with the keys ordered the same way {@link Double#compare(double, double)} orders them.
+     * 
+     * @param keyExtractor The function that returns the key of an element.
+     * @return Returns the sort key.
+     * @throws NullPointerException
+     */
+    public static <E> SortKey<E> byDouble(ToDoubleFunction<? super E> keyExtractor) throws NullPointerException {
+        return new SortKey<E>(Collections.emptyList()).thenByDouble(keyExtractor);
+    }
+
+    /**
+     * Creates a sort key that orders elements in ascending natural order of the specified key. Sort keys with a Comparable key cannot be packed, so they always sort with a comparator.
+     * 
+     * @param keyExtractor The function that returns the key of an element.
+     * @return Returns the sort key.
+     * @throws NullPointerException
+     */
+    public static <E, U extends Comparable<? super U>> SortKey<E> by(Function<? super E, ? extends U> keyExtractor)
+            throws NullPointerException {
+        return new SortKey<E>(Collections.emptyList()).thenBy(keyExtractor);
+    }
+
+    /**
+     * Returns a sort key that breaks the ties of this sort key by ascending order of the specified int key.
+     * 
+     * @param keyExtractor The function that returns the key of an element.
+     * @return Returns the new sort key.
+     * @throws NullPointerException
+     */
+    public SortKey<E> thenByInt(ToIntFunction<? super E> keyExtractor) throws NullPointerException {
+        Objects.requireNonNull(keyExtractor);
+        return with(new Key<E>(element -> keyExtractor.applyAsInt(element), Comparator.comparingInt(keyExtractor),
+                false));
+    }
+
+    /**
+     * Returns a sort key that breaks the ties of this sort key by ascending order of the specified long key.
+     * 
+     * @param keyExtractor The function that returns the key of an element.
+     * @return Returns the new sort key.
+     * @throws NullPointerException
+     */
+    public SortKey<E> thenByLong(ToLongFunction<? super E> keyExtractor) throws NullPointerException {
+        Objects.requireNonNull(keyExtractor);
+        return with(new Key<E>(keyExtractor, Comparator.comparingLong(keyExtractor), false));
+    }
+
+    /**
+     * Returns a sort key that breaks the ties of this sort key by ascending order of the specified double key, with the keys ordered the same way {@link Double#compare(double, double)} orders them.
+     * 
+     * @param keyExtractor The function that returns the key of an element.
+     * @return Returns the new sort key.
+     * @throws NullPointerException
+     */
+    public SortKey<E> thenByDouble(ToDoubleFunction<? super E> keyExtractor) throws NullPointerException {
+        Objects.requireNonNull(keyExtractor);
+        return with(new Key<E>(element -> Sort.toSortableLong(keyExtractor.applyAsDouble(element)),
+                Comparator.comparingDouble(keyExtractor), false));
+    }
+
+    /**
+     * Returns a sort key that breaks the ties of this sort key by ascending natural order of the specified key.
+     * 
+     * @param keyExtractor The function that returns the key of an element.
+     * @return Returns the new sort key.
+     * @throws NullPointerException
+     */
+    public <U extends Comparable<? super U>> SortKey<E> thenBy(Function<? super E, ? extends U> keyExtractor)
+            throws NullPointerException {
+        return with(new Key<E>(null, Comparator.comparing(keyExtractor), false));
+    }
+
+    /**
+     * Returns a sort key that orders the last key of this sort key in descending order instead of ascending order. The earlier keys keep their directions.
+     * 
+     * @return Returns the new sort key.
+     */
+    public SortKey<E> descending() {
+        List<Key<E>> newKeys = new ArrayList<>(keys);
+        Key<E> lastKey = newKeys.get(newKeys.size() - 1);
+        newKeys.set((newKeys.size() - 1), new Key<E>(lastKey.sortableKeyExtractor, lastKey.comparator, true));
+        return new SortKey<>(Collections.unmodifiableList(newKeys));
+    }
+
+    /**
+     * Compares two elements key by key. The first key that differs decides the order.
+     * 
+     * @param element1 The first element.
+     * @param element2 The second element.
+     * @return Returns a negative integer, zero, or a positive integer as the first element is less than, equal to, or greater than the second element.
+     */
+    @Override
+    public int compare(E element1, E element2) {
+        for (Key<E> key : keys) {
+            final int COMPARISON = key.comparator.compare(element1, element2);
+            if (COMPARISON != 0) {
+                return key.isDescending ? -Integer.signum(COMPARISON) : COMPARISON;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Sorts the inputted list in-place by this sort key. The sort is stable, so elements that are equal in every key keep their relative order. See {@link Sort#sortBy(List, SortKey)}.
+     * 
+     * @param list The list to sort.
+     * @throws NullPointerException
+     * @throws ClassCastException
+     */
+    <T extends E> void sort(List<T> list) throws NullPointerException, ClassCastException {
+        // A list with one element or less in it is already sorted.
+        final int NUMBER_OF_ELEMENTS = list.size();
+        if (NUMBER_OF_ELEMENTS <= 1) {
+            return;
+        }
+
+        // Comparable keys have no primitive form, so sort with this sort key as the comparator.
+        for (Key<E> key : keys) {
+            if (key.sortableKeyExtractor == null) {
+                Sort.mergeSort(list, this);
+                return;
+            }
+        }
+
+        // Extract every key of every element in a single pass over the elements. Each key is stored as an unsigned long whose order is the key's order, descending keys are inverted, and the range of each key is tracked on the way.
+        final int NUMBER_OF_KEYS = keys.size();
+        Object[] elements = list.toArray();
+        long[][] unsignedKeys = new long[NUMBER_OF_KEYS][NUMBER_OF_ELEMENTS];
+        long[] minimumKeys = new long[NUMBER_OF_KEYS];
+        long[] maximumKeys = new long[NUMBER_OF_KEYS];
+        Arrays.fill(minimumKeys, -1L);
+        for (int i = 0; i < NUMBER_OF_ELEMENTS; i++) {
+            @SuppressWarnings("unchecked")
+            E element = (E) elements[i];
+            for (int keyIndex = 0; keyIndex < NUMBER_OF_KEYS; keyIndex++) {
+                Key<E> key = keys.get(keyIndex);
+                long unsignedKey = key.sortableKeyExtractor.applyAsLong(element) ^ Long.MIN_VALUE;
+                if (key.isDescending) {
+                    unsignedKey = ~unsignedKey;
+                }
+                unsignedKeys[keyIndex][i] = unsignedKey;
+                if (Long.compareUnsigned(unsignedKey, minimumKeys[keyIndex]) < 0) {
+                    minimumKeys[keyIndex] = unsignedKey;
+                }
+                if (Long.compareUnsigned(unsignedKey, maximumKeys[keyIndex]) > 0) {
+                    maximumKeys[keyIndex] = unsignedKey;
+                }
+            }
+        }
+
+        // Count the bits that each key needs once its minimum is subtracted. If they do not fit into one long together, sort with this sort key as the comparator.
+        int[] numbersOfBits = new int[NUMBER_OF_KEYS];
+        int totalNumberOfBits = 0;
+        for (int keyIndex = 0; keyIndex < NUMBER_OF_KEYS; keyIndex++) {
+            numbersOfBits[keyIndex] = Long.SIZE
+                    - Long.numberOfLeadingZeros(maximumKeys[keyIndex] - minimumKeys[keyIndex]);
+            totalNumberOfBits += numbersOfBits[keyIndex];
+        }
+        if (totalNumberOfBits > Long.SIZE) {
+            Sort.mergeSort(list, this);
+            return;
+        }
+
+        // Pack the keys of each element into one long, with the first key in the highest bits. The packed keys are unsigned, so flip their sign bits to make their signed order match.
+        long[] packedKeys = new long[NUMBER_OF_ELEMENTS];
+        int shift = totalNumberOfBits;
+        for (int keyIndex = 0; keyIndex < NUMBER_OF_KEYS; keyIndex++) {
+            shift -= numbersOfBits[keyIndex];
+            if (numbersOfBits[keyIndex] == 0) {
+                continue;
+            }
+            final long[] KEYS = unsignedKeys[keyIndex];
+            final long MINIMUM_KEY = minimumKeys[keyIndex];
+            for (int i = 0; i < NUMBER_OF_ELEMENTS; i++) {
+                packedKeys[i] |= (KEYS[i] - MINIMUM_KEY) << shift;
+            }
+        }
+        for (int i = 0; i < NUMBER_OF_ELEMENTS; i++) {
+            packedKeys[i] ^= Long.MIN_VALUE;
+        }
+
+        // Sort the elements by their packed keys in a single radix sort.
+        RadixSort.radixSortByKeys(list, packedKeys, elements);
+    }
+
+    /**
+     * Returns a new sort key with the specified key added after the keys of this sort key.
+     * 
+     * @param key The key to add.
+     * @return Returns the new sort key.
+     */
+    private SortKey<E> with(Key<E> key) {
+        List<Key<E>> newKeys = new ArrayList<>(keys.size() + 1);
+        newKeys.addAll(keys);
+        newKeys.add(key);
+        return new SortKey<>(Collections.unmodifiableList(newKeys));
+    }
+
+    /**
+     * This class holds a single key of a sort key.
+     * 
+     * @author Jaskaran Singh
+     * @param <E> The type of the elements that are sorted.
+     */
+    private static final class Key<E> {
+        // The function that returns the key of an element as a long whose signed order is the key's ascending order, or null for a Comparable key.
+        private final ToLongFunction<? super E> sortableKeyExtractor;
+
+        // The comparator that orders elements in ascending order of the key.
+        private final Comparator<? super E> comparator;
+
+        // Whether the key is in descending order.
+        private final boolean isDescending;
+
+        /**
+         * Key constructor.
+         * 
+         * @param sortableKeyExtractor The function that returns the key of an element as a sortable long, or null for a Comparable key.
+         * @param comparator The comparator that orders elements in ascending order of the key.
+         * @param isDescending Whether the key is in descending order.
+         */
+        private Key(ToLongFunction<? super E> sortableKeyExtractor, Comparator<? super E> comparator,
+                boolean isDescending) {
+            this.sortableKeyExtractor = sortableKeyExtractor;
+            this.comparator = comparator;
+            this.isDescending = isDescending;
+        }
+    }
+}
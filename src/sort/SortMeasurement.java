@@ -0,0 +1,224 @@
+package sort;
+
+import java.util.Comparator;
+
+/**
+ * This class collects the counters and phase timings of a single sort while it runs. Measurements are only created when {@link SortInstrumentation#ENABLED} is true. The measurement of the sort that is running on a thread is kept in a thread local, so the hooks inside the sorting methods can find it without any extra parameters, and only the thread that started the sort updates it. Sorts that are not measured, and sorts on other threads, such as the tasks of the parallel merge sorts, are not counted.
+ * 
+ * @author Jaskaran Singh
+ */
+final class SortMeasurement {
+    // The estimated number of bytes of each reference in a scratch buffer.
+    private static final int REFERENCE_SIZE_IN_BYTES = 8;
+
+    // The measurement of the sort that is running on each thread.
+    private static final ThreadLocal<SortMeasurement> CURRENT_MEASUREMENTS = new ThreadLocal<>();
+
+    // The measurement that was running on the thread when this one began, which is restored when this one ends.
+    private final SortMeasurement previousMeasurement;
+
+    // The event that times the sort for the flight recorder.
+    private final SortEvent event = new SortEvent();
+
+    final String algorithmName;
+    final int numberOfElements;
+    final long startTimeInNanoseconds;
+    long numberOfComparisons;
+    long numberOfMoves;
+    int maximumRecursionDepth;
+    long scratchBytesAllocated;
+    long copyInNanoseconds;
+    long splitNanoseconds;
+    long mergeNanoseconds;
+    long copyBackNanoseconds;
+
+    /**
+     * SortMeasurement constructor.
+     * 
+     * @param algorithmName The name of the sorting algorithm.
+     * @param numberOfElements The number of elements to sort.
+     * @param previousMeasurement The measurement that was running on the thread, or null.
+     */
+    private SortMeasurement(String algorithmName, int numberOfElements, SortMeasurement previousMeasurement) {
+        this.algorithmName = algorithmName;
+        this.numberOfElements = numberOfElements;
+        this.previousMeasurement = previousMeasurement;
+        this.event.begin();
+        this.startTimeInNanoseconds = System.nanoTime();
+    }
+
+    /**
+     * Begins measuring a sort on the current thread. Every measurement that begins must end with {@link #end()} on the same thread, even if the sort throws.
+     * 
+     * @param algorithmName The name of the sorting algorithm.
+     * @param numberOfElements The number of elements to sort.
+     * @return Returns the new measurement.
+     */
+    static SortMeasurement begin(String algorithmName, int numberOfElements) {
+        SortMeasurement measurement = new SortMeasurement(algorithmName, numberOfElements,
+                CURRENT_MEASUREMENTS.get());
+        CURRENT_MEASUREMENTS.set(measurement);
+        return measurement;
+    }
+
+    /**
+     * Returns the measurement of the sort that is running on the current thread.
+     * 
+     * @return Returns the current measurement, or null if no sort is being measured on this thread.
+     */
+    static SortMeasurement current() {
+        return CURRENT_MEASUREMENTS.get();
+    }
+
+    /**
+     * Adds moves to the measurement of the sort that is running on the current thread, if there is one.
+     * 
+     * @param numberOfMoves The number of elements that were moved.
+     */
+    static void recordMoves(long numberOfMoves) {
+        SortMeasurement measurement = CURRENT_MEASUREMENTS.get();
+        if (measurement != null) {
+            measurement.numberOfMoves += numberOfMoves;
+        }
+    }
+
+    /**
+     * Adds a scratch buffer of references to the measurement of the sort that is running on the current thread, if there is one.
+     * 
+     * @param length The length of the scratch buffer.
+     */
+    static void recordScratchBuffer(int length) {
+        SortMeasurement measurement = CURRENT_MEASUREMENTS.get();
+        if (measurement != null) {
+            measurement.scratchBytesAllocated += (long) length * REFERENCE_SIZE_IN_BYTES;
+        }
+    }
+
+    /**
+     * Adds a merge to the measurement of the sort that is running on the current thread, if there is one.
+     * 
+     * @param numberOfElements The number of elements that were merged or copied.
+     * @param startTimeInNanoseconds The time that the merge started at, from {@link System#nanoTime()}.
+     */
+    static void recordMerge(int numberOfElements, long startTimeInNanoseconds) {
+        SortMeasurement measurement = CURRENT_MEASUREMENTS.get();
+        if (measurement != null) {
+            measurement.numberOfMoves += numberOfElements;
+            measurement.mergeNanoseconds += System.nanoTime() - startTimeInNanoseconds;
+        }
+    }
+
+    /**
+     * Records copying elements from a list into a scratch buffer.
+     * 
+     * @param numberOfElements The number of elements that were copied.
+     * @param durationInNanoseconds The number of nanoseconds that the copy took.
+     */
+    void recordCopyIn(int numberOfElements, long durationInNanoseconds) {
+        numberOfMoves += numberOfElements;
+        copyInNanoseconds += durationInNanoseconds;
+    }
+
+    /**
+     * Records copying sorted elements from a scratch buffer back into a list.
+     * 
+     * @param numberOfElements The number of elements that were copied.
+     * @param durationInNanoseconds The number of nanoseconds that the copy took.
+     */
+    void recordCopyBack(int numberOfElements, long durationInNanoseconds) {
+        numberOfMoves += numberOfElements;
+        copyBackNanoseconds += durationInNanoseconds;
+    }
+
+    /**
+     * Records a recursion depth that the sort reached, keeping the deepest one.
+     * 
+     * @param recursionDepth The recursion depth.
+     */
+    void recordRecursionDepth(int recursionDepth) {
+        maximumRecursionDepth = Math.max(maximumRecursionDepth, recursionDepth);
+    }
+
+    /**
+     * Returns a comparator that counts every comparison into this measurement and then compares with the specified comparator.
+     * 
+     * @param comparator The comparator to count the comparisons of.
+     * @return Returns the counting comparator.
+     */
+    <E> Comparator<E> countComparisons(Comparator<E> comparator) {
+        return new CountingComparator<>(comparator, this);
+    }
+
+    /**
+     * Ends this measurement, restores the measurement that was running on the thread before it, adds the counters to the totals and commits the flight recorder event if a recording wants it.
+     */
+    void end() {
+        final long DURATION_IN_NANOSECONDS = System.nanoTime() - startTimeInNanoseconds;
+        event.end();
+        if (previousMeasurement == null) {
+            CURRENT_MEASUREMENTS.remove();
+        } else {
+            CURRENT_MEASUREMENTS.set(previousMeasurement);
+        }
+        SortInstrumentation.publish(this, DURATION_IN_NANOSECONDS);
+
+        // Only fill in the event if a recording will keep it.
+        if (event.shouldCommit()) {
+            event.algorithm = algorithmName;
+            event.numberOfElements = numberOfElements;
+            event.numberOfComparisons = numberOfComparisons;
+            event.numberOfMoves = numberOfMoves;
+            event.maximumRecursionDepth = maximumRecursionDepth;
+            event.scratchBytesAllocated = scratchBytesAllocated;
+            event.copyInNanoseconds = copyInNanoseconds;
+            event.splitNanoseconds = splitNanoseconds;
+            event.mergeNanoseconds = mergeNanoseconds;
+            event.copyBackNanoseconds = copyBackNanoseconds;
+            event.commit();
+        }
+    }
+
+    /**
+     * This class counts the comparisons of a comparator into a measurement. The sorting algorithms that sort by a primitive key look through it with {@link #getComparator()} to recognize the natural order.
+     * 
+     * @author Jaskaran Singh
+     * @param <E> The type of the elements that are compared.
+     */
+    static final class CountingComparator<E> implements Comparator<E> {
+        private final Comparator<E> comparator;
+        private final SortMeasurement measurement;
+
+        /**
+         * CountingComparator constructor.
+         * 
+         * @param comparator The comparator to count the comparisons of.
+         * @param measurement The measurement to count the comparisons into.
+         */
+        private CountingComparator(Comparator<E> comparator, SortMeasurement measurement) {
+            this.comparator = comparator;
+            this.measurement = measurement;
+        }
+
+        /**
+         * Counts the comparison and compares the elements with the wrapped comparator.
+         * 
+         * @param element1 The first element.
+         * @param element2 The second element.
+         * @return Returns a negative integer, zero, or a positive integer as the first element is less than, equal to, or greater than the second element.
+         */
+        @Override
+        public int compare(E element1, E element2) {
+            measurement.numberOfComparisons++;
+            return comparator.compare(element1, element2);
+        }
+
+        /**
+         * Returns the comparator whose comparisons are counted.
+         * 
+         * @return Returns the wrapped comparator.
+         */
+        Comparator<E> getComparator() {
+            return comparator;
+        }
+    }
+}
@@ -0,0 +1,357 @@
+package sort;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.net.SocketTimeoutException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Semaphore;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * This class serves a {@link SortService} to other processes on the same machine over a loopback TCP socket. Every connection is handled on its own virtual thread when the JVM supports virtual threads, and on its own daemon platform thread otherwise, so a connection that waits for the service's backpressure does not hold up the others.
+ * 
+ * A connection carries any number of requests, one after another. Every number is big-endian.
+ * 
+ * <pre>
+ * request:  byte gradeType, int numberOfStudents, numberOfStudents * (long idNumber, grade)
+ * response: byte STATUS_OK, int numberOfStudents, numberOfStudents * (long idNumber, grade)
+ *       or: byte STATUS_ERROR, modified UTF-8 message
+ * </pre>
+ * 
+ * The grade type is one of {@link #GRADE_TYPE_INTEGER}, {@link #GRADE_TYPE_LONG}, {@link #GRADE_TYPE_FLOAT} and {@link #GRADE_TYPE_DOUBLE}, and the grades are encoded like {@link RecordCodec#INTEGER}, {@link RecordCodec#LONG}, {@link RecordCodec#FLOAT} and {@link RecordCodec#DOUBLE} encode them. A successful response holds the same students stably sorted in ascending order of their grades. After an error response to a malformed request, the server closes the connection, because it cannot tell where the next request starts.
+ * 
+ * The students of a request are read in chunks as they arrive, so a request takes memory only for the bytes that the client has actually sent. Before reading them, a connection reserves the size of its request from a budget of {@link #MAXIMUM_NUMBER_OF_IN_FLIGHT_BYTES} shared by every connection, and waits while the budget is spent, so many large requests at once cannot run the server out of memory. A connection that sends nothing for {@link #READ_TIMEOUT_IN_MILLISECONDS} is closed, so a stalled client cannot hold its reservation forever.
+ * 
+ * @author Jaskaran Singh
+ */
+public final class SortServer implements AutoCloseable {
+    // The grade types of a request.
+    public static final byte GRADE_TYPE_INTEGER = 1;
+    public static final byte GRADE_TYPE_LONG = 2;
+    public static final byte GRADE_TYPE_FLOAT = 3;
+    public static final byte GRADE_TYPE_DOUBLE = 4;
+
+    // The statuses of a response.
+    public static final byte STATUS_OK = 0;
+    public static final byte STATUS_ERROR = 1;
+
+    // The largest number of students in a request, which keeps a request below 256 MiB.
+    public static final int MAXIMUM_NUMBER_OF_STUDENTS = 1 << 24;
+
+    // The largest number of bytes of the requests that every connection is reading or sorting at once, which is one request of the largest size.
+    public static final int MAXIMUM_NUMBER_OF_IN_FLIGHT_BYTES = 1 << 28;
+
+    // The time that a connection may send nothing before it is closed.
+    public static final int READ_TIMEOUT_IN_MILLISECONDS = 30_000;
+
+    // The number of students that are read or written at a time.
+    private static final int NUMBER_OF_STUDENTS_PER_CHUNK = 4096;
+
+    // The logger that reports connections that fail.
+    private static final Logger LOGGER = Logger.getLogger(SortServer.class.getName());
+
+    // Thread.startVirtualThread(Runnable), or null if the JVM does not support virtual threads.
+    private static final Method START_VIRTUAL_THREAD = findStartVirtualThread();
+
+    // The service that sorts the requests.
+    private final SortService sortService;
+
+    // The socket that accepts connections.
+    private final ServerSocket serverSocket;
+
+    // The permits for the bytes of the requests in flight. A request takes a permit for each of its bytes before its students are read, and returns them once its response is written.
+    private final Semaphore inFlightBytePermits = new Semaphore(MAXIMUM_NUMBER_OF_IN_FLIGHT_BYTES);
+
+    /**
+     * SortServer constructor.
+     * 
+     * @param sortService The service that sorts the requests.
+     * @param serverSocket The bound socket that accepts connections.
+     */
+    private SortServer(SortService sortService, ServerSocket serverSocket) {
+        this.sortService = sortService;
+        this.serverSocket = serverSocket;
+    }
+
+    /**
+     * Starts a server that accepts connections on the specified port of the loopback address and sorts their requests with the specified service. The service is not closed when the server is closed.
+     * 
+     * @param sortService The service that sorts the requests.
+     * @param port The port to listen on, or zero to use any free port (see {@link #getPort()}).
+     * @return Returns the started server.
+     * @throws IOException If the port cannot be bound.
+     * @throws NullPointerException
+     */
+    public static SortServer start(SortService sortService, int port) throws IOException, NullPointerException {
+        Objects.requireNonNull(sortService);
+        ServerSocket serverSocket = new ServerSocket();
+        try {
+            serverSocket.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), port));
+        } catch (IOException exception) {
+            serverSocket.close();
+            throw exception;
+        }
+        SortServer sortServer = new SortServer(sortService, serverSocket);
+        startThread(sortServer::acceptConnections, "sort-server-acceptor");
+        return sortServer;
+    }
+
+    /**
+     * Returns the port that the server listens on.
+     * 
+     * @return Returns the port.
+     */
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    /**
+     * Stops accepting connections. Connections that are already open are served until their clients close them.
+     * 
+     * @throws IOException If the socket cannot be closed.
+     */
+    @Override
+    public void close() throws IOException {
+        serverSocket.close();
+    }
+
+    /**
+     * Accepts connections until the server is closed, and starts a thread for each of them.
+     */
+    private void acceptConnections() {
+        while (true) {
+            Socket socket;
+            try {
+                socket = serverSocket.accept();
+            } catch (IOException exception) {
+                if (!serverSocket.isClosed()) {
+                    LOGGER.log(Level.WARNING, "Cannot accept a connection.", exception);
+                }
+                return;
+            }
+            startThread(() -> serveConnection(socket), "sort-server-connection");
+        }
+    }
+
+    /**
+     * Serves the requests of a connection until the client closes it, sends a malformed request or stalls for longer than the read timeout.
+     * 
+     * @param socket The socket of the connection.
+     */
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private void serveConnection(Socket socket) {
+        try (socket;
+                DataInputStream input = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+                DataOutputStream output = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()))) {
+            socket.setSoTimeout(READ_TIMEOUT_IN_MILLISECONDS);
+            while (true) {
+                // The client closes the connection between requests.
+                final int GRADE_TYPE = input.read();
+                if (GRADE_TYPE < 0) {
+                    return;
+                }
+
+                // Answer malformed requests with an error and close the connection.
+                RecordCodec<?> gradeCodec = getGradeCodec(GRADE_TYPE);
+                if (gradeCodec == null) {
+                    writeError(output, "Unknown grade type " + GRADE_TYPE + ".");
+                    return;
+                }
+                final int NUMBER_OF_STUDENTS = input.readInt();
+                if ((NUMBER_OF_STUDENTS < 0) || (NUMBER_OF_STUDENTS > MAXIMUM_NUMBER_OF_STUDENTS)) {
+                    writeError(output, "The number of students must be between 0 and " + MAXIMUM_NUMBER_OF_STUDENTS
+                            + ".");
+                    return;
+                }
+
+                // Reserve the bytes of the request before reading it.
+                final int REQUEST_SIZE_IN_BYTES = NUMBER_OF_STUDENTS * getStudentSizeInBytes(gradeCodec);
+                try {
+                    inFlightBytePermits.acquire(REQUEST_SIZE_IN_BYTES);
+                } catch (InterruptedException exception) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                try {
+                    serveRequest((RecordCodec) gradeCodec, NUMBER_OF_STUDENTS, input, output);
+                    output.flush();
+                } finally {
+                    inFlightBytePermits.release(REQUEST_SIZE_IN_BYTES);
+                }
+            }
+        } catch (EOFException | SocketException | SocketTimeoutException exception) {
+            // The client went away or stalled, maybe in the middle of a request.
+        } catch (IOException exception) {
+            LOGGER.log(Level.WARNING, "A sort server connection failed.", exception);
+        }
+    }
+
+    /**
+     * Reads the students of a request, sorts them with the service and writes the response.
+     * 
+     * @param gradeCodec The codec of the grades.
+     * @param numberOfStudents The number of students in the request.
+     * @param input The stream to read the students from.
+     * @param output The stream to write the response to.
+     * @throws IOException If the connection fails.
+     */
+    private <T extends Comparable<T>> void serveRequest(RecordCodec<T> gradeCodec, int numberOfStudents,
+            DataInputStream input, DataOutputStream output) throws IOException {
+        // Read the students a chunk at a time, so the list only grows as the students arrive.
+        final int STUDENT_SIZE_IN_BYTES = getStudentSizeInBytes(gradeCodec);
+        ByteBuffer buffer = ByteBuffer.allocate(Math.min(numberOfStudents, NUMBER_OF_STUDENTS_PER_CHUNK)
+                * STUDENT_SIZE_IN_BYTES);
+        List<Entry<T>> students = new ArrayList<>(Math.min(numberOfStudents, NUMBER_OF_STUDENTS_PER_CHUNK));
+        for (int i = 0; i < numberOfStudents; i += NUMBER_OF_STUDENTS_PER_CHUNK) {
+            final int NUMBER_OF_STUDENTS_IN_CHUNK = Math.min(numberOfStudents - i, NUMBER_OF_STUDENTS_PER_CHUNK);
+            input.readFully(buffer.array(), 0, NUMBER_OF_STUDENTS_IN_CHUNK * STUDENT_SIZE_IN_BYTES);
+            buffer.clear();
+            for (int j = 0; j < NUMBER_OF_STUDENTS_IN_CHUNK; j++) {
+                final long ID_NUMBER = buffer.getLong();
+                students.add(new Entry<>(ID_NUMBER, gradeCodec.read(buffer)));
+            }
+        }
+
+        // Sort the students. The request has been read completely, so the connection can go on after an error.
+        try {
+            sortService.submit(students).join();
+        } catch (CompletionException exception) {
+            writeError(output, String.valueOf(exception.getCause()));
+            return;
+        }
+
+        // Write the sorted students a chunk at a time.
+        output.writeByte(STATUS_OK);
+        output.writeInt(numberOfStudents);
+        buffer.clear();
+        for (Entry<T> student : students) {
+            if (!buffer.hasRemaining()) {
+                output.write(buffer.array(), 0, buffer.position());
+                buffer.clear();
+            }
+            buffer.putLong(student.idNumber);
+            gradeCodec.write(student.grade, buffer);
+        }
+        output.write(buffer.array(), 0, buffer.position());
+    }
+
+    /**
+     * Returns the number of bytes that a student takes in a request or a response.
+     * 
+     * @param gradeCodec The codec of the grades.
+     * @return Returns the size of a student in bytes.
+     */
+    private static int getStudentSizeInBytes(RecordCodec<?> gradeCodec) {
+        return Long.BYTES + gradeCodec.getRecordSizeInBytes();
+    }
+
+    /**
+     * Writes an error response and flushes it.
+     * 
+     * @param output The stream to write the response to.
+     * @param message The message of the error.
+     * @throws IOException If the connection fails.
+     */
+    private static void writeError(DataOutputStream output, String message) throws IOException {
+        output.writeByte(STATUS_ERROR);
+        output.writeUTF(message);
+        output.flush();
+    }
+
+    /**
+     * Returns the codec of the grades of the specified grade type.
+     * 
+     * @param gradeType The grade type of a request.
+     * @return Returns the codec, or null if the grade type is unknown.
+     */
+    private static RecordCodec<?> getGradeCodec(int gradeType) {
+        switch (gradeType) {
+            case GRADE_TYPE_INTEGER:
+                return RecordCodec.INTEGER;
+            case GRADE_TYPE_LONG:
+                return RecordCodec.LONG;
+            case GRADE_TYPE_FLOAT:
+                return RecordCodec.FLOAT;
+            case GRADE_TYPE_DOUBLE:
+                return RecordCodec.DOUBLE;
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * Starts a thread that runs the specified task: a virtual thread if the JVM supports them, and a daemon platform thread otherwise.
+     * 
+     * @param task The task to run.
+     * @param name The name of a platform thread.
+     */
+    private static void startThread(Runnable task, String name) {
+        if (START_VIRTUAL_THREAD != null) {
+            try {
+                START_VIRTUAL_THREAD.invoke(null, task);
+                return;
+            } catch (IllegalAccessException | InvocationTargetException exception) {
+                // Virtual threads are present but not usable, e.g. a preview feature that is not enabled.
+            }
+        }
+        Thread thread = new Thread(task, name);
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Returns Thread.startVirtualThread(Runnable). It is looked up by reflection, so this class still compiles and runs on JVMs without virtual threads.
+     * 
+     * @return Returns the method, or null if the JVM does not have it.
+     */
+    private static Method findStartVirtualThread() {
+        try {
+            return Thread.class.getMethod("startVirtualThread", Runnable.class);
+        } catch (NoSuchMethodException exception) {
+            return null;
+        }
+    }
+
+    /**
+     * This class holds a student of a request. Students are ordered by their grades.
+     * 
+     * @author Jaskaran Singh
+     * @param <T> The type of the grade.
+     */
+    private static final class Entry<T extends Comparable<T>> implements Comparable<Entry<T>> {
+        private final long idNumber;
+        private final T grade;
+
+        /**
+         * Entry constructor.
+         * 
+         * @param idNumber The student's ID number.
+         * @param grade The student's grade.
+         */
+        private Entry(long idNumber, T grade) {
+            this.idNumber = idNumber;
+            this.grade = grade;
+        }
+
+        @Override
+        public int compareTo(Entry<T> entry) {
+            return grade.compareTo(entry.grade);
+        }
+    }
+}
@@ -0,0 +1,317 @@
+package sort;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This class runs list sorts as an in-process service. Any thread can submit a list and get a {@link CompletableFuture} that completes with the same list once it has been sorted in-place, so the submitting threads never sort on their own stacks. The sorts are stable.
+ * 
+ * Small lists are queued and sorted in batches by a fixed number of platform worker threads. Each worker drains up to a batch of queued requests at a time and merge sorts them one after another with a single scratch buffer that it keeps for its whole life, so the buffer stays in the worker's cache instead of being allocated for every sort. Lists longer than the parallel threshold skip the queue and are sorted by a parallel merge sort on a fork/join pool with the same number of platform threads.
+ * 
+ * The number of requests that have been submitted and not completed yet is bounded. When the bound is reached, {@link #submit(List, Comparator)} blocks the submitting thread until an earlier request completes, which pushes back on producers that submit faster than the service sorts. Blocking is cheap for virtual threads, so the service suits virtual-thread-per-request callers such as {@link SortServer}.
+ * 
+ * @author Jaskaran Singh
+ */
+public final class SortService implements AutoCloseable {
+    // The default number of requests that can be pending before submissions block.
+    public static final int DEFAULT_MAXIMUM_NUMBER_OF_PENDING_REQUESTS = 4096;
+
+    // The default number of queued requests that a worker sorts in one batch.
+    public static final int DEFAULT_BATCH_SIZE = 64;
+
+    // The default number of elements above which a list is sorted by the parallel merge sort instead of a batch worker.
+    public static final int DEFAULT_PARALLEL_THRESHOLD = 65536;
+
+    // The request that tells the batch workers to stop once every request queued before it has been sorted. Each worker that takes it queues it again for the next worker.
+    private static final Request<Object> STOP_REQUEST = new Request<>(null, null, null);
+
+    // The number of requests that can be pending before submissions block.
+    private final int maximumNumberOfPendingRequests;
+
+    // The permits for pending requests. A submission takes a permit and the completion of its request returns it.
+    private final Semaphore pendingRequestPermits;
+
+    // The small requests that wait for a batch worker.
+    private final BlockingQueue<Request<?>> queuedRequests = new LinkedBlockingQueue<>();
+
+    // The number of queued requests that a worker sorts in one batch.
+    private final int batchSize;
+
+    // The number of elements above which a list is sorted in parallel.
+    private final int parallelThreshold;
+
+    // The fork/join pool that sorts the large lists.
+    private final ForkJoinPool forkJoinPool;
+
+    // The platform threads that sort the small lists.
+    private final Thread[] batchWorkers;
+
+    // Guards the closed flag, so that no request can be queued after the stop request.
+    private final Object lock = new Object();
+
+    // Whether the service has been closed.
+    private boolean isClosed;
+
+    /**
+     * SortService constructor. Uses one thread per available processor and the default bounds.
+     */
+    public SortService() {
+        this(Runtime.getRuntime().availableProcessors(), DEFAULT_MAXIMUM_NUMBER_OF_PENDING_REQUESTS,
+                DEFAULT_BATCH_SIZE, DEFAULT_PARALLEL_THRESHOLD);
+    }
+
+    /**
+     * SortService constructor. Starts the batch workers and the fork/join pool.
+     * 
+     * @param numberOfThreads The number of batch worker threads, and the parallelism of the fork/join pool that sorts the large lists.
+     * @param maximumNumberOfPendingRequests The number of requests that can be submitted and not completed before submissions block.
+     * @param batchSize The largest number of queued requests that a worker sorts in one batch.
+     * @param parallelThreshold The number of elements above which a list is sorted in parallel instead of by a batch worker.
+     * @throws IllegalArgumentException If any of the arguments is not positive.
+     */
+    public SortService(int numberOfThreads, int maximumNumberOfPendingRequests, int batchSize,
+            int parallelThreshold) throws IllegalArgumentException {
+        // Throw an IllegalArgumentException if any of the arguments is not positive.
+        if ((numberOfThreads <= 0) || (maximumNumberOfPendingRequests <= 0) || (batchSize <= 0)
+                || (parallelThreshold <= 0)) {
+            throw new IllegalArgumentException("The number of threads, the maximum number of pending requests, the batch size and the parallel threshold must be positive.");
+        }
+
+        this.maximumNumberOfPendingRequests = maximumNumberOfPendingRequests;
+        this.pendingRequestPermits = new Semaphore(maximumNumberOfPendingRequests);
+        this.batchSize = batchSize;
+        this.parallelThreshold = parallelThreshold;
+        this.forkJoinPool = new ForkJoinPool(numberOfThreads);
+
+        // Start the batch workers. They are daemon threads, so a service that is never closed does not keep the JVM alive.
+        this.batchWorkers = new Thread[numberOfThreads];
+        for (int i = 0; i < numberOfThreads; i++) {
+            batchWorkers[i] = new Thread(this::runBatchWorker, "sort-service-worker-" + i);
+            batchWorkers[i].setDaemon(true);
+            batchWorkers[i].start();
+        }
+    }
+
+    /**
+     * Submits the inputted list to be sorted in-place in ascending order. See {@link #submit(List, Comparator)}.
+     * 
+     * @param list The list to sort. It must not be modified until the returned future completes.
+     * @return Returns a future that completes with the sorted list.
+     * @throws NullPointerException
+     */
+    public <E extends Comparable<E>> CompletableFuture<List<E>> submit(List<E> list) throws NullPointerException {
+        return submit(list, Comparator.naturalOrder());
+    }
+
+    /**
+     * Submits the inputted list to be sorted in-place in ascending order, as defined by the specified comparator. The sort is stable, so equal elements keep their relative order. If too many requests are pending, this method blocks until an earlier request completes.
+     * 
+     * The returned future completes with the list once it is sorted, or exceptionally with the exception or error that the comparator threw. It completes exceptionally with a {@link RejectedExecutionException} if the service is closed, and with an {@link InterruptedException} if the submitting thread is interrupted while it waits, in which case the thread's interrupt status is set again. Dependent actions that are not async run on the service's threads, so they should be short.
+     * 
+     * @param list The list to sort. It must not be modified until the returned future completes.
+     * @param comparator The comparator that defines the order of the elements.
+     * @return Returns a future that completes with the sorted list.
+     * @throws NullPointerException
+     */
+    public <E> CompletableFuture<List<E>> submit(List<E> list, Comparator<? super E> comparator)
+            throws NullPointerException {
+        Objects.requireNonNull(list);
+        Objects.requireNonNull(comparator);
+        CompletableFuture<List<E>> future = new CompletableFuture<>();
+
+        // Wait for a pending request permit.
+        try {
+            pendingRequestPermits.acquire();
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            future.completeExceptionally(exception);
+            return future;
+        }
+
+        // Queue small lists for the batch workers and hand large lists to the fork/join pool, unless the service is closed.
+        Request<E> request = new Request<>(list, comparator, future);
+        synchronized (lock) {
+            if (isClosed) {
+                pendingRequestPermits.release();
+                future.completeExceptionally(new RejectedExecutionException("The sort service is closed."));
+                return future;
+            }
+            if (list.size() > parallelThreshold) {
+                forkJoinPool.execute(() -> sortInParallel(request));
+            } else {
+                queuedRequests.add(request);
+            }
+        }
+        return future;
+    }
+
+    /**
+     * Returns the number of requests that have been submitted and not completed yet.
+     * 
+     * @return Returns the number of pending requests.
+     */
+    public int getNumberOfPendingRequests() {
+        return maximumNumberOfPendingRequests - pendingRequestPermits.availablePermits();
+    }
+
+    /**
+     * Closes the service. Requests that were submitted before the service was closed are still sorted, and this method waits until they complete. Requests that are submitted afterwards are rejected.
+     */
+    @Override
+    public void close() {
+        // Reject new requests, and queue the stop request behind the requests that are already queued.
+        synchronized (lock) {
+            if (isClosed) {
+                return;
+            }
+            isClosed = true;
+            queuedRequests.add(STOP_REQUEST);
+            forkJoinPool.shutdown();
+        }
+
+        // Wait for the batch workers and the fork/join pool to finish the requests that are left.
+        boolean isInterrupted = false;
+        for (Thread batchWorker : batchWorkers) {
+            while (batchWorker.isAlive()) {
+                try {
+                    batchWorker.join();
+                } catch (InterruptedException exception) {
+                    isInterrupted = true;
+                }
+            }
+        }
+        while (!forkJoinPool.isTerminated()) {
+            try {
+                forkJoinPool.awaitTermination(1, TimeUnit.SECONDS);
+            } catch (InterruptedException exception) {
+                isInterrupted = true;
+            }
+        }
+        if (isInterrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Runs a batch worker. The worker waits for a queued request, takes up to a batch of queued requests, and sorts them one after another with its own scratch buffer, until it takes the stop request.
+     */
+    private void runBatchWorker() {
+        List<Request<?>> batch = new ArrayList<>(batchSize);
+        Object[] scratchBuffer = new Object[0];
+        while (true) {
+            // Wait for a request, then take whatever else is queued up to the batch size.
+            try {
+                batch.add(queuedRequests.take());
+            } catch (InterruptedException exception) {
+                continue;
+            }
+            queuedRequests.drainTo(batch, batchSize - 1);
+
+            // Sort the batch with the worker's scratch buffer.
+            boolean isStopped = false;
+            for (Request<?> request : batch) {
+                if (request == STOP_REQUEST) {
+                    isStopped = true;
+                    continue;
+                }
+                scratchBuffer = sortSequentially(request, scratchBuffer);
+            }
+            batch.clear();
+
+            // The stop request is only taken after every request queued before it, so the worker can stop once its batch is sorted. Queue it again, so a single worker cannot take the stop request of another.
+            if (isStopped) {
+                queuedRequests.add(STOP_REQUEST);
+                return;
+            }
+        }
+    }
+
+    /**
+     * Sorts the list of a request with the merge sort and the specified scratch buffer, and completes the request. The scratch buffer is replaced with a longer one if it is too short for the list. Anything that the sort throws, errors included, completes the request exceptionally, so the batch worker keeps running and the request's permit is always returned.
+     * 
+     * @param request The request to sort.
+     * @param scratchBuffer The worker's scratch buffer.
+     * @return Returns the scratch buffer that the worker should keep, which only grows, up to twice the parallel threshold, so it is reused by every later sort.
+     */
+    private <E> Object[] sortSequentially(Request<E> request, Object[] scratchBuffer) {
+        try {
+            final int NUMBER_OF_ELEMENTS = request.list.size();
+            if (scratchBuffer.length < (2 * NUMBER_OF_ELEMENTS)) {
+                scratchBuffer = Sort.createMergeSortScratchBuffer(NUMBER_OF_ELEMENTS);
+            }
+            Sort.mergeSort(request.list, 0, (NUMBER_OF_ELEMENTS - 1), scratchBuffer, request.comparator);
+            complete(request, null);
+        } catch (Throwable throwable) {
+            complete(request, throwable);
+        }
+        return scratchBuffer;
+    }
+
+    /**
+     * Sorts the list of a request with the parallel merge sort on the fork/join pool, and completes the request. It must run on the fork/join pool. Anything that the sort throws, errors included, completes the request exceptionally, so the request's permit is always returned.
+     * 
+     * @param request The request to sort.
+     */
+    private <E> void sortInParallel(Request<E> request) {
+        try {
+            // Sort a copy of the elements from a second copy of the elements, then replace the elements in the list with the sorted elements.
+            Object[] array = request.list.toArray();
+            Object[] scratchBuffer = array.clone();
+            new ParallelMergeSort.ObjectSortTask<E>(scratchBuffer, array, 0, array.length,
+                    Sort.DEFAULT_PARALLEL_SEQUENTIAL_CUTOFF, request.comparator).invoke();
+            Sort.writeArrayToList(array, 0, request.list, 0, array.length);
+            complete(request, null);
+        } catch (Throwable throwable) {
+            complete(request, throwable);
+        }
+    }
+
+    /**
+     * Returns the pending request permit of a request and completes its future, with the list if the throwable is null or exceptionally otherwise. The permit is returned first, so a thread that is blocked in a submission can go on while the future's dependent actions run.
+     * 
+     * @param request The request to complete.
+     * @param throwable The exception or error that the sort threw, or null if the sort succeeded.
+     */
+    private <E> void complete(Request<E> request, Throwable throwable) {
+        pendingRequestPermits.release();
+        if (throwable == null) {
+            request.future.complete(request.list);
+        } else {
+            request.future.completeExceptionally(throwable);
+        }
+    }
+
+    /**
+     * This class holds a submitted list with its comparator and the future that completes once it is sorted.
+     * 
+     * @author Jaskaran Singh
+     * @param <E> The type of the elements in the list.
+     */
+    private static final class Request<E> {
+        private final List<E> list;
+        private final Comparator<? super E> comparator;
+        private final CompletableFuture<List<E>> future;
+
+        /**
+         * Request constructor.
+         * 
+         * @param list The list to sort.
+         * @param comparator The comparator that defines the order of the elements.
+         * @param future The future that completes once the list is sorted.
+         */
+        private Request(List<E> list, Comparator<? super E> comparator, CompletableFuture<List<E>> future) {
+            this.list = list;
+            this.comparator = comparator;
+            this.future = future;
+        }
+    }
+}
@@ -0,0 +1,606 @@
+package sort;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.RandomAccess;
+import java.util.stream.IntStream;
+
+/**
+ * This class checks whether lists and primitive arrays are sorted, and reports how far from sorted they are. The checks are cheap enough to run after every sort: large inputs are split into chunks that are scanned in parallel, the scan stops as soon as any chunk finds a descent, and primitive arrays are compared a block at a time without a branch per element, so the JIT can unroll and vectorize the comparisons. Adjacent chunks share their boundary element, so a descent across a chunk boundary is never missed.
+ * 
+ * Every check orders the elements the same way the sorts in {@link Sort} do. Floating-point values are ordered the way {@link Double#compareTo(Double)} and {@link Float#compareTo(Float)} order them, so -0.0 comes before 0.0 and NaN comes after every other value.
+ * 
+ * @author Jaskaran Singh
+ */
+public final class Sortedness {
+    // The number of adjacent pairs of elements that a parallel check scans as one chunk.
+    private static final int CHUNK_SIZE = 1 << 16;
+
+    // The number of adjacent pairs of primitive values that are compared before the scan tests whether any of them was a descent.
+    private static final int BLOCK_SIZE = 1024;
+
+    // Ranges of elements that are shorter than this threshold are sorted with insertion sort while inversions are counted.
+    private static final int INSERTION_SORT_THRESHOLD = 7;
+
+    /**
+     * This interface determines whether a range of elements contains a descent, which is an element that is greater than the element after it.
+     * 
+     * @author Jaskaran Singh
+     */
+    @FunctionalInterface
+    private interface DescentFinder {
+        /**
+         * Determines whether the range of elements between the start index (inclusive) and the end index (inclusive) contains a descent.
+         * 
+         * @param startIndex The index of the first element of the range. This index is inclusive.
+         * @param endIndex The index of the last element of the range. This index is inclusive.
+         * @return Returns true if an element in the range is greater than the element after it. Returns false otherwise.
+         */
+        boolean hasDescent(int startIndex, int endIndex);
+    }
+
+    /**
+     * Private constructor. This class only has static methods, so it cannot be instantiated.
+     */
+    private Sortedness() {
+    }
+
+    /**
+     * Determines whether the elements in the specified list are sorted in ascending order. Lists with fast random access are scanned in parallel chunks once they are large enough. Other lists are scanned once with an iterator.
+     * 
+     * @param list The list to check.
+     * @return Returns true if the elements in the list are sorted in ascending order. Returns false otherwise.
+     * @throws NullPointerException
+     * @throws ClassCastException
+     */
+    public static <E extends Comparable<E>> boolean isSorted(List<E> list)
+            throws NullPointerException, ClassCastException {
+        return isSorted(list, Comparator.naturalOrder());
+    }
+
+    /**
+     * Determines whether the elements in the specified list are sorted in ascending order, as defined by the specified comparator. Lists with fast random access are scanned in parallel chunks once they are large enough, so the comparator may be called from several threads at once and must not depend on any mutable state. Other lists are scanned once with an iterator.
+     * 
+     * @param list The list to check. It must not be modified during the check.
+     * @param comparator The comparator that defines the order of the elements.
+     * @return Returns true if the elements in the list are sorted in ascending order. Returns false otherwise.
+     * @throws NullPointerException
+     * @throws ClassCastException
+     */
+    public static <E> boolean isSorted(List<E> list, Comparator<? super E> comparator)
+            throws NullPointerException, ClassCastException {
+        Objects.requireNonNull(comparator);
+        if (!(list instanceof RandomAccess)) {
+            return list.isEmpty() || Sort.isArrayListSorted(list, 0, (list.size() - 1), comparator);
+        }
+        return !hasDescent(list.size(), (startIndex, endIndex) -> {
+            E previousElement = list.get(startIndex);
+            for (int i = (startIndex + 1); i <= endIndex; i++) {
+                E element = list.get(i);
+                if (comparator.compare(previousElement, element) > 0) {
+                    return true;
+                }
+                previousElement = element;
+            }
+            return false;
+        });
+    }
+
+    /**
+     * Determines whether the elements in the specified int array are sorted in ascending order. Large arrays are scanned in parallel chunks.
+     * 
+     * @param array The int array to check.
+     * @return Returns true if the elements in the array are sorted in ascending order. Returns false otherwise.
+     * @throws NullPointerException
+     */
+    public static boolean isSorted(int[] array) throws NullPointerException {
+        return !hasDescent(array.length, (startIndex, endIndex) -> hasDescent(array, startIndex, endIndex));
+    }
+
+    /**
+     * Determines whether the elements in the specified long array are sorted in ascending order. Large arrays are scanned in parallel chunks.
+     * 
+     * @param array The long array to check.
+     * @return Returns true if the elements in the array are sorted in ascending order. Returns false otherwise.
+     * @throws NullPointerException
+     */
+    public static boolean isSorted(long[] array) throws NullPointerException {
+        return !hasDescent(array.length, (startIndex, endIndex) -> hasDescent(array, startIndex, endIndex));
+    }
+
+    /**
+     * Determines whether the elements in the specified double array are sorted in ascending order. Large arrays are scanned in parallel chunks.
+     * 
+     * @param array The double array to check.
+     * @return Returns true if the elements in the array are sorted in ascending order. Returns false otherwise.
+     * @throws NullPointerException
+     */
+    public static boolean isSorted(double[] array) throws NullPointerException {
+        return !hasDescent(array.length, (startIndex, endIndex) -> hasDescent(array, startIndex, endIndex));
+    }
+
+    /**
+     * Determines whether the elements in the specified float array are sorted in ascending order. Large arrays are scanned in parallel chunks.
+     * 
+     * @param array The float array to check.
+     * @return Returns true if the elements in the array are sorted in ascending order. Returns false otherwise.
+     * @throws NullPointerException
+     */
+    public static boolean isSorted(float[] array) throws NullPointerException {
+        return !hasDescent(array.length, (startIndex, endIndex) -> hasDescent(array, startIndex, endIndex));
+    }
+
+    /**
+     * Reports how far the elements in the specified list are from being sorted in ascending order. The elements are copied into an array once, and the inversions are counted with a merge sort of the copy, so the report takes O(n log n) time and O(n) extra space. Use {@link #isSorted(List)} when only the answer to whether the list is sorted is needed.
+     * 
+     * @param list The list to analyze.
+     * @return Returns the report.
+     * @throws NullPointerException
+     * @throws ClassCastException
+     */
+    public static <E extends Comparable<E>> Report analyze(List<E> list)
+            throws NullPointerException, ClassCastException {
+        return analyze(list, Comparator.naturalOrder());
+    }
+
+    /**
+     * Reports how far the elements in the specified list are from being sorted in ascending order, as defined by the specified comparator. The elements are copied into an array once, and the inversions are counted with a merge sort of the copy, so the report takes O(n log n) time and O(n) extra space. Use {@link #isSorted(List, Comparator)} when only the answer to whether the list is sorted is needed.
+     * 
+     * @param list The list to analyze.
+     * @param comparator The comparator that defines the order of the elements.
+     * @return Returns the report.
+     * @throws NullPointerException
+     * @throws ClassCastException
+     */
+    @SuppressWarnings("unchecked")
+    public static <E> Report analyze(List<E> list, Comparator<? super E> comparator)
+            throws NullPointerException, ClassCastException {
+        Objects.requireNonNull(comparator);
+        Object[] elements = list.toArray();
+
+        // Count the descents and find the first one, which ends the longest sorted prefix.
+        int longestSortedPrefixLength = elements.length;
+        int numberOfDescents = 0;
+        for (int i = 1; i < elements.length; i++) {
+            if (comparator.compare((E) elements[i - 1], (E) elements[i]) > 0) {
+                if (numberOfDescents++ == 0) {
+                    longestSortedPrefixLength = i;
+                }
+            }
+        }
+
+        // A sorted list has no inversions, so only count them if there is a descent.
+        long numberOfInversions = 0;
+        if (numberOfDescents > 0) {
+            numberOfInversions = countInversions(elements, new Object[elements.length], 0, elements.length,
+                    comparator);
+        }
+        return new Report(elements.length, longestSortedPrefixLength, numberOfDescents, numberOfInversions);
+    }
+
+    /**
+     * Reports how far the elements in the specified int array are from being sorted in ascending order. The array is left unchanged.
+     * 
+     * @param array The int array to analyze.
+     * @return Returns the report.
+     * @throws NullPointerException
+     */
+    public static Report analyze(int[] array) throws NullPointerException {
+        long[] keys = new long[array.length];
+        for (int i = 0; i < array.length; i++) {
+            keys[i] = array[i];
+        }
+        return analyzeKeys(keys);
+    }
+
+    /**
+     * Reports how far the elements in the specified long array are from being sorted in ascending order. The array is left unchanged.
+     * 
+     * @param array The long array to analyze.
+     * @return Returns the report.
+     * @throws NullPointerException
+     */
+    public static Report analyze(long[] array) throws NullPointerException {
+        return analyzeKeys(array.clone());
+    }
+
+    /**
+     * Reports how far the elements in the specified double array are from being sorted in ascending order. The array is left unchanged.
+     * 
+     * @param array The double array to analyze.
+     * @return Returns the report.
+     * @throws NullPointerException
+     */
+    public static Report analyze(double[] array) throws NullPointerException {
+        long[] keys = new long[array.length];
+        for (int i = 0; i < array.length; i++) {
+            keys[i] = Sort.toSortableLong(array[i]);
+        }
+        return analyzeKeys(keys);
+    }
+
+    /**
+     * Reports how far the elements in the specified float array are from being sorted in ascending order. The array is left unchanged.
+     * 
+     * @param array The float array to analyze.
+     * @return Returns the report.
+     * @throws NullPointerException
+     */
+    public static Report analyze(float[] array) throws NullPointerException {
+        long[] keys = new long[array.length];
+        for (int i = 0; i < array.length; i++) {
+            keys[i] = Sort.toSortableInt(array[i]);
+        }
+        return analyzeKeys(keys);
+    }
+
+    /**
+     * Determines whether the range of elements in the specified int array between the start index (inclusive) and the end index (inclusive) contains a descent. Whole blocks of adjacent pairs are compared without branching, and the scan only tests whether any pair in a block was a descent once the block is done.
+     * 
+     * @param array The int array to scan.
+     * @param startIndex The index of the first element of the range. This index is inclusive.
+     * @param endIndex The index of the last element of the range. This index is inclusive.
+     * @return Returns true if an element in the range is greater than the element after it. Returns false otherwise.
+     */
+    static boolean hasDescent(int[] array, int startIndex, int endIndex) {
+        int i = startIndex;
+        for (; (endIndex - i) >= BLOCK_SIZE; i += BLOCK_SIZE) {
+            boolean isDescentInBlock = false;
+            for (int j = i; j < (i + BLOCK_SIZE); j++) {
+                isDescentInBlock |= array[j] > array[j + 1];
+            }
+            if (isDescentInBlock) {
+                return true;
+            }
+        }
+        for (; i < endIndex; i++) {
+            if (array[i] > array[i + 1]) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Determines whether the range of elements in the specified long array between the start index (inclusive) and the end index (inclusive) contains a descent. Whole blocks of adjacent pairs are compared without branching, and the scan only tests whether any pair in a block was a descent once the block is done.
+     * 
+     * @param array The long array to scan.
+     * @param startIndex The index of the first element of the range. This index is inclusive.
+     * @param endIndex The index of the last element of the range. This index is inclusive.
+     * @return Returns true if an element in the range is greater than the element after it. Returns false otherwise.
+     */
+    static boolean hasDescent(long[] array, int startIndex, int endIndex) {
+        int i = startIndex;
+        for (; (endIndex - i) >= BLOCK_SIZE; i += BLOCK_SIZE) {
+            boolean isDescentInBlock = false;
+            for (int j = i; j < (i + BLOCK_SIZE); j++) {
+                isDescentInBlock |= array[j] > array[j + 1];
+            }
+            if (isDescentInBlock) {
+                return true;
+            }
+        }
+        for (; i < endIndex; i++) {
+            if (array[i] > array[i + 1]) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Determines whether the range of elements in the specified double array between the start index (inclusive) and the end index (inclusive) contains a descent, in the order of {@link Double#compare(double, double)}. Whole blocks of adjacent pairs are compared without branching, and the scan only tests whether any pair in a block was a descent once the block is done.
+     * 
+     * @param array The double array to scan.
+     * @param startIndex The index of the first element of the range. This index is inclusive.
+     * @param endIndex The index of the last element of the range. This index is inclusive.
+     * @return Returns true if an element in the range is greater than the element after it. Returns false otherwise.
+     */
+    static boolean hasDescent(double[] array, int startIndex, int endIndex) {
+        int i = startIndex;
+        for (; (endIndex - i) >= BLOCK_SIZE; i += BLOCK_SIZE) {
+            boolean isDescentInBlock = false;
+            for (int j = i; j < (i + BLOCK_SIZE); j++) {
+                // A pair is a descent if the first value is greater, if 0.0 comes before -0.0, or if NaN comes before a number.
+                final double VALUE = array[j];
+                final double NEXT_VALUE = array[j + 1];
+                isDescentInBlock |= (VALUE > NEXT_VALUE) | ((VALUE == NEXT_VALUE)
+                        & (Double.doubleToRawLongBits(VALUE) > Double.doubleToRawLongBits(NEXT_VALUE)))
+                        | ((VALUE != VALUE) & (NEXT_VALUE == NEXT_VALUE));
+            }
+            if (isDescentInBlock) {
+                return true;
+            }
+        }
+        for (; i < endIndex; i++) {
+            if (Double.compare(array[i], array[i + 1]) > 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Determines whether the range of elements in the specified float array between the start index (inclusive) and the end index (inclusive) contains a descent, in the order of {@link Float#compare(float, float)}. Whole blocks of adjacent pairs are compared without branching, and the scan only tests whether any pair in a block was a descent once the block is done.
+     * 
+     * @param array The float array to scan.
+     * @param startIndex The index of the first element of the range. This index is inclusive.
+     * @param endIndex The index of the last element of the range. This index is inclusive.
+     * @return Returns true if an element in the range is greater than the element after it. Returns false otherwise.
+     */
+    static boolean hasDescent(float[] array, int startIndex, int endIndex) {
+        int i = startIndex;
+        for (; (endIndex - i) >= BLOCK_SIZE; i += BLOCK_SIZE) {
+            boolean isDescentInBlock = false;
+            for (int j = i; j < (i + BLOCK_SIZE); j++) {
+                // A pair is a descent if the first value is greater, if 0.0 comes before -0.0, or if NaN comes before a number.
+                final float VALUE = array[j];
+                final float NEXT_VALUE = array[j + 1];
+                isDescentInBlock |= (VALUE > NEXT_VALUE) | ((VALUE == NEXT_VALUE)
+                        & (Float.floatToRawIntBits(VALUE) > Float.floatToRawIntBits(NEXT_VALUE)))
+                        | ((VALUE != VALUE) & (NEXT_VALUE == NEXT_VALUE));
+            }
+            if (isDescentInBlock) {
+                return true;
+            }
+        }
+        for (; i < endIndex; i++) {
+            if (Float.compare(array[i], array[i + 1]) > 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Determines whether a sequence of elements contains a descent. The first chunk is scanned on the calling thread, since unsorted input almost always has a descent near its start. The remaining chunks of a large sequence are scanned in parallel, and the scan stops starting new chunks as soon as one of them finds a descent.
+     * 
+     * @param numberOfElements The number of elements in the sequence.
+     * @param descentFinder The function that scans a range of the sequence.
+     * @return Returns true if an element in the sequence is greater than the element after it. Returns false otherwise.
+     */
+    private static boolean hasDescent(int numberOfElements, DescentFinder descentFinder) {
+        final int LAST_INDEX = numberOfElements - 1;
+        if (LAST_INDEX <= CHUNK_SIZE) {
+            return (LAST_INDEX > 0) && descentFinder.hasDescent(0, LAST_INDEX);
+        }
+        if (descentFinder.hasDescent(0, CHUNK_SIZE)) {
+            return true;
+        }
+
+        // Each chunk ends at the element that the next chunk starts at.
+        final int NUMBER_OF_CHUNKS = (int) ((LAST_INDEX + (CHUNK_SIZE - 1L)) / CHUNK_SIZE);
+        return IntStream.range(1, NUMBER_OF_CHUNKS).parallel().anyMatch(chunk -> {
+            final int START_INDEX = chunk * CHUNK_SIZE;
+            return descentFinder.hasDescent(START_INDEX, (START_INDEX + Math.min(CHUNK_SIZE,
+                    (LAST_INDEX - START_INDEX))));
+        });
+    }
+
+    /**
+     * Builds the report for a sequence of sortable long keys. The keys are sorted while the inversions are counted.
+     * 
+     * @param keys The keys in the order of the elements they were created from.
+     * @return Returns the report.
+     */
+    private static Report analyzeKeys(long[] keys) {
+        // Count the descents and find the first one, which ends the longest sorted prefix.
+        int longestSortedPrefixLength = keys.length;
+        int numberOfDescents = 0;
+        for (int i = 1; i < keys.length; i++) {
+            if (keys[i - 1] > keys[i]) {
+                if (numberOfDescents++ == 0) {
+                    longestSortedPrefixLength = i;
+                }
+            }
+        }
+
+        // Sorted keys have no inversions, so only count them if there is a descent.
+        long numberOfInversions = 0;
+        if (numberOfDescents > 0) {
+            numberOfInversions = countInversions(keys, new long[keys.length], 0, keys.length);
+        }
+        return new Report(keys.length, longestSortedPrefixLength, numberOfDescents, numberOfInversions);
+    }
+
+    /**
+     * Sorts the range of elements between the start index (inclusive) and the end index (exclusive) with merge sort and counts the inversions in it. An inversion is a pair of elements where the greater element comes first. Equal elements are never counted.
+     * 
+     * @param elements The elements to sort.
+     * @param scratchBuffer The buffer that the left half of each merge is copied into. It must be as long as the elements.
+     * @param startIndex The index specifying the start of the range. This index is inclusive.
+     * @param endIndex The index specifying the end of the range. This index is exclusive.
+     * @param comparator The comparator that defines the order of the elements.
+     * @return Returns the number of inversions in the range.
+     */
+    @SuppressWarnings("unchecked")
+    private static <E> long countInversions(Object[] elements, Object[] scratchBuffer, int startIndex, int endIndex,
+            Comparator<? super E> comparator) {
+        long numberOfInversions = 0;
+
+        // Sort short ranges with insertion sort. Every position that an element moves past is one inversion.
+        if ((endIndex - startIndex) < INSERTION_SORT_THRESHOLD) {
+            for (int i = (startIndex + 1); i < endIndex; i++) {
+                Object element = elements[i];
+                int j = i;
+                while ((j > startIndex) && (comparator.compare((E) elements[j - 1], (E) element) > 0)) {
+                    elements[j] = elements[j - 1];
+                    j--;
+                }
+                elements[j] = element;
+                numberOfInversions += i - j;
+            }
+            return numberOfInversions;
+        }
+
+        // Count the inversions in both halves, and stop if the halves are already in order.
+        final int MIDDLE_INDEX = (startIndex + endIndex) >>> 1;
+        numberOfInversions += countInversions(elements, scratchBuffer, startIndex, MIDDLE_INDEX, comparator);
+        numberOfInversions += countInversions(elements, scratchBuffer, MIDDLE_INDEX, endIndex, comparator);
+        if (comparator.compare((E) elements[MIDDLE_INDEX - 1], (E) elements[MIDDLE_INDEX]) <= 0) {
+            return numberOfInversions;
+        }
+
+        // Merge the halves. Every element of the right half that is taken before the rest of the left half is inverted with all of them.
+        System.arraycopy(elements, startIndex, scratchBuffer, startIndex, (MIDDLE_INDEX - startIndex));
+        int leftIndex = startIndex;
+        int rightIndex = MIDDLE_INDEX;
+        int mergedIndex = startIndex;
+        while ((leftIndex < MIDDLE_INDEX) && (rightIndex < endIndex)) {
+            if (comparator.compare((E) elements[rightIndex], (E) scratchBuffer[leftIndex]) < 0) {
+                elements[mergedIndex++] = elements[rightIndex++];
+                numberOfInversions += MIDDLE_INDEX - leftIndex;
+            } else {
+                elements[mergedIndex++] = scratchBuffer[leftIndex++];
+            }
+        }
+        System.arraycopy(scratchBuffer, leftIndex, elements, mergedIndex, (MIDDLE_INDEX - leftIndex));
+        return numberOfInversions;
+    }
+
+    /**
+     * Sorts the range of keys between the start index (inclusive) and the end index (exclusive) with merge sort and counts the inversions in it. An inversion is a pair of keys where the greater key comes first. Equal keys are never counted.
+     * 
+     * @param keys The keys to sort.
+     * @param scratchBuffer The buffer that the left half of each merge is copied into. It must be as long as the keys.
+     * @param startIndex The index specifying the start of the range. This index is inclusive.
+     * @param endIndex The index specifying the end of the range. This index is exclusive.
+     * @return Returns the number of inversions in the range.
+     */
+    private static long countInversions(long[] keys, long[] scratchBuffer, int startIndex, int endIndex) {
+        long numberOfInversions = 0;
+
+        // Sort short ranges with insertion sort. Every position that a key moves past is one inversion.
+        if ((endIndex - startIndex) < INSERTION_SORT_THRESHOLD) {
+            for (int i = (startIndex + 1); i < endIndex; i++) {
+                long key = keys[i];
+                int j = i;
+                while ((j > startIndex) && (keys[j - 1] > key)) {
+                    keys[j] = keys[j - 1];
+                    j--;
+                }
+                keys[j] = key;
+                numberOfInversions += i - j;
+            }
+            return numberOfInversions;
+        }
+
+        // Count the inversions in both halves, and stop if the halves are already in order.
+        final int MIDDLE_INDEX = (startIndex + endIndex) >>> 1;
+        numberOfInversions += countInversions(keys, scratchBuffer, startIndex, MIDDLE_INDEX);
+        numberOfInversions += countInversions(keys, scratchBuffer, MIDDLE_INDEX, endIndex);
+        if (keys[MIDDLE_INDEX - 1] <= keys[MIDDLE_INDEX]) {
+            return numberOfInversions;
+        }
+
+        // Merge the halves. Every key of the right half that is taken before the rest of the left half is inverted with all of them.
+        System.arraycopy(keys, startIndex, scratchBuffer, startIndex, (MIDDLE_INDEX - startIndex));
+        int leftIndex = startIndex;
+        int rightIndex = MIDDLE_INDEX;
+        int mergedIndex = startIndex;
+        while ((leftIndex < MIDDLE_INDEX) && (rightIndex < endIndex)) {
+            if (keys[rightIndex] < scratchBuffer[leftIndex]) {
+                keys[mergedIndex++] = keys[rightIndex++];
+                numberOfInversions += MIDDLE_INDEX - leftIndex;
+            } else {
+                keys[mergedIndex++] = scratchBuffer[leftIndex++];
+            }
+        }
+        System.arraycopy(scratchBuffer, leftIndex, keys, mergedIndex, (MIDDLE_INDEX - leftIndex));
+        return numberOfInversions;
+    }
+
+    /**
+     * This class reports how far a sequence of elements is from being sorted in ascending order.
+     * 
+     * @author Jaskaran Singh
+     */
+    public static final class Report {
+        private final int numberOfElements;
+        private final int longestSortedPrefixLength;
+        private final int numberOfDescents;
+        private final long numberOfInversions;
+
+        /**
+         * Report constructor.
+         * 
+         * @param numberOfElements The number of elements in the sequence.
+         * @param longestSortedPrefixLength The number of elements at the start of the sequence that are sorted.
+         * @param numberOfDescents The number of elements that are greater than the element after them.
+         * @param numberOfInversions The number of pairs of elements where the greater element comes first.
+         */
+        private Report(int numberOfElements, int longestSortedPrefixLength, int numberOfDescents,
+                long numberOfInversions) {
+            this.numberOfElements = numberOfElements;
+            this.longestSortedPrefixLength = longestSortedPrefixLength;
+            this.numberOfDescents = numberOfDescents;
+            this.numberOfInversions = numberOfInversions;
+        }
+
+        /**
+         * Returns the number of elements in the sequence.
+         * 
+         * @return Returns the number of elements.
+         */
+        public int getNumberOfElements() {
+            return numberOfElements;
+        }
+
+        /**
+         * Returns the length of the longest sorted prefix, which is the number of elements at the start of the sequence that are in ascending order. It is the number of elements in the sequence if the sequence is sorted.
+         * 
+         * @return Returns the length of the longest sorted prefix.
+         */
+        public int getLongestSortedPrefixLength() {
+            return longestSortedPrefixLength;
+        }
+
+        /**
+         * Returns the number of descents, which are the elements that are greater than the element after them.
+         * 
+         * @return Returns the number of descents.
+         */
+        public int getNumberOfDescents() {
+            return numberOfDescents;
+        }
+
+        /**
+         * Returns the number of ascending runs that the sequence splits into at its descents. A natural merge sort merges this many runs. Returns zero if the sequence is empty.
+         * 
+         * @return Returns the number of ascending runs.
+         */
+        public int getNumberOfRuns() {
+            return (numberOfElements == 0) ? 0 : (numberOfDescents + 1);
+        }
+
+        /**
+         * Returns the number of inversions, which are the pairs of elements where the greater element comes first. Equal elements are never inverted. It is the number of swaps that bubble sort or insertion sort would make, and it is between zero for a sorted sequence and n(n - 1) / 2 for a strictly descending one.
+         * 
+         * @return Returns the number of inversions.
+         */
+        public long getNumberOfInversions() {
+            return numberOfInversions;
+        }
+
+        /**
+         * Returns true if the sequence is sorted in ascending order. Returns false otherwise.
+         * 
+         * @return Returns true if the sequence is sorted in ascending order. Returns false otherwise.
+         */
+        public boolean isSorted() {
+            return numberOfDescents == 0;
+        }
+
+        /**
+         * Returns a string that describes the report.
+         * 
+         * @return Returns a string that describes the report.
+         */
+        @Override
+        public String toString() {
+            return "[elements: " + numberOfElements + ", sorted prefix: " + longestSortedPrefixLength + ", descents: "
+                    + numberOfDescents + ", runs: " + getNumberOfRuns() + ", inversions: " + numberOfInversions + "]";
+        }
+    }
+}
@@ -0,0 +1,227 @@
+package sort;
+
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * This enum lists the built-in sorting algorithms for lists. Each constant sorts with the matching method of {@link Sort} or {@link RadixSort}, and every constant is registered in the {@link SortAlgorithmRegistry} under its name.
+ * 
+ * @author Jaskaran Singh
+ */
+public enum StandardSortAlgorithm implements SortAlgorithm {
+    INSERTION("insertion", true),
+    BUBBLE("bubble", true),
+    MERGE("merge", true),
+    ADAPTIVE_MERGE("adaptive-merge", true),
+    INTRO("intro", false),
+    RADIX("radix", true),
+    COUNTING("counting", true);
+
+    // The name of the algorithm in the registry.
+    private final String name;
+
+    // Whether the algorithm keeps equal elements in their relative order.
+    private final boolean isStable;
+
+    /**
+     * StandardSortAlgorithm constructor.
+     * 
+     * @param name The name of the algorithm in the registry.
+     * @param isStable Whether the algorithm keeps equal elements in their relative order.
+     */
+    private StandardSortAlgorithm(String name, boolean isStable) {
+        this.name = name;
+        this.isStable = isStable;
+    }
+
+    /**
+     * Returns the name of this algorithm, which the registry knows it by.
+     * 
+     * @return Returns the name of this algorithm.
+     */
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Returns true if this algorithm is stable, so equal elements keep their relative order. Returns false otherwise. Only introsort is not stable.
+     * 
+     * @return Returns true if this algorithm is stable. Returns false otherwise.
+     */
+    @Override
+    public boolean isStable() {
+        return isStable;
+    }
+
+    /**
+     * Determines whether this algorithm can sort the specified list in the order of the specified comparator. The comparison sorts can sort any list. Radix sort can only sort Integers, Longs, Floats or Doubles in their natural order, and counting sort can only sort Integers or Longs in their natural order whose keys span a range that its counts fit into.
+     * 
+     * @param list The list to sort.
+     * @param comparator The comparator that defines the order of the elements.
+     * @return Returns true if this algorithm can sort the list. Returns false otherwise.
+     */
+    @Override
+    public <E> boolean canSort(List<E> list, Comparator<? super E> comparator) {
+        switch (this) {
+            case RADIX:
+                // A list with one element or less in it is already sorted.
+                return (list.size() <= 1) || canSortByKey(getNumberClass(list), comparator);
+            case COUNTING:
+                if ((list.size() <= 1) || !canSortByKey(getNumberClass(list), comparator)) {
+                    return list.size() <= 1;
+                }
+
+                // Check that counting sort can allocate the counts of the key range.
+                long minimumKey = Long.MAX_VALUE;
+                long maximumKey = Long.MIN_VALUE;
+                for (E element : list) {
+                    final long KEY = ((Number) element).longValue();
+                    minimumKey = Math.min(minimumKey, KEY);
+                    maximumKey = Math.max(maximumKey, KEY);
+                }
+                final long KEY_RANGE = maximumKey - minimumKey + 1;
+                return (KEY_RANGE > 0) && (KEY_RANGE <= KeyDistribution.MAXIMUM_COUNTING_SORT_KEY_RANGE);
+            default:
+                return true;
+        }
+    }
+
+    /**
+     * Sorts the specified list in-place in ascending order, as defined by the specified comparator.
+     * 
+     * @param list The list to sort.
+     * @param comparator The comparator that defines the order of the elements.
+     * @throws IllegalArgumentException If this algorithm cannot sort the list, or if counting sort is asked to sort keys from a range that is too large.
+     * @throws NullPointerException
+     * @throws ClassCastException
+     */
+    @Override
+    public <E> void sort(List<E> list, Comparator<? super E> comparator)
+            throws IllegalArgumentException, NullPointerException, ClassCastException {
+        switch (this) {
+            case INSERTION:
+                insertionSort(list, comparator);
+                break;
+            case BUBBLE:
+                Sort.bubbleSort(list, comparator);
+                break;
+            case MERGE:
+                Sort.mergeSort(list, comparator);
+                break;
+            case ADAPTIVE_MERGE:
+                Sort.adaptiveMergeSort(list, comparator);
+                break;
+            case INTRO:
+                Sort.introSort(list, comparator);
+                break;
+            case RADIX:
+            case COUNTING:
+                // A list with one element or less in it is already sorted.
+                if (list.size() <= 1) {
+                    return;
+                }
+                final Class<?> NUMBER_CLASS = getNumberClass(list);
+                if (!canSortByKey(NUMBER_CLASS, comparator)) {
+                    throw new IllegalArgumentException("The " + name + " sort can only sort "
+                            + ((this == COUNTING) ? "Integers or Longs" : "numbers") + " in their natural order.");
+                }
+
+                // Sort the numbers by their primitive values.
+                if (this == COUNTING) {
+                    Sort.countingSortByLongKey(list, element -> ((Number) element).longValue());
+                } else if ((NUMBER_CLASS == Integer.class) || (NUMBER_CLASS == Long.class)) {
+                    RadixSort.radixSortByLongKey(list, element -> ((Number) element).longValue());
+                } else {
+                    RadixSort.radixSortByDoubleKey(list, element -> ((Number) element).doubleValue());
+                }
+                break;
+        }
+    }
+
+    /**
+     * Returns a string that describes this algorithm.
+     * 
+     * @return Returns the name of this algorithm.
+     */
+    @Override
+    public String toString() {
+        return name;
+    }
+
+    /**
+     * Determines whether this algorithm, which must be radix sort or counting sort, can sort elements of the specified class in the order of the specified comparator.
+     * 
+     * @param numberClass The class of every element, as {@link #getNumberClass(List)} returns it.
+     * @param comparator The comparator that defines the order of the elements.
+     * @return Returns true if this algorithm can sort the elements. Returns false otherwise.
+     */
+    private boolean canSortByKey(Class<?> numberClass, Comparator<?> comparator) {
+        if ((numberClass == null) || !isNaturalOrder(comparator)) {
+            return false;
+        }
+        return (this == RADIX) || (numberClass == Integer.class) || (numberClass == Long.class);
+    }
+
+    /**
+     * Determines whether the specified comparator is the natural order comparator that {@link Comparator#naturalOrder()} returns. A comparator whose comparisons are being counted for instrumentation is looked through.
+     * 
+     * @param comparator The comparator to check.
+     * @return Returns true if the comparator is the natural order comparator. Returns false otherwise.
+     */
+    static boolean isNaturalOrder(Comparator<?> comparator) {
+        if (comparator instanceof SortMeasurement.CountingComparator) {
+            comparator = ((SortMeasurement.CountingComparator<?>) comparator).getComparator();
+        }
+        return comparator == (Object) Comparator.naturalOrder();
+    }
+
+    /**
+     * Returns the class of the elements in the specified list if every element is an Integer, every element is a Long, every element is a Float or every element is a Double. The radix and counting sorts can sort the elements by their primitive values then.
+     * 
+     * @param list The list to check.
+     * @return Returns Integer.class, Long.class, Float.class or Double.class, or null if the list is empty or holds anything else.
+     */
+    static Class<?> getNumberClass(List<?> list) {
+        // Find the class of the first element.
+        if (list.isEmpty()) {
+            return null;
+        }
+        Object firstElement = list.get(0);
+        if (!((firstElement instanceof Integer) || (firstElement instanceof Long) || (firstElement instanceof Float)
+                || (firstElement instanceof Double))) {
+            return null;
+        }
+
+        // Check that every other element has the same class.
+        final Class<?> NUMBER_CLASS = firstElement.getClass();
+        for (Object element : list) {
+            if ((element == null) || (element.getClass() != NUMBER_CLASS)) {
+                return null;
+            }
+        }
+        return NUMBER_CLASS;
+    }
+
+    /**
+     * Sorts the specified list in-place with insertion sort. The elements are copied into an array, sorted there and written back, so the sort never calls {@code get(i)} on the list. Insertion sort takes O(n^2) time, so it is only meant for short lists.
+     * 
+     * @param list The list to sort.
+     * @param comparator The comparator that defines the order of the elements.
+     */
+    @SuppressWarnings("unchecked")
+    private static <E> void insertionSort(List<E> list, Comparator<? super E> comparator) {
+        Object[] elements = list.toArray();
+        for (int i = 1; i < elements.length; i++) {
+            // Move every larger element one position to the right and insert the element in front of them.
+            E element = (E) elements[i];
+            int j = i;
+            while ((j > 0) && (comparator.compare((E) elements[j - 1], element) > 0)) {
+                elements[j] = elements[j - 1];
+                j--;
+            }
+            elements[j] = element;
+        }
+        Sort.writeArrayToList(elements, 0, list, 0, elements.length);
+    }
+}